@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Platform Contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Platform Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.custom;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.widgets.*;
+
+/**
+ * Estimates the heights of the wrapped lines of a <code>StyledText</code>
+ * on a worker thread.
+ * <p>
+ * A <code>TextLayout</code> can only be used on the UI thread. The estimator
+ * instead breaks the lines in Java, using the advance widths of the regular
+ * font that were measured when it was created. The worker takes the text of
+ * the lines from the renderer and hands back the estimated heights in
+ * batches, both through <code>Display.syncExec</code>, so the renderer is
+ * only accessed on the UI thread. The estimates stand in for the heights of
+ * the lines that are not measured yet.
+ * </p>
+ */
+class LineHeightEstimator implements Runnable {
+	final StyledTextRenderer renderer;
+	final Display display;
+	final int[] charWidths;
+	final int averageCharWidth;
+	final int tabWidth;
+	final int lineHeight;
+	final int wrapWidth;
+	final int indent, wrapIndent;
+
+	/**
+	 * The lines exchanged with the renderer in one round trip. The renderer
+	 * stores the heights of the previous batch and fills in the next one.
+	 */
+	static class Batch {
+		int generation;
+		int start;
+		String[] lines;
+		int[] heights;
+	}
+
+LineHeightEstimator(StyledTextRenderer renderer, int[] charWidths, int lineHeight, int wrapWidth) {
+	StyledText styledText = renderer.styledText;
+	this.renderer = renderer;
+	this.display = styledText.getDisplay();
+	this.charWidths = charWidths;
+	this.averageCharWidth = Math.max(1, renderer.averageCharWidth);
+	this.tabWidth = renderer.tabWidth;
+	this.lineHeight = lineHeight;
+	this.wrapWidth = wrapWidth;
+	this.indent = styledText.indent;
+	this.wrapIndent = styledText.wrapIndent;
+}
+
+void start() {
+	Thread thread = new Thread(this, "StyledText line estimation"); //$NON-NLS-1$
+	thread.setDaemon(true);
+	thread.setPriority(Thread.MIN_PRIORITY);
+	thread.start();
+}
+
+@Override
+public void run() {
+	Batch batch = new Batch();
+	try {
+		while (true) {
+			display.syncExec(() -> renderer.exchangeEstimates(this, batch));
+			String[] lines = batch.lines;
+			if (lines == null) return;
+			int[] heights = new int[lines.length];
+			for (int i = 0; i < lines.length; i++) {
+				heights[i] = estimate(lines[i]);
+			}
+			batch.lines = null;
+			batch.heights = heights;
+		}
+	} catch (SWTException e) {
+		/* The display was disposed */
+	}
+}
+
+/**
+ * Returns the estimated height of the line, breaking it greedily after
+ * white space, or between characters when a word is wider than the line.
+ */
+int estimate(String line) {
+	int lines = 1;
+	int x = indent, lineStart = indent;
+	int wordWidth = 0;
+	for (int i = 0, length = line.length(); i < length; i++) {
+		char ch = line.charAt(i);
+		int width;
+		if (ch == '\t') {
+			width = tabWidth > 0 ? tabWidth - (x - lineStart) % tabWidth : 0;
+		} else if (ch < charWidths.length) {
+			width = charWidths[ch];
+		} else if (Character.isLowSurrogate(ch)) {
+			width = 0;
+		} else {
+			width = isWide(ch) ? 2 * averageCharWidth : averageCharWidth;
+		}
+		boolean space = ch == ' ' || ch == '\t';
+		if (!space && x + width > wrapWidth && x > lineStart) {
+			lines++;
+			boolean breakBefore = wordWidth < x - lineStart;
+			lineStart = wrapIndent;
+			x = wrapIndent + (breakBefore ? wordWidth : 0);
+			if (!breakBefore) wordWidth = 0;
+		}
+		x += width;
+		wordWidth = space ? 0 : wordWidth + width;
+	}
+	return lines * lineHeight;
+}
+
+static boolean isWide(char ch) {
+	return (0x1100 <= ch && ch <= 0x115F)
+		|| (0x2E80 <= ch && ch <= 0xA4CF)
+		|| (0xAC00 <= ch && ch <= 0xD7A3)
+		|| (0xF900 <= ch && ch <= 0xFAFF)
+		|| (0xFE30 <= ch && ch <= 0xFE4F)
+		|| (0xFF00 <= ch && ch <= 0xFF60)
+		|| (0xFFE0 <= ch && ch <= 0xFFE6);
+}
+}
@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Platform Contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Platform Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.custom;
+
+/**
+ * Prefix sums over the heights of the lines of a <code>StyledText</code>.
+ * <p>
+ * The heights are kept in two Fenwick trees, one summing the heights that
+ * are known and one counting the lines whose height is not known yet. Both
+ * answer range queries, point updates and searches in O(log n), so that
+ * converting between line indices and pixels does not need to visit every
+ * line in between.
+ * </p>
+ */
+class LineHeightIndex {
+	int size;
+	int[] heights;
+	int[] heightTree;
+	int[] unknownTree;
+	int unknownCount;
+	int topBit;
+
+/**
+ * @param heights the height of each line, or a negative value if it is not known
+ */
+LineHeightIndex(int[] heights) {
+	size = heights.length;
+	this.heights = heights;
+	heightTree = new int[size + 1];
+	unknownTree = new int[size + 1];
+	for (int i = 0; i < size; i++) {
+		if (heights[i] < 0) {
+			heights[i] = -1;
+			unknownTree[i + 1]++;
+			unknownCount++;
+		} else {
+			heightTree[i + 1] += heights[i];
+		}
+		int parent = (i + 1) + ((i + 1) & -(i + 1));
+		if (parent <= size) {
+			heightTree[parent] += heightTree[i + 1];
+			unknownTree[parent] += unknownTree[i + 1];
+		}
+	}
+	topBit = size == 0 ? 0 : Integer.highestOneBit(size);
+}
+
+static void add(int[] tree, int index, int delta) {
+	for (int i = index + 1; i < tree.length; i += i & -i) {
+		tree[i] += delta;
+	}
+}
+
+static int prefix(int[] tree, int end) {
+	int sum = 0;
+	for (int i = end; i > 0; i -= i & -i) {
+		sum += tree[i];
+	}
+	return sum;
+}
+
+/**
+ * Returns the smallest index whose prefix sum, including itself,
+ * is greater than the given value, or the size if there is none.
+ */
+int search(int[] tree, int value) {
+	int position = 0;
+	for (int step = topBit; step > 0; step >>= 1) {
+		int next = position + step;
+		if (next <= size && tree[next] <= value) {
+			position = next;
+			value -= tree[next];
+		}
+	}
+	return position;
+}
+
+/**
+ * Returns the height of the line, or -1 if it is not known.
+ */
+int get(int index) {
+	return heights[index];
+}
+
+/**
+ * Returns the index of the line that contains the given pixel, counting
+ * from the top of the first line, or the size if the pixel is below the
+ * last line. Lines with unknown height are skipped.
+ */
+int lineAt(int pixel) {
+	if (pixel < 0) return 0;
+	return search(heightTree, pixel);
+}
+
+/**
+ * Returns the index of the first line at or after the given index whose
+ * height is not known, or the size if there is none.
+ */
+int nextUnknown(int index) {
+	if (index >= size) return size;
+	int count = prefix(unknownTree, Math.max(0, index));
+	if (count == unknownCount) return size;
+	return search(unknownTree, count);
+}
+
+/**
+ * Returns the index of the last line at or before the given index whose
+ * height is not known, or -1 if there is none.
+ */
+int previousUnknown(int index) {
+	if (index < 0) return -1;
+	int count = prefix(unknownTree, Math.min(size, index + 1));
+	if (count == 0) return -1;
+	return search(unknownTree, count - 1);
+}
+
+/**
+ * Returns the sum of the known heights of the lines before the given index.
+ */
+int prefix(int end) {
+	return prefix(heightTree, Math.max(0, Math.min(size, end)));
+}
+
+/**
+ * Sets the height of the line. A negative height marks it as not known.
+ */
+void set(int index, int height) {
+	if (index < 0 || index >= size) return;
+	if (height < 0) height = -1;
+	int oldHeight = heights[index];
+	if (oldHeight == height) return;
+	heights[index] = height;
+	add(heightTree, index, Math.max(0, height) - Math.max(0, oldHeight));
+	if (oldHeight < 0) {
+		add(unknownTree, index, -1);
+		unknownCount--;
+	} else if (height < 0) {
+		add(unknownTree, index, 1);
+		unknownCount++;
+	}
+}
+
+int size() {
+	return size;
+}
+
+/**
+ * Returns the sum of the known heights of the lines from start (inclusive)
+ * to end (exclusive).
+ */
+int sum(int start, int end) {
+	return prefix(end) - prefix(start);
+}
+
+/**
+ * Returns the number of lines whose height is not known.
+ */
+int unknownCount() {
+	return unknownCount;
+}
+}
@@ -0,0 +1,920 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Platform Contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Platform Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.custom;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.List;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.widgets.*;
+
+/**
+ * A read-only <code>StyledTextContent</code> that shows a file which is
+ * mapped into memory.
+ * <p>
+ * The file is not read into the heap. Its lines are indexed by a background
+ * thread, which only keeps the position of every 64th line, and the characters
+ * are decoded from the mapped file whenever they are requested. Opening a file
+ * therefore takes the same time regardless of its size, and the lines become
+ * available to the <code>StyledText</code> as they are indexed, in the same
+ * way as if they were appended to the end of the content.
+ * </p><p>
+ * When the content is tailing, the file is checked for new data periodically
+ * and the new lines are appended to the content. A file that becomes shorter
+ * is read again from the start. Since the pages of a mapped file beyond its
+ * end cannot be accessed, the text that is requested from a file which became
+ * shorter is empty, and the content starts over once the request returned:
+ * from the thread of the display if one was given, otherwise on the next
+ * {@link #refresh()}.
+ * </p><p>
+ * The file must be encoded in UTF-8 or in a charset that encodes every
+ * character as a single byte. Like the default content of <code>StyledText</code>,
+ * this content treats CR, LF and CR/LF as line delimiters, except that a CR at
+ * the end of the file does not terminate the last line. Only the lines within
+ * the first <code>Integer.MAX_VALUE</code> characters of a file can be shown,
+ * the content of a longer file is truncated after the last of these lines.
+ * </p><p>
+ * The content cannot be modified, the <code>StyledText</code> using it should
+ * not be editable. The content must be disposed when it is no longer needed.
+ * </p>
+ *
+ * @see StyledText#setContent(StyledTextContent)
+ * @since 3.135
+ */
+public class MappedFileContent implements StyledTextContent {
+	private final static String LineDelimiter = System.lineSeparator();
+
+	/* Every line whose index is a multiple of this is recorded in the index */
+	static final int CHECKPOINT_SHIFT = 6;
+	static final int REGION_SHIFT = 30;
+	static final long REGION_MASK = (1L << REGION_SHIFT) - 1;
+	static final int INITIAL_BYTES = 64 * 1024;
+	static final int BATCH_BYTES = 1024 * 1024;
+	static final int PUBLISH_BYTES = 1024 * 1024;
+	static final int TAIL_INTERVAL = 500;
+	static final int REPLACEMENT = 0xFFFD;
+	/* The number of characters the content can have, only lowered by the tests */
+	static int maxCharCount = Integer.MAX_VALUE;
+
+	/**
+	 * The extent of the indexed text. The last line either ends at the end
+	 * of the file or is complete.
+	 */
+	static final class State {
+		final long end;
+		final int charCount;
+		final int lineCount;
+		final long lastLineStart;
+		final int lastLineOffset;
+
+		State(long end, int charCount, int lineCount, long lastLineStart, int lastLineOffset) {
+			this.end = end;
+			this.charCount = charCount;
+			this.lineCount = lineCount;
+			this.lastLineStart = lastLineStart;
+			this.lastLineOffset = lastLineOffset;
+		}
+	}
+	static final State EMPTY = new State(0, 0, 1, 0, 0);
+
+	final Display display;
+	final Path file;
+	final char[] table;
+	FileChannel channel;
+	volatile MappedByteBuffer[] regions = new MappedByteBuffer[0];
+	volatile long mappedSize;
+	List<StyledTextListener> textListeners = new ArrayList<>();
+	boolean tailing, publishPending, updatePending, disposed;
+
+	/* The index, written by the indexer and read by the UI thread */
+	volatile long[] checkpointStarts = new long[64];
+	volatile int[] checkpointOffsets = new int[64];
+	volatile State indexed = EMPTY;
+	Thread indexer;
+	volatile boolean stopIndexer, truncated;
+
+	/* The state of the indexer, only accessed by the thread that indexes */
+	long lineStart;
+	int lineOffset, lineBreaks;
+
+	/* The state the listeners know about, only accessed by the UI thread */
+	State published = EMPTY;
+	int cacheLine = -1, cacheOffset;
+	long cacheStart;
+	long scanEnd;
+	int scanOffset;
+
+	final Runnable publisher = () -> {
+		synchronized (this) {
+			publishPending = false;
+		}
+		if (disposed) return;
+		if (publish()) schedulePublish();
+	};
+	final Runnable tailer = this::tail;
+	final Runnable updater = () -> {
+		synchronized (this) {
+			updatePending = false;
+		}
+		if (!disposed) update();
+	};
+
+/**
+ * Constructs a new content for the file.
+ * <p>
+ * If a display is given, the content must be created by the thread of the
+ * display and the lines are passed to the listeners from that thread as soon
+ * as they are indexed. Otherwise, {@link #refresh()} passes them on.
+ * </p>
+ *
+ * @param display the display whose thread uses the content, or <code>null</code>
+ * @param fileName the name of the file
+ * @param charset the charset of the file
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the file name or the charset is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if the charset is neither UTF-8 nor a single byte charset</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_IO - if an IO error occurs while opening the file</li>
+ * </ul>
+ */
+public MappedFileContent(Display display, String fileName, Charset charset) {
+	if (fileName == null || charset == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	this.display = display;
+	table = createTable(charset);
+	file = Paths.get(fileName);
+	try {
+		channel = FileChannel.open(file, StandardOpenOption.READ);
+		map(channel.size());
+	} catch (IOException e) {
+		close();
+		SWT.error(SWT.ERROR_IO, e);
+	}
+	/* Show the first lines right away */
+	index(INITIAL_BYTES);
+	published = indexed;
+	startIndexer();
+}
+/**
+ * Returns the characters of a single byte charset, indexed by their bytes,
+ * or <code>null</code> for UTF-8.
+ */
+static char[] createTable(Charset charset) {
+	if (charset.equals(StandardCharsets.UTF_8)) return null;
+	boolean singleByte;
+	try {
+		singleByte = charset.newEncoder().maxBytesPerChar() == 1;
+	} catch (UnsupportedOperationException e) {
+		singleByte = false;
+	}
+	if (!singleByte) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+	byte[] bytes = new byte[256];
+	for (int i = 0; i < bytes.length; i++) bytes[i] = (byte) i;
+	String chars = new String(bytes, charset);
+	if (chars.length() != 256 || chars.charAt(SWT.LF) != SWT.LF || chars.charAt(SWT.CR) != SWT.CR) {
+		SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+	}
+	return chars.toCharArray();
+}
+/**
+ * Adds a <code>TextChangeListener</code> listening for
+ * <code>TextChangingEvent</code> and <code>TextChangedEvent</code>. A
+ * <code>TextChangingEvent</code> is sent before changes to the text occur.
+ * A <code>TextChangedEvent</code> is sent after changes to the text
+ * occurred.
+ *
+ * @param listener the listener
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT when listener is null</li>
+ * </ul>
+ */
+@Override
+public void addTextChangeListener(TextChangeListener listener) {
+	if (listener == null) error(SWT.ERROR_NULL_ARGUMENT);
+	StyledTextListener typedListener = new StyledTextListener(listener);
+	textListeners.add(typedListener);
+}
+void close() {
+	if (channel != null) {
+		try {
+			channel.close();
+		} catch (IOException e) {
+		}
+		channel = null;
+	}
+	regions = new MappedByteBuffer[0];
+}
+/**
+ * Starts over if the file became shorter than the part that is mapped,
+ * before the pages beyond its end are accessed. Must not be called while
+ * the content is queried, since starting over changes the lines.
+ */
+void checkSize() {
+	if (channel == null) return;
+	try {
+		if (channel.size() < mappedSize) update();
+	} catch (IOException e) {
+		SWT.error(SWT.ERROR_IO, e);
+	}
+}
+/**
+ * Decodes the characters from start (inclusive) to end (exclusive), skipping
+ * the given number of characters first, into the array.
+ *
+ * @return the number of characters that were decoded
+ */
+int decode(MappedByteBuffer[] regions, long start, long end, int skip, char[] chars, int offset, int count) {
+	long position = start;
+	int written = 0;
+	while (position < end && written < count) {
+		int ch = get(regions, position) & 0xFF;
+		int length = 1;
+		if (table != null) {
+			ch = table[ch];
+		} else if (ch >= 0x80) {
+			long next = next(regions, position, end);
+			ch = (int) next;
+			length = (int) (next >>> 32);
+		}
+		position += length;
+		if (ch >= 0x10000) {
+			if (skip == 0) {
+				chars[offset + written++] = Character.highSurrogate(ch);
+				if (written < count) chars[offset + written++] = Character.lowSurrogate(ch);
+			} else if (skip == 1) {
+				chars[offset + written++] = Character.lowSurrogate(ch);
+				skip = 0;
+			} else {
+				skip -= 2;
+			}
+		} else if (skip == 0) {
+			chars[offset + written++] = (char) ch;
+		} else {
+			skip--;
+		}
+	}
+	return written;
+}
+String decode(long start, long end) {
+	State state = published;
+	int length = (int) Math.min(Integer.MAX_VALUE - 8, end - start);
+	char[] chars = new char[length];
+	int count = decode(regions, start, Math.min(end, state.end), 0, chars, 0, length);
+	return new String(chars, 0, count);
+}
+/**
+ * Releases the file. The content must not be used any more.
+ */
+public void dispose() {
+	if (disposed) return;
+	disposed = true;
+	stopIndexer();
+	close();
+}
+void error (int code) {
+	SWT.error(code);
+}
+static byte get(MappedByteBuffer[] regions, long position) {
+	return regions[(int) (position >>> REGION_SHIFT)].get((int) (position & REGION_MASK));
+}
+/**
+ * @return the number of characters that are available
+ */
+@Override
+public int getCharCount() {
+	return published.charCount;
+}
+/**
+ * Returns the line at <code>index</code> without delimiters.
+ *
+ * @param index	the index of the line to return
+ * @return the line text without delimiters
+ * @exception IllegalArgumentException <ul>
+ *   <li>ERROR_INVALID_ARGUMENT when index is out of range</li>
+ * </ul>
+ */
+@Override
+public String getLine(int index) {
+	State state = published;
+	if ((index >= state.lineCount) || (index < 0)) error(SWT.ERROR_INVALID_ARGUMENT);
+	try {
+		long start = getLineStart(state, index);
+		scanLine(state, start);
+		long end = scanEnd;
+		if (index < state.lineCount - 1) {
+			MappedByteBuffer[] regions = this.regions;
+			while (end > start && (get(regions, end - 1) == SWT.LF || get(regions, end - 1) == SWT.CR)) end--;
+		}
+		return decode(start, end);
+	} catch (InternalError e) {
+		truncatedWhileReading();
+		return "";
+	}
+}
+/**
+ * Returns the line at the given offset.
+ *
+ * @param offset character offset
+ * @return the line index
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_INVALID_ARGUMENT when offset is out of range</li>
+ * </ul>
+ */
+@Override
+public int getLineAtOffset(int offset) {
+	State state = published;
+	if ((offset > state.charCount) || (offset < 0)) SWT.error(SWT.ERROR_INVALID_ARGUMENT, null, ". charPosition=" + offset + " charCount=" + state.charCount);
+	if (offset >= state.lastLineOffset) return state.lineCount - 1;
+	int[] offsets = checkpointOffsets;
+	int low = 0, high = (state.lineCount - 1) >>> CHECKPOINT_SHIFT;
+	while (low < high) {
+		int mid = (low + high + 1) >>> 1;
+		if (offsets[mid] <= offset) {
+			low = mid;
+		} else {
+			high = mid - 1;
+		}
+	}
+	int line = low << CHECKPOINT_SHIFT;
+	long start = checkpointStarts[low];
+	int lineOffset = offsets[low];
+	if (cacheLine != -1 && cacheLine > line && cacheLine < state.lineCount - 1 && cacheOffset <= offset) {
+		/* Continue from the cached line, it is between the checkpoint and the offset */
+		line = cacheLine;
+		start = cacheStart;
+		lineOffset = cacheOffset;
+	}
+	try {
+		while (true) {
+			scanLine(state, start);
+			if (offset < scanOffset + lineOffset) break;
+			line++;
+			start = scanEnd;
+			lineOffset += scanOffset;
+		}
+	} catch (InternalError e) {
+		truncatedWhileReading();
+		return line;
+	}
+	cacheLine = line;
+	cacheStart = start;
+	cacheOffset = lineOffset;
+	return line;
+}
+/**
+ * @return the number of lines that are available
+ */
+@Override
+public int getLineCount() {
+	return published.lineCount;
+}
+/**
+ * Returns the line delimiter that should be used by the StyledText
+ * widget when inserting new lines.
+ *
+ * @return the platform line delimiter as specified in the line.separator
+ * 	system property.
+ */
+@Override
+public String getLineDelimiter() {
+	return LineDelimiter;
+}
+/**
+ * Returns the position in the file at which the line starts and
+ * remembers the offset of the line in cacheOffset.
+ */
+long getLineStart(State state, int index) {
+	if (index == state.lineCount - 1) {
+		cacheLine = index;
+		cacheStart = state.lastLineStart;
+		cacheOffset = state.lastLineOffset;
+		return cacheStart;
+	}
+	int line;
+	long start;
+	int offset;
+	int checkpoint = index >>> CHECKPOINT_SHIFT;
+	if (cacheLine != -1 && cacheLine <= index && cacheLine >>> CHECKPOINT_SHIFT == checkpoint) {
+		line = cacheLine;
+		start = cacheStart;
+		offset = cacheOffset;
+	} else {
+		line = checkpoint << CHECKPOINT_SHIFT;
+		start = checkpointStarts[checkpoint];
+		offset = checkpointOffsets[checkpoint];
+	}
+	while (line < index) {
+		scanLine(state, start);
+		start = scanEnd;
+		offset += scanOffset;
+		line++;
+	}
+	cacheLine = line;
+	cacheStart = start;
+	cacheOffset = offset;
+	return start;
+}
+/**
+ * Returns the offset of the given line.
+ *
+ * @param lineIndex index of line
+ * @return the offset at which the line starts
+ * @exception IllegalArgumentException <ul>
+ *   <li>ERROR_INVALID_ARGUMENT when lineIndex is out of range</li>
+ * </ul>
+ */
+@Override
+public int getOffsetAtLine(int lineIndex) {
+	if (lineIndex == 0) return 0;
+	State state = published;
+	if ((lineIndex >= state.lineCount) || (lineIndex < 0)) error(SWT.ERROR_INVALID_ARGUMENT);
+	try {
+		getLineStart(state, lineIndex);
+	} catch (InternalError e) {
+		truncatedWhileReading();
+		if (lineIndex == state.lineCount - 1) return state.lastLineOffset;
+		return checkpointOffsets[lineIndex >>> CHECKPOINT_SHIFT];
+	}
+	return cacheOffset;
+}
+/**
+ * Returns whether the content is tailing the file.
+ *
+ * @return <code>true</code> if the content is tailing the file, <code>false</code> otherwise
+ *
+ * @see #setTailing(boolean)
+ */
+public boolean getTailing() {
+	return tailing;
+}
+/**
+ * Returns a string representing the content at the given range.
+ *
+ * @param start the start offset of the text to return
+ * @param length the length of the text to return
+ * @return the text at the given range
+ * @exception IllegalArgumentException <ul>
+ *   <li>ERROR_INVALID_ARGUMENT when the range is out of bounds</li>
+ * </ul>
+ */
+@Override
+public String getTextRange(int start, int length) {
+	if (length == 0) return "";
+	State state = published;
+	if (start < 0 || length < 0 || start + length > state.charCount) error(SWT.ERROR_INVALID_ARGUMENT);
+	char[] chars = new char[length];
+	try {
+		int line = getLineAtOffset(start);
+		long lineStart = getLineStart(state, line);
+		decode(regions, lineStart, state.end, start - cacheOffset, chars, 0, length);
+	} catch (InternalError e) {
+		truncatedWhileReading();
+	}
+	return new String(chars);
+}
+/**
+ * Indexes the lines of the file, at least the given number of bytes
+ * and up to the end of the line or the end of the file.
+ *
+ * @return <code>true</code> if the end of the file or the maximum number
+ * of characters was reached
+ */
+boolean index(int limit) {
+	/* The regions are assigned before the size */
+	long end = mappedSize;
+	MappedByteBuffer[] regions = this.regions;
+	long position = lineStart;
+	int offset = lineOffset, max = maxCharCount;
+	long stop = position + limit;
+	while (position < end) {
+		int ch = get(regions, position) & 0xFF;
+		if (ch == SWT.LF || ch == SWT.CR) {
+			position++;
+			offset++;
+			if (ch == SWT.CR) {
+				/* A CR at the end might be followed by a LF later */
+				if (position == end) break;
+				if (get(regions, position) == SWT.LF) {
+					position++;
+					offset++;
+				}
+			}
+			if (offset < 0 || offset > max) break;
+			lineBreaks++;
+			lineStart = position;
+			lineOffset = offset;
+			if ((lineBreaks & ((1 << CHECKPOINT_SHIFT) - 1)) == 0) {
+				addCheckpoint(lineBreaks >>> CHECKPOINT_SHIFT, position, offset);
+			}
+			if (position >= stop) {
+				indexed = new State(position, offset, lineBreaks + 1, position, offset);
+				return false;
+			}
+		} else if (table != null || ch < 0x80) {
+			position++;
+			offset++;
+		} else {
+			long next = next(regions, position, end);
+			position += next >>> 32;
+			offset += (int) next >= 0x10000 ? 2 : 1;
+		}
+		/* Stop before the number of characters overflows */
+		if (offset < 0 || offset > max) break;
+	}
+	if (offset < 0 || offset > max) {
+		/* Truncate the content after the last line that fits */
+		indexed = new State(lineStart, lineOffset, lineBreaks + 1, lineStart, lineOffset);
+		truncated = true;
+	} else {
+		indexed = new State(position, offset, lineBreaks + 1, lineStart, lineOffset);
+	}
+	return true;
+}
+void addCheckpoint(int index, long start, int offset) {
+	long[] starts = checkpointStarts;
+	int[] offsets = checkpointOffsets;
+	if (index == starts.length) {
+		starts = Arrays.copyOf(starts, index * 2);
+		offsets = Arrays.copyOf(offsets, index * 2);
+	}
+	starts[index] = start;
+	offsets[index] = offset;
+	checkpointStarts = starts;
+	checkpointOffsets = offsets;
+}
+/**
+ * Returns whether lines of the file have not been indexed or have
+ * not been passed to the listeners yet.
+ *
+ * @return <code>true</code> if the content is incomplete, <code>false</code> otherwise
+ */
+public boolean isIndexing() {
+	Thread thread = indexer;
+	return (thread != null && thread.isAlive()) || indexed != published;
+}
+/**
+ * Returns whether the file has more characters than the content can have,
+ * in which case only the lines within the first <code>Integer.MAX_VALUE</code>
+ * characters are shown.
+ *
+ * @return <code>true</code> if the content is truncated, <code>false</code> otherwise
+ */
+public boolean isTruncated() {
+	return truncated;
+}
+void map(long size) throws IOException {
+	MappedByteBuffer[] oldRegions = regions;
+	int count = (int) ((size + REGION_MASK) >>> REGION_SHIFT);
+	MappedByteBuffer[] newRegions = new MappedByteBuffer[count];
+	for (int i = 0; i < count; i++) {
+		long start = (long) i << REGION_SHIFT;
+		long length = Math.min(size - start, 1L << REGION_SHIFT);
+		if (i < oldRegions.length && oldRegions[i].capacity() == length) {
+			newRegions[i] = oldRegions[i];
+		} else {
+			newRegions[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+		}
+	}
+	regions = newRegions;
+	mappedSize = size;
+}
+/**
+ * Decodes the UTF-8 sequence at the position. Returns the code point in
+ * the lower and the length of the sequence in the upper 32 bits. Invalid
+ * and incomplete sequences decode to a replacement character per byte.
+ */
+static long next(MappedByteBuffer[] regions, long position, long end) {
+	int ch = get(regions, position) & 0xFF;
+	if (ch < 0x80) return (1L << 32) | ch;
+	int length;
+	if (ch >= 0xC2 && ch <= 0xDF) {
+		length = 2;
+		ch &= 0x1F;
+	} else if (ch >= 0xE0 && ch <= 0xEF) {
+		length = 3;
+		ch &= 0x0F;
+	} else if (ch >= 0xF0 && ch <= 0xF4) {
+		length = 4;
+		ch &= 0x07;
+	} else {
+		return (1L << 32) | REPLACEMENT;
+	}
+	if (position + length > end) return (1L << 32) | REPLACEMENT;
+	for (int i = 1; i < length; i++) {
+		int next = get(regions, position + i) & 0xFF;
+		if ((next & 0xC0) != 0x80) return (1L << 32) | REPLACEMENT;
+		ch = (ch << 6) | (next & 0x3F);
+	}
+	if (ch > Character.MAX_CODE_POINT) ch = REPLACEMENT;
+	return ((long) length << 32) | ch;
+}
+/**
+ * Passes the indexed lines to the listeners, at most about
+ * PUBLISH_BYTES at a time.
+ *
+ * @return <code>true</code> if there are more lines to pass on
+ */
+boolean publish() {
+	checkSize();
+	State state = published, target = indexed;
+	if (state == target) return false;
+	if (target.end - state.lastLineStart > PUBLISH_BYTES) {
+		/* Stop at the last checkpoint in range, or at the first one after the last line */
+		long[] starts = checkpointStarts;
+		int first = ((state.lineCount - 1) >>> CHECKPOINT_SHIFT) + 1;
+		int last = (target.lineCount - 1) >>> CHECKPOINT_SHIFT;
+		if (first <= last && starts[first] < target.end) {
+			int checkpoint = first;
+			while (checkpoint < last && starts[checkpoint + 1] - state.lastLineStart <= PUBLISH_BYTES) checkpoint++;
+			long start = starts[checkpoint];
+			int offset = checkpointOffsets[checkpoint];
+			target = new State(start, offset, (checkpoint << CHECKPOINT_SHIFT) + 1, start, offset);
+		}
+	}
+	/* The last line is replaced, since it may have been incomplete */
+	StyledTextEvent event = new StyledTextEvent(this);
+	event.type = ST.TextChanging;
+	event.start = state.lastLineOffset;
+	event.replaceCharCount = state.charCount - state.lastLineOffset;
+	event.replaceLineCount = 0;
+	char[] chars = new char[target.charCount - state.lastLineOffset];
+	try {
+		decode(regions, state.lastLineStart, target.end, 0, chars, 0, chars.length);
+	} catch (InternalError e) {
+		/* The file became shorter after its size was checked */
+		update();
+		return false;
+	}
+	event.text = new String(chars);
+	event.newCharCount = chars.length;
+	event.newLineCount = target.lineCount - state.lineCount;
+	sendTextEvent(event);
+	published = target;
+	cacheLine = -1;
+	event = new StyledTextEvent(this);
+	event.type = ST.TextChanged;
+	sendTextEvent(event);
+	return target != indexed;
+}
+/**
+ * Passes the lines that have been indexed so far to the listeners. If the
+ * content is tailing, the file is checked for new data first.
+ * <p>
+ * Content that was created with a display calls this periodically, so
+ * there is no need to call it. Otherwise, it must be called by the thread
+ * that uses the content to make new lines available.
+ * </p>
+ */
+public void refresh() {
+	if (disposed) return;
+	boolean update;
+	synchronized (this) {
+		update = tailing || updatePending;
+		updatePending = false;
+	}
+	if (update) update();
+	while (publish()) {
+	}
+}
+/**
+ * Removes the specified <code>TextChangeListener</code>.
+ *
+ * @param listener the listener which should no longer be notified
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT when listener is null</li>
+ * </ul>
+ */
+@Override
+@SuppressWarnings("removal")
+public void removeTextChangeListener(TextChangeListener listener) {
+	if (listener == null) error(SWT.ERROR_NULL_ARGUMENT);
+	for (int i = 0; i < textListeners.size(); i++) {
+		TypedListener typedListener = textListeners.get(i);
+		if (typedListener.getEventListener () == listener) {
+			textListeners.remove(i);
+			break;
+		}
+	}
+}
+/**
+ * The content is read-only, this method always fails.
+ *
+ * @exception SWTError <ul>
+ *   <li>ERROR_NOT_IMPLEMENTED - always</li>
+ * </ul>
+ */
+@Override
+public void replaceTextRange(int start, int replaceLength, String text) {
+	error(SWT.ERROR_NOT_IMPLEMENTED);
+}
+/**
+ * Scans the line that starts at the position. Stores the position after the
+ * line in scanEnd and the number of characters of the line in scanOffset.
+ */
+void scanLine(State state, long start) {
+	MappedByteBuffer[] regions = this.regions;
+	long end = state.end;
+	long position = start;
+	int count = 0;
+	while (position < end) {
+		int ch = get(regions, position) & 0xFF;
+		if (ch == SWT.LF) {
+			position++;
+			count++;
+			break;
+		}
+		if (ch == SWT.CR) {
+			position++;
+			count++;
+			if (position == end) break;
+			if (get(regions, position) == SWT.LF) {
+				position++;
+				count++;
+			}
+			break;
+		}
+		if (table != null || ch < 0x80) {
+			position++;
+			count++;
+		} else {
+			long next = next(regions, position, end);
+			position += next >>> 32;
+			count += (int) next >= 0x10000 ? 2 : 1;
+		}
+	}
+	scanEnd = position;
+	scanOffset = count;
+}
+void schedulePublish() {
+	if (display == null) return;
+	synchronized (this) {
+		if (publishPending) return;
+		publishPending = true;
+	}
+	if (!display.isDisposed()) {
+		try {
+			display.asyncExec(publisher);
+		} catch (SWTException e) {
+			/* The display was disposed in the meantime */
+		}
+	}
+}
+/**
+ * Sends the text listeners the TextChanged event.
+ */
+void sendTextEvent(StyledTextEvent event) {
+	for (StyledTextListener textListener : textListeners) {
+		textListener.handleEvent(event);
+	}
+}
+/**
+ * Sets whether the content is tailing the file. A tailing content checks
+ * the file for new data every TAIL_INTERVAL milliseconds if it was created
+ * with a display, or whenever {@link #refresh()} is called.
+ *
+ * @param tailing <code>true</code> to tail the file, <code>false</code> otherwise
+ */
+public void setTailing(boolean tailing) {
+	if (this.tailing == tailing) return;
+	this.tailing = tailing;
+	if (tailing && display != null && !disposed) {
+		display.timerExec(TAIL_INTERVAL, tailer);
+	}
+}
+/**
+ * The content is read-only, this method always fails.
+ *
+ * @exception SWTError <ul>
+ *   <li>ERROR_NOT_IMPLEMENTED - always</li>
+ * </ul>
+ */
+@Override
+public void setText(String text) {
+	error(SWT.ERROR_NOT_IMPLEMENTED);
+}
+synchronized void startIndexer() {
+	if (indexer != null && indexer.isAlive()) return;
+	if (truncated || (indexed.end == mappedSize && indexed.lastLineStart == lineStart)) return;
+	stopIndexer = false;
+	indexer = new Thread(() -> {
+		while (!stopIndexer) {
+			boolean done;
+			try {
+				done = index(BATCH_BYTES);
+			} catch (InternalError e) {
+				/* The file became shorter, the next check of its size starts over */
+				synchronized (MappedFileContent.this) {
+					indexer = null;
+				}
+				schedulePublish();
+				break;
+			}
+			schedulePublish();
+			if (done) {
+				synchronized (MappedFileContent.this) {
+					/* The file may have been mapped again while indexing */
+					if (truncated || indexed.end == mappedSize) {
+						indexer = null;
+						break;
+					}
+				}
+			}
+		}
+	}, "SWT MappedFileContent indexer"); //$NON-NLS-1$
+	indexer.setDaemon(true);
+	indexer.start();
+}
+void stopIndexer() {
+	Thread thread;
+	synchronized (this) {
+		stopIndexer = true;
+		thread = indexer;
+		indexer = null;
+	}
+	if (thread != null) {
+		try {
+			thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
+void tail() {
+	if (disposed || !tailing) return;
+	refresh();
+	if (display != null && !display.isDisposed()) {
+		display.timerExec(TAIL_INTERVAL, tailer);
+	}
+}
+/**
+ * Starts over once the current request returned, when the file became shorter
+ * while it was read. Starting over right away would change the lines while the
+ * caller is still working with them.
+ */
+void truncatedWhileReading() {
+	cacheLine = -1;
+	synchronized (this) {
+		if (updatePending) return;
+		updatePending = true;
+	}
+	if (display == null || display.isDisposed()) return;
+	try {
+		display.asyncExec(updater);
+	} catch (SWTException e) {
+		/* The display was disposed in the meantime */
+	}
+}
+/**
+ * Checks the size of the file. Maps and indexes the new data if the
+ * file grew, and starts over if it became shorter.
+ */
+void update() {
+	long size;
+	try {
+		size = channel.size();
+		if (size == mappedSize) return;
+		if (size > mappedSize) {
+			synchronized (this) {
+				map(size);
+			}
+			startIndexer();
+			return;
+		}
+		stopIndexer();
+		map(size);
+	} catch (IOException e) {
+		SWT.error(SWT.ERROR_IO, e);
+		return;
+	}
+	lineStart = 0;
+	lineOffset = lineBreaks = 0;
+	truncated = false;
+	indexed = published = EMPTY;
+	cacheLine = -1;
+	index(INITIAL_BYTES);
+	published = indexed;
+	StyledTextEvent event = new StyledTextEvent(this);
+	event.type = ST.TextSet;
+	event.text = "";
+	sendTextEvent(event);
+	startIndexer();
+}
+}
@@ -0,0 +1,650 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Platform Contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Platform Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.custom;
+
+import java.util.*;
+import java.util.List;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.widgets.*;
+
+/**
+ * A <code>StyledTextContent</code> that stores the text in a piece table.
+ * <p>
+ * Text is never moved once it is stored. The text passed to <code>setText</code>
+ * and the text inserted afterwards are kept in two buffers, the latter of which
+ * is only appended to, and the content is described by a balanced tree of pieces
+ * of these buffers. Each buffer indexes the offsets at which its lines start in a
+ * flat <code>int</code> array. Replacing text and converting between lines and
+ * offsets take logarithmic time in the number of edits, independent of the
+ * length of the text and of the distance to the previous edit.
+ * </p><p>
+ * The tree is never modified in place. Since an edit only creates new nodes
+ * on the path to the changed pieces, a snapshot of the content is no more than
+ * a reference to the root of the tree. Snapshots are intended for undo and
+ * redo and can be restored at any time, see {@link #createSnapshot()}.
+ * </p><p>
+ * Like the default content of <code>StyledText</code>, this content treats
+ * CR, LF and CR/LF as line delimiters and does not allow a CR/LF line delimiter
+ * to be split or partially deleted.
+ * </p>
+ *
+ * @see StyledText#setContent(StyledTextContent)
+ * @since 3.135
+ */
+public class PieceTableContent implements StyledTextContent {
+	private final static String LineDelimiter = System.lineSeparator();
+
+	List<StyledTextListener> textListeners = new ArrayList<>();
+	Buffer original, added;
+	Piece root;
+
+	/**
+	 * The state of a <code>PieceTableContent</code> at a point in time.
+	 *
+	 * @see PieceTableContent#createSnapshot()
+	 * @see PieceTableContent#restoreSnapshot(Snapshot)
+	 */
+	public static final class Snapshot {
+		final PieceTableContent content;
+		final Piece root;
+
+		Snapshot(PieceTableContent content, Piece root) {
+			this.content = content;
+			this.root = root;
+		}
+
+		/**
+		 * Returns the number of characters of the content at the time of the snapshot.
+		 *
+		 * @return the number of characters
+		 */
+		public int getCharCount() {
+			return size(root);
+		}
+	}
+
+	/**
+	 * A text buffer and the offsets of the lines in it. The characters of a
+	 * buffer never change once they have been appended.
+	 */
+	static final class Buffer {
+		char[] chars;
+		int length;
+		/* The offsets at which lines start, excluding the first line */
+		int[] lineStarts;
+		int lineStartCount;
+
+		Buffer(char[] chars) {
+			this.chars = chars;
+			length = chars.length;
+			lineStarts = new int[16];
+			indexLines(0);
+			lineStarts = Arrays.copyOf(lineStarts, lineStartCount);
+		}
+
+		/**
+		 * Appends the text and returns the offset at which it starts.
+		 */
+		int append(String text) {
+			int textLength = text.length();
+			/*
+			* Separate a trailing CR from a leading LF, so that the two
+			* remain separate line delimiters in the buffer as well.
+			*/
+			boolean separate = length > 0 && chars[length - 1] == SWT.CR && text.charAt(0) == SWT.LF;
+			int required = length + textLength + (separate ? 1 : 0);
+			if (required > chars.length) {
+				chars = Arrays.copyOf(chars, Math.max(required, chars.length * 2));
+			}
+			if (separate) chars[length++] = ' ';
+			int start = length;
+			text.getChars(0, textLength, chars, start);
+			length += textLength;
+			indexLines(start);
+			return start;
+		}
+
+		void indexLines(int start) {
+			char[] chars = this.chars;
+			for (int i = start; i < length; i++) {
+				char ch = chars[i];
+				if (ch == SWT.LF || (ch == SWT.CR && (i + 1 == length || chars[i + 1] != SWT.LF))) {
+					if (lineStartCount == lineStarts.length) {
+						lineStarts = Arrays.copyOf(lineStarts, Math.max(16, lineStartCount * 2));
+					}
+					lineStarts[lineStartCount++] = i + 1;
+				}
+			}
+		}
+
+		/**
+		 * Returns the number of lines that start at or before the offset.
+		 */
+		int rank(int offset) {
+			int low = 0, high = lineStartCount;
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (lineStarts[mid] <= offset) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			return low;
+		}
+
+		/**
+		 * Returns the number of line delimiters in the range, counting
+		 * a CR at its end even if the buffer continues with a LF.
+		 */
+		int lineBreaks(int start, int end) {
+			int count = rank(end) - rank(start);
+			if (end < length && chars[end - 1] == SWT.CR && chars[end] == SWT.LF) count++;
+			return count;
+		}
+	}
+
+	/**
+	 * A piece of a buffer and a node of the balanced tree of pieces. Nodes
+	 * are immutable, so that they can be shared between snapshots.
+	 */
+	static final class Piece {
+		final Buffer buffer;
+		final int start, length, lineBreaks;
+		final Piece left, right;
+		/* The height, length and line delimiters of the subtree */
+		final int height, totalLength, totalLineBreaks;
+
+		Piece(Buffer buffer, int start, int length) {
+			this(buffer, start, length, buffer.lineBreaks(start, start + length), null, null);
+		}
+
+		Piece(Buffer buffer, int start, int length, int lineBreaks, Piece left, Piece right) {
+			this.buffer = buffer;
+			this.start = start;
+			this.length = length;
+			this.lineBreaks = lineBreaks;
+			this.left = left;
+			this.right = right;
+			height = Math.max(height(left), height(right)) + 1;
+			totalLength = size(left) + length + size(right);
+			totalLineBreaks = lineBreaks(left) + lineBreaks + lineBreaks(right);
+		}
+
+		Piece with(Piece left, Piece right) {
+			if (left == this.left && right == this.right) return this;
+			return new Piece(buffer, start, length, lineBreaks, left, right);
+		}
+	}
+
+/**
+ * Constructs a new, empty content.
+ */
+public PieceTableContent() {
+	setText("");
+}
+static int height(Piece piece) {
+	return piece == null ? 0 : piece.height;
+}
+static int size(Piece piece) {
+	return piece == null ? 0 : piece.totalLength;
+}
+static int lineBreaks(Piece piece) {
+	return piece == null ? 0 : piece.totalLineBreaks;
+}
+/**
+ * Returns a node with the given children, rotating it once or twice
+ * if their heights differ by two.
+ */
+static Piece balance(Piece piece, Piece left, Piece right) {
+	int leftHeight = height(left), rightHeight = height(right);
+	if (leftHeight > rightHeight + 1) {
+		if (height(left.left) >= height(left.right)) {
+			return left.with(left.left, piece.with(left.right, right));
+		}
+		Piece middle = left.right;
+		return middle.with(left.with(left.left, middle.left), piece.with(middle.right, right));
+	}
+	if (rightHeight > leftHeight + 1) {
+		if (height(right.right) >= height(right.left)) {
+			return right.with(piece.with(left, right.left), right.right);
+		}
+		Piece middle = right.left;
+		return middle.with(piece.with(left, middle.left), right.with(middle.right, right.right));
+	}
+	return piece.with(left, right);
+}
+/**
+ * Returns a tree with the pieces of left, the piece and the pieces
+ * of right in this order. The children of the piece are ignored.
+ */
+static Piece join(Piece left, Piece piece, Piece right) {
+	if (height(left) > height(right) + 1) {
+		return balance(left, left.left, join(left.right, piece, right));
+	}
+	if (height(right) > height(left) + 1) {
+		return balance(right, join(left, piece, right.left), right.right);
+	}
+	return piece.with(left, right);
+}
+static Piece concat(Piece left, Piece right) {
+	if (left == null) return right;
+	if (right == null) return left;
+	Piece first = right;
+	while (first.left != null) first = first.left;
+	return join(left, first, removeFirst(right));
+}
+static Piece removeFirst(Piece piece) {
+	if (piece.left == null) return piece.right;
+	return balance(piece, removeFirst(piece.left), piece.right);
+}
+/**
+ * Splits the tree into the pieces before and after the offset,
+ * splitting the piece that contains the offset in two.
+ */
+static Piece[] split(Piece piece, int offset) {
+	if (piece == null) return new Piece[2];
+	int leftSize = size(piece.left);
+	if (offset <= leftSize) {
+		Piece[] parts = split(piece.left, offset);
+		parts[1] = join(parts[1], piece, piece.right);
+		return parts;
+	}
+	int pieceEnd = leftSize + piece.length;
+	if (offset >= pieceEnd) {
+		Piece[] parts = split(piece.right, offset - pieceEnd);
+		parts[0] = join(piece.left, piece, parts[0]);
+		return parts;
+	}
+	int length = offset - leftSize;
+	Piece head = new Piece(piece.buffer, piece.start, length);
+	Piece tail = new Piece(piece.buffer, piece.start + length, piece.length - length);
+	return new Piece[] {join(piece.left, head, null), join(null, tail, piece.right)};
+}
+/**
+ * Copies the characters of the tree from start (inclusive) to end
+ * (exclusive) into the array.
+ */
+static void copy(Piece piece, int start, int end, char[] chars, int offset) {
+	while (piece != null && start < end) {
+		int leftSize = size(piece.left);
+		if (start < leftSize) {
+			copy(piece.left, start, Math.min(end, leftSize), chars, offset);
+		}
+		int pieceEnd = leftSize + piece.length;
+		int copyStart = Math.max(start, leftSize), copyEnd = Math.min(end, pieceEnd);
+		if (copyStart < copyEnd) {
+			System.arraycopy(piece.buffer.chars, piece.start + copyStart - leftSize, chars, offset + copyStart - start, copyEnd - copyStart);
+		}
+		if (end <= pieceEnd) return;
+		offset += Math.max(0, pieceEnd - start);
+		start = Math.max(0, start - pieceEnd);
+		end -= pieceEnd;
+		piece = piece.right;
+	}
+}
+/**
+ * Adds a <code>TextChangeListener</code> listening for
+ * <code>TextChangingEvent</code> and <code>TextChangedEvent</code>. A
+ * <code>TextChangingEvent</code> is sent before changes to the text occur.
+ * A <code>TextChangedEvent</code> is sent after changes to the text
+ * occurred.
+ *
+ * @param listener the listener
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT when listener is null</li>
+ * </ul>
+ */
+@Override
+public void addTextChangeListener(TextChangeListener listener) {
+	if (listener == null) error(SWT.ERROR_NULL_ARGUMENT);
+	StyledTextListener typedListener = new StyledTextListener(listener);
+	textListeners.add(typedListener);
+}
+/**
+ * Returns a snapshot of the current content. Taking a snapshot does not
+ * copy any text, it only keeps the pieces of the content from being
+ * reclaimed.
+ *
+ * @return the snapshot
+ *
+ * @see #restoreSnapshot(Snapshot)
+ */
+public Snapshot createSnapshot() {
+	return new Snapshot(this, root);
+}
+char charAt(int offset) {
+	Piece piece = root;
+	while (true) {
+		int leftSize = size(piece.left);
+		if (offset < leftSize) {
+			piece = piece.left;
+		} else {
+			offset -= leftSize;
+			if (offset < piece.length) return piece.buffer.chars[piece.start + offset];
+			offset -= piece.length;
+			piece = piece.right;
+		}
+	}
+}
+/**
+ * Reports an SWT error.
+ *
+ * @param code the error code
+ */
+void error (int code) {
+	SWT.error(code);
+}
+/**
+ * @return the number of characters of the content
+ */
+@Override
+public int getCharCount() {
+	return size(root);
+}
+/**
+ * Returns the line at <code>index</code> without delimiters.
+ *
+ * @param index	the index of the line to return
+ * @return the line text without delimiters
+ * @exception IllegalArgumentException <ul>
+ *   <li>ERROR_INVALID_ARGUMENT when index is out of range</li>
+ * </ul>
+ */
+@Override
+public String getLine(int index) {
+	int lineCount = getLineCount();
+	if ((index >= lineCount) || (index < 0)) error(SWT.ERROR_INVALID_ARGUMENT);
+	int start = getOffsetAtLine(index);
+	int end = index + 1 < lineCount ? getOffsetAtLine(index + 1) : getCharCount();
+	char[] chars = new char[end - start];
+	copy(root, start, end, chars, 0);
+	int length = chars.length;
+	while (length > 0 && (chars[length - 1] == SWT.CR || chars[length - 1] == SWT.LF)) {
+		length--;
+	}
+	return new String(chars, 0, length);
+}
+/**
+ * Returns the line at the given offset.
+ *
+ * @param offset character offset
+ * @return the line index
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_INVALID_ARGUMENT when offset is out of range</li>
+ * </ul>
+ */
+@Override
+public int getLineAtOffset(int offset) {
+	int charCount = getCharCount();
+	if ((offset > charCount) || (offset < 0)) SWT.error(SWT.ERROR_INVALID_ARGUMENT, null, ". charPosition=" + offset + " charCount=" + charCount);
+	if (offset == charCount) return getLineCount() - 1;
+	Piece piece = root;
+	int line = 0;
+	while (true) {
+		int leftSize = size(piece.left);
+		if (offset < leftSize) {
+			piece = piece.left;
+			continue;
+		}
+		offset -= leftSize;
+		line += lineBreaks(piece.left);
+		if (offset < piece.length) {
+			Buffer buffer = piece.buffer;
+			return line + buffer.rank(piece.start + offset) - buffer.rank(piece.start);
+		}
+		offset -= piece.length;
+		line += piece.lineBreaks;
+		piece = piece.right;
+	}
+}
+/**
+ * @return the number of lines of the content
+ */
+@Override
+public int getLineCount() {
+	return lineBreaks(root) + 1;
+}
+/**
+ * Returns the line delimiter that should be used by the StyledText
+ * widget when inserting new lines.
+ *
+ * @return the platform line delimiter as specified in the line.separator
+ * 	system property.
+ */
+@Override
+public String getLineDelimiter() {
+	return LineDelimiter;
+}
+/**
+ * Returns the offset of the given line.
+ *
+ * @param lineIndex index of line
+ * @return the offset at which the line starts. When there are not any lines,
+ * 	getOffsetAtLine(0) is a valid call that should answer 0.
+ * @exception IllegalArgumentException <ul>
+ *   <li>ERROR_INVALID_ARGUMENT when lineIndex is out of range</li>
+ * </ul>
+ */
+@Override
+public int getOffsetAtLine(int lineIndex) {
+	if (lineIndex == 0) return 0;
+	if ((lineIndex >= getLineCount()) || (lineIndex < 0)) error(SWT.ERROR_INVALID_ARGUMENT);
+	Piece piece = root;
+	int offset = 0, line = lineIndex;
+	while (true) {
+		int leftBreaks = lineBreaks(piece.left);
+		if (line <= leftBreaks) {
+			piece = piece.left;
+			continue;
+		}
+		line -= leftBreaks;
+		offset += size(piece.left);
+		if (line <= piece.lineBreaks) {
+			Buffer buffer = piece.buffer;
+			int index = buffer.rank(piece.start) + line - 1;
+			int end = piece.start + piece.length;
+			int position = index < buffer.lineStartCount ? Math.min(buffer.lineStarts[index], end) : end;
+			return offset + position - piece.start;
+		}
+		line -= piece.lineBreaks;
+		offset += piece.length;
+		piece = piece.right;
+	}
+}
+/**
+ * Returns a string representing the content at the given range.
+ *
+ * @param start the start offset of the text to return
+ * @param length the length of the text to return
+ * @return the text at the given range
+ * @exception IllegalArgumentException <ul>
+ *   <li>ERROR_INVALID_ARGUMENT when the range is out of bounds</li>
+ * </ul>
+ */
+@Override
+public String getTextRange(int start, int length) {
+	if (length == 0) return "";
+	if (start < 0 || length < 0 || start + length > getCharCount()) error(SWT.ERROR_INVALID_ARGUMENT);
+	char[] chars = new char[length];
+	copy(root, start, start + length, chars, 0);
+	return new String(chars);
+}
+private boolean isInsideCRLF(int pos) {
+	if (pos == 0) return false;
+	if (pos == getCharCount()) return false;
+	if (charAt(pos - 1) != SWT.CR) return false;
+	if (charAt(pos) != SWT.LF) return false;
+	/*
+	* A CR and a LF that were inserted separately are separate
+	* line delimiters and may be split.
+	*/
+	if (getLineAtOffset(pos - 1) != getLineAtOffset(pos)) return false;
+	return true;
+}
+/**
+ * Removes the specified <code>TextChangeListener</code>.
+ *
+ * @param listener the listener which should no longer be notified
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT when listener is null</li>
+ * </ul>
+ */
+@Override
+@SuppressWarnings("removal")
+public void removeTextChangeListener(TextChangeListener listener) {
+	if (listener == null) error(SWT.ERROR_NULL_ARGUMENT);
+	for (int i = 0; i < textListeners.size(); i++) {
+		TypedListener typedListener = textListeners.get(i);
+		if (typedListener.getEventListener () == listener) {
+			textListeners.remove(i);
+			break;
+		}
+	}
+}
+/**
+ * Replaces the text with <code>newText</code> starting at position <code>start</code>
+ * for a length of <code>replaceLength</code>. Notifies the appropriate listeners.
+ *
+ * @param start	start offset of text to replace
+ * @param replaceLength length of text to replace
+ * @param newText text to replace the range with
+ *
+ * @exception IllegalArgumentException <ul>
+ *   <li>ERROR_INVALID_ARGUMENT when the range is out of bounds or the text
+ *      change results in a multi byte line delimiter being split or partially
+ *      deleted. Splitting a line delimiter by inserting text between the CR
+ *      and LF characters of the \r\n delimiter or deleting part of this line
+ *      delimiter is not supported</li>
+ * </ul>
+ */
+@Override
+public void replaceTextRange(int start, int replaceLength, String newText) {
+	int charCount = getCharCount();
+	if (start < 0 || replaceLength < 0 || start + replaceLength > charCount) error(SWT.ERROR_INVALID_ARGUMENT);
+	validateReplace(start, replaceLength);
+
+	// inform listeners
+	StyledTextEvent event = new StyledTextEvent(this);
+	event.type = ST.TextChanging;
+	event.start = start;
+	event.replaceLineCount = replaceLength == 0 ? 0 : getLineAtOffset(start + replaceLength) - getLineAtOffset(start);
+	event.text = newText;
+	event.newLineCount = lineCount(newText);
+	event.replaceCharCount = replaceLength;
+	event.newCharCount = newText.length();
+	sendTextEvent(event);
+
+	Piece[] head = split(root, start);
+	Piece[] tail = split(head[1], replaceLength);
+	if (newText.isEmpty()) {
+		root = concat(head[0], tail[1]);
+	} else {
+		int offset = added.append(newText);
+		root = join(head[0], new Piece(added, offset, newText.length()), tail[1]);
+	}
+
+	// inform listeners
+	event = new StyledTextEvent(this);
+	event.type = ST.TextChanged;
+	sendTextEvent(event);
+}
+/**
+ * Restores the content to the state of the snapshot. Listeners are
+ * notified as if the text had been set.
+ *
+ * @param snapshot a snapshot of the receiver
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT when snapshot is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT when snapshot was not created by the receiver</li>
+ * </ul>
+ *
+ * @see #createSnapshot()
+ */
+public void restoreSnapshot(Snapshot snapshot) {
+	if (snapshot == null) error(SWT.ERROR_NULL_ARGUMENT);
+	if (snapshot.content != this) error(SWT.ERROR_INVALID_ARGUMENT);
+	root = snapshot.root;
+	sendTextSetEvent();
+}
+/**
+ * Sends the text listeners the TextChanged event.
+ */
+void sendTextEvent(StyledTextEvent event) {
+	for (StyledTextListener textListener : textListeners) {
+		textListener.handleEvent(event);
+	}
+}
+void sendTextSetEvent() {
+	StyledTextEvent event = new StyledTextEvent(this);
+	event.type = ST.TextSet;
+	event.text = "";
+	sendTextEvent(event);
+}
+/**
+ * Sets the content to text. The buffers of the previous text are
+ * released unless they are referenced by a snapshot.
+ *
+ * @param text the text
+ */
+@Override
+public void setText(String text) {
+	original = new Buffer(text.toCharArray());
+	added = new Buffer(new char[0]);
+	root = original.length == 0 ? null : new Piece(original, 0, original.length);
+	sendTextSetEvent();
+}
+/**
+ * Returns the number of lines that are in the specified text.
+ *
+ * @param text the text to lineate
+ * @return number of lines in the text
+ */
+int lineCount(String text) {
+	int lineCount = 0;
+	int length = text.length();
+	for (int i = 0; i < length; i++) {
+		char ch = text.charAt(i);
+		if (ch == SWT.CR) {
+			if (i + 1 < length && text.charAt(i + 1) == SWT.LF) {
+				i++;
+			}
+			lineCount++;
+		} else if (ch == SWT.LF) {
+			lineCount++;
+		}
+	}
+	return lineCount;
+}
+/**
+ * Validates the replace operation. The \r\n line delimiter may not
+ * be split or partially deleted.
+ *
+ * @param start start offset of text to replace
+ * @param replaceLength length of text to replace
+ */
+void validateReplace(int start, int replaceLength) {
+	if (isInsideCRLF(start)) {
+		String message = " [0: start=" + start + " len=" + replaceLength + "]";
+		SWT.error(SWT.ERROR_INVALID_ARGUMENT, null, message);
+	}
+	if (replaceLength > 0 && isInsideCRLF(start + replaceLength)) {
+		String message = " [2: start=" + start + " len=" + replaceLength + "]";
+		SWT.error(SWT.ERROR_INVALID_ARGUMENT, null, message);
+	}
+}
+}
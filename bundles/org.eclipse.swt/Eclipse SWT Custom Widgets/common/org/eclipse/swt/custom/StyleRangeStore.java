@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Platform Contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Platform Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.custom;
+
+import java.util.*;
+
+/**
+ * The style ranges of a <code>StyledText</code>, sorted by their start offset.
+ * <p>
+ * The ranges are kept in arrays with a gap at the position of the last change,
+ * so that ranges can be inserted and removed near that position without
+ * moving the ranges after it. The start offsets of the ranges after a given
+ * index are stored without a common offset, the step, which is added when
+ * they are read. Shifting the ranges after a change of the text only moves
+ * the step. Both the gap and the step move by the distance between two
+ * changes, which is small when typing or restyling the text around the caret.
+ * </p>
+ */
+class StyleRangeStore {
+	static final int GROW = 32;
+
+	int[] starts = new int[0];
+	int[] lengths = new int[0];
+	StyleRange[] styles = new StyleRange[0];
+	int size;
+	/* The gap in the arrays, in physical indices */
+	int gapStart, gapLength;
+	/* The start of the ranges at or after stepIndex is the stored start plus the step */
+	int stepIndex, step;
+	/* The number of ranges whose style changes the height of a line */
+	int variableHeightCount;
+
+void clear() {
+	starts = new int[0];
+	lengths = new int[0];
+	styles = new StyleRange[0];
+	size = gapStart = gapLength = stepIndex = step = variableHeightCount = 0;
+}
+
+/**
+ * Returns a copy of the store whose styles are clones of the styles
+ * of this store.
+ */
+StyleRangeStore copy() {
+	StyleRangeStore store = new StyleRangeStore();
+	int[] newStarts = new int[size], newLengths = new int[size];
+	StyleRange[] newStyles = new StyleRange[size];
+	for (int i = 0; i < size; i++) {
+		newStarts[i] = getStart(i);
+		newLengths[i] = getLength(i);
+		newStyles[i] = (StyleRange)getStyle(i).clone();
+	}
+	store.replace(0, 0, newStarts, newLengths, newStyles, size);
+	return store;
+}
+
+int getEnd(int index) {
+	return getStart(index) + getLength(index);
+}
+
+int getLength(int index) {
+	return lengths[physical(index)];
+}
+
+/**
+ * Returns the ranges from start (inclusive) to end (exclusive) as pairs
+ * of start offset and length.
+ */
+int[] getRanges(int start, int end) {
+	int[] ranges = new int[(end - start) << 1];
+	for (int i = start, j = 0; i < end; i++) {
+		ranges[j++] = getStart(i);
+		ranges[j++] = getLength(i);
+	}
+	return ranges;
+}
+
+int getStart(int index) {
+	int start = starts[physical(index)];
+	return index >= stepIndex ? start + step : start;
+}
+
+StyleRange getStyle(int index) {
+	return styles[physical(index)];
+}
+
+/**
+ * Returns the styles of the ranges from start (inclusive) to end (exclusive).
+ */
+StyleRange[] getStyles(int start, int end) {
+	StyleRange[] result = new StyleRange[end - start];
+	for (int i = start; i < end; i++) {
+		result[i - start] = getStyle(i);
+	}
+	return result;
+}
+
+/**
+ * Returns whether any range uses a style that changes the height of a line.
+ */
+boolean hasVariableHeight() {
+	return variableHeightCount > 0;
+}
+
+/**
+ * Moves the gap so that it starts at the given index.
+ */
+void moveGap(int index) {
+	if (index < gapStart) {
+		int count = gapStart - index;
+		System.arraycopy(starts, index, starts, index + gapLength, count);
+		System.arraycopy(lengths, index, lengths, index + gapLength, count);
+		System.arraycopy(styles, index, styles, index + gapLength, count);
+		Arrays.fill(styles, index, Math.min(gapStart, index + gapLength), null);
+	} else if (index > gapStart) {
+		int count = index - gapStart;
+		int from = gapStart + gapLength;
+		System.arraycopy(starts, from, starts, gapStart, count);
+		System.arraycopy(lengths, from, lengths, gapStart, count);
+		System.arraycopy(styles, from, styles, gapStart, count);
+		Arrays.fill(styles, Math.max(from, index), from + count, null);
+	}
+	gapStart = index;
+}
+
+/**
+ * Moves the step so that it applies to the ranges at or after the given index.
+ */
+void moveStep(int index) {
+	if (step != 0) {
+		for (int i = stepIndex; i < index; i++) {
+			starts[physical(i)] += step;
+		}
+		for (int i = index; i < stepIndex; i++) {
+			starts[physical(i)] -= step;
+		}
+	}
+	stepIndex = index;
+	if (stepIndex >= size) step = 0;
+}
+
+int physical(int index) {
+	return index < gapStart ? index : index + gapLength;
+}
+
+/**
+ * Replaces the ranges from start (inclusive) to end (exclusive) with
+ * the given ranges.
+ */
+void replace(int start, int end, int[] newStarts, int[] newLengths, StyleRange[] newStyles, int count) {
+	moveStep(end);
+	moveGap(end);
+	for (int i = start; i < end; i++) {
+		if (styles[i].isVariableHeight()) variableHeightCount--;
+		styles[i] = null;
+	}
+	gapStart = start;
+	gapLength += end - start;
+	if (gapLength < count) {
+		int newSize = size - (end - start) + count;
+		int capacity = Math.max(newSize + GROW, newSize + (newSize >> 1));
+		int newGapLength = capacity - (size - (end - start));
+		int tail = starts.length - gapStart - gapLength;
+		int[] tmpStarts = new int[capacity], tmpLengths = new int[capacity];
+		StyleRange[] tmpStyles = new StyleRange[capacity];
+		System.arraycopy(starts, 0, tmpStarts, 0, gapStart);
+		System.arraycopy(lengths, 0, tmpLengths, 0, gapStart);
+		System.arraycopy(styles, 0, tmpStyles, 0, gapStart);
+		System.arraycopy(starts, gapStart + gapLength, tmpStarts, gapStart + newGapLength, tail);
+		System.arraycopy(lengths, gapStart + gapLength, tmpLengths, gapStart + newGapLength, tail);
+		System.arraycopy(styles, gapStart + gapLength, tmpStyles, gapStart + newGapLength, tail);
+		starts = tmpStarts;
+		lengths = tmpLengths;
+		styles = tmpStyles;
+		gapLength = newGapLength;
+	}
+	for (int i = 0; i < count; i++) {
+		starts[gapStart] = newStarts[i];
+		lengths[gapStart] = newLengths[i];
+		styles[gapStart] = newStyles[i];
+		if (newStyles[i].isVariableHeight()) variableHeightCount++;
+		gapStart++;
+		gapLength--;
+	}
+	size += count - (end - start);
+	stepIndex = start + count;
+	if (stepIndex >= size) step = 0;
+}
+
+void setLength(int index, int length) {
+	lengths[physical(index)] = length;
+}
+
+void setStart(int index, int start) {
+	starts[physical(index)] = index >= stepIndex ? start - step : start;
+}
+
+/**
+ * Adds the delta to the start offsets of the ranges at or after the index.
+ */
+void shift(int index, int delta) {
+	if (index >= size || delta == 0) return;
+	moveStep(index);
+	step += delta;
+}
+
+int size() {
+	return size;
+}
+}
@@ -327,9 +327,9 @@ public class StyledText extends Canvas {
 				printerRenderer.setLineIndent(i, 1, indent * scaleFactorX);
 			}
 		}
-		StyleRange[] styles = printerRenderer.styles;
-		for (int i = 0; i < printerRenderer.styleCount; i++) {
-			StyleRange style = styles[i];
+		StyleRangeStore styles = printerRenderer.styleRanges;
+		for (int i = 0; i < styles.size(); i++) {
+			StyleRange style = styles.getStyle(i);
 			Font font = style.font;
 			if (style.font != null) {
 				Font printerFont = (Font)resources.get(font);
@@ -1274,6 +1274,30 @@ public Point computeSize (int wHint, int hHint, boolean changed) {
 	Rectangle rect = computeTrim(0, 0, width + wTrim, height + hTrim);
 	return new Point (rect.width, rect.height);
 }
+/**
+ * Stops measuring the lines of the receiver in the background.
+ * <p>
+ * When the lines of the receiver do not all have the same height, for
+ * example when word wrap is enabled, their heights are measured in the
+ * background after the content or the layout changes, starting with the
+ * lines around the visible area. Until a line is measured, its height is
+ * estimated and the vertical scroll bar may not be accurate. The measurement
+ * resumes where it stopped the next time the content or the layout changes.
+ * </p>
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #isMeasuringLines()
+ * @see #getMeasuredLineCount()
+ * @since 3.135
+ */
+public void cancelLineMeasurement() {
+	checkWidget();
+	renderer.cancelIdle();
+}
 /**
  * Copies the selected text to the <code>DND.CLIPBOARD</code> clipboard.
  * <p>
@@ -3699,6 +3723,24 @@ public int getLineCount() {
 	checkWidget();
 	return content.getLineCount();
 }
+/**
+ * Returns the number of lines of the receiver whose height has been
+ * measured. The height of the remaining lines is estimated.
+ *
+ * @return the number of measured lines
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #isMeasuringLines()
+ * @see #cancelLineMeasurement()
+ * @since 3.135
+ */
+public int getMeasuredLineCount() {
+	checkWidget();
+	return renderer.getMeasuredLineCount();
+}
 /**
  * Returns the number of lines that can be completely displayed in the
  * widget client area.
@@ -3779,6 +3821,24 @@ public int getLineHeight(int offset) {
 	renderer.disposeTextLayout(layout);
 	return height;
 }
+/**
+ * Returns whether the heights of the wrapped lines of the receiver are
+ * estimated on a worker thread.
+ *
+ * @return <code>true</code> if the line heights are estimated, <code>false</code> otherwise
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #setLineHeightEstimation(boolean)
+ * @since 3.135
+ */
+public boolean getLineHeightEstimation() {
+	checkWidget();
+	return renderer.estimateLines;
+}
 /**
  * Returns the indentation of the line at the given index.
  *
@@ -3913,15 +3973,11 @@ public int getLinePixel(int lineIndex) {
 		return topIndexY + topMargin;
 	int height = topIndexY;
 	if (lineIndex > topIndex) {
-		for (int i = Math.max(topIndex, 0); i < Math.min(lineIndex, lineCount); i++) {
-			height += renderer.getLineHeight(i);
-		}
+		height += renderer.getLinesHeight(Math.max(topIndex, 0), Math.min(lineIndex, lineCount));
 	} else {
 		int lastLineToConsider = Math.min(topIndex - 1, lineCount - 1);
 		int firstLineToConsider = Math.max(0, lineIndex);
-		for (int i = firstLineToConsider; i <= lastLineToConsider; i++) {
-			height -= renderer.getLineHeight(i);
-		}
+		height -= renderer.getLinesHeight(firstLineToConsider, lastLineToConsider + 1);
 	}
 	return height + topMargin;
 }
@@ -3946,28 +4002,7 @@ public int getLineIndex(int y) {
 		return lineIndex;
 	}
 	if (y == topIndexY) return topIndex;
-	int line = topIndex;
-	if (y < topIndexY) {
-		while (y < topIndexY && line > 0) {
-			y += renderer.getLineHeight(--line);
-		}
-	} else {
-		int lineCount = content.getLineCount();
-		int lineHeight = 0;
-		if (lineExists(line)) {
-			lineHeight = renderer.getLineHeight(line);
-		}
-		while (y - lineHeight >= topIndexY && line < lineCount - 1) {
-			y -= lineHeight;
-			++line;
-			if (lineExists(line)) {
-				lineHeight = renderer.getLineHeight(line);
-			}else {
-				lineHeight = 0;
-			}
-		}
-	}
-	return line;
+	return renderer.getLineIndex(topIndex, y - topIndexY);
 }
 /**
  * Returns the tab stops of the line at the given <code>index</code>.
@@ -5005,6 +5040,62 @@ public String getTextRange(int start, int length) {
 	}
 	return content.getTextRange(start, length);
 }
+/**
+ * Returns the number of times the layout of a line was found in the
+ * layout cache of the receiver since it was created.
+ *
+ * @return the number of cache hits
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #getTextLayoutCacheMisses()
+ * @see #setTextLayoutCacheSize(int)
+ * @since 3.135
+ */
+public int getTextLayoutCacheHits() {
+	checkWidget();
+	return renderer.layoutCache.hits;
+}
+/**
+ * Returns the number of times the layout of a line had to be computed
+ * because it was not in the layout cache of the receiver, or was no
+ * longer valid, since the receiver was created.
+ *
+ * @return the number of cache misses
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #getTextLayoutCacheHits()
+ * @see #setTextLayoutCacheSize(int)
+ * @since 3.135
+ */
+public int getTextLayoutCacheMisses() {
+	checkWidget();
+	return renderer.layoutCache.misses;
+}
+/**
+ * Returns the number of line layouts that the receiver caches.
+ *
+ * @return the size of the layout cache
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #setTextLayoutCacheSize(int)
+ * @since 3.135
+ */
+public int getTextLayoutCacheSize() {
+	checkWidget();
+	return renderer.layoutCache.capacity;
+}
 /**
  * Returns the maximum number of characters that the receiver is capable of holding.
  *
@@ -5083,10 +5174,7 @@ int getVerticalIncrement() {
 int getVerticalScrollOffset() {
 	if (verticalScrollOffset == -1) {
 		renderer.calculate(0, topIndex);
-		int height = 0;
-		for (int i = 0; i < topIndex; i++) {
-			height += renderer.getCachedLineHeight(i);
-		}
+		int height = renderer.getLinesHeight(0, topIndex);
 		height -= topIndexY;
 		verticalScrollOffset = height;
 	}
@@ -6681,7 +6769,7 @@ void initializeAccessible() {
 		public void getTextAttributes(AccessibleTextAttributeEvent e) {
 			StyledText st = StyledText.this;
 			int contentLength = st.getCharCount();
-			if (!isListening(ST.LineGetStyle) && st.renderer.styleCount == 0) {
+			if (!isListening(ST.LineGetStyle) && st.renderer.styleRanges.size() == 0) {
 				e.start = 0;
 				e.end = contentLength;
 				e.textStyle = new TextStyle(st.getFont(), st.foreground, st.background);
@@ -7108,6 +7196,28 @@ boolean isLineDelimiter(int offset) {
 boolean isMirrored() {
 	return (getStyle() & SWT.MIRRORED) != 0;
 }
+/**
+ * Returns <code>true</code> if the lines of the receiver are being
+ * measured or their heights estimated in the background, and
+ * <code>false</code> otherwise.
+ * <p>
+ * The vertical scroll bar is updated once all lines are measured.
+ * </p>
+ *
+ * @return the line measurement state
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #getMeasuredLineCount()
+ * @see #cancelLineMeasurement()
+ * @since 3.135
+ */
+public boolean isMeasuringLines() {
+	checkWidget();
+	return renderer.idleRunning || renderer.estimator != null;
+}
 /**
  * Returns <code>true</code> if any text in the widget is selected,
  * and <code>false</code> otherwise.
@@ -9243,6 +9353,42 @@ public void setLineBullet(int startLine, int lineCount, Bullet bullet) {
 boolean isWordWrap() {
 	return wordWrap || visualWrap;
 }
+/**
+ * Sets whether the heights of the wrapped lines of the receiver are
+ * estimated on a worker thread.
+ * <p>
+ * When word wrap is enabled, the lines must be laid out to know their
+ * heights. This is done in the background on the UI thread, which delays
+ * input while a large document is measured. When the line heights are
+ * estimated, the lines are broken on a worker thread using the character
+ * widths of the font, and the scroll bar is based on the estimates of the
+ * lines that are not laid out yet. Only the lines around the visible area
+ * are laid out right away, the remaining lines are laid out in shorter
+ * slices. The estimates do not take styles into account.
+ * </p><p>
+ * The default is <code>false</code>.
+ * </p>
+ *
+ * @param estimate <code>true</code> to estimate the line heights, <code>false</code> otherwise
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #getLineHeightEstimation()
+ * @see #isMeasuringLines()
+ * @since 3.135
+ */
+public void setLineHeightEstimation(boolean estimate) {
+	checkWidget();
+	if (renderer.estimateLines == estimate) return;
+	renderer.estimateLines = estimate;
+	renderer.resetEstimates();
+	if (estimate && isWordWrap() && renderer.getMeasuredLineCount() < content.getLineCount()) {
+		renderer.calculateIdle();
+	}
+}
 /**
  * Sets the indent of the specified lines.
  * <p>
@@ -10282,11 +10428,7 @@ void setStyleRanges(int start, int length, int[] ranges, StyleRange[] styles, bo
 	}
 
 	// re-evaluate variable height with all styles (including new ones)
-	hasStyleWithVariableHeight = false;
-	for (StyleRange style : getStyleRanges(false)) {
-		hasStyleWithVariableHeight = style.isVariableHeight();
-		if (hasStyleWithVariableHeight) break;
-	}
+	hasStyleWithVariableHeight = !isListening(ST.LineGetStyle) && renderer.styleRanges.hasVariableHeight();
 
 	SortedSet<Integer> modifiedLines = computeModifiedLines(formerRanges, formerStyles, ranges, styles);
 	resetCache(modifiedLines);
@@ -10594,6 +10736,35 @@ public void setTextDirection(int textDirection) {
 	}
 }
 
+/**
+ * Sets the number of line layouts that the receiver caches.
+ * <p>
+ * The layouts of the most recently used lines are kept, regardless of
+ * whether the lines are visible, so that scrolling back and moving the
+ * caret do not need to lay out the lines again. The layouts of the
+ * visible lines, and of the lines that an operation of the receiver is
+ * still using, are always kept, even if there are more of them than the
+ * size of the cache. The default size is 300.
+ * </p>
+ *
+ * @param size the new size of the layout cache
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ * @exception IllegalArgumentException <ul>
+ *   <li>ERROR_INVALID_ARGUMENT - if the size is less than 1</li>
+ * </ul>
+ *
+ * @see #getTextLayoutCacheSize()
+ * @since 3.135
+ */
+public void setTextLayoutCacheSize(int size) {
+	checkWidget();
+	if (size < 1) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+	renderer.layoutCache.setCapacity(size);
+}
 /**
  * Sets the text limit to the specified number of characters.
  * <p>
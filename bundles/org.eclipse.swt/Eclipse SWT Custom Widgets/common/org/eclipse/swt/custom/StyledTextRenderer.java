@@ -48,15 +48,25 @@ class StyledTextRenderer {
 
 	/* Line data */
 	int topIndex = -1;
-	TextLayout[] layouts;
+	final TextLayoutCache layoutCache = new TextLayoutCache(this::isVisibleLine);
 	int lineCount;
 	LineSizeInfo[] lineSizes;
+	LineHeightIndex lineHeights;
 	LineInfo[] lines;
 	int maxWidth;
 	int maxWidthLineIndex;
 	float averageLineHeight;
 	int linesInAverageLineHeight;
 	boolean idleRunning;
+	Runnable idleRunnable;
+	int idleLine;
+
+	/* Line height estimation */
+	boolean estimateLines;
+	LineHeightEstimator estimator;
+	int[] estimatedHeights;
+	int[] charWidths;
+	int estimateLine, estimateGeneration, estimatedWrapWidth;
 
 	/* Bullet */
 	Bullet[] bullets;
@@ -64,19 +74,19 @@ class StyledTextRenderer {
 	int[] redrawLines;
 
 	/* Style data */
-	int[] ranges;
-	int styleCount;
-	StyleRange[] styles;
+	StyleRangeStore styleRanges = new StyleRangeStore();
 	StyleRange[] stylesSet;
 	int stylesSetCount = 0;
 	boolean hasLinks, fixedPitch;
 	final static int BULLET_MARGIN = 8;
 
-	final static boolean COMPACT_STYLES = true;
 	final static boolean MERGE_STYLES = true;
 
 	final static int GROW = 32;
 	final static int IDLE_TIME = 50;
+	final static int IDLE_VIEWPORT_LINES = 100;
+	final static int IDLE_ESTIMATE_TIME = 10;
+	final static int ESTIMATE_BATCH = 1000;
 	final static int CACHE_SIZE = 300;
 
 	final static int BACKGROUND = 1 << 0;
@@ -198,101 +208,52 @@ StyledTextRenderer(Device device, StyledText styledText) {
 	this.styledText = styledText;
 }
 int addMerge(int[] mergeRanges, StyleRange[] mergeStyles, int mergeCount, int modifyStart, int modifyEnd) {
-	int rangeCount = styleCount << 1;
+	int rangeCount = styleRanges.size();
 	StyleRange endStyle = null;
 	int endStart = 0, endLength = 0;
 	if (modifyEnd < rangeCount) {
-		endStyle = styles[modifyEnd >> 1];
-		endStart = ranges[modifyEnd];
-		endLength = ranges[modifyEnd + 1];
-	}
-	int grow = mergeCount - (modifyEnd - modifyStart);
-	if (rangeCount + grow >= ranges.length) {
-		int[] tmpRanges = new int[ranges.length + grow + (GROW << 1)];
-		System.arraycopy(ranges, 0, tmpRanges, 0, modifyStart);
-		StyleRange[] tmpStyles = new StyleRange[styles.length + (grow >> 1) + GROW];
-		System.arraycopy(styles, 0, tmpStyles, 0, modifyStart >> 1);
-		if (rangeCount > modifyEnd) {
-			System.arraycopy(ranges, modifyEnd, tmpRanges, modifyStart + mergeCount, rangeCount - modifyEnd);
-			System.arraycopy(styles, modifyEnd >> 1, tmpStyles, (modifyStart + mergeCount) >> 1, styleCount - (modifyEnd >> 1));
-		}
-		ranges = tmpRanges;
-		styles = tmpStyles;
-	} else {
-		if (rangeCount > modifyEnd) {
-			System.arraycopy(ranges, modifyEnd, ranges, modifyStart + mergeCount, rangeCount - modifyEnd);
-			System.arraycopy(styles, modifyEnd >> 1, styles, (modifyStart + mergeCount) >> 1, styleCount - (modifyEnd >> 1));
-		}
-	}
+		endStyle = styleRanges.getStyle(modifyEnd);
+		endStart = styleRanges.getStart(modifyEnd);
+		endLength = styleRanges.getLength(modifyEnd);
+	}
+	int count = mergeCount >> 1;
+	int[] newStarts = new int[count];
+	int[] newLengths = new int[count];
+	StyleRange[] newStyles = new StyleRange[count];
+	int j = 0;
 	if (MERGE_STYLES) {
-		int j = modifyStart;
+		/* The previous range is the last merged one, or the range before the modified ones */
 		for (int i = 0; i < mergeCount; i += 2) {
-			if (j > 0 && ranges[j - 2] + ranges[j - 1] == mergeRanges[i] && mergeStyles[i >> 1].similarTo(styles[(j - 2) >> 1])) {
-				ranges[j - 1] += mergeRanges[i + 1];
+			if (j > 0 && newStarts[j - 1] + newLengths[j - 1] == mergeRanges[i] && mergeStyles[i >> 1].similarTo(newStyles[j - 1])) {
+				newLengths[j - 1] += mergeRanges[i + 1];
+			} else if (j == 0 && modifyStart > 0 && styleRanges.getEnd(modifyStart - 1) == mergeRanges[i] && mergeStyles[i >> 1].similarTo(styleRanges.getStyle(modifyStart - 1))) {
+				styleRanges.setLength(modifyStart - 1, styleRanges.getLength(modifyStart - 1) + mergeRanges[i + 1]);
 			} else {
-				styles[j >> 1] = mergeStyles[i >> 1];
-				ranges[j++] = mergeRanges[i];
-				ranges[j++] = mergeRanges[i + 1];
+				newStyles[j] = mergeStyles[i >> 1];
+				newStarts[j] = mergeRanges[i];
+				newLengths[j++] = mergeRanges[i + 1];
 			}
 		}
-		if (endStyle != null && ranges[j - 2] + ranges[j - 1] == endStart && endStyle.similarTo(styles[(j - 2) >> 1])) {
-			ranges[j - 1] += endLength;
-			modifyEnd += 2;
-			mergeCount += 2;
-		}
-		if (rangeCount > modifyEnd) {
-			System.arraycopy(ranges, modifyStart + mergeCount, ranges, j, rangeCount - modifyEnd);
-			System.arraycopy(styles, (modifyStart + mergeCount) >> 1, styles, j >> 1, styleCount - (modifyEnd >> 1));
-		}
-		grow = (j - modifyStart) - (modifyEnd - modifyStart);
-	} else {
-		System.arraycopy(mergeRanges, 0, ranges, modifyStart, mergeCount);
-		System.arraycopy(mergeStyles, 0, styles, modifyStart >> 1, mergeCount >> 1);
-	}
-	styleCount += grow >> 1;
-	return grow;
-}
-int addMerge(StyleRange[] mergeStyles, int mergeCount, int modifyStart, int modifyEnd) {
-	int grow = mergeCount - (modifyEnd - modifyStart);
-	StyleRange endStyle = null;
-	if (modifyEnd < styleCount) endStyle = styles[modifyEnd];
-	if (styleCount + grow >= styles.length) {
-		StyleRange[] tmpStyles = new StyleRange[styles.length + grow + GROW];
-		System.arraycopy(styles, 0, tmpStyles, 0, modifyStart);
-		if (styleCount > modifyEnd) {
-			System.arraycopy(styles, modifyEnd, tmpStyles, modifyStart + mergeCount, styleCount - modifyEnd);
-		}
-		styles = tmpStyles;
-	} else {
-		if (styleCount > modifyEnd) {
-			System.arraycopy(styles, modifyEnd, styles, modifyStart + mergeCount, styleCount - modifyEnd);
-		}
-	}
-	if (MERGE_STYLES) {
-		int j = modifyStart;
-		for (int i = 0; i < mergeCount; i++) {
-			StyleRange newStyle = mergeStyles[i], style;
-			if (j > 0 && (style = styles[j - 1]).start + style.length == newStyle.start && newStyle.similarTo(style)) {
-				style.length += newStyle.length;
-			} else {
-				styles[j++] = newStyle;
+		if (endStyle != null) {
+			if (j > 0) {
+				if (newStarts[j - 1] + newLengths[j - 1] == endStart && endStyle.similarTo(newStyles[j - 1])) {
+					newLengths[j - 1] += endLength;
+					modifyEnd++;
+				}
+			} else if (modifyStart > 0 && styleRanges.getEnd(modifyStart - 1) == endStart && endStyle.similarTo(styleRanges.getStyle(modifyStart - 1))) {
+				styleRanges.setLength(modifyStart - 1, styleRanges.getLength(modifyStart - 1) + endLength);
+				modifyEnd++;
 			}
 		}
-		StyleRange style = styles[j - 1];
-		if (endStyle != null && style.start + style.length == endStyle.start && endStyle.similarTo(style)) {
-			style.length += endStyle.length;
-			modifyEnd++;
-			mergeCount++;
-		}
-		if (styleCount > modifyEnd) {
-			System.arraycopy(styles, modifyStart + mergeCount, styles, j, styleCount - modifyEnd);
-		}
-		grow = (j - modifyStart) - (modifyEnd - modifyStart);
 	} else {
-		System.arraycopy(mergeStyles, 0, styles, modifyStart, mergeCount);
+		for (int i = 0; i < mergeCount; i += 2) {
+			newStyles[j] = mergeStyles[i >> 1];
+			newStarts[j] = mergeRanges[i];
+			newLengths[j++] = mergeRanges[i + 1];
+		}
 	}
-	styleCount += grow;
-	return grow;
+	styleRanges.replace(modifyStart, modifyEnd, newStarts, newLengths, newStyles, j);
+	return j - (modifyEnd - modifyStart);
 }
 void calculate(int startLine, int lineCount) {
 	int endLine = startLine + lineCount;
@@ -303,11 +264,15 @@ void calculate(int startLine, int lineCount) {
 	for (int i = startLine; i < endLine; i++) {
 		LineSizeInfo line = getLineSize(i);
 		if (line.needsRecalculateSize()) {
+			boolean cached = layoutCache.peek(i) != null;
 			TextLayout layout = getTextLayout(i);
 			Rectangle rect = layout.getBounds();
 			line.width = rect.width + hTrim;
 			line.height = rect.height;
+			updateLineHeight(i, line);
 			averageLineHeight += (line.height - Math.round(averageLineHeight)) / ++linesInAverageLineHeight;
+			/* Lines that are only measured should not evict the layouts in use */
+			if (!cached && !isVisibleLine(i)) layoutCache.demote(i);
 			disposeTextLayout(layout);
 		}
 		if (line.width > maxWidth) {
@@ -322,6 +287,68 @@ LineSizeInfo getLineSize(int i) {
 	}
 	return lineSizes[i];
 }
+/**
+ * Returns the prefix sums of the line heights, building them
+ * from the line sizes if they were invalidated.
+ */
+LineHeightIndex getLineHeightIndex() {
+	if (lineHeights == null) {
+		int[] heights = new int[lineCount];
+		for (int i = 0; i < lineCount; i++) {
+			LineSizeInfo line = i < lineSizes.length ? lineSizes[i] : null;
+			heights[i] = line != null ? line.height : LineSizeInfo.RESETED_SIZE;
+		}
+		lineHeights = new LineHeightIndex(heights);
+	}
+	return lineHeights;
+}
+/**
+ * Returns the height of the lines from startLine (inclusive) to endLine
+ * (exclusive). The lines whose height is not known are calculated.
+ */
+int getLinesHeight(int startLine, int endLine) {
+	startLine = Math.max(0, startLine);
+	endLine = Math.min(lineCount, endLine);
+	if (startLine >= endLine) return 0;
+	LineHeightIndex index = getLineHeightIndex();
+	for (int i = index.nextUnknown(startLine); i < endLine; i = index.nextUnknown(i + 1)) {
+		getLineHeight(i);
+		index = getLineHeightIndex();
+	}
+	return index.sum(startLine, endLine);
+}
+/**
+ * Returns the index of the line at the given pixel, relative to the top
+ * of startLine. The pixel is negative for lines above startLine. The
+ * height of the lines between startLine and the result is calculated
+ * if it is not known.
+ */
+int getLineIndex(int startLine, int pixel) {
+	if (lineCount == 0) return 0;
+	startLine = Math.max(0, Math.min(lineCount - 1, startLine));
+	LineHeightIndex index = getLineHeightIndex();
+	while (true) {
+		int target = index.prefix(startLine) + pixel;
+		if (pixel >= 0) {
+			int line = Math.min(lineCount - 1, index.lineAt(target));
+			int unknown = index.nextUnknown(startLine);
+			if (unknown > line) return line;
+			getLineHeight(unknown);
+		} else {
+			int line = Math.min(startLine, index.lineAt(target));
+			int unknown = index.previousUnknown(startLine - 1);
+			if (unknown < line) return line;
+			getLineHeight(unknown);
+		}
+		index = getLineHeightIndex();
+	}
+}
+/**
+ * Updates the prefix sums after the height of the line changed.
+ */
+void updateLineHeight(int lineIndex, LineSizeInfo line) {
+	if (lineHeights != null) lineHeights.set(lineIndex, line.height);
+}
 void calculateClientArea () {
 	int index = Math.max (0, styledText.getTopIndex());
 	int lineCount = content.getLineCount();
@@ -337,26 +364,44 @@ void calculateClientArea () {
 		y += lineSizes[index++].height;
 	}
 }
+/**
+ * Measures the lines in the background, a slice of at most IDLE_TIME
+ * milliseconds at a time. The lines around the visible area are measured
+ * first, then the remaining lines from where the previous slice stopped.
+ * While the heights of the lines are estimated, the slices are shorter
+ * since the scroll bar no longer depends on them.
+ */
 void calculateIdle () {
+	calculateEstimates();
 	if (idleRunning) return;
 	Runnable runnable = new Runnable() {
 		@Override
 		public void run() {
-			if (styledText == null) return;
-			int i;
+			if (styledText == null || idleRunnable != this) return;
 			long start = System.currentTimeMillis();
-			for (i = 0; i < lineCount; i++) {
-				LineSizeInfo line = getLineSize(i);
-				if (line.needsRecalculateSize()) {
+			int idleTime = estimatedHeights != null ? IDLE_ESTIMATE_TIME : IDLE_TIME;
+			boolean timeout = false;
+			int top = Math.max(0, styledText.getTopIndex() - IDLE_VIEWPORT_LINES);
+			int bottom = Math.min(lineCount, styledText.getPartialBottomIndex() + 1 + IDLE_VIEWPORT_LINES);
+			for (int i = top; i < bottom && !timeout; i++) {
+				if (getLineSize(i).needsRecalculateSize()) {
 					calculate(i, 1);
-					if (System.currentTimeMillis() - start > IDLE_TIME) break;
+					timeout = System.currentTimeMillis() - start > idleTime;
+				}
+			}
+			while (idleLine < lineCount && !timeout) {
+				if (getLineSize(idleLine).needsRecalculateSize()) {
+					calculate(idleLine, 1);
+					timeout = System.currentTimeMillis() - start > idleTime;
 				}
+				idleLine++;
 			}
-			if (i < lineCount) {
+			if (idleLine < lineCount) {
 				Display display = styledText.getDisplay();
 				display.asyncExec(this);
 			} else {
 				idleRunning = false;
+				idleRunnable = null;
 				styledText.setScrollBars(true);
 				ScrollBar bar = styledText.getVerticalBar();
 				if (bar != null) {
@@ -367,8 +412,111 @@ void calculateIdle () {
 	};
 	Display display = styledText.getDisplay();
 	display.asyncExec(runnable);
+	idleRunnable = runnable;
 	idleRunning = true;
 }
+/**
+ * Starts estimating the heights of the wrapped lines on a worker thread,
+ * unless the estimator is running or all lines are estimated. The estimates
+ * are discarded when the wrap width changed.
+ */
+void calculateEstimates() {
+	if (!estimateLines || !styledText.isWordWrap()) return;
+	int wrapWidth = styledText.getWrapWidth();
+	if (estimatedHeights == null || estimatedWrapWidth != wrapWidth) {
+		resetEstimates();
+		estimatedHeights = new int[lineSizes.length];
+		estimatedWrapWidth = wrapWidth;
+	}
+	if (estimator != null || estimateLine >= lineCount) return;
+	if (charWidths == null) {
+		charWidths = new int[256];
+		GC gc = new GC(styledText);
+		gc.setFont(regularFont);
+		for (char ch = ' '; ch < charWidths.length; ch++) {
+			charWidths[ch] = gc.getAdvanceWidth(ch);
+		}
+		gc.dispose();
+	}
+	int lineHeight = getLineHeight() + styledText.lineSpacing;
+	estimator = new LineHeightEstimator(this, charWidths, lineHeight, wrapWidth);
+	estimator.start();
+}
+/**
+ * Called by the estimator on the UI thread. Stores the heights it estimated
+ * for the previous batch of lines and fills in the next batch, or leaves
+ * the batch empty to stop the estimator. The heights are dropped if the
+ * lines changed in the meantime, and the lines are estimated again. The
+ * heights of a canceled estimator are still stored.
+ */
+void exchangeEstimates(LineHeightEstimator estimator, LineHeightEstimator.Batch batch) {
+	if (styledText == null) return;
+	int[] heights = batch.heights;
+	if (heights != null) {
+		if (batch.generation == estimateGeneration) {
+			int count = Math.min(heights.length, lineCount - batch.start);
+			System.arraycopy(heights, 0, estimatedHeights, batch.start, count);
+		} else {
+			estimateLine = Math.min(estimateLine, batch.start);
+		}
+		batch.heights = null;
+	}
+	if (estimator != this.estimator) return;
+	while (estimateLine < lineCount && estimatedHeights[estimateLine] > 0) {
+		estimateLine++;
+	}
+	if (estimateLine >= lineCount) {
+		this.estimator = null;
+		styledText.setScrollBars(true);
+		ScrollBar bar = styledText.getVerticalBar();
+		if (bar != null) {
+			bar.setSelection(styledText.getVerticalScrollOffset());
+		}
+		return;
+	}
+	int count = Math.min(ESTIMATE_BATCH, lineCount - estimateLine);
+	String[] lines = new String[count];
+	for (int i = 0; i < count; i++) {
+		lines[i] = content.getLine(estimateLine + i);
+	}
+	batch.generation = estimateGeneration;
+	batch.start = estimateLine;
+	batch.lines = lines;
+	estimateLine += count;
+}
+/**
+ * Discards the estimated line heights and stops the estimator.
+ */
+void resetEstimates() {
+	estimator = null;
+	estimatedHeights = null;
+	estimateLine = 0;
+	estimateGeneration++;
+}
+/**
+ * Stops measuring lines in the background. The measurement resumes
+ * where it stopped when calculateIdle() is called again.
+ */
+void cancelIdle() {
+	idleRunning = false;
+	idleRunnable = null;
+	estimator = null;
+}
+/**
+ * Returns the estimated height of the line, or 0 if it is not estimated.
+ */
+int getEstimatedLineHeight(int lineIndex) {
+	if (estimatedHeights == null || lineIndex >= estimatedHeights.length) return 0;
+	if (estimatedWrapWidth != styledText.getWrapWidth()) return 0;
+	return estimatedHeights[lineIndex];
+}
+/**
+ * Returns the number of lines whose height is known.
+ */
+int getMeasuredLineCount() {
+	if (lineSizes == null) return 0;
+	return lineCount - getLineHeightIndex().unknownCount();
+}
 void clearLineBackground(int startLine, int count) {
 	if (lines == null) return;
 	for (int i = startLine; i < startLine + count; i++) {
@@ -391,17 +539,7 @@ void clearLineStyle(int startLine, int count) {
 	}
 }
 void copyInto(StyledTextRenderer renderer) {
-	if (ranges != null) {
-		int[] newRanges = renderer.ranges = new int[styleCount << 1];
-		System.arraycopy(ranges, 0, newRanges, 0, newRanges.length);
-	}
-	if (styles != null) {
-		StyleRange[] newStyles = renderer.styles = new StyleRange[styleCount];
-		for (int i = 0; i < newStyles.length; i++) {
-			newStyles[i] = (StyleRange)styles[i].clone();
-		}
-		renderer.styleCount = styleCount;
-	}
+	renderer.styleRanges = styleRanges.copy();
 	if (lines != null) {
 		LineInfo[] newLines = renderer.lines = new LineInfo[lineCount];
 		for (int i = 0; i < newLines.length; i++) {
@@ -415,17 +553,14 @@ void dispose() {
 	if (italicFont != null) italicFont.dispose();
 	if (boldItalicFont != null) boldItalicFont.dispose();
 	boldFont = italicFont = boldItalicFont = null;
+	cancelIdle();
 	reset();
 	content = null;
 	device = null;
 	styledText = null;
 }
 void disposeTextLayout (TextLayout layout) {
-	if (layouts != null) {
-		for (TextLayout l : layouts) {
-			if (l == layout) return;
-		}
-	}
+	if (layoutCache.release(layout)) return;
 	layout.dispose();
 }
 void drawBullet(Bullet bullet, GC gc, int paintX, int paintY, int index, int lineAscent, int lineDescent) {
@@ -662,18 +797,19 @@ int getHeight () {
 	if (styledText.isFixedLineHeight()) {
 		return lineCount * defaultLineHeight + styledText.topMargin + styledText.bottomMargin;
 	}
-	int totalHeight = 0;
+	LineHeightIndex index = getLineHeightIndex();
+	int totalHeight = index.prefix(lineCount);
 	int width = styledText.getWrapWidth();
-	for (int i = 0; i < lineCount; i++) {
-		LineSizeInfo line = getLineSize(i);
-		int height = line.height;
-		if (line.needsRecalculateHeight()) {
-			if (width > 0) {
-				int length = content.getLine(i).length();
-				height = ((length * averageCharWidth / width) + 1) * defaultLineHeight;
-			} else {
-				height = defaultLineHeight;
-			}
+	/* Estimate the height of the lines that are not calculated yet */
+	for (int i = index.nextUnknown(0); i < lineCount; i = index.nextUnknown(i + 1)) {
+		int height = getEstimatedLineHeight(i);
+		if (height > 0) {
+			/* Estimated on the worker thread */
+		} else if (width > 0) {
+			int length = content.getLine(i).length();
+			height = ((length * averageCharWidth / width) + 1) * defaultLineHeight;
+		} else {
+			height = defaultLineHeight;
 		}
 		totalHeight += height;
 	}
@@ -704,16 +840,14 @@ boolean hasLink(int offset) {
 			}
 		}
 	}  else {
-		if (ranges != null) {
-			int rangeCount = styleCount << 1;
-			int index = getRangeIndex(offset, -1, rangeCount);
-			if (index >= rangeCount) return false;
-			int rangeStart = ranges[index];
-			int rangeLength = ranges[index + 1];
-			StyleRange rangeStyle = styles[index >> 1];
-			if (rangeStart <= offset && offset < rangeStart + rangeLength && rangeStyle.underline && rangeStyle.underlineStyle == SWT.UNDERLINE_LINK) {
-				return true;
-			}
+		int rangeCount = styleRanges.size();
+		int index = getRangeIndex(offset, -1, rangeCount);
+		if (index >= rangeCount) return false;
+		int rangeStart = styleRanges.getStart(index);
+		int rangeLength = styleRanges.getLength(index);
+		StyleRange rangeStyle = styleRanges.getStyle(index);
+		if (rangeStart <= offset && offset < rangeStart + rangeLength && rangeStyle.underline && rangeStyle.underlineStyle == SWT.UNDERLINE_LINK) {
+			return true;
 		}
 	}
 	return false;
@@ -757,10 +891,12 @@ int getLineHeight(int lineIndex, boolean exact) {
 			if (exact) {
 				calculate(lineIndex, 1);
 			} else {
-				return Math.round(averageLineHeight);
+				int height = getEstimatedLineHeight(lineIndex);
+				return height > 0 ? height : Math.round(averageLineHeight);
 			}
 		} else {
 			line.height = getLineHeight() + getLineSpacing(lineIndex) + getLineVerticalIndent(lineIndex);
+			updateLineHeight(lineIndex, line);
 		}
 	}
 	return line.height;
@@ -866,56 +1002,28 @@ StyledTextLineSpacingProvider getLineSpacingProvider() {
 	return lineSpacingProvider;
 }
 int getRangeIndex(int offset, int low, int high) {
-	if (styleCount == 0) return 0;
-	if (ranges != null)  {
-		while (high - low > 2) {
-			int index = ((high + low) / 2) / 2 * 2;
-			int end = ranges[index] + ranges[index + 1];
-			if (end > offset) {
-				high = index;
-			} else {
-				low = index;
-			}
-		}
-	} else {
-		while (high - low > 1) {
-			int index = ((high + low) / 2);
-			int end = styles[index].start + styles[index].length;
-			if (end > offset) {
-				high = index;
-			} else {
-				low = index;
-			}
+	if (styleRanges.size() == 0) return 0;
+	while (high - low > 1) {
+		int index = (high + low) / 2;
+		int end = styleRanges.getEnd(index);
+		if (end > offset) {
+			high = index;
+		} else {
+			low = index;
 		}
 	}
 	return high;
 }
 int[] getRanges(int start, int length) {
 	if (length == 0) return null;
-	int[] newRanges;
 	int end = start + length - 1;
-	if (ranges != null) {
-		int rangeCount = styleCount << 1;
-		int rangeStart = getRangeIndex(start, -1, rangeCount);
-		if (rangeStart >= rangeCount) return null;
-		if (ranges[rangeStart] > end) return null;
-		int rangeEnd = Math.min(rangeCount - 2, getRangeIndex(end, rangeStart - 1, rangeCount));
-		if (ranges[rangeEnd] > end) rangeEnd = Math.max(rangeStart, rangeEnd - 2);
-		newRanges = new int[rangeEnd - rangeStart + 2];
-		System.arraycopy(ranges, rangeStart, newRanges, 0, newRanges.length);
-	} else {
-		int rangeStart = getRangeIndex(start, -1, styleCount);
-		if (rangeStart >= styleCount) return null;
-		if (styles[rangeStart].start > end) return null;
-		int rangeEnd = Math.min(styleCount - 1, getRangeIndex(end, rangeStart - 1, styleCount));
-		if (styles[rangeEnd].start > end) rangeEnd = Math.max(rangeStart, rangeEnd - 1);
-		newRanges = new int[(rangeEnd - rangeStart + 1) << 1];
-		for (int i = rangeStart, j = 0; i <= rangeEnd; i++, j += 2) {
-			StyleRange style = styles[i];
-			newRanges[j] = style.start;
-			newRanges[j + 1] = style.length;
-		}
-	}
+	int rangeCount = styleRanges.size();
+	int rangeStart = getRangeIndex(start, -1, rangeCount);
+	if (rangeStart >= rangeCount) return null;
+	if (styleRanges.getStart(rangeStart) > end) return null;
+	int rangeEnd = Math.min(rangeCount - 1, getRangeIndex(end, rangeStart - 1, rangeCount));
+	if (styleRanges.getStart(rangeEnd) > end) rangeEnd = Math.max(rangeStart, rangeEnd - 1);
+	int[] newRanges = styleRanges.getRanges(rangeStart, rangeEnd + 1);
 	if (start > newRanges[0]) {
 		newRanges[1] = newRanges[0] + newRanges[1] - start;
 		newRanges[0] = start;
@@ -927,44 +1035,27 @@ int[] getRanges(int start, int length) {
 }
 StyleRange[] getStyleRanges(int start, int length, boolean includeRanges) {
 	if (length == 0) return null;
-	StyleRange[] newStyles;
 	int end = start + length - 1;
-	if (ranges != null) {
-		int rangeCount = styleCount << 1;
-		int rangeStart = getRangeIndex(start, -1, rangeCount);
-		if (rangeStart >= rangeCount) return null;
-		if (ranges[rangeStart] > end) return null;
-		int rangeEnd = Math.min(rangeCount - 2, getRangeIndex(end, rangeStart - 1, rangeCount));
-		if (ranges[rangeEnd] > end) rangeEnd = Math.max(rangeStart, rangeEnd - 2);
-		newStyles = new StyleRange[((rangeEnd - rangeStart) >> 1) + 1];
-		if (includeRanges) {
-			for (int i = rangeStart, j = 0; i <= rangeEnd; i += 2, j++) {
-				newStyles[j] = (StyleRange)styles[i >> 1].clone();
-				newStyles[j].start = ranges[i];
-				newStyles[j].length = ranges[i + 1];
-			}
-		} else {
-			System.arraycopy(styles, rangeStart >> 1, newStyles, 0, newStyles.length);
+	int rangeCount = styleRanges.size();
+	int rangeStart = getRangeIndex(start, -1, rangeCount);
+	if (rangeStart >= rangeCount) return null;
+	if (styleRanges.getStart(rangeStart) > end) return null;
+	int rangeEnd = Math.min(rangeCount - 1, getRangeIndex(end, rangeStart - 1, rangeCount));
+	if (styleRanges.getStart(rangeEnd) > end) rangeEnd = Math.max(rangeStart, rangeEnd - 1);
+	StyleRange[] newStyles = styleRanges.getStyles(rangeStart, rangeEnd + 1);
+	if (includeRanges) {
+		for (int i = rangeStart, j = 0; i <= rangeEnd; i++, j++) {
+			newStyles[j] = (StyleRange)newStyles[j].clone();
+			newStyles[j].start = styleRanges.getStart(i);
+			newStyles[j].length = styleRanges.getLength(i);
 		}
-	} else {
-		int rangeStart = getRangeIndex(start, -1, styleCount);
-		if (rangeStart >= styleCount) return null;
-		if (styles[rangeStart].start > end) return null;
-		int rangeEnd = Math.min(styleCount - 1, getRangeIndex(end, rangeStart - 1, styleCount));
-		if (styles[rangeEnd].start > end) rangeEnd = Math.max(rangeStart, rangeEnd - 1);
-		newStyles = new StyleRange[rangeEnd - rangeStart + 1];
-		System.arraycopy(styles, rangeStart, newStyles, 0, newStyles.length);
-	}
-	if (includeRanges || ranges == null) {
 		StyleRange style = newStyles[0];
 		if (start > style.start) {
-			newStyles[0] = style = (StyleRange)style.clone();
 			style.length = style.start + style.length - start;
 			style.start = start;
 		}
 		style = newStyles[newStyles.length - 1];
 		if (end < style.start + style.length - 1) {
-			newStyles[newStyles.length - 1] = style = (StyleRange)style.clone();
 			style.length = end - style.start + 1;
 		}
 	}
@@ -1017,15 +1108,19 @@ TextLayout getTextLayout(int lineIndex) {
 	return layout;
 }
 boolean isSameLineSpacing(int lineIndex, int newLineSpacing) {
-	if (layouts == null) {
-		return false;
-	}
-	int layoutIndex = lineIndex - topIndex;
-	if (0 <= layoutIndex && layoutIndex < layouts.length) {
-		TextLayout layout = layouts[layoutIndex];
-		return layout != null && !layout.isDisposed() && layout.getSpacing() == newLineSpacing;
-	}
-	return false;
+	TextLayout layout = layoutCache.peek(lineIndex);
+	return layout != null && !layout.isDisposed() && layout.getSpacing() == newLineSpacing;
+}
+/**
+ * Returns whether the line may be visible. The layouts of these lines are
+ * kept in the cache even if it exceeds its capacity, since they may be in
+ * use while the lines are painted.
+ */
+boolean isVisibleLine(int lineIndex) {
+	if (styledText == null) return false;
+	int top = styledText.topIndex - 1;
+	int visibleLineCount = styledText.clientAreaHeight / Math.max(1, getLineHeight()) + 2;
+	return top <= lineIndex && lineIndex <= top + visibleLineCount;
 }
 
 private static final class StyleEntry {
@@ -1044,21 +1139,9 @@ TextLayout getTextLayout(int lineIndex, int orientation, int width, int lineSpac
 	TextLayout layout = null;
 	if (styledText != null) {
 		int topIndex = styledText.topIndex > 0 ? styledText.topIndex - 1 : 0;
-		if (layouts == null || topIndex != this.topIndex) {
-			TextLayout[] newLayouts = new TextLayout[CACHE_SIZE];
-			if (layouts != null) {
-				for (int i = 0; i < layouts.length; i++) {
-					if (layouts[i] != null) {
-						int layoutIndex = (i + this.topIndex) - topIndex;
-						if (0 <= layoutIndex && layoutIndex < newLayouts.length) {
-							newLayouts[layoutIndex] = layouts[i];
-						} else {
-							layouts[i].dispose();
-						}
-					}
-				}
-			}
-			if (bullets != null && bulletsIndices != null && topIndex != this.topIndex) {
+		if (topIndex != this.topIndex) {
+			/* The bullets of line events are cached relative to the top index */
+			if (bullets != null && bulletsIndices != null) {
 				int delta = topIndex - this.topIndex;
 				if (delta > 0) {
 					if (delta < bullets.length) {
@@ -1077,22 +1160,19 @@ TextLayout getTextLayout(int lineIndex, int orientation, int width, int lineSpac
 				}
 			}
 			this.topIndex = topIndex;
-			layouts = newLayouts;
-		}
-		if (layouts != null) {
-			int layoutIndex = lineIndex - topIndex;
-			if (0 <= layoutIndex && layoutIndex < layouts.length) {
-				layout = layouts[layoutIndex];
-				if (layout != null) {
-					// Bug 520374: lineIndex can be >= linesSize.length
-					if(lineIndex < lineSizes.length && getLineSize(lineIndex).canLayout()) {
-						return layout;
-					}
-				} else {
-					layout = layouts[layoutIndex] = new TextLayout(device);
-				}
+		}
+		layout = layoutCache.get(lineIndex);
+		if (layout != null) {
+			// Bug 520374: lineIndex can be >= linesSize.length
+			if(lineIndex < lineSizes.length && getLineSize(lineIndex).canLayout()) {
+				layoutCache.hits++;
+				return layout;
 			}
+		} else {
+			layout = new TextLayout(device);
+			layoutCache.put(lineIndex, layout);
 		}
+		layoutCache.misses++;
 	}
 	if (layout == null) layout = new TextLayout(device);
 	String line = content.getLine(lineIndex);
@@ -1187,13 +1267,15 @@ TextLayout getTextLayout(int lineIndex, int orientation, int width, int lineSpac
 				}
 			}
 		}
-		ranges = this.ranges;
-		styles = this.styles;
-		styleCount = this.styleCount;
-		if (ranges != null) {
-			rangeStart = getRangeIndex(lineOffset, -1, styleCount << 1);
-		} else {
-			rangeStart = getRangeIndex(lineOffset, -1, styleCount);
+		int rangeCount = styleRanges.size();
+		if (rangeCount > 0) {
+			/* Only the ranges that intersect the line */
+			int first = getRangeIndex(lineOffset, -1, rangeCount), last = first;
+			int lineEnd = lineOffset + line.length();
+			while (last < rangeCount && styleRanges.getStart(last) < lineEnd) last++;
+			ranges = styleRanges.getRanges(first, last);
+			styles = styleRanges.getStyles(first, last);
+			styleCount = last - first;
 		}
 	}
 	if (bullet != null) {
@@ -1357,12 +1439,10 @@ TextLayout getTextLayout(int lineIndex, int orientation, int width, int lineSpac
 			FontMetrics metrics = layout.getLineMetrics(index);
 			ascent = metrics.getAscent() + metrics.getLeading();
 			descent = metrics.getDescent();
-			if (layouts != null) {
-				for (TextLayout l : layouts) {
-					if (l != null && l != layout) {
-						l.setAscent(ascent);
-						l.setDescent(descent);
-					}
+			for (TextLayout l : layoutCache.getLayouts()) {
+				if (l != layout) {
+					l.setAscent(ascent);
+					l.setDescent(descent);
 				}
 			}
 			styledText.calculateScrollBars();
@@ -1390,19 +1470,16 @@ int getWidth() {
 	return maxWidth;
 }
 void reset() {
-	if (layouts != null) {
-		for (TextLayout layout : layouts) {
-			if (layout != null) layout.dispose();
-		}
-		layouts = null;
-	}
+	layoutCache.clear();
 	topIndex = -1;
-	stylesSetCount = styleCount = lineCount = 0;
-	ranges = null;
-	styles = null;
+	idleLine = 0;
+	resetEstimates();
+	stylesSetCount = lineCount = 0;
+	styleRanges.clear();
 	stylesSet = null;
 	lines = null;
 	lineSizes = null;
+	lineHeights = null;
 	bullets = null;
 	bulletsIndices = null;
 	redrawLines = null;
@@ -1423,7 +1500,10 @@ void reset(Set<Integer> lines) {
 	for (Integer line : lines) {
 		if (line >= 0 || line < lineCount) {
 			resetLineCount++;
-			getLineSize(line.intValue()).resetSize();
+			if (line.intValue() < idleLine) idleLine = Math.max(0, line.intValue());
+			LineSizeInfo lineSize = getLineSize(line.intValue());
+			lineSize.resetSize();
+			updateLineHeight(line.intValue(), lineSize);
 		}
 	}
 	if (linesInAverageLineHeight > resetLineCount) {
@@ -1451,6 +1531,7 @@ void setContent(StyledTextContent content) {
 	this.content = content;
 	lineCount = content.getLineCount();
 	lineSizes = new LineSizeInfo[lineCount];
+	lineHeights = null;
 	maxWidth = 0;
 	maxWidthLineIndex = -1;
 	reset(0, lineCount);
@@ -1499,6 +1580,8 @@ void setFont(Font font, int tabs) {
 	layout.setText(tabBuffer.toString());
 	tabWidth = layout.getBounds().width;
 	layout.dispose();
+	charWidths = null;
+	resetEstimates();
 	if (styledText != null) {
 		GC gc = new GC(styledText);
 		averageCharWidth = (int) gc.getFontMetrics().getAverageCharacterWidth();
@@ -1577,6 +1660,7 @@ void setLineVerticalIndent(int lineIndex, int verticalLineIndent) {
 	LineSizeInfo info = getLineSize(lineIndex);
 	if (!info.needsRecalculateHeight()) {
 		info.height += delta;
+		updateLineHeight(lineIndex, info);
 	}
 }
 void setLineWrapIndent(int startLine, int count, int wrapIndent) {
@@ -1634,14 +1718,13 @@ void setLineSpacingProvider(StyledTextLineSpacingProvider lineSpacingProvider) {
 }
 void setStyleRanges (int[] newRanges, StyleRange[] newStyles) {
 	if (newStyles == null) {
-		stylesSetCount = styleCount = 0;
-		ranges = null;
-		styles = null;
+		stylesSetCount = 0;
+		styleRanges.clear();
 		stylesSet = null;
 		hasLinks = false;
 		return;
 	}
-	if (newRanges == null && COMPACT_STYLES) {
+	if (newRanges == null) {
 		newRanges = new int[newStyles.length << 1];
 		StyleRange[] tmpStyles = new StyleRange[newStyles.length];
 		if (stylesSet == null) stylesSet = new StyleRange[4];
@@ -1667,122 +1750,62 @@ void setStyleRanges (int[] newRanges, StyleRange[] newStyles) {
 		newStyles = tmpStyles;
 	}
 
-	if (styleCount == 0) {
-		if (newRanges != null) {
-			ranges = new int[newRanges.length];
-			System.arraycopy(newRanges, 0, ranges, 0, ranges.length);
-		}
-		styles = new StyleRange[newStyles.length];
-		System.arraycopy(newStyles, 0, styles, 0, styles.length);
-		styleCount = newStyles.length;
+	int rangeCount = styleRanges.size();
+	if (rangeCount == 0) {
+		int[] newStarts = new int[newStyles.length];
+		int[] newLengths = new int[newStyles.length];
+		for (int i = 0, j = 0; i < newStyles.length; i++) {
+			newStarts[i] = newRanges[j++];
+			newLengths[i] = newRanges[j++];
+		}
+		styleRanges.replace(0, 0, newStarts, newLengths, newStyles, newStyles.length);
 		return;
 	}
-	if (newRanges != null && ranges == null) {
-		ranges = new int[styles.length << 1];
-		for (int i = 0, j = 0; i < styleCount; i++) {
-			ranges[j++] = styles[i].start;
-			ranges[j++] = styles[i].length;
-		}
+	int start = newRanges[0];
+	int modifyStart = getRangeIndex(start, -1, rangeCount), modifyEnd;
+	boolean insert = modifyStart == rangeCount;
+	if (!insert) {
+		int end = newRanges[newRanges.length - 2] + newRanges[newRanges.length - 1];
+		modifyEnd = getRangeIndex(end, modifyStart - 1, rangeCount);
+		insert = modifyStart == modifyEnd && styleRanges.getStart(modifyStart) >= end;
 	}
-	if (newRanges == null && ranges != null) {
-		newRanges = new int[newStyles.length << 1];
-		for (int i = 0, j = 0; i < newStyles.length; i++) {
-			newRanges[j++] = newStyles[i].start;
-			newRanges[j++] = newStyles[i].length;
-		}
-	}
-	if (ranges != null) {
-		int rangeCount = styleCount << 1;
-		int start = newRanges[0];
-		int modifyStart = getRangeIndex(start, -1, rangeCount), modifyEnd;
-		boolean insert = modifyStart == rangeCount;
-		if (!insert) {
-			int end = newRanges[newRanges.length - 2] + newRanges[newRanges.length - 1];
-			modifyEnd = getRangeIndex(end, modifyStart - 1, rangeCount);
-			insert = modifyStart == modifyEnd && ranges[modifyStart] >= end;
-		}
-		if (insert) {
-			addMerge(newRanges, newStyles, newRanges.length, modifyStart, modifyStart);
-			return;
-		}
-		modifyEnd = modifyStart;
-		int[] mergeRanges = new int[6];
-		StyleRange[] mergeStyles = new StyleRange[3];
-		for (int i = 0; i < newRanges.length; i += 2) {
-			int newStart = newRanges[i];
-			int newEnd = newStart + newRanges[i + 1];
-			if (newStart == newEnd) continue;
-			int modifyLast = 0, mergeCount = 0;
-			while (modifyEnd < rangeCount) {
-				if (newStart >= ranges[modifyStart] + ranges[modifyStart + 1]) modifyStart += 2;
-				if (ranges[modifyEnd] + ranges[modifyEnd + 1] > newEnd) break;
-				modifyEnd += 2;
-			}
-			if (ranges[modifyStart] < newStart && newStart < ranges[modifyStart] + ranges[modifyStart + 1]) {
-				mergeStyles[mergeCount >> 1] = styles[modifyStart >> 1];
-				mergeRanges[mergeCount] = ranges[modifyStart];
-				mergeRanges[mergeCount + 1] = newStart - ranges[modifyStart];
-				mergeCount += 2;
-			}
-			mergeStyles[mergeCount >> 1] = newStyles[i >> 1];
-			mergeRanges[mergeCount] = newStart;
-			mergeRanges[mergeCount + 1] = newRanges[i + 1];
+	if (insert) {
+		addMerge(newRanges, newStyles, newRanges.length, modifyStart, modifyStart);
+		return;
+	}
+	modifyEnd = modifyStart;
+	int[] mergeRanges = new int[6];
+	StyleRange[] mergeStyles = new StyleRange[3];
+	for (int i = 0; i < newRanges.length; i += 2) {
+		int newStart = newRanges[i];
+		int newEnd = newStart + newRanges[i + 1];
+		if (newStart == newEnd) continue;
+		int modifyLast = 0, mergeCount = 0;
+		while (modifyEnd < rangeCount) {
+			if (newStart >= styleRanges.getEnd(modifyStart)) modifyStart++;
+			if (styleRanges.getEnd(modifyEnd) > newEnd) break;
+			modifyEnd++;
+		}
+		if (modifyStart < rangeCount && styleRanges.getStart(modifyStart) < newStart && newStart < styleRanges.getEnd(modifyStart)) {
+			mergeStyles[mergeCount >> 1] = styleRanges.getStyle(modifyStart);
+			mergeRanges[mergeCount] = styleRanges.getStart(modifyStart);
+			mergeRanges[mergeCount + 1] = newStart - styleRanges.getStart(modifyStart);
 			mergeCount += 2;
-			if (modifyEnd < rangeCount && ranges[modifyEnd] < newEnd && newEnd < ranges[modifyEnd] + ranges[modifyEnd + 1]) {
-				mergeStyles[mergeCount >> 1] = styles[modifyEnd >> 1];
-				mergeRanges[mergeCount] = newEnd;
-				mergeRanges[mergeCount + 1] = ranges[modifyEnd] + ranges[modifyEnd + 1] - newEnd;
-				mergeCount += 2;
-				modifyLast = 2;
-			}
-			int grow = addMerge(mergeRanges, mergeStyles, mergeCount, modifyStart, modifyEnd + modifyLast);
-			rangeCount += grow;
-			modifyStart = modifyEnd += grow;
 		}
-	} else {
-		int start = newStyles[0].start;
-		int modifyStart = getRangeIndex(start, -1, styleCount), modifyEnd;
-		boolean insert = modifyStart == styleCount;
-		if (!insert) {
-			int end = newStyles[newStyles.length - 1].start + newStyles[newStyles.length - 1].length;
-			modifyEnd = getRangeIndex(end, modifyStart - 1, styleCount);
-			insert = modifyStart == modifyEnd && styles[modifyStart].start >= end;
-		}
-		if (insert) {
-			addMerge(newStyles, newStyles.length, modifyStart, modifyStart);
-			return;
-		}
-		modifyEnd = modifyStart;
-		StyleRange[] mergeStyles = new StyleRange[3];
-		for (StyleRange newStyle : newStyles) {
-			StyleRange style;
-			int newStart = newStyle.start;
-			int newEnd = newStart + newStyle.length;
-			if (newStart == newEnd) continue;
-			int modifyLast = 0, mergeCount = 0;
-			while (modifyEnd < styleCount) {
-				if (newStart >= styles[modifyStart].start + styles[modifyStart].length) modifyStart++;
-				if (styles[modifyEnd].start + styles[modifyEnd].length > newEnd) break;
-				modifyEnd++;
-			}
-			style = styles[modifyStart];
-			if (style.start < newStart && newStart < style.start + style.length) {
-				style = mergeStyles[mergeCount++] = (StyleRange)style.clone();
-				style.length = newStart - style.start;
-			}
-			mergeStyles[mergeCount++] = newStyle;
-			if (modifyEnd < styleCount) {
-				style = styles[modifyEnd];
-				if (style.start < newEnd && newEnd < style.start + style.length) {
-					style = mergeStyles[mergeCount++] = (StyleRange)style.clone();
-					style.length += style.start - newEnd;
-					style.start = newEnd;
-					modifyLast = 1;
-				}
-			}
-			int grow = addMerge(mergeStyles, mergeCount, modifyStart, modifyEnd + modifyLast);
-			modifyStart = modifyEnd += grow;
+		mergeStyles[mergeCount >> 1] = newStyles[i >> 1];
+		mergeRanges[mergeCount] = newStart;
+		mergeRanges[mergeCount + 1] = newRanges[i + 1];
+		mergeCount += 2;
+		if (modifyEnd < rangeCount && styleRanges.getStart(modifyEnd) < newEnd && newEnd < styleRanges.getEnd(modifyEnd)) {
+			mergeStyles[mergeCount >> 1] = styleRanges.getStyle(modifyEnd);
+			mergeRanges[mergeCount] = newEnd;
+			mergeRanges[mergeCount + 1] = styleRanges.getEnd(modifyEnd) - newEnd;
+			mergeCount += 2;
+			modifyLast = 1;
 		}
+		int grow = addMerge(mergeRanges, mergeStyles, mergeCount, modifyStart, modifyEnd + modifyLast);
+		rangeCount += grow;
+		modifyStart = modifyEnd += grow;
 	}
 }
 void textChanging(TextChangingEvent event) {
@@ -1793,10 +1816,15 @@ void textChanging(TextChangingEvent event) {
 	updateRanges(start, replaceCharCount, newCharCount);
 
 	int startLine = content.getLineAtOffset(start);
+	if (startLine < idleLine) idleLine = startLine;
+	if (startLine < estimateLine) estimateLine = startLine;
+	estimateGeneration++;
 	if (replaceCharCount == content.getCharCount()) lines = null;
 	if (replaceLineCount == lineCount) {
 		lineCount = newLineCount;
 		lineSizes = new LineSizeInfo[lineCount];
+		if (estimatedHeights != null) estimatedHeights = new int[lineCount];
+		lineHeights = null;
 		reset(0, lineCount);
 	} else {
 		int startIndex = startLine + replaceLineCount + 1;
@@ -1813,6 +1841,16 @@ void textChanging(TextChangingEvent event) {
 			System.arraycopy(lineSizes, 0, newLineSizes, 0, lineCount);
 			lineSizes = newLineSizes;
 		}
+		if (estimatedHeights != null) {
+			if (lineCount + delta > estimatedHeights.length) {
+				int[] newHeights = new int[lineCount + delta + GROW];
+				System.arraycopy(estimatedHeights, 0, newHeights, 0, lineCount);
+				estimatedHeights = newHeights;
+			}
+			System.arraycopy(estimatedHeights, startIndex, estimatedHeights, endIndex, lineCount - startIndex);
+			Arrays.fill(estimatedHeights, startLine, endIndex, 0);
+			if (delta < 0) Arrays.fill(estimatedHeights, lineCount + delta, lineCount, 0);
+		}
 		if (lines != null) {
 			if (lineCount + delta > lines.length) {
 				LineInfo[] newLines = new LineInfo[lineCount + delta + GROW];
@@ -1827,52 +1865,41 @@ void textChanging(TextChangingEvent event) {
 		for (int i = lineCount + delta; i < lineCount; i++) {
 			lineSizes[i] = null;
 		}
-		if (layouts != null) {
-			int layoutStartLine = startLine - topIndex;
-			int layoutEndLine = layoutStartLine + replaceLineCount + 1;
-			for (int i = layoutStartLine; i < layoutEndLine; i++) {
-				if (0 <= i && i < layouts.length) {
-					if (layouts[i] != null) layouts[i].dispose();
-					layouts[i] = null;
-					if (bullets != null && bulletsIndices != null) bullets[i] = null;
-				}
+		if (delta == 0) {
+			for (int i = startLine; i < endIndex; i++) {
+				if (lineHeights != null) lineHeights.set(i, LineSizeInfo.RESETED_SIZE);
+			}
+		} else {
+			/* The lines moved, rebuild the prefix sums when they are needed next */
+			lineHeights = null;
+		}
+		layoutCache.linesChanged(startLine, replaceLineCount + 1, delta);
+		if (bullets != null && bulletsIndices != null) {
+			int bulletStartLine = startLine - topIndex;
+			int bulletEndLine = bulletStartLine + replaceLineCount + 1;
+			for (int i = bulletStartLine; i < bulletEndLine; i++) {
+				if (0 <= i && i < bullets.length) bullets[i] = null;
 			}
 			if (delta > 0) {
-				for (int i = layouts.length - 1; i >= layoutEndLine; i--) {
-					if (0 <= i && i < layouts.length) {
+				for (int i = bullets.length - 1; i >= bulletEndLine; i--) {
+					if (0 <= i && i < bullets.length) {
 						endIndex = i + delta;
-						if (0 <= endIndex && endIndex < layouts.length) {
-							layouts[endIndex] = layouts[i];
-							layouts[i] = null;
-							if (bullets != null && bulletsIndices != null) {
-								bullets[endIndex] = bullets[i];
-								bulletsIndices[endIndex] = bulletsIndices[i];
-								bullets[i] = null;
-							}
-						} else {
-							if (layouts[i] != null) layouts[i].dispose();
-							layouts[i] = null;
-							if (bullets != null && bulletsIndices != null) bullets[i] = null;
+						if (0 <= endIndex && endIndex < bullets.length) {
+							bullets[endIndex] = bullets[i];
+							bulletsIndices[endIndex] = bulletsIndices[i];
 						}
+						bullets[i] = null;
 					}
 				}
 			} else if (delta < 0) {
-				for (int i = layoutEndLine; i < layouts.length; i++) {
-					if (0 <= i && i < layouts.length) {
+				for (int i = bulletEndLine; i < bullets.length; i++) {
+					if (0 <= i && i < bullets.length) {
 						endIndex = i + delta;
-						if (0 <= endIndex && endIndex < layouts.length) {
-							layouts[endIndex] = layouts[i];
-							layouts[i] = null;
-							if (bullets != null && bulletsIndices != null) {
-								bullets[endIndex] = bullets[i];
-								bulletsIndices[endIndex] = bulletsIndices[i];
-								bullets[i] = null;
-							}
-						} else {
-							if (layouts[i] != null) layouts[i].dispose();
-							layouts[i] = null;
-							if (bullets != null && bulletsIndices != null) bullets[i] = null;
+						if (0 <= endIndex && endIndex < bullets.length) {
+							bullets[endIndex] = bullets[i];
+							bulletsIndices[endIndex] = bulletsIndices[i];
 						}
+						bullets[i] = null;
 					}
 				}
 			}
@@ -1941,105 +1968,40 @@ void updateBullets(int startLine, int replaceLineCount, int newLineCount, boolea
 	}
 }
 void updateRanges(int start, int replaceCharCount, int newCharCount) {
-	if (styleCount == 0 || (replaceCharCount == 0 && newCharCount == 0)) return;
-	if (ranges != null) {
-		int rangeCount = styleCount << 1;
-		int modifyStart = getRangeIndex(start, -1, rangeCount);
-		if (modifyStart == rangeCount) return;
-		int end = start + replaceCharCount;
-		int modifyEnd = getRangeIndex(end, modifyStart - 1, rangeCount);
-		int offset = newCharCount - replaceCharCount;
-		if (modifyStart == modifyEnd && ranges[modifyStart] < start && end < ranges[modifyEnd] + ranges[modifyEnd + 1]) {
-			if (newCharCount == 0) {
-				ranges[modifyStart + 1] -= replaceCharCount;
-				modifyEnd += 2;
-			} else {
-				if (rangeCount + 2 > ranges.length) {
-					int[] newRanges = new int[ranges.length + (GROW << 1)];
-					System.arraycopy(ranges, 0, newRanges, 0, rangeCount);
-					ranges = newRanges;
-					StyleRange[] newStyles = new StyleRange[styles.length + GROW];
-					System.arraycopy(styles, 0, newStyles, 0, styleCount);
-					styles = newStyles;
-				}
-				System.arraycopy(ranges, modifyStart + 2, ranges, modifyStart + 4, rangeCount - (modifyStart + 2));
-				System.arraycopy(styles, (modifyStart + 2) >> 1, styles, (modifyStart + 4) >> 1, styleCount - ((modifyStart + 2) >> 1));
-				ranges[modifyStart + 3] = ranges[modifyStart] + ranges[modifyStart + 1] - end;
-				ranges[modifyStart + 2] = start + newCharCount;
-				ranges[modifyStart + 1] = start - ranges[modifyStart];
-				styles[(modifyStart >> 1) + 1] = styles[modifyStart >> 1];
-				rangeCount += 2;
-				styleCount++;
-				modifyEnd += 4;
-			}
-			if (offset != 0) {
-				for (int i = modifyEnd; i < rangeCount; i += 2) {
-					ranges[i] += offset;
-				}
-			}
+	int rangeCount = styleRanges.size();
+	if (rangeCount == 0 || (replaceCharCount == 0 && newCharCount == 0)) return;
+	int modifyStart = getRangeIndex(start, -1, rangeCount);
+	if (modifyStart == rangeCount) return;
+	int end = start + replaceCharCount;
+	int modifyEnd = getRangeIndex(end, modifyStart - 1, rangeCount);
+	int offset = newCharCount - replaceCharCount;
+	if (modifyStart == modifyEnd && styleRanges.getStart(modifyStart) < start && end < styleRanges.getEnd(modifyEnd)) {
+		if (newCharCount == 0) {
+			styleRanges.setLength(modifyStart, styleRanges.getLength(modifyStart) - replaceCharCount);
+			modifyEnd++;
 		} else {
-			if (ranges[modifyStart] < start && start < ranges[modifyStart] + ranges[modifyStart + 1]) {
-				ranges[modifyStart + 1] = start - ranges[modifyStart];
-				modifyStart += 2;
-			}
-			if (modifyEnd < rangeCount && ranges[modifyEnd] < end && end < ranges[modifyEnd] + ranges[modifyEnd + 1]) {
-				ranges[modifyEnd + 1] = ranges[modifyEnd] + ranges[modifyEnd + 1] - end;
-				ranges[modifyEnd] = end;
-			}
-			if (offset != 0) {
-				for (int i = modifyEnd; i < rangeCount; i += 2) {
-					ranges[i] += offset;
-				}
-			}
-			System.arraycopy(ranges, modifyEnd, ranges, modifyStart, rangeCount - modifyEnd);
-			System.arraycopy(styles, modifyEnd >> 1, styles, modifyStart >> 1, styleCount - (modifyEnd >> 1));
-			styleCount -= (modifyEnd - modifyStart) >> 1;
+			int rangeEnd = styleRanges.getEnd(modifyStart);
+			styleRanges.setLength(modifyStart, start - styleRanges.getStart(modifyStart));
+			int[] newStarts = {start + newCharCount};
+			int[] newLengths = {rangeEnd - end};
+			StyleRange[] newStyles = {styleRanges.getStyle(modifyStart)};
+			styleRanges.replace(modifyStart + 1, modifyStart + 1, newStarts, newLengths, newStyles, 1);
+			modifyEnd += 2;
 		}
+		styleRanges.shift(modifyEnd, offset);
 	} else {
-		int modifyStart = getRangeIndex(start, -1, styleCount);
-		if (modifyStart == styleCount) return;
-		int end = start + replaceCharCount;
-		int modifyEnd = getRangeIndex(end, modifyStart - 1, styleCount);
-		int offset = newCharCount - replaceCharCount;
-		if (modifyStart == modifyEnd && styles[modifyStart].start < start && end < styles[modifyEnd].start + styles[modifyEnd].length) {
-			if (newCharCount == 0) {
-				styles[modifyStart].length -= replaceCharCount;
-				modifyEnd++;
-			} else {
-				if (styleCount + 1 > styles.length) {
-					StyleRange[] newStyles = new StyleRange[styles.length + GROW];
-					System.arraycopy(styles, 0, newStyles, 0, styleCount);
-					styles = newStyles;
-				}
-				System.arraycopy(styles, modifyStart + 1, styles, modifyStart + 2, styleCount - (modifyStart + 1));
-				styles[modifyStart + 1] = (StyleRange)styles[modifyStart].clone();
-				styles[modifyStart + 1].length = styles[modifyStart].start + styles[modifyStart].length - end;
-				styles[modifyStart + 1].start = start + newCharCount;
-				styles[modifyStart].length = start - styles[modifyStart].start;
-				styleCount++;
-				modifyEnd += 2;
-			}
-			if (offset != 0) {
-				for (int i = modifyEnd; i < styleCount; i++) {
-					styles[i].start += offset;
-				}
-			}
-		} else {
-			if (styles[modifyStart].start < start && start < styles[modifyStart].start + styles[modifyStart].length) {
-				styles[modifyStart].length = start - styles[modifyStart].start;
-				modifyStart++;
-			}
-			if (modifyEnd < styleCount && styles[modifyEnd].start < end && end < styles[modifyEnd].start + styles[modifyEnd].length) {
-				styles[modifyEnd].length = styles[modifyEnd].start + styles[modifyEnd].length - end;
-				styles[modifyEnd].start = end;
-			}
-			if (offset != 0) {
-				for (int i = modifyEnd; i < styleCount; i++) {
-					styles[i].start += offset;
-				}
-			}
-			System.arraycopy(styles, modifyEnd, styles, modifyStart, styleCount - modifyEnd);
-			styleCount -= modifyEnd - modifyStart;
+		if (styleRanges.getStart(modifyStart) < start && start < styleRanges.getEnd(modifyStart)) {
+			styleRanges.setLength(modifyStart, start - styleRanges.getStart(modifyStart));
+			modifyStart++;
+		}
+		if (modifyEnd < rangeCount && styleRanges.getStart(modifyEnd) < end && end < styleRanges.getEnd(modifyEnd)) {
+			int rangeEnd = styleRanges.getEnd(modifyEnd);
+			styleRanges.setStart(modifyEnd, end);
+			styleRanges.setLength(modifyEnd, rangeEnd - end);
+		}
+		styleRanges.shift(modifyEnd, offset);
+		if (modifyStart < modifyEnd) {
+			styleRanges.replace(modifyStart, modifyEnd, null, null, null, 0);
 		}
 	}
 }
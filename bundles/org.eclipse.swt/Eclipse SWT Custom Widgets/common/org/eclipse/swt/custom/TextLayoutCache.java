@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Platform Contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Platform Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.custom;
+
+import java.util.*;
+import java.util.function.*;
+
+import org.eclipse.swt.graphics.*;
+
+/**
+ * A cache of the <code>TextLayout</code>s of the lines of a <code>StyledText</code>,
+ * keyed by line index and bounded by the least recently used layouts.
+ * <p>
+ * Layouts of pinned lines, usually the visible ones, are not evicted even if
+ * the cache exceeds its capacity, since they may still be in use while the
+ * lines are painted. Neither are the layouts that were handed out by
+ * {@link #get(int)} or {@link #put(int, TextLayout)} and not released yet,
+ * since the caller that holds them may get the layouts of other lines
+ * before it is done with them.
+ * </p>
+ */
+class TextLayoutCache {
+	static final int DEFAULT_CAPACITY = 300;
+
+	static class Entry {
+		int line, uses;
+		TextLayout layout;
+		Entry previous, next;
+	}
+
+	int capacity = DEFAULT_CAPACITY;
+	int hits, misses;
+	final IntPredicate pinned;
+	final Map<Integer, Entry> lines = new HashMap<>();
+	final Map<TextLayout, Entry> layouts = new IdentityHashMap<>();
+	/* The list is circular, head.next is the most and head.previous the least recently used */
+	final Entry head = new Entry();
+
+/**
+ * @param pinned tests whether the layout of a line must not be evicted
+ */
+TextLayoutCache(IntPredicate pinned) {
+	this.pinned = pinned;
+	head.previous = head.next = head;
+}
+
+void clear() {
+	for (Entry entry = head.next; entry != head; entry = entry.next) {
+		entry.layout.dispose();
+	}
+	lines.clear();
+	layouts.clear();
+	head.previous = head.next = head;
+}
+
+/**
+ * Makes the layout of the line the first one to be evicted.
+ */
+void demote(int line) {
+	Entry entry = lines.get(line);
+	if (entry == null) return;
+	unlink(entry);
+	link(entry, head.previous);
+}
+
+/**
+ * Evicts the least recently used layouts that are not pinned until
+ * the cache does not exceed its capacity. The most recently used
+ * layout is never evicted.
+ */
+void evict() {
+	Entry entry = head.previous;
+	while (lines.size() > capacity && entry != head.next) {
+		Entry previous = entry.previous;
+		if (entry.uses == 0 && !pinned.test(entry.line)) {
+			remove(entry);
+			entry.layout.dispose();
+		}
+		entry = previous;
+	}
+}
+
+/**
+ * Returns the layout of the line and marks it as the most recently used
+ * one, or returns <code>null</code> if it is not in the cache. The layout
+ * is not evicted until it is released.
+ */
+TextLayout get(int line) {
+	Entry entry = lines.get(line);
+	if (entry == null) return null;
+	entry.uses++;
+	unlink(entry);
+	link(entry, head);
+	return entry.layout;
+}
+
+Collection<TextLayout> getLayouts() {
+	return layouts.keySet();
+}
+
+/**
+ * Moves the layouts of the lines after a change of the text. The layouts
+ * of the changed lines are disposed and the lines after them are shifted.
+ *
+ * @param startLine the first changed line
+ * @param lineCount the number of changed lines
+ * @param delta the number of lines that were added, negative if lines were removed
+ */
+void linesChanged(int startLine, int lineCount, int delta) {
+	if (lines.isEmpty()) return;
+	int endLine = startLine + lineCount;
+	for (Entry entry = head.next; entry != head;) {
+		Entry next = entry.next;
+		if (startLine <= entry.line && entry.line < endLine) {
+			remove(entry);
+			entry.layout.dispose();
+		}
+		entry = next;
+	}
+	if (delta == 0) return;
+	lines.clear();
+	for (Entry entry = head.next; entry != head; entry = entry.next) {
+		if (entry.line >= endLine) entry.line += delta;
+		lines.put(entry.line, entry);
+	}
+}
+
+void link(Entry entry, Entry previous) {
+	entry.previous = previous;
+	entry.next = previous.next;
+	previous.next.previous = entry;
+	previous.next = entry;
+}
+
+/**
+ * Returns the layout of the line without marking it as used, or
+ * <code>null</code> if it is not in the cache.
+ */
+TextLayout peek(int line) {
+	Entry entry = lines.get(line);
+	return entry != null ? entry.layout : null;
+}
+
+/**
+ * Adds the layout of the line as the most recently used one and evicts
+ * the least recently used layouts if the cache exceeds its capacity. The
+ * layout is not evicted until it is released.
+ */
+void put(int line, TextLayout layout) {
+	Entry entry = lines.get(line);
+	if (entry != null) {
+		remove(entry);
+		if (entry.layout != layout) entry.layout.dispose();
+	}
+	entry = new Entry();
+	entry.line = line;
+	entry.layout = layout;
+	entry.uses = 1;
+	lines.put(line, entry);
+	layouts.put(layout, entry);
+	link(entry, head);
+	evict();
+}
+
+/**
+ * Releases a layout that was handed out by get() or put().
+ *
+ * @return <code>true</code> if the layout is in the cache and will be disposed by it
+ */
+boolean release(TextLayout layout) {
+	Entry entry = layouts.get(layout);
+	if (entry == null) return false;
+	if (entry.uses > 0) entry.uses--;
+	return true;
+}
+
+void remove(Entry entry) {
+	unlink(entry);
+	lines.remove(entry.line);
+	layouts.remove(entry.layout);
+}
+
+void setCapacity(int capacity) {
+	this.capacity = capacity;
+	evict();
+}
+
+int size() {
+	return lines.size();
+}
+
+void unlink(Entry entry) {
+	entry.previous.next = entry.next;
+	entry.next.previous = entry.previous;
+}
+}
@@ -7864,6 +7864,18 @@ JNIEXPORT jboolean JNICALL GTK_NATIVE(gtk_1tree_1model_1iter_1nth_1child)
 }
 #endif
 
+#ifndef NO_gtk_1tree_1model_1iter_1parent
+JNIEXPORT jboolean JNICALL GTK_NATIVE(gtk_1tree_1model_1iter_1parent)
+	(JNIEnv *env, jclass that, jlong arg0, jlong arg1, jlong arg2)
+{
+	jboolean rc = 0;
+	GTK_NATIVE_ENTER(env, that, gtk_1tree_1model_1iter_1parent_FUNC);
+	rc = (jboolean)gtk_tree_model_iter_parent((GtkTreeModel *)arg0, (GtkTreeIter *)arg1, (GtkTreeIter *)arg2);
+	GTK_NATIVE_EXIT(env, that, gtk_1tree_1model_1iter_1parent_FUNC);
+	return rc;
+}
+#endif
+
 #ifndef NO_gtk_1tree_1path_1append_1index
 JNIEXPORT void JNICALL GTK_NATIVE(gtk_1tree_1path_1append_1index)
 	(JNIEnv *env, jclass that, jlong arg0, jint arg1)
@@ -15292,6 +15304,143 @@ JNIEXPORT void JNICALL OS_NATIVE(swt_1set_1lock_1functions)
 }
 #endif
 
+#ifndef NO_swt_1tree_1model_1set__JJIII
+JNIEXPORT void JNICALL OS_NATIVE(swt_1tree_1model_1set__JJIII)
+	(JNIEnv *env, jclass that, jlong arg0, jlong arg1, jint arg2, jint arg3, jint arg4)
+{
+	OS_NATIVE_ENTER(env, that, swt_1tree_1model_1set__JJIII_FUNC);
+	swt_tree_model_set((GtkTreeModel *)arg0, (GtkTreeIter *)arg1, arg2, arg3, arg4);
+	OS_NATIVE_EXIT(env, that, swt_1tree_1model_1set__JJIII_FUNC);
+}
+#endif
+
+#ifndef NO_swt_1tree_1model_1set__JJIJI
+JNIEXPORT void JNICALL OS_NATIVE(swt_1tree_1model_1set__JJIJI)
+	(JNIEnv *env, jclass that, jlong arg0, jlong arg1, jint arg2, jlong arg3, jint arg4)
+{
+	OS_NATIVE_ENTER(env, that, swt_1tree_1model_1set__JJIJI_FUNC);
+	swt_tree_model_set((GtkTreeModel *)arg0, (GtkTreeIter *)arg1, arg2, arg3, arg4);
+	OS_NATIVE_EXIT(env, that, swt_1tree_1model_1set__JJIJI_FUNC);
+}
+#endif
+
+#ifndef NO_swt_1tree_1model_1set__JJILorg_eclipse_swt_internal_gtk_GdkRGBA_2I
+JNIEXPORT void JNICALL OS_NATIVE(swt_1tree_1model_1set__JJILorg_eclipse_swt_internal_gtk_GdkRGBA_2I)
+	(JNIEnv *env, jclass that, jlong arg0, jlong arg1, jint arg2, jobject arg3, jint arg4)
+{
+	GdkRGBA _arg3, *lparg3=NULL;
+	OS_NATIVE_ENTER(env, that, swt_1tree_1model_1set__JJILorg_eclipse_swt_internal_gtk_GdkRGBA_2I_FUNC);
+	if (arg3) if ((lparg3 = getGdkRGBAFields(env, arg3, &_arg3)) == NULL) goto fail;
+	swt_tree_model_set((GtkTreeModel *)arg0, (GtkTreeIter *)arg1, arg2, lparg3, arg4);
+fail:
+	OS_NATIVE_EXIT(env, that, swt_1tree_1model_1set__JJILorg_eclipse_swt_internal_gtk_GdkRGBA_2I_FUNC);
+}
+#endif
+
+#ifndef NO_swt_1tree_1model_1set__JJIZI
+JNIEXPORT void JNICALL OS_NATIVE(swt_1tree_1model_1set__JJIZI)
+	(JNIEnv *env, jclass that, jlong arg0, jlong arg1, jint arg2, jboolean arg3, jint arg4)
+{
+	OS_NATIVE_ENTER(env, that, swt_1tree_1model_1set__JJIZI_FUNC);
+	swt_tree_model_set((GtkTreeModel *)arg0, (GtkTreeIter *)arg1, arg2, arg3, arg4);
+	OS_NATIVE_EXIT(env, that, swt_1tree_1model_1set__JJIZI_FUNC);
+}
+#endif
+
+#ifndef NO_swt_1tree_1model_1set__JJI_3BI
+JNIEXPORT void JNICALL OS_NATIVE(swt_1tree_1model_1set__JJI_3BI)
+	(JNIEnv *env, jclass that, jlong arg0, jlong arg1, jint arg2, jbyteArray arg3, jint arg4)
+{
+	jbyte *lparg3=NULL;
+	OS_NATIVE_ENTER(env, that, swt_1tree_1model_1set__JJI_3BI_FUNC);
+	if (arg3) if ((lparg3 = (*env)->GetByteArrayElements(env, arg3, NULL)) == NULL) goto fail;
+	swt_tree_model_set((GtkTreeModel *)arg0, (GtkTreeIter *)arg1, arg2, lparg3, arg4);
+fail:
+	if (arg3 && lparg3) (*env)->ReleaseByteArrayElements(env, arg3, lparg3, 0);
+	OS_NATIVE_EXIT(env, that, swt_1tree_1model_1set__JJI_3BI_FUNC);
+}
+#endif
+
+#ifndef NO_swt_1tree_1model_1set_1value
+JNIEXPORT void JNICALL OS_NATIVE(swt_1tree_1model_1set_1value)
+	(JNIEnv *env, jclass that, jlong arg0, jlong arg1, jint arg2, jlong arg3)
+{
+	OS_NATIVE_ENTER(env, that, swt_1tree_1model_1set_1value_FUNC);
+	swt_tree_model_set_value((GtkTreeModel *)arg0, (GtkTreeIter *)arg1, arg2, (GValue *)arg3);
+	OS_NATIVE_EXIT(env, that, swt_1tree_1model_1set_1value_FUNC);
+}
+#endif
+
+#ifndef NO_swt_1virtual_1model_1insert
+JNIEXPORT void JNICALL OS_NATIVE(swt_1virtual_1model_1insert)
+	(JNIEnv *env, jclass that, jlong arg0, jlong arg1, jint arg2, jint arg3)
+{
+	OS_NATIVE_ENTER(env, that, swt_1virtual_1model_1insert_FUNC);
+	swt_virtual_model_insert((SwtVirtualModel *)arg0, (GtkTreeIter *)arg1, arg2, arg3);
+	OS_NATIVE_EXIT(env, that, swt_1virtual_1model_1insert_FUNC);
+}
+#endif
+
+#ifndef NO_swt_1virtual_1model_1iter_1get_1index
+JNIEXPORT jint JNICALL OS_NATIVE(swt_1virtual_1model_1iter_1get_1index)
+	(JNIEnv *env, jclass that, jlong arg0, jlong arg1)
+{
+	jint rc = 0;
+	OS_NATIVE_ENTER(env, that, swt_1virtual_1model_1iter_1get_1index_FUNC);
+	rc = (jint)swt_virtual_model_iter_get_index((SwtVirtualModel *)arg0, (GtkTreeIter *)arg1);
+	OS_NATIVE_EXIT(env, that, swt_1virtual_1model_1iter_1get_1index_FUNC);
+	return rc;
+}
+#endif
+
+#ifndef NO_swt_1virtual_1model_1materialize
+JNIEXPORT jboolean JNICALL OS_NATIVE(swt_1virtual_1model_1materialize)
+	(JNIEnv *env, jclass that, jlong arg0, jlong arg1, jlong arg2, jint arg3)
+{
+	jboolean rc = 0;
+	OS_NATIVE_ENTER(env, that, swt_1virtual_1model_1materialize_FUNC);
+	rc = (jboolean)swt_virtual_model_materialize((SwtVirtualModel *)arg0, (GtkTreeIter *)arg1, (GtkTreeIter *)arg2, arg3);
+	OS_NATIVE_EXIT(env, that, swt_1virtual_1model_1materialize_FUNC);
+	return rc;
+}
+#endif
+
+#ifndef NO_swt_1virtual_1model_1newv
+JNIEXPORT jlong JNICALL OS_NATIVE(swt_1virtual_1model_1newv)
+	(JNIEnv *env, jclass that, jint arg0, jlongArray arg1, jboolean arg2)
+{
+	jlong *lparg1=NULL;
+	jlong rc = 0;
+	OS_NATIVE_ENTER(env, that, swt_1virtual_1model_1newv_FUNC);
+	if (arg1) if ((lparg1 = (*env)->GetLongArrayElements(env, arg1, NULL)) == NULL) goto fail;
+	rc = (jlong)swt_virtual_model_newv(arg0, (GType *)lparg1, arg2);
+fail:
+	if (arg1 && lparg1) (*env)->ReleaseLongArrayElements(env, arg1, lparg1, 0);
+	OS_NATIVE_EXIT(env, that, swt_1virtual_1model_1newv_FUNC);
+	return rc;
+}
+#endif
+
+#ifndef NO_swt_1virtual_1model_1release
+JNIEXPORT void JNICALL OS_NATIVE(swt_1virtual_1model_1release)
+	(JNIEnv *env, jclass that, jlong arg0, jlong arg1)
+{
+	OS_NATIVE_ENTER(env, that, swt_1virtual_1model_1release_FUNC);
+	swt_virtual_model_release((SwtVirtualModel *)arg0, (GtkTreeIter *)arg1);
+	OS_NATIVE_EXIT(env, that, swt_1virtual_1model_1release_FUNC);
+}
+#endif
+
+#ifndef NO_swt_1virtual_1model_1remove
+JNIEXPORT void JNICALL OS_NATIVE(swt_1virtual_1model_1remove)
+	(JNIEnv *env, jclass that, jlong arg0, jlong arg1, jint arg2, jint arg3)
+{
+	OS_NATIVE_ENTER(env, that, swt_1virtual_1model_1remove_FUNC);
+	swt_virtual_model_remove((SwtVirtualModel *)arg0, (GtkTreeIter *)arg1, arg2, arg3);
+	OS_NATIVE_EXIT(env, that, swt_1virtual_1model_1remove_FUNC);
+}
+#endif
+
 #ifndef NO_ubuntu_1menu_1proxy_1get
 JNIEXPORT jlong JNICALL OS_NATIVE(ubuntu_1menu_1proxy_1get)
 	(JNIEnv *env, jclass that)
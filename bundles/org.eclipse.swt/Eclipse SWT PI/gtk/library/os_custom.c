@@ -2356,3 +2356,570 @@ GdkPaintable* swt_scaled_paintable_new (GdkTexture* texture, int width, int heig
 	return GDK_PAINTABLE (self);
 }
 #endif /* GTK4 */
+
+/*
+ * SwtVirtualModel: a GtkTreeModel for SWT.VIRTUAL tables and trees that only
+ * knows the number of rows under each parent. Rows are inserted and removed by
+ * count without allocating anything; a row is materialized, and can hold
+ * values, only once SWT creates an item for it. Materialized rows are kept per
+ * parent in an array sorted by index, so iters and paths are resolved by binary
+ * search. An iter stores the parent node and the index of the row, plus the
+ * node of the row when it is materialized. Rows that do not hold a value for a
+ * column report the default value of the column instead.
+ *
+ * Iters persist like the ones of GtkListStore and GtkTreeStore: the iter of a
+ * materialized row reads the parent and the index from the node of the row,
+ * which is kept up to date, and stays valid until the row is removed or
+ * released. The iter of a row that is not materialized names the row by its
+ * index, and finds the node if the row is materialized later, but it follows
+ * the index rather than the row when rows are inserted or removed before it.
+ * GtkTreeView does not keep iters, and SWT only keeps the iters of
+ * materialized rows.
+ */
+#include <gobject/gvaluecollector.h>
+
+typedef struct _SwtVirtualNode SwtVirtualNode;
+
+struct _SwtVirtualNode
+{
+	SwtVirtualNode *parent;
+	gint index;
+	gint n_children;
+	GPtrArray *children;
+	GValue *values;
+};
+
+struct _SwtVirtualModel
+{
+	GObject parent_instance;
+	gint stamp;
+	gint n_columns;
+	GType *types;
+	gboolean list_only;
+	GValue *defaults;
+	SwtVirtualNode *root;
+};
+
+static void swt_virtual_model_tree_model_init (GtkTreeModelIface *iface);
+
+G_DEFINE_TYPE_WITH_CODE (SwtVirtualModel, swt_virtual_model, G_TYPE_OBJECT,
+	G_IMPLEMENT_INTERFACE (GTK_TYPE_TREE_MODEL, swt_virtual_model_tree_model_init))
+
+static void swt_virtual_node_free (SwtVirtualModel *model, SwtVirtualNode *node)
+{
+	if (node->children != NULL) {
+		for (guint i = 0; i < node->children->len; i++) {
+			swt_virtual_node_free (model, g_ptr_array_index (node->children, i));
+		}
+		g_ptr_array_free (node->children, TRUE);
+	}
+	if (node->values != NULL) {
+		for (gint i = 0; i < model->n_columns; i++) {
+			if (G_IS_VALUE (&node->values[i])) g_value_unset (&node->values[i]);
+		}
+		g_free (node->values);
+	}
+	g_free (node);
+}
+
+/* Returns the position of the first materialized child with an index not less than the given one */
+static guint swt_virtual_node_lower_bound (SwtVirtualNode *parent, gint index)
+{
+	guint low = 0, high = parent->children != NULL ? parent->children->len : 0;
+	while (low < high) {
+		guint mid = (low + high) / 2;
+		SwtVirtualNode *child = g_ptr_array_index (parent->children, mid);
+		if (child->index < index) {
+			low = mid + 1;
+		} else {
+			high = mid;
+		}
+	}
+	return low;
+}
+
+static SwtVirtualNode *swt_virtual_node_find (SwtVirtualNode *parent, gint index)
+{
+	guint position = swt_virtual_node_lower_bound (parent, index);
+	if (parent->children != NULL && position < parent->children->len) {
+		SwtVirtualNode *child = g_ptr_array_index (parent->children, position);
+		if (child->index == index) return child;
+	}
+	return NULL;
+}
+
+static SwtVirtualNode *swt_virtual_node_materialize (SwtVirtualNode *parent, gint index)
+{
+	if (parent->children == NULL) parent->children = g_ptr_array_new ();
+	guint position = swt_virtual_node_lower_bound (parent, index);
+	if (position < parent->children->len) {
+		SwtVirtualNode *child = g_ptr_array_index (parent->children, position);
+		if (child->index == index) return child;
+	}
+	SwtVirtualNode *child = g_new0 (SwtVirtualNode, 1);
+	child->parent = parent;
+	child->index = index;
+	g_ptr_array_insert (parent->children, position, child);
+	return child;
+}
+
+static void swt_virtual_model_fill_iter (SwtVirtualModel *model, GtkTreeIter *iter, SwtVirtualNode *parent, gint index, SwtVirtualNode *node)
+{
+	iter->stamp = model->stamp;
+	iter->user_data = parent;
+	iter->user_data2 = GINT_TO_POINTER (index);
+	iter->user_data3 = node;
+}
+
+/*
+ * Returns the node of the row, or NULL if it is not materialized. The node is
+ * looked up again when the iter was filled before the row was materialized,
+ * which happens when SWT.SetData creates the item while the view holds the iter.
+ */
+static SwtVirtualNode *swt_virtual_model_iter_node (GtkTreeIter *iter)
+{
+	if (iter->user_data3 != NULL) return iter->user_data3;
+	return swt_virtual_node_find (iter->user_data, GPOINTER_TO_INT (iter->user_data2));
+}
+
+/*
+ * The parent and the index of a materialized row are read from its node, so
+ * that the iters held by the items stay valid when rows are inserted or removed
+ * before them.
+ */
+static SwtVirtualNode *swt_virtual_model_iter_parent_node (GtkTreeIter *iter)
+{
+	SwtVirtualNode *node = iter->user_data3;
+	return node != NULL ? node->parent : iter->user_data;
+}
+
+static gint swt_virtual_model_iter_index (GtkTreeIter *iter)
+{
+	SwtVirtualNode *node = iter->user_data3;
+	return node != NULL ? node->index : GPOINTER_TO_INT (iter->user_data2);
+}
+
+static SwtVirtualNode *swt_virtual_model_parent_node (SwtVirtualModel *model, GtkTreeIter *parent)
+{
+	if (parent == NULL) return model->root;
+	return swt_virtual_model_iter_node (parent);
+}
+
+static GtkTreeModelFlags swt_virtual_model_get_flags (GtkTreeModel *tree_model)
+{
+	GtkTreeModelFlags flags = GTK_TREE_MODEL_ITERS_PERSIST;
+	if (SWT_VIRTUAL_MODEL (tree_model)->list_only) flags |= GTK_TREE_MODEL_LIST_ONLY;
+	return flags;
+}
+
+static gint swt_virtual_model_get_n_columns (GtkTreeModel *tree_model)
+{
+	return SWT_VIRTUAL_MODEL (tree_model)->n_columns;
+}
+
+static GType swt_virtual_model_get_column_type (GtkTreeModel *tree_model, gint index)
+{
+	SwtVirtualModel *model = SWT_VIRTUAL_MODEL (tree_model);
+	g_return_val_if_fail (index >= 0 && index < model->n_columns, G_TYPE_INVALID);
+	return model->types[index];
+}
+
+static gboolean swt_virtual_model_get_iter (GtkTreeModel *tree_model, GtkTreeIter *iter, GtkTreePath *path)
+{
+	SwtVirtualModel *model = SWT_VIRTUAL_MODEL (tree_model);
+	gint depth = gtk_tree_path_get_depth (path);
+	gint *indices = gtk_tree_path_get_indices (path);
+	SwtVirtualNode *parent = model->root;
+	if (depth <= 0) return FALSE;
+	for (gint i = 0; i < depth - 1; i++) {
+		if (indices[i] < 0 || indices[i] >= parent->n_children) return FALSE;
+		parent = swt_virtual_node_find (parent, indices[i]);
+		if (parent == NULL) return FALSE;
+	}
+	gint index = indices[depth - 1];
+	if (index < 0 || index >= parent->n_children) return FALSE;
+	swt_virtual_model_fill_iter (model, iter, parent, index, swt_virtual_node_find (parent, index));
+	return TRUE;
+}
+
+static GtkTreePath *swt_virtual_model_get_path (GtkTreeModel *tree_model, GtkTreeIter *iter)
+{
+	SwtVirtualModel *model = SWT_VIRTUAL_MODEL (tree_model);
+	g_return_val_if_fail (iter->stamp == model->stamp, NULL);
+	GtkTreePath *path = gtk_tree_path_new ();
+	gtk_tree_path_prepend_index (path, swt_virtual_model_iter_index (iter));
+	for (SwtVirtualNode *node = swt_virtual_model_iter_parent_node (iter); node != model->root; node = node->parent) {
+		gtk_tree_path_prepend_index (path, node->index);
+	}
+	return path;
+}
+
+static void swt_virtual_model_get_value (GtkTreeModel *tree_model, GtkTreeIter *iter, gint column, GValue *value)
+{
+	SwtVirtualModel *model = SWT_VIRTUAL_MODEL (tree_model);
+	g_return_if_fail (column >= 0 && column < model->n_columns);
+	g_value_init (value, model->types[column]);
+	SwtVirtualNode *node = swt_virtual_model_iter_node (iter);
+	if (node != NULL && node->values != NULL && G_IS_VALUE (&node->values[column])) {
+		g_value_copy (&node->values[column], value);
+	} else if (G_IS_VALUE (&model->defaults[column])) {
+		g_value_copy (&model->defaults[column], value);
+	}
+}
+
+static gboolean swt_virtual_model_iter_next (GtkTreeModel *tree_model, GtkTreeIter *iter)
+{
+	SwtVirtualModel *model = SWT_VIRTUAL_MODEL (tree_model);
+	SwtVirtualNode *parent = swt_virtual_model_iter_parent_node (iter);
+	gint index = swt_virtual_model_iter_index (iter) + 1;
+	if (index >= parent->n_children) {
+		iter->stamp = 0;
+		return FALSE;
+	}
+	swt_virtual_model_fill_iter (model, iter, parent, index, swt_virtual_node_find (parent, index));
+	return TRUE;
+}
+
+static gboolean swt_virtual_model_iter_previous (GtkTreeModel *tree_model, GtkTreeIter *iter)
+{
+	SwtVirtualModel *model = SWT_VIRTUAL_MODEL (tree_model);
+	SwtVirtualNode *parent = swt_virtual_model_iter_parent_node (iter);
+	gint index = swt_virtual_model_iter_index (iter) - 1;
+	if (index < 0) {
+		iter->stamp = 0;
+		return FALSE;
+	}
+	swt_virtual_model_fill_iter (model, iter, parent, index, swt_virtual_node_find (parent, index));
+	return TRUE;
+}
+
+static gboolean swt_virtual_model_iter_nth_child (GtkTreeModel *tree_model, GtkTreeIter *iter, GtkTreeIter *parent, gint n)
+{
+	SwtVirtualModel *model = SWT_VIRTUAL_MODEL (tree_model);
+	SwtVirtualNode *node = swt_virtual_model_parent_node (model, parent);
+	if (node == NULL || n < 0 || n >= node->n_children) {
+		iter->stamp = 0;
+		return FALSE;
+	}
+	swt_virtual_model_fill_iter (model, iter, node, n, swt_virtual_node_find (node, n));
+	return TRUE;
+}
+
+static gboolean swt_virtual_model_iter_children (GtkTreeModel *tree_model, GtkTreeIter *iter, GtkTreeIter *parent)
+{
+	return swt_virtual_model_iter_nth_child (tree_model, iter, parent, 0);
+}
+
+static gboolean swt_virtual_model_iter_has_child (GtkTreeModel *tree_model, GtkTreeIter *iter)
+{
+	SwtVirtualNode *node = swt_virtual_model_iter_node (iter);
+	return node != NULL && node->n_children > 0;
+}
+
+static gint swt_virtual_model_iter_n_children (GtkTreeModel *tree_model, GtkTreeIter *iter)
+{
+	SwtVirtualNode *node = swt_virtual_model_parent_node (SWT_VIRTUAL_MODEL (tree_model), iter);
+	return node != NULL ? node->n_children : 0;
+}
+
+static gboolean swt_virtual_model_iter_parent (GtkTreeModel *tree_model, GtkTreeIter *iter, GtkTreeIter *child)
+{
+	SwtVirtualModel *model = SWT_VIRTUAL_MODEL (tree_model);
+	SwtVirtualNode *parent = swt_virtual_model_iter_parent_node (child);
+	if (parent == model->root) {
+		iter->stamp = 0;
+		return FALSE;
+	}
+	swt_virtual_model_fill_iter (model, iter, parent->parent, parent->index, parent);
+	return TRUE;
+}
+
+static void swt_virtual_model_tree_model_init (GtkTreeModelIface *iface)
+{
+	iface->get_flags = swt_virtual_model_get_flags;
+	iface->get_n_columns = swt_virtual_model_get_n_columns;
+	iface->get_column_type = swt_virtual_model_get_column_type;
+	iface->get_iter = swt_virtual_model_get_iter;
+	iface->get_path = swt_virtual_model_get_path;
+	iface->get_value = swt_virtual_model_get_value;
+	iface->iter_next = swt_virtual_model_iter_next;
+	iface->iter_previous = swt_virtual_model_iter_previous;
+	iface->iter_children = swt_virtual_model_iter_children;
+	iface->iter_has_child = swt_virtual_model_iter_has_child;
+	iface->iter_n_children = swt_virtual_model_iter_n_children;
+	iface->iter_nth_child = swt_virtual_model_iter_nth_child;
+	iface->iter_parent = swt_virtual_model_iter_parent;
+}
+
+static void swt_virtual_model_finalize (GObject *object)
+{
+	SwtVirtualModel *model = SWT_VIRTUAL_MODEL (object);
+	swt_virtual_node_free (model, model->root);
+	for (gint i = 0; i < model->n_columns; i++) {
+		if (G_IS_VALUE (&model->defaults[i])) g_value_unset (&model->defaults[i]);
+	}
+	g_free (model->defaults);
+	g_free (model->types);
+	G_OBJECT_CLASS (swt_virtual_model_parent_class)->finalize (object);
+}
+
+static void swt_virtual_model_class_init (SwtVirtualModelClass *klass)
+{
+	G_OBJECT_CLASS (klass)->finalize = swt_virtual_model_finalize;
+}
+
+static void swt_virtual_model_init (SwtVirtualModel *model)
+{
+	do {
+		model->stamp = g_random_int ();
+	} while (model->stamp == 0);
+	model->root = g_new0 (SwtVirtualNode, 1);
+	model->root->index = -1;
+}
+
+GtkTreeModel *swt_virtual_model_newv (gint n_columns, GType *types, gboolean list_only)
+{
+	SwtVirtualModel *model = g_object_new (SWT_TYPE_VIRTUAL_MODEL, NULL);
+	model->n_columns = n_columns;
+	model->types = g_new (GType, n_columns);
+	memcpy (model->types, types, n_columns * sizeof (GType));
+	model->defaults = g_new0 (GValue, n_columns);
+	model->list_only = list_only;
+	return GTK_TREE_MODEL (model);
+}
+
+/*
+ * Returns whether a handler is connected to the signal of the model. There is
+ * none while the model is detached from its view, which builds its rows from
+ * the model again when the model is set.
+ */
+static gboolean swt_virtual_model_has_handler (SwtVirtualModel *model, const gchar *signal)
+{
+	return g_signal_has_handler_pending (model, g_signal_lookup (signal, GTK_TYPE_TREE_MODEL), 0, FALSE);
+}
+
+/* Adds delta to the indices of the materialized children from the given index on */
+static void swt_virtual_node_shift (SwtVirtualNode *parent, gint index, gint delta)
+{
+	if (parent->children == NULL) return;
+	for (guint i = swt_virtual_node_lower_bound (parent, index); i < parent->children->len; i++) {
+		((SwtVirtualNode *) g_ptr_array_index (parent->children, i))->index += delta;
+	}
+}
+
+static GtkTreePath *swt_virtual_node_get_path (SwtVirtualModel *model, SwtVirtualNode *node)
+{
+	GtkTreePath *path = gtk_tree_path_new ();
+	for (SwtVirtualNode *ancestor = node; ancestor != model->root; ancestor = ancestor->parent) {
+		gtk_tree_path_prepend_index (path, ancestor->index);
+	}
+	return path;
+}
+
+static void swt_virtual_model_has_child_toggled (SwtVirtualModel *model, SwtVirtualNode *node)
+{
+	GtkTreeIter iter;
+	GtkTreePath *path = swt_virtual_node_get_path (model, node);
+	swt_virtual_model_fill_iter (model, &iter, node->parent, node->index, node);
+	gtk_tree_model_row_has_child_toggled (GTK_TREE_MODEL (model), path, &iter);
+	gtk_tree_path_free (path);
+}
+
+/*
+ * Inserts count rows at the index under the parent, or at the top level if the
+ * parent is NULL. The rows hold no values until they are materialized.
+ */
+void swt_virtual_model_insert (SwtVirtualModel *model, GtkTreeIter *parent, gint index, gint count)
+{
+	SwtVirtualNode *node = swt_virtual_model_parent_node (model, parent);
+	g_return_if_fail (node != NULL && index >= 0 && index <= node->n_children && count >= 0);
+	if (count == 0) return;
+	if (!swt_virtual_model_has_handler (model, "row-inserted")) {
+		swt_virtual_node_shift (node, index, count);
+		node->n_children += count;
+		return;
+	}
+	gboolean was_empty = node->n_children == 0;
+	GtkTreePath *path = swt_virtual_node_get_path (model, node);
+	gtk_tree_path_append_index (path, index);
+	GtkTreeIter iter;
+	for (gint i = 0; i < count; i++) {
+		/* The view expects the model to grow by one row per signal */
+		swt_virtual_node_shift (node, index + i, 1);
+		node->n_children++;
+		swt_virtual_model_fill_iter (model, &iter, node, index + i, NULL);
+		gtk_tree_model_row_inserted (GTK_TREE_MODEL (model), path, &iter);
+		gtk_tree_path_next (path);
+	}
+	gtk_tree_path_free (path);
+	if (was_empty && node != model->root) swt_virtual_model_has_child_toggled (model, node);
+}
+
+/*
+ * Removes count rows at the index under the parent, together with their
+ * descendants.
+ */
+void swt_virtual_model_remove (SwtVirtualModel *model, GtkTreeIter *parent, gint index, gint count)
+{
+	SwtVirtualNode *node = swt_virtual_model_parent_node (model, parent);
+	g_return_if_fail (node != NULL && index >= 0 && count >= 0 && index + count <= node->n_children);
+	if (count == 0) return;
+	if (!swt_virtual_model_has_handler (model, "row-deleted")) {
+		/* Nobody sees the rows go, so the rows after them are shifted once */
+		if (node->children != NULL) {
+			guint start = swt_virtual_node_lower_bound (node, index);
+			guint end = swt_virtual_node_lower_bound (node, index + count);
+			for (guint i = start; i < end; i++) {
+				swt_virtual_node_free (model, g_ptr_array_index (node->children, i));
+			}
+			if (end > start) g_ptr_array_remove_range (node->children, start, end - start);
+		}
+		swt_virtual_node_shift (node, index + count, -count);
+		node->n_children -= count;
+	} else {
+		GtkTreePath *path = swt_virtual_node_get_path (model, node);
+		gtk_tree_path_append_index (path, index + count - 1);
+		/*
+		 * The view expects the model to shrink by one row per signal, with the
+		 * rows after the removed one already moved up. The rows are removed
+		 * from the last one, so that the rows before keep their paths.
+		 */
+		for (gint i = index + count - 1; i >= index; i--) {
+			guint position = swt_virtual_node_lower_bound (node, i);
+			if (node->children != NULL && position < node->children->len) {
+				SwtVirtualNode *child = g_ptr_array_index (node->children, position);
+				if (child->index == i) {
+					g_ptr_array_remove_index (node->children, position);
+					swt_virtual_node_free (model, child);
+				}
+			}
+			swt_virtual_node_shift (node, i + 1, -1);
+			node->n_children--;
+			gtk_tree_model_row_deleted (GTK_TREE_MODEL (model), path);
+			gtk_tree_path_prev (path);
+		}
+		gtk_tree_path_free (path);
+	}
+	if (node->n_children == 0 && node != model->root) swt_virtual_model_has_child_toggled (model, node);
+}
+
+/*
+ * Fills the iter with the row at the index under the parent, materializing the
+ * row so that it can hold values. Returns FALSE if there is no such row.
+ */
+gboolean swt_virtual_model_materialize (SwtVirtualModel *model, GtkTreeIter *iter, GtkTreeIter *parent, gint index)
+{
+	SwtVirtualNode *node = swt_virtual_model_parent_node (model, parent);
+	if (node == NULL || index < 0 || index >= node->n_children) return FALSE;
+	swt_virtual_model_fill_iter (model, iter, node, index, swt_virtual_node_materialize (node, index));
+	return TRUE;
+}
+
+/*
+ * Drops the values of a materialized row without children, leaving it as if
+ * it was just inserted. No signal is emitted: this is only done for rows that
+ * are not shown, and SWT.SetData supplies the values again when they are.
+ */
+void swt_virtual_model_release (SwtVirtualModel *model, GtkTreeIter *iter)
+{
+	SwtVirtualNode *child = swt_virtual_model_iter_node (iter);
+	if (child == NULL || child->n_children > 0) return;
+	SwtVirtualNode *parent = child->parent;
+	g_ptr_array_remove_index (parent->children, swt_virtual_node_lower_bound (parent, child->index));
+	swt_virtual_model_fill_iter (model, iter, parent, child->index, NULL);
+	swt_virtual_node_free (model, child);
+}
+
+/*
+ * Returns the index of the row under its parent.
+ */
+gint swt_virtual_model_iter_get_index (SwtVirtualModel *model, GtkTreeIter *iter)
+{
+	return swt_virtual_model_iter_index (iter);
+}
+
+/*
+ * Returns the values of the row, materializing it if needed, or the default
+ * values if the iter is NULL.
+ */
+static GValue *swt_virtual_model_values (SwtVirtualModel *model, GtkTreeIter *iter)
+{
+	if (iter == NULL) return model->defaults;
+	SwtVirtualNode *node = swt_virtual_model_iter_node (iter);
+	if (node == NULL) {
+		node = swt_virtual_node_materialize (iter->user_data, GPOINTER_TO_INT (iter->user_data2));
+		iter->user_data3 = node;
+	}
+	if (node->values == NULL) node->values = g_new0 (GValue, model->n_columns);
+	return node->values;
+}
+
+static void swt_virtual_model_row_changed (SwtVirtualModel *model, GtkTreeIter *iter)
+{
+	if (iter == NULL) return;
+	GtkTreePath *path = swt_virtual_model_get_path (GTK_TREE_MODEL (model), iter);
+	gtk_tree_model_row_changed (GTK_TREE_MODEL (model), path, iter);
+	gtk_tree_path_free (path);
+}
+
+static void swt_virtual_model_set_valist (SwtVirtualModel *model, GtkTreeIter *iter, va_list var_args)
+{
+	GValue *values = swt_virtual_model_values (model, iter);
+	gint column = va_arg (var_args, gint);
+	while (column != -1) {
+		gchar *error = NULL;
+		g_return_if_fail (column >= 0 && column < model->n_columns);
+		GValue *value = &values[column];
+		if (G_IS_VALUE (value)) g_value_unset (value);
+		G_VALUE_COLLECT_INIT (value, model->types[column], var_args, 0, &error);
+		if (error != NULL) {
+			g_warning ("%s: %s", G_STRFUNC, error);
+			g_free (error);
+			g_value_unset (value);
+			return;
+		}
+		column = va_arg (var_args, gint);
+	}
+	swt_virtual_model_row_changed (model, iter);
+}
+
+static void swt_virtual_model_set_value (SwtVirtualModel *model, GtkTreeIter *iter, gint column, GValue *value)
+{
+	g_return_if_fail (column >= 0 && column < model->n_columns);
+	GValue *dest = &swt_virtual_model_values (model, iter)[column];
+	if (G_IS_VALUE (dest)) g_value_unset (dest);
+	g_value_init (dest, model->types[column]);
+	g_value_transform (value, dest);
+	swt_virtual_model_row_changed (model, iter);
+}
+
+/*
+ * Sets values of a row of a list store, a tree store or a virtual model, so
+ * that the widgets do not have to know which kind of model they are backed by.
+ * Setting a value of a row of a virtual model materializes the row, and a NULL
+ * iter sets the default values of the virtual model.
+ */
+void swt_tree_model_set (GtkTreeModel *tree_model, GtkTreeIter *iter, ...)
+{
+	va_list var_args;
+	va_start (var_args, iter);
+	if (SWT_IS_VIRTUAL_MODEL (tree_model)) {
+		swt_virtual_model_set_valist (SWT_VIRTUAL_MODEL (tree_model), iter, var_args);
+	} else if (GTK_IS_TREE_STORE (tree_model)) {
+		gtk_tree_store_set_valist (GTK_TREE_STORE (tree_model), iter, var_args);
+	} else {
+		gtk_list_store_set_valist (GTK_LIST_STORE (tree_model), iter, var_args);
+	}
+	va_end (var_args);
+}
+
+void swt_tree_model_set_value (GtkTreeModel *tree_model, GtkTreeIter *iter, gint column, GValue *value)
+{
+	if (SWT_IS_VIRTUAL_MODEL (tree_model)) {
+		swt_virtual_model_set_value (SWT_VIRTUAL_MODEL (tree_model), iter, column, value);
+	} else if (GTK_IS_TREE_STORE (tree_model)) {
+		gtk_tree_store_set_value (GTK_TREE_STORE (tree_model), iter, column, value);
+	} else {
+		gtk_list_store_set_value (GTK_LIST_STORE (tree_model), iter, column, value);
+	}
+}
@@ -152,6 +152,28 @@ void swt_fixed_restack(SwtFixed *fixed, GtkWidget *widget, GtkWidget *sibling, g
 void swt_fixed_move(SwtFixed *fixed, GtkWidget *widget, gint x, gint y);
 void swt_fixed_resize(SwtFixed *fixed, GtkWidget *widget, gint width, gint height);
 
+#define SWT_TYPE_VIRTUAL_MODEL (swt_virtual_model_get_type ())
+#define SWT_VIRTUAL_MODEL(obj) (G_TYPE_CHECK_INSTANCE_CAST ((obj), SWT_TYPE_VIRTUAL_MODEL, SwtVirtualModel))
+#define SWT_IS_VIRTUAL_MODEL(obj) (G_TYPE_CHECK_INSTANCE_TYPE ((obj), SWT_TYPE_VIRTUAL_MODEL))
+
+typedef struct _SwtVirtualModel SwtVirtualModel;
+typedef struct _SwtVirtualModelClass SwtVirtualModelClass;
+
+struct _SwtVirtualModelClass
+{
+  GObjectClass parent_class;
+};
+
+GType swt_virtual_model_get_type (void) G_GNUC_CONST;
+GtkTreeModel *swt_virtual_model_newv (gint n_columns, GType *types, gboolean list_only);
+void swt_virtual_model_insert (SwtVirtualModel *model, GtkTreeIter *parent, gint index, gint count);
+void swt_virtual_model_remove (SwtVirtualModel *model, GtkTreeIter *parent, gint index, gint count);
+gboolean swt_virtual_model_materialize (SwtVirtualModel *model, GtkTreeIter *iter, GtkTreeIter *parent, gint index);
+void swt_virtual_model_release (SwtVirtualModel *model, GtkTreeIter *iter);
+gint swt_virtual_model_iter_get_index (SwtVirtualModel *model, GtkTreeIter *iter);
+void swt_tree_model_set (GtkTreeModel *tree_model, GtkTreeIter *iter, ...);
+void swt_tree_model_set_value (GtkTreeModel *tree_model, GtkTreeIter *iter, gint column, GValue *value);
+
 #if !defined(GTK4)
 #include <gtk/gtk-a11y.h>
 #endif
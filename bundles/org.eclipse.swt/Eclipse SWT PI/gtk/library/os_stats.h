@@ -625,6 +625,7 @@ typedef enum {
 	gtk_1tree_1model_1iter_1n_1children_FUNC,
 	gtk_1tree_1model_1iter_1next_FUNC,
 	gtk_1tree_1model_1iter_1nth_1child_FUNC,
+	gtk_1tree_1model_1iter_1parent_FUNC,
 	gtk_1tree_1path_1append_1index_FUNC,
 	gtk_1tree_1path_1compare_FUNC,
 	gtk_1tree_1path_1free_FUNC,
@@ -1235,5 +1236,17 @@ typedef enum {
 	swt_1fixed_1restack_FUNC,
 	swt_1scaled_1paintable_1new_FUNC,
 	swt_1set_1lock_1functions_FUNC,
+	swt_1tree_1model_1set__JJIII_FUNC,
+	swt_1tree_1model_1set__JJIJI_FUNC,
+	swt_1tree_1model_1set__JJILorg_eclipse_swt_internal_gtk_GdkRGBA_2I_FUNC,
+	swt_1tree_1model_1set__JJIZI_FUNC,
+	swt_1tree_1model_1set__JJI_3BI_FUNC,
+	swt_1tree_1model_1set_1value_FUNC,
+	swt_1virtual_1model_1insert_FUNC,
+	swt_1virtual_1model_1iter_1get_1index_FUNC,
+	swt_1virtual_1model_1materialize_FUNC,
+	swt_1virtual_1model_1newv_FUNC,
+	swt_1virtual_1model_1release_FUNC,
+	swt_1virtual_1model_1remove_FUNC,
 	ubuntu_1menu_1proxy_1get_FUNC,
 } OS_FUNCS;
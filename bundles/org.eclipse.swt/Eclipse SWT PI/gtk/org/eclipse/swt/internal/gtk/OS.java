@@ -630,6 +630,81 @@ public class OS extends C {
 	 * @category custom
 	 */
 	public static final native void swt_fixed_remove(long container, long widget);
+
+	/**
+	 * @param types cast=(GType *)
+	 * @category custom
+	 */
+	public static final native long swt_virtual_model_newv(int numColumns, long [] types, boolean list_only);
+	/**
+	 * @param model cast=(SwtVirtualModel *)
+	 * @param parent cast=(GtkTreeIter *)
+	 * @category custom
+	 */
+	public static final native void swt_virtual_model_insert(long model, long parent, int index, int count);
+	/**
+	 * @param model cast=(SwtVirtualModel *)
+	 * @param parent cast=(GtkTreeIter *)
+	 * @category custom
+	 */
+	public static final native void swt_virtual_model_remove(long model, long parent, int index, int count);
+	/**
+	 * @param model cast=(SwtVirtualModel *)
+	 * @param iter cast=(GtkTreeIter *)
+	 * @param parent cast=(GtkTreeIter *)
+	 * @category custom
+	 */
+	public static final native boolean swt_virtual_model_materialize(long model, long iter, long parent, int index);
+	/**
+	 * @param model cast=(SwtVirtualModel *)
+	 * @param iter cast=(GtkTreeIter *)
+	 * @category custom
+	 */
+	public static final native void swt_virtual_model_release(long model, long iter);
+	/**
+	 * @param model cast=(SwtVirtualModel *)
+	 * @param iter cast=(GtkTreeIter *)
+	 * @category custom
+	 */
+	public static final native int swt_virtual_model_iter_get_index(long model, long iter);
+	/**
+	 * @param model cast=(GtkTreeModel *)
+	 * @param iter cast=(GtkTreeIter *)
+	 * @category custom
+	 */
+	public static final native void swt_tree_model_set(long model, long iter, int column, byte[] value, int terminator);
+	/**
+	 * @param model cast=(GtkTreeModel *)
+	 * @param iter cast=(GtkTreeIter *)
+	 * @category custom
+	 */
+	public static final native void swt_tree_model_set(long model, long iter, int column, int value, int terminator);
+	/**
+	 * @param model cast=(GtkTreeModel *)
+	 * @param iter cast=(GtkTreeIter *)
+	 * @category custom
+	 */
+	public static final native void swt_tree_model_set(long model, long iter, int column, long value, int terminator);
+	/**
+	 * @param model cast=(GtkTreeModel *)
+	 * @param iter cast=(GtkTreeIter *)
+	 * @param value flags=no_out
+	 * @category custom
+	 */
+	public static final native void swt_tree_model_set(long model, long iter, int column, GdkRGBA value, int terminator);
+	/**
+	 * @param model cast=(GtkTreeModel *)
+	 * @param iter cast=(GtkTreeIter *)
+	 * @category custom
+	 */
+	public static final native void swt_tree_model_set(long model, long iter, int column, boolean value, int terminator);
+	/**
+	 * @param model cast=(GtkTreeModel *)
+	 * @param iter cast=(GtkTreeIter *)
+	 * @param value cast=(GValue *)
+	 * @category custom
+	 */
+	public static final native void swt_tree_model_set_value(long model, long iter, int column, long value);
 	public static final native void swt_set_lock_functions();
 	/** @param str cast=(const gchar *)
 	 * @category custom
@@ -136,6 +136,7 @@ public class Display extends Device implements Executor {
 
 	/* Sync/Async Widget Communication */
 	Synchronizer synchronizer;
+	long asyncBudget;
 	Consumer<RuntimeException> runtimeExceptionHandler = DefaultExceptionHandler.RUNTIME_EXCEPTION_HANDLER;
 	Consumer<Error> errorHandler = DefaultExceptionHandler.RUNTIME_ERROR_HANDLER;
 	Thread thread;
@@ -617,6 +618,119 @@ public void asyncExec (Runnable runnable) {
 	}
 }
 
+/**
+ * Causes the <code>run()</code> method of the runnable to
+ * be invoked by the user-interface thread at the next
+ * reasonable opportunity, using the given priority. The caller
+ * of this method continues to run in parallel, and is not notified
+ * when the runnable has completed.  Specifying <code>null</code> as
+ * the runnable simply wakes the user-interface thread when run.
+ * <p>
+ * Runnables posted with priority <code>SWT.HIGH</code>, such as
+ * user-visible updates, are run before all other pending runnables.
+ * Runnables posted with priority <code>SWT.LOW</code>, such as
+ * background model updates, are run after all other pending
+ * runnables, but are never starved completely. A priority of
+ * <code>SWT.DEFAULT</code> is equivalent to {@link #asyncExec(Runnable)}.
+ * </p>
+ * <p>
+ * Note that at the time the runnable is invoked, widgets
+ * that have the receiver as their display may have been
+ * disposed. Therefore, it is necessary to check for this
+ * case inside the runnable before accessing the widget.
+ * </p>
+ *
+ * @param runnable code to run on the user-interface thread or <code>null</code>
+ * @param priority the priority of the runnable, one of <code>SWT.HIGH</code>,
+ *        <code>SWT.DEFAULT</code> or <code>SWT.LOW</code>
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #asyncExec(Runnable)
+ *
+ * @since 3.135
+ */
+public void asyncExec (Runnable runnable, int priority) {
+	synchronized (Device.class) {
+		if (isDisposed ()) error (SWT.ERROR_DEVICE_DISPOSED);
+		synchronizer.asyncExec (runnable, priority);
+	}
+}
+
+/**
+ * Causes the <code>run()</code> method of each runnable in the
+ * collection to be invoked by the user-interface thread at the next
+ * reasonable opportunity. The runnables are run in iteration order
+ * as a single message, which is considerably cheaper than calling
+ * {@link #asyncExec(Runnable)} for each of them. The caller of this
+ * method continues to run in parallel, and is not notified when the
+ * runnables have completed.
+ * <p>
+ * Note that at the time the runnables are invoked, widgets
+ * that have the receiver as their display may have been
+ * disposed. Therefore, it is necessary to check for this
+ * case inside the runnables before accessing the widget.
+ * </p>
+ *
+ * @param runnables code to run on the user-interface thread
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the collection is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #asyncExec
+ *
+ * @since 3.135
+ */
+public void asyncExecBatch (Collection<? extends Runnable> runnables) {
+	synchronized (Device.class) {
+		if (isDisposed ()) error (SWT.ERROR_DEVICE_DISPOSED);
+		synchronizer.asyncExecBatch (runnables);
+	}
+}
+
+/**
+ * Causes the <code>run()</code> method of the runnable to
+ * be invoked by the user-interface thread at the next
+ * reasonable opportunity. If a runnable that was posted with
+ * an equal key has not been run yet, it is replaced by the given
+ * runnable, so that only the most recent runnable for a key is run.
+ * All pending coalesced runnables are run as a single message.
+ * The caller of this method continues to run in parallel, and is
+ * not notified when the runnable has completed.
+ * <p>
+ * Note that at the time the runnable is invoked, widgets
+ * that have the receiver as their display may have been
+ * disposed. Therefore, it is necessary to check for this
+ * case inside the runnable before accessing the widget.
+ * </p>
+ *
+ * @param key the key identifying the runnables to coalesce
+ * @param runnable code to run on the user-interface thread
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the key or the runnable is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #asyncExec
+ *
+ * @since 3.135
+ */
+public void asyncExecCoalesced (Object key, Runnable runnable) {
+	synchronized (Device.class) {
+		if (isDisposed ()) error (SWT.ERROR_DEVICE_DISPOSED);
+		synchronizer.asyncExecCoalesced (key, runnable);
+	}
+}
+
 /**
  * Executes the given runnable in the user-interface thread of this Display.
  * <ul>
@@ -1388,6 +1502,26 @@ public Shell getActiveShell () {
 	return null;
 }
 
+/**
+ * Returns the time budget, in nanoseconds, that the receiver may
+ * spend running messages posted by <code>asyncExec</code> and
+ * <code>syncExec</code> in a single call to <code>readAndDispatch</code>.
+ *
+ * @return the time budget in nanoseconds, or zero if only one message is run per call
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #setAsyncBudget(long)
+ *
+ * @since 3.135
+ */
+public long getAsyncBudget () {
+	checkDevice ();
+	return asyncBudget;
+}
+
 /**
  * Returns a rectangle describing the receiver's size and location. Note that
  * on multi-monitor systems the origin can be negative.
@@ -4840,6 +4974,42 @@ void setCursor (Control control) {
 	lockCursor = true;
 }
 
+/**
+ * Sets the time budget, in nanoseconds, that the receiver may
+ * spend running messages posted by <code>asyncExec</code> and
+ * <code>syncExec</code> in a single call to <code>readAndDispatch</code>.
+ * <p>
+ * By default the budget is zero and only one message is run per
+ * call. With a positive budget, messages are run until the queue
+ * is empty or the budget is used up, after which control returns
+ * to the platform event loop so that input events can be handled.
+ * At least one message is always run. The number of pending and
+ * drained messages can be queried from the display's
+ * {@link Synchronizer} to tune the budget.
+ * </p>
+ *
+ * @param nanos the time budget in nanoseconds, or zero to run one message per call
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_INVALID_ARGUMENT - if the budget is negative</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #getAsyncBudget()
+ * @see Synchronizer#getMessageCount()
+ * @see Synchronizer#getLastDrainCount()
+ *
+ * @since 3.135
+ */
+public void setAsyncBudget (long nanos) {
+	checkDevice ();
+	if (nanos < 0) error (SWT.ERROR_INVALID_ARGUMENT);
+	asyncBudget = nanos;
+}
+
 /**
  * Sets the location of the on-screen pointer relative to the top left corner
  * of the screen.  <b>Note: It is typically considered bad practice for a
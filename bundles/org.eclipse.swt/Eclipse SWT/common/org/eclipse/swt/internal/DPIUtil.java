@@ -21,6 +21,8 @@ import java.util.function.*;
 import org.eclipse.swt.*;
 import org.eclipse.swt.graphics.*;
 import org.eclipse.swt.internal.AutoScaleCalculation.*;
+import org.eclipse.swt.internal.image.*;
+import org.eclipse.swt.internal.image.ImageDataResampler.*;
 
 /**
  * This class hold common constants and utility functions w.r.t. to SWT high DPI
@@ -224,42 +226,26 @@ public static ImageData autoScaleImageData (Device device, final ImageData image
 	int height = imageData.height;
 	int scaledWidth = Math.round (width * scaleFactor);
 	int scaledHeight = Math.round (height * scaleFactor);
-	return scaleImage(device, imageData, Image::drawAtSize, scaledWidth, scaledHeight);
+	return scaleImage(imageData, scaledWidth, scaledHeight);
 }
 
-@FunctionalInterface
-private interface ImageDrawFunction {
-	void draw(GC gc, ImageData imageData, int width, int height);
-}
-
-private static ImageData scaleImage(Device device, final ImageData imageData, ImageDrawFunction drawFunction,
-		int scaledWidth, int scaledHeight) {
-	int defaultZoomLevel = 100;
+/**
+ * Scales the image data in Java. Smooth scaling resamples it with premultiplied
+ * alpha, averaging when shrinking and interpolating when growing, so that no
+ * native image has to be created and read back.
+ */
+private static ImageData scaleImage(final ImageData imageData, int scaledWidth, int scaledHeight) {
 	boolean useSmoothScaling = isSmoothScalingEnabled() && imageData.getTransparencyType() != SWT.TRANSPARENCY_MASK;
-	if (useSmoothScaling) {
-		ImageGcDrawer drawer =  new ImageGcDrawer() {
-			@Override
-			public void drawOn(GC gc, int imageWidth, int imageHeight) {
-				gc.setAntialias (SWT.ON);
-				drawFunction.draw(gc, imageData, imageWidth, imageHeight);
-			};
-
-			@Override
-			public int getGcStyle() {
-				return SWT.TRANSPARENT;
-			}
-		};
-		Image resultImage = new Image (device, drawer, scaledWidth, scaledHeight);
-		ImageData result = resultImage.getImageData (defaultZoomLevel);
-		resultImage.dispose ();
-		return result;
+	if (useSmoothScaling && scaledWidth > 0 && scaledHeight > 0) {
+		Filter filter = ImageDataResampler.smoothFilter(imageData.width, imageData.height, scaledWidth, scaledHeight);
+		return ImageDataResampler.resample(imageData, scaledWidth, scaledHeight, filter);
 	} else {
 		return imageData.scaledTo (scaledWidth, scaledHeight);
 	}
 }
 
 public static ImageData autoScaleImageData(Device device, final ImageData imageData, int targetWidth, int targetHeight) {
-	return scaleImage(device, imageData, Image::drawAtSize, targetWidth, targetHeight);
+	return scaleImage(imageData, targetWidth, targetHeight);
 }
 
 public static boolean isSmoothScalingEnabled() {
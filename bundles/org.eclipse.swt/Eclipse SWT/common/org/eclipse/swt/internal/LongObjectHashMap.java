@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Platform Contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Platform Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.internal;
+
+import java.util.*;
+
+/**
+ * A hash map from primitive <code>long</code> keys, such as native
+ * handles, to objects. The map uses open addressing with linear
+ * probing, so looking up a key neither boxes it nor follows any
+ * references besides the value itself.
+ * <p>
+ * The key <code>0</code> is reserved to mark empty slots and cannot
+ * be stored. The map is not synchronized.
+ * </p>
+ */
+public class LongObjectHashMap<V> {
+	long [] keys;
+	Object [] values;
+	int size, mask, shift;
+	static final int DEFAULT_CAPACITY = 16;
+
+public LongObjectHashMap () {
+	this (DEFAULT_CAPACITY);
+}
+
+/**
+ * @param expectedSize the number of entries the map should hold without growing
+ */
+public LongObjectHashMap (int expectedSize) {
+	int capacity = Integer.highestOneBit (Math.max (DEFAULT_CAPACITY, expectedSize * 2 - 1)) << 1;
+	allocate (capacity);
+}
+
+void allocate (int capacity) {
+	keys = new long [capacity];
+	values = new Object [capacity];
+	mask = capacity - 1;
+	shift = Long.numberOfLeadingZeros (mask);
+}
+
+int slot (long key) {
+	/* Fibonacci hashing spreads aligned pointers over the whole table */
+	return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift) & mask;
+}
+
+public void clear () {
+	Arrays.fill (keys, 0);
+	Arrays.fill (values, null);
+	size = 0;
+}
+
+public boolean containsKey (long key) {
+	return get (key) != null;
+}
+
+@SuppressWarnings("unchecked")
+public V get (long key) {
+	if (key == 0) return null;
+	for (int index = slot (key);; index = (index + 1) & mask) {
+		long current = keys [index];
+		if (current == key) return (V) values [index];
+		if (current == 0) return null;
+	}
+}
+
+/**
+ * Associates the value with the key.
+ *
+ * @param key the key, must not be zero
+ * @param value the value, must not be <code>null</code>
+ * @return the previous value of the key, or <code>null</code>
+ */
+@SuppressWarnings("unchecked")
+public V put (long key, V value) {
+	if (key == 0 || value == null) throw new IllegalArgumentException ();
+	int index = slot (key);
+	while (true) {
+		long current = keys [index];
+		if (current == key) {
+			V previous = (V) values [index];
+			values [index] = value;
+			return previous;
+		}
+		if (current == 0) break;
+		index = (index + 1) & mask;
+	}
+	keys [index] = key;
+	values [index] = value;
+	/* Keep the load factor at or below one half */
+	if (++size * 2 > keys.length) rehash (keys.length * 2);
+	return null;
+}
+
+void rehash (int capacity) {
+	long [] oldKeys = keys;
+	Object [] oldValues = values;
+	allocate (capacity);
+	for (int i = 0; i < oldKeys.length; i++) {
+		long key = oldKeys [i];
+		if (key != 0) {
+			int index = slot (key);
+			while (keys [index] != 0) index = (index + 1) & mask;
+			keys [index] = key;
+			values [index] = oldValues [i];
+		}
+	}
+}
+
+/**
+ * Removes the key from the map.
+ *
+ * @param key the key
+ * @return the value that was associated with the key, or <code>null</code>
+ */
+@SuppressWarnings("unchecked")
+public V remove (long key) {
+	if (key == 0) return null;
+	int index = slot (key);
+	while (true) {
+		long current = keys [index];
+		if (current == 0) return null;
+		if (current == key) break;
+		index = (index + 1) & mask;
+	}
+	V previous = (V) values [index];
+	/*
+	* Shift the following entries of the probe sequence back, so
+	* that lookups never need tombstones to skip removed entries.
+	*/
+	int hole = index;
+	for (int next = (hole + 1) & mask; keys [next] != 0; next = (next + 1) & mask) {
+		int home = slot (keys [next]);
+		if (((next - home) & mask) >= ((next - hole) & mask)) {
+			keys [hole] = keys [next];
+			values [hole] = values [next];
+			hole = next;
+		}
+	}
+	keys [hole] = 0;
+	values [hole] = null;
+	size--;
+	return previous;
+}
+
+public int size () {
+	return size;
+}
+
+/**
+ * Returns the number of slots of the table.
+ *
+ * @return the capacity of the table
+ */
+public int capacity () {
+	return keys.length;
+}
+
+/**
+ * Returns the number of slots that a lookup of the given key
+ * inspects before it finds the key or an empty slot.
+ *
+ * @param key the key
+ * @return the probe length of the key
+ */
+public int probeLength (long key) {
+	int length = 1;
+	for (int index = slot (key); keys [index] != key && keys [index] != 0; index = (index + 1) & mask) {
+		length++;
+	}
+	return length;
+}
+
+/**
+ * Returns the longest probe length of all keys in the map.
+ * This is a diagnostic method that visits the whole table.
+ *
+ * @return the longest probe length
+ */
+public int maxProbeLength () {
+	int max = 0;
+	for (int i = 0; i < keys.length; i++) {
+		if (keys [i] != 0) max = Math.max (max, ((i - slot (keys [i])) & mask) + 1);
+	}
+	return max;
+}
+
+/**
+ * Returns the average probe length of all keys in the map.
+ * This is a diagnostic method that visits the whole table.
+ *
+ * @return the average probe length, or zero if the map is empty
+ */
+public double averageProbeLength () {
+	if (size == 0) return 0;
+	long total = 0;
+	for (int i = 0; i < keys.length; i++) {
+		if (keys [i] != 0) total += ((i - slot (keys [i])) & mask) + 1;
+	}
+	return (double) total / size;
+}
+
+}
@@ -0,0 +1,211 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Platform Contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Platform Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.internal.image;
+
+import java.util.*;
+import java.util.function.*;
+
+import org.eclipse.swt.graphics.*;
+
+/**
+ * Caches the images that an image was rasterized to at the sizes it was
+ * drawn at.
+ * <p>
+ * Each image keeps up to {@link #SIZES_PER_IMAGE} sized images, evicting the
+ * least recently used one first, so that drawing an image at alternating
+ * sizes does not rasterize it again on every draw. The sized images of all
+ * images together are bounded by a number of pixels, evicting the least
+ * recently used ones across all images first. The most recently used sized
+ * image is always kept, even if it alone exceeds the budget.
+ * </p>
+ * <p>
+ * The sized images are owned by the cache and disposed when they are
+ * evicted. The cache must only be used on the UI thread.
+ * </p>
+ */
+public final class ImageAtSizeCache {
+
+	/** The number of pixels of all sized images, 4 M unless set with this system property. */
+	static final String PIXELS_PROPERTY = "org.eclipse.swt.internal.imageAtSizeCachePixels"; //$NON-NLS-1$
+
+	/** The number of sizes each image keeps at most. */
+	public static final int SIZES_PER_IMAGE = 4;
+
+	private static final LinkedHashMap<Entry, Boolean> entries = new LinkedHashMap<>(64, 0.75f, true);
+	private static long pixelLimit = Math.max(0, Long.getLong(PIXELS_PROPERTY, 4L * 1024 * 1024));
+	private static long pixelUsage;
+	private static long hits, misses, evictions;
+
+	private final LinkedHashMap<Size, Entry> sizes = new LinkedHashMap<>(8, 0.75f, true);
+
+	record Size(int width, int height, int zoom) {
+	}
+
+	/**
+	 * A sized image of one cache, compared by identity in the entries of
+	 * all caches.
+	 */
+	static final class Entry {
+		final ImageAtSizeCache owner;
+		final Size size;
+		final Image image;
+		final long pixels;
+
+		Entry(ImageAtSizeCache owner, Size size, Image image) {
+			this.owner = owner;
+			this.size = size;
+			this.image = image;
+			this.pixels = (long) size.width * size.height;
+		}
+	}
+
+	/**
+	 * Returns the image at the size in pixels and the zoom, creating it with
+	 * the loader if it is not cached. Returns <code>null</code> if the loader
+	 * returns <code>null</code>. The result is owned by the cache and must
+	 * not be disposed.
+	 */
+	public Image get(int width, int height, int zoom, Supplier<Image> loader) {
+		Size size = new Size(width, height, zoom);
+		synchronized (entries) {
+			Entry entry = sizes.get(size);
+			if (entry != null) {
+				entries.get(entry);
+				hits++;
+				return entry.image;
+			}
+		}
+		Image image = loader.get();
+		if (image == null) return null;
+		Entry entry = new Entry(this, size, image);
+		synchronized (entries) {
+			misses++;
+			sizes.put(size, entry);
+			entries.put(entry, Boolean.TRUE);
+			pixelUsage += entry.pixels;
+			if (sizes.size() > SIZES_PER_IMAGE) evict(sizes.values().iterator().next());
+			trim();
+		}
+		return image;
+	}
+
+	/**
+	 * Disposes the sized images of this cache.
+	 */
+	public void destroy() {
+		synchronized (entries) {
+			for (Entry entry : sizes.values()) {
+				entries.remove(entry);
+				pixelUsage -= entry.pixels;
+				entry.image.dispose();
+			}
+			sizes.clear();
+		}
+	}
+
+	private static void evict(Entry entry) {
+		entry.owner.sizes.remove(entry.size);
+		entries.remove(entry);
+		pixelUsage -= entry.pixels;
+		evictions++;
+		entry.image.dispose();
+	}
+
+	private static void trim() {
+		/* The most recently used entry is last and never evicted */
+		while (pixelUsage > pixelLimit && entries.size() > 1) {
+			evict(entries.keySet().iterator().next());
+		}
+	}
+
+	/**
+	 * Disposes the sized images of all caches and resets the counters.
+	 */
+	public static void clear() {
+		synchronized (entries) {
+			for (Entry entry : entries.keySet()) {
+				entry.owner.sizes.clear();
+				entry.image.dispose();
+			}
+			entries.clear();
+			pixelUsage = hits = misses = evictions = 0;
+		}
+	}
+
+	/**
+	 * Returns the number of pixels the sized images of all caches may have.
+	 */
+	public static long getPixelLimit() {
+		synchronized (entries) {
+			return pixelLimit;
+		}
+	}
+
+	/**
+	 * Sets the number of pixels the sized images of all caches may have,
+	 * evicting sized images if needed.
+	 */
+	public static void setPixelLimit(long limit) {
+		synchronized (entries) {
+			pixelLimit = Math.max(0, limit);
+			trim();
+		}
+	}
+
+	/**
+	 * Returns the number of pixels of the sized images of all caches.
+	 */
+	public static long getPixelUsage() {
+		synchronized (entries) {
+			return pixelUsage;
+		}
+	}
+
+	/**
+	 * Returns the number of sized images of all caches.
+	 */
+	public static int getEntryCount() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	/**
+	 * Returns the number of lookups that were answered with a cached image.
+	 */
+	public static long getHits() {
+		synchronized (entries) {
+			return hits;
+		}
+	}
+
+	/**
+	 * Returns the number of lookups that had to create the sized image.
+	 */
+	public static long getMisses() {
+		synchronized (entries) {
+			return misses;
+		}
+	}
+
+	/**
+	 * Returns the number of sized images that were evicted, either beyond
+	 * the sizes of their image or to stay within the pixel limit.
+	 */
+	public static long getEvictions() {
+		synchronized (entries) {
+			return evictions;
+		}
+	}
+}
@@ -0,0 +1,260 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Platform Contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Platform Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.internal.image;
+
+import java.io.*;
+import java.lang.ref.*;
+import java.util.*;
+import java.util.function.*;
+
+import org.eclipse.swt.graphics.*;
+import org.eclipse.swt.internal.*;
+
+/**
+ * A process-wide cache of the image data that images load from their
+ * providers and scale to a zoom.
+ * <p>
+ * The entries are keyed by the identity of the provider, or by the path
+ * of the file, and the zoom. Providers are only weakly referenced, and the
+ * entries of files are dropped when the file is modified. The cache is
+ * bounded by the number of bytes of the image data it holds, evicting the
+ * least recently used entries first. The image data itself is held softly,
+ * so that it can still be reclaimed under memory pressure.
+ * </p>
+ * <p>
+ * The image data in the cache is shared, callers that hand it out to
+ * clients must copy it.
+ * </p>
+ */
+public final class ImageDataCache {
+
+	/** The size of the cache in bytes, 32 MB unless set with this system property. */
+	static final String SIZE_PROPERTY = "org.eclipse.swt.internal.imageDataCacheSize"; //$NON-NLS-1$
+
+	private static final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+	private static final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+	private static long byteLimit = Math.max(0, Long.getLong(SIZE_PROPERTY, 32L * 1024 * 1024));
+	private static long byteUsage;
+	private static long hits, misses, evictions;
+
+	/**
+	 * Identifies the image data of a provider or a file at a zoom. Keys of
+	 * providers compare the provider by identity, and the keys in the cache
+	 * are enqueued once their provider is garbage collected.
+	 */
+	static final class Key extends WeakReference<Object> {
+		final String fileName;
+		final int hash;
+		final int zoom;
+		final boolean smooth;
+
+		Key(Object source, int zoom, boolean smooth, ReferenceQueue<Object> queue) {
+			super(source instanceof String ? null : source, source instanceof String ? null : queue);
+			this.fileName = source instanceof String string ? string : null;
+			this.hash = (fileName != null ? fileName.hashCode() : System.identityHashCode(source)) * 31 + zoom;
+			this.zoom = zoom;
+			this.smooth = smooth;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			if (object == this) return true;
+			if (!(object instanceof Key key)) return false;
+			if (hash != key.hash || zoom != key.zoom || smooth != key.smooth) return false;
+			if (fileName != null) return fileName.equals(key.fileName);
+			Object source = get();
+			return source != null && source == key.get();
+		}
+	}
+
+	static final class Entry {
+		final SoftReference<ImageData> imageData;
+		final long size;
+		final long lastModified;
+
+		Entry(ImageData imageData, long lastModified) {
+			this.imageData = new SoftReference<>(imageData);
+			this.size = sizeOf(imageData);
+			this.lastModified = lastModified;
+		}
+	}
+
+	private ImageDataCache() {
+	}
+
+	/**
+	 * Returns the image data of the provider at the zoom, computing it with
+	 * the loader if it is not cached. The result is shared and must not be
+	 * modified.
+	 */
+	public static ImageData get(Object provider, int zoom, Supplier<ImageData> loader) {
+		return get(provider, zoom, 0, loader);
+	}
+
+	/**
+	 * Returns the image data of the file at the zoom, computing it with the
+	 * loader if it is not cached or the file was modified since. The result
+	 * is shared and must not be modified.
+	 */
+	public static ImageData getForFile(String fileName, int zoom, Supplier<ImageData> loader) {
+		return get(fileName, zoom, new File(fileName).lastModified(), loader);
+	}
+
+	private static ImageData get(Object source, int zoom, long lastModified, Supplier<ImageData> loader) {
+		Key key = new Key(source, zoom, DPIUtil.isSmoothScalingEnabled(), null);
+		synchronized (entries) {
+			expungeStaleEntries();
+			Entry entry = entries.get(key);
+			if (entry != null) {
+				ImageData imageData = entry.imageData.get();
+				if (imageData != null && entry.lastModified == lastModified) {
+					hits++;
+					return imageData;
+				}
+				remove(key);
+			}
+			misses++;
+		}
+		ImageData imageData = loader.get();
+		if (imageData == null) return null;
+		Entry entry = new Entry(imageData, lastModified);
+		synchronized (entries) {
+			if (byteLimit > 0 && entry.size <= byteLimit) {
+				Entry previous = entries.put(new Key(source, key.zoom, key.smooth, queue), entry);
+				if (previous != null) byteUsage -= previous.size;
+				byteUsage += entry.size;
+				trim();
+			}
+		}
+		return imageData;
+	}
+
+	private static void remove(Key key) {
+		Entry entry = entries.remove(key);
+		if (entry != null) byteUsage -= entry.size;
+	}
+
+	private static void expungeStaleEntries() {
+		Reference<?> reference;
+		while ((reference = queue.poll()) != null) {
+			/* The referent is gone, so equals() no longer finds the key */
+			for (Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator(); iterator.hasNext();) {
+				Map.Entry<Key, Entry> entry = iterator.next();
+				if (entry.getKey() == reference) {
+					byteUsage -= entry.getValue().size;
+					iterator.remove();
+					break;
+				}
+			}
+		}
+	}
+
+	private static void trim() {
+		Iterator<Entry> iterator = entries.values().iterator();
+		while (byteUsage > byteLimit && iterator.hasNext()) {
+			byteUsage -= iterator.next().size;
+			iterator.remove();
+			evictions++;
+		}
+	}
+
+	static long sizeOf(ImageData imageData) {
+		long size = imageData.data != null ? imageData.data.length : 0;
+		if (imageData.alphaData != null) size += imageData.alphaData.length;
+		if (imageData.maskData != null) size += imageData.maskData.length;
+		return size;
+	}
+
+	/**
+	 * Removes all entries from the cache and resets its counters.
+	 */
+	public static void clear() {
+		synchronized (entries) {
+			entries.clear();
+			while (queue.poll() != null) {}
+			byteUsage = hits = misses = evictions = 0;
+		}
+	}
+
+	/**
+	 * Returns the number of bytes of image data the cache may hold.
+	 */
+	public static long getByteLimit() {
+		synchronized (entries) {
+			return byteLimit;
+		}
+	}
+
+	/**
+	 * Sets the number of bytes of image data the cache may hold, evicting
+	 * entries if needed. A limit of 0 disables the cache.
+	 */
+	public static void setByteLimit(long limit) {
+		synchronized (entries) {
+			byteLimit = Math.max(0, limit);
+			trim();
+		}
+	}
+
+	/**
+	 * Returns the number of bytes of image data the cache holds.
+	 */
+	public static long getByteUsage() {
+		synchronized (entries) {
+			return byteUsage;
+		}
+	}
+
+	/**
+	 * Returns the number of entries in the cache.
+	 */
+	public static int getEntryCount() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	/**
+	 * Returns the number of lookups that were answered from the cache.
+	 */
+	public static long getHits() {
+		synchronized (entries) {
+			return hits;
+		}
+	}
+
+	/**
+	 * Returns the number of lookups that had to load the image data.
+	 */
+	public static long getMisses() {
+		synchronized (entries) {
+			return misses;
+		}
+	}
+
+	/**
+	 * Returns the number of entries that were evicted to stay within the
+	 * byte limit.
+	 */
+	public static long getEvictions() {
+		synchronized (entries) {
+			return evictions;
+		}
+	}
+}
@@ -0,0 +1,357 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Platform Contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Platform Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.internal.image;
+
+import java.util.*;
+import java.util.stream.*;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.graphics.*;
+
+/**
+ * Resamples <code>ImageData</code> in Java, without a <code>Device</code>.
+ * <p>
+ * The image is scaled in two separable passes, first the rows and then the
+ * columns, with the weights of each destination pixel computed once per
+ * axis. The columns are scaled from a window of scaled rows that moves down
+ * with the destination rows, so only the rows that the filter covers are
+ * kept. When shrinking, the filter is widened to cover all the source
+ * pixels that fall into a destination pixel. The colors are premultiplied
+ * with their alpha while they are filtered, so that transparent pixels do
+ * not bleed into their neighbors. Large images are resampled in bands of
+ * rows in parallel.
+ * </p>
+ * <p>
+ * The result has a depth of 24 bits with alpha data if the source has any
+ * kind of transparency.
+ * </p>
+ */
+public final class ImageDataResampler {
+
+	public enum Filter {
+		/** Averages the source pixels covered by each destination pixel, by the area they cover. */
+		BOX(0.5) {
+			@Override
+			double weight(double x) {
+				return -0.5 < x && x <= 0.5 ? 1 : 0;
+			}
+
+			@Override
+			double weight(double x0, double x1) {
+				return Math.max(0, Math.min(x1, 0.5) - Math.max(x0, -0.5));
+			}
+		},
+		/** Interpolates linearly between the nearest source pixels. */
+		BILINEAR(1) {
+			@Override
+			double weight(double x) {
+				x = Math.abs(x);
+				return x < 1 ? 1 - x : 0;
+			}
+		},
+		/** Windowed sinc over three source pixels on each side. */
+		LANCZOS(3) {
+			@Override
+			double weight(double x) {
+				x = Math.abs(x);
+				if (x < 1e-9) return 1;
+				if (x >= 3) return 0;
+				double px = Math.PI * x;
+				return 3 * Math.sin(px) * Math.sin(px / 3) / (px * px);
+			}
+		};
+
+		final double support;
+
+		Filter(double support) {
+			this.support = support;
+		}
+
+		abstract double weight(double x);
+
+		/**
+		 * Returns the weight of a source pixel that spans from x0 to x1,
+		 * by default the weight at its center times its width.
+		 */
+		double weight(double x0, double x1) {
+			return weight((x0 + x1) / 2) * (x1 - x0);
+		}
+	}
+
+	/** Images with at least this many destination pixels are resampled in parallel. */
+	static final int PARALLEL_THRESHOLD = 256 * 256;
+
+	/**
+	 * The source pixels that contribute to each destination pixel along
+	 * one axis, with their normalized weights. The source extent may end
+	 * inside the last source pixel, which then only covers part of a pixel.
+	 */
+	static final class Contributions {
+		final int[] start;
+		final int[] count;
+		final float[] weights;
+		final int stride;
+
+		Contributions(int srcSize, int dstSize, Filter filter) {
+			this(srcSize, srcSize, dstSize, filter);
+		}
+
+		Contributions(int srcSize, double srcExtent, int dstSize, Filter filter) {
+			double scale = dstSize / srcExtent;
+			double filterScale = Math.max(1, 1 / scale);
+			double support = filter.support * filterScale;
+			stride = (int) Math.ceil(2 * support) + 2;
+			start = new int[dstSize];
+			count = new int[dstSize];
+			weights = new float[dstSize * stride];
+			double[] w = new double[stride];
+			for (int i = 0; i < dstSize; i++) {
+				double center = (i + 0.5) / scale;
+				int left = Math.max(0, (int) Math.floor(center - support));
+				int right = Math.min(srcSize, (int) Math.ceil(center + support));
+				right = Math.min(right, left + stride);
+				double sum = 0;
+				for (int j = left; j < right; j++) {
+					double end = Math.min(j + 1, srcExtent);
+					sum += w[j - left] = filter.weight((j - center) / filterScale, (end - center) / filterScale);
+				}
+				if (sum == 0) {
+					/* The filter missed every pixel, take the nearest one */
+					left = Math.min(srcSize - 1, (int) center);
+					right = left + 1;
+					w[0] = sum = 1;
+				}
+				start[i] = left;
+				count[i] = right - left;
+				for (int j = 0; j < right - left; j++) {
+					weights[i * stride + j] = (float) (w[j] / sum);
+				}
+			}
+		}
+	}
+
+	private ImageDataResampler() {
+	}
+
+	/**
+	 * Returns a copy of the image data resampled to the given size with
+	 * the given filter.
+	 *
+	 * @param imageData the source image data
+	 * @param width the width of the result
+	 * @param height the height of the result
+	 * @param filter the filter to resample with
+	 * @return the resampled image data
+	 *
+	 * @exception IllegalArgumentException <ul>
+	 *    <li>ERROR_NULL_ARGUMENT - if the image data or the filter is null</li>
+	 *    <li>ERROR_INVALID_ARGUMENT - if the width or the height is not positive</li>
+	 * </ul>
+	 */
+	public static ImageData resample(ImageData imageData, int width, int height, Filter filter) {
+		if (imageData == null || filter == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+		return resample(imageData, imageData.width, imageData.height, width, height, filter);
+	}
+
+	/**
+	 * Returns a copy of the image data resampled to the given size with
+	 * the given filter, where the image only extends over the given number
+	 * of source pixels. An extent with a fraction ends inside the last
+	 * column or row, whose pixels then stand for only that fraction of a
+	 * pixel, like the last block of an image decoded at a reduced size.
+	 *
+	 * @param imageData the source image data
+	 * @param extentWidth the width of the image in source pixels
+	 * @param extentHeight the height of the image in source pixels
+	 * @param width the width of the result
+	 * @param height the height of the result
+	 * @param filter the filter to resample with
+	 * @return the resampled image data
+	 *
+	 * @exception IllegalArgumentException <ul>
+	 *    <li>ERROR_NULL_ARGUMENT - if the image data or the filter is null</li>
+	 *    <li>ERROR_INVALID_ARGUMENT - if the width or the height is not positive</li>
+	 *    <li>ERROR_INVALID_ARGUMENT - if the extent does not end in the last column or row</li>
+	 * </ul>
+	 */
+	public static ImageData resample(ImageData imageData, double extentWidth, double extentHeight, int width, int height, Filter filter) {
+		if (imageData == null || filter == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+		if (width <= 0 || height <= 0) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+		int srcWidth = imageData.width, srcHeight = imageData.height;
+		if (!(srcWidth - 1 < extentWidth && extentWidth <= srcWidth)) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+		if (!(srcHeight - 1 < extentHeight && extentHeight <= srcHeight)) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+		boolean hasAlpha = imageData.getTransparencyType() != SWT.TRANSPARENCY_NONE || imageData.alpha != -1;
+		Contributions horizontal = new Contributions(srcWidth, extentWidth, width, filter);
+		Contributions vertical = new Contributions(srcHeight, extentHeight, height, filter);
+		boolean parallel = (long) width * height >= PARALLEL_THRESHOLD && Runtime.getRuntime().availableProcessors() > 1;
+
+		/*
+		 * Scale the source rows into premultiplied RGBA as the window reaches
+		 * them, then the columns, and convert back to straight alpha
+		 */
+		PaletteData palette = new PaletteData(0xFF0000, 0xFF00, 0xFF);
+		ImageData result = new ImageData(width, height, 24, palette);
+		byte[] data = result.data;
+		int bytesPerLine = result.bytesPerLine;
+		byte[] alphaData = hasAlpha ? new byte[width * height] : null;
+		forEachBand(height, parallel, (startRow, endRow) -> {
+			int windowSize = vertical.stride;
+			float[][] window = new float[windowSize][width * 4];
+			int[] windowRows = new int[windowSize];
+			Arrays.fill(windowRows, -1);
+			int[] pixels = new int[srcWidth];
+			float[] src = new float[srcWidth * 4];
+			float[] rgba = new float[width * 4];
+			for (int y = startRow; y < endRow; y++) {
+				Arrays.fill(rgba, 0);
+				int first = vertical.start[y], count = vertical.count[y];
+				int w = y * vertical.stride;
+				for (int i = 0; i < count; i++) {
+					int srcRow = first + i;
+					float[] row = window[srcRow % windowSize];
+					if (windowRows[srcRow % windowSize] != srcRow) {
+						readRow(imageData, srcRow, pixels, src);
+						scaleRow(horizontal, src, row);
+						windowRows[srcRow % windowSize] = srcRow;
+					}
+					float weight = vertical.weights[w + i];
+					for (int j = 0; j < rgba.length; j++) {
+						rgba[j] += weight * row[j];
+					}
+				}
+				int dataIndex = y * bytesPerLine;
+				for (int x = 0, index = 0; x < width; x++, index += 4) {
+					int a = hasAlpha ? clamp(rgba[index + 3]) : 255;
+					int r = 0, g = 0, b = 0;
+					if (a != 0) {
+						float factor = hasAlpha ? 255f / rgba[index + 3] : 1;
+						r = clamp(rgba[index] * factor);
+						g = clamp(rgba[index + 1] * factor);
+						b = clamp(rgba[index + 2] * factor);
+					}
+					data[dataIndex++] = (byte) r;
+					data[dataIndex++] = (byte) g;
+					data[dataIndex++] = (byte) b;
+					if (alphaData != null) alphaData[y * width + x] = (byte) a;
+				}
+			}
+		});
+		result.alphaData = alphaData;
+		return result;
+	}
+
+	/**
+	 * Scales a row of premultiplied RGBA to the destination width.
+	 */
+	static void scaleRow(Contributions horizontal, float[] src, float[] row) {
+		for (int x = 0, offset = 0; x < horizontal.start.length; x++) {
+			int first = horizontal.start[x], count = horizontal.count[x];
+			int w = x * horizontal.stride;
+			float r = 0, g = 0, b = 0, a = 0;
+			for (int i = 0, index = first * 4; i < count; i++, index += 4) {
+				float weight = horizontal.weights[w + i];
+				r += weight * src[index];
+				g += weight * src[index + 1];
+				b += weight * src[index + 2];
+				a += weight * src[index + 3];
+			}
+			row[offset++] = r;
+			row[offset++] = g;
+			row[offset++] = b;
+			row[offset++] = a;
+		}
+	}
+
+	/**
+	 * Returns the filter that fits scaling from the given size to the
+	 * other: averaging when shrinking and interpolating when growing.
+	 */
+	public static Filter smoothFilter(int srcWidth, int srcHeight, int width, int height) {
+		return width < srcWidth && height < srcHeight ? Filter.BOX : Filter.BILINEAR;
+	}
+
+	@FunctionalInterface
+	interface Band {
+		void run(int startRow, int endRow);
+	}
+
+	static void forEachBand(int rowCount, boolean parallel, Band band) {
+		if (!parallel) {
+			band.run(0, rowCount);
+			return;
+		}
+		int bandCount = Math.min(rowCount, Runtime.getRuntime().availableProcessors() * 4);
+		IntStream.range(0, bandCount).parallel().forEach(i -> {
+			band.run(rowCount * i / bandCount, rowCount * (i + 1) / bandCount);
+		});
+	}
+
+	/**
+	 * Reads a row of the image data as RGBA premultiplied with alpha.
+	 */
+	static void readRow(ImageData imageData, int y, int[] pixels, float[] rgba) {
+		int width = imageData.width;
+		imageData.getPixels(0, y, width, pixels, 0);
+		PaletteData palette = imageData.palette;
+		RGB[] colors = palette.colors;
+		byte[] alphaData = imageData.alphaData;
+		byte[] maskData = imageData.maskData;
+		int maskBytesPerLine = 0;
+		if (maskData != null) {
+			maskBytesPerLine = (width + 7) / 8;
+			maskBytesPerLine = (maskBytesPerLine + (imageData.maskPad - 1)) / imageData.maskPad * imageData.maskPad;
+		}
+		for (int x = 0, index = 0; x < width; x++) {
+			int pixel = pixels[x];
+			int r, g, b;
+			if (palette.isDirect) {
+				r = shift(pixel & palette.redMask, palette.redShift);
+				g = shift(pixel & palette.greenMask, palette.greenShift);
+				b = shift(pixel & palette.blueMask, palette.blueShift);
+			} else if (pixel < colors.length) {
+				RGB rgb = colors[pixel];
+				r = rgb.red;
+				g = rgb.green;
+				b = rgb.blue;
+			} else {
+				r = g = b = 0;
+			}
+			int a;
+			if (maskData != null) {
+				a = (maskData[y * maskBytesPerLine + (x >> 3)] & (0x80 >> (x & 7))) != 0 ? 255 : 0;
+			} else if (imageData.transparentPixel != -1 && pixel == imageData.transparentPixel) {
+				a = 0;
+			} else if (alphaData != null) {
+				a = alphaData[y * width + x] & 0xFF;
+			} else if (imageData.alpha != -1) {
+				a = imageData.alpha;
+			} else {
+				a = 255;
+			}
+			float factor = a / 255f;
+			rgba[index++] = r * factor;
+			rgba[index++] = g * factor;
+			rgba[index++] = b * factor;
+			rgba[index++] = a;
+		}
+	}
+
+	static int shift(int value, int shift) {
+		return shift < 0 ? value >>> -shift : value << shift;
+	}
+
+	static int clamp(float value) {
+		return value <= 0 ? 0 : value >= 255 ? 255 : (int) (value + 0.5f);
+	}
+}
@@ -1803,20 +1803,11 @@ public class JPEGDecoder {
 				compptr = cinfo.comp_info[ci];
 				/* Select the proper IDCT routine for this component's scaling */
 				switch (compptr.DCT_scaled_size) {
-//					#ifdef IDCT_SCALING_SUPPORTED
-//					case 1:
-//						method_ptr = jpeg_idct_1x1;
-//						method = JDCT_ISLOW;	/* jidctred uses islow-style table */
-//						break;
-//					case 2:
-//						method_ptr = jpeg_idct_2x2;
-//						method = JDCT_ISLOW;	/* jidctred uses islow-style table */
-//						break;
-//					case 4:
-//						method_ptr = jpeg_idct_4x4;
-//						method = JDCT_ISLOW;	/* jidctred uses islow-style table */
-//						break;
-//					#endif
+					case 1:
+					case 2:
+					case 4:
+						method = JDCT_ISLOW;	/* jidctred uses islow-style table */
+						break;
 					case DCTSIZE:
 						switch (cinfo.dct_method) {
 //							#ifdef DCT_ISLOW_SUPPORTED
@@ -2378,87 +2369,72 @@ static void jpeg_create_decompress(jpeg_decompress_struct cinfo) {
 static void jpeg_calc_output_dimensions (jpeg_decompress_struct cinfo)
 /* Do computations that are needed before master selection phase */
 {
-//#ifdef IDCT_SCALING_SUPPORTED
-//	int ci;
-//	jpeg_component_info compptr;
-//#endif
+	int ci;
+	jpeg_component_info compptr;
 
 	/* Prevent application from calling me at wrong times */
 	if (cinfo.global_state != DSTATE_READY)
 		error();
 //		ERREXIT1(cinfo, JERR_BAD_STATE, cinfo.global_state);
 
-//#ifdef IDCT_SCALING_SUPPORTED
-//
-//	/* Compute actual output image dimensions and DCT scaling choices. */
-//	if (cinfo.scale_num * 8 <= cinfo.scale_denom) {
-//		/* Provide 1/8 scaling */
-//		cinfo.output_width = (int)
-//			jdiv_round_up(cinfo.image_width, 8L);
-//		cinfo.output_height = (int)
-//			jdiv_round_up(cinfo.image_height, 8L);
-//		cinfo.min_DCT_scaled_size = 1;
-//	} else if (cinfo.scale_num * 4 <= cinfo.scale_denom) {
-//		/* Provide 1/4 scaling */
-//		cinfo.output_width = (int)
-//			jdiv_round_up(cinfo.image_width, 4L);
-//		cinfo.output_height = (int)
-//			jdiv_round_up(cinfo.image_height, 4L);
-//		cinfo.min_DCT_scaled_size = 2;
-//	} else if (cinfo.scale_num * 2 <= cinfo.scale_denom) {
-//		/* Provide 1/2 scaling */
-//		cinfo.output_width = (int)
-//			jdiv_round_up(cinfo.image_width, 2L);
-//		cinfo.output_height = (int)
-//			jdiv_round_up(cinfo.image_height, 2L);
-//		cinfo.min_DCT_scaled_size = 4;
-//	} else {
-//		/* Provide 1/1 scaling */
-//		cinfo.output_width = cinfo.image_width;
-//		cinfo.output_height = cinfo.image_height;
-//		cinfo.min_DCT_scaled_size = DCTSIZE;
-//	}
-//	/* In selecting the actual DCT scaling for each component, we try to
-//	 * scale up the chroma components via IDCT scaling rather than upsampling.
-//	 * This saves time if the upsampler gets to use 1:1 scaling.
-//	 * Note this code assumes that the supported DCT scalings are powers of 2.
-//	 */
-//	for (ci = 0; ci < cinfo.num_components; ci++) {
-//		compptr = cinfo.comp_info[ci];
-//		int ssize = cinfo.min_DCT_scaled_size;
-//		while (ssize < DCTSIZE &&
-//			(compptr.h_samp_factor * ssize * 2 <= cinfo.max_h_samp_factor * cinfo.min_DCT_scaled_size) &&
-//			(compptr.v_samp_factor * ssize * 2 <= cinfo.max_v_samp_factor * cinfo.min_DCT_scaled_size))
-//		{
-//			ssize = ssize * 2;
-//		}
-//		compptr.DCT_scaled_size = ssize;
-//	}
-//
-//	/* Recompute downsampled dimensions of components;
-//	 * application needs to know these if using raw downsampled data.
-//	 */
-//	for (ci = 0; ci < cinfo.num_components; ci++) {
-//		compptr = cinfo.comp_info[ci];
-//		/* Size in samples, after IDCT scaling */
-//		compptr.downsampled_width = (int)
-//			jdiv_round_up((long) cinfo.image_width * (long) (compptr.h_samp_factor * compptr.DCT_scaled_size),
-//				(cinfo.max_h_samp_factor * DCTSIZE));
-//		compptr.downsampled_height = (int)
-//			jdiv_round_up((long) cinfo.image_height * (long) (compptr.v_samp_factor * compptr.DCT_scaled_size),
-//				(cinfo.max_v_samp_factor * DCTSIZE));
-//	}
-//
-//#else /* !IDCT_SCALING_SUPPORTED */
-
-	/* Hardwire it to "no scaling" */
-	cinfo.output_width = cinfo.image_width;
-	cinfo.output_height = cinfo.image_height;
-	/* jdinput.c has already initialized DCT_scaled_size to DCTSIZE,
-	 * and has computed unscaled downsampled_width and downsampled_height.
+	/* Compute actual output image dimensions and DCT scaling choices. */
+	if (cinfo.scale_num * 8 <= cinfo.scale_denom) {
+		/* Provide 1/8 scaling */
+		cinfo.output_width = (int)
+			jdiv_round_up(cinfo.image_width, 8L);
+		cinfo.output_height = (int)
+			jdiv_round_up(cinfo.image_height, 8L);
+		cinfo.min_DCT_scaled_size = 1;
+	} else if (cinfo.scale_num * 4 <= cinfo.scale_denom) {
+		/* Provide 1/4 scaling */
+		cinfo.output_width = (int)
+			jdiv_round_up(cinfo.image_width, 4L);
+		cinfo.output_height = (int)
+			jdiv_round_up(cinfo.image_height, 4L);
+		cinfo.min_DCT_scaled_size = 2;
+	} else if (cinfo.scale_num * 2 <= cinfo.scale_denom) {
+		/* Provide 1/2 scaling */
+		cinfo.output_width = (int)
+			jdiv_round_up(cinfo.image_width, 2L);
+		cinfo.output_height = (int)
+			jdiv_round_up(cinfo.image_height, 2L);
+		cinfo.min_DCT_scaled_size = 4;
+	} else {
+		/* Provide 1/1 scaling */
+		cinfo.output_width = cinfo.image_width;
+		cinfo.output_height = cinfo.image_height;
+		cinfo.min_DCT_scaled_size = DCTSIZE;
+	}
+	/* In selecting the actual DCT scaling for each component, we try to
+	 * scale up the chroma components via IDCT scaling rather than upsampling.
+	 * This saves time if the upsampler gets to use 1:1 scaling.
+	 * Note this code assumes that the supported DCT scalings are powers of 2.
 	 */
+	for (ci = 0; ci < cinfo.num_components; ci++) {
+		compptr = cinfo.comp_info[ci];
+		int ssize = cinfo.min_DCT_scaled_size;
+		while (ssize < DCTSIZE &&
+			(compptr.h_samp_factor * ssize * 2 <= cinfo.max_h_samp_factor * cinfo.min_DCT_scaled_size) &&
+			(compptr.v_samp_factor * ssize * 2 <= cinfo.max_v_samp_factor * cinfo.min_DCT_scaled_size))
+		{
+			ssize = ssize * 2;
+		}
+		compptr.DCT_scaled_size = ssize;
+	}
 
-//#endif /* IDCT_SCALING_SUPPORTED */
+	/* Recompute downsampled dimensions of components;
+	 * application needs to know these if using raw downsampled data.
+	 */
+	for (ci = 0; ci < cinfo.num_components; ci++) {
+		compptr = cinfo.comp_info[ci];
+		/* Size in samples, after IDCT scaling */
+		compptr.downsampled_width = (int)
+			jdiv_round_up((long) cinfo.image_width * (long) (compptr.h_samp_factor * compptr.DCT_scaled_size),
+				(cinfo.max_h_samp_factor * DCTSIZE));
+		compptr.downsampled_height = (int)
+			jdiv_round_up((long) cinfo.image_height * (long) (compptr.v_samp_factor * compptr.DCT_scaled_size),
+				(cinfo.max_v_samp_factor * DCTSIZE));
+	}
 
 	/* Report number of components in selected colorspace. */
 	/* Probably this should be in the color conversion module... */
@@ -3175,6 +3151,302 @@ static void jpeg_idct_islow (jpeg_decompress_struct cinfo, jpeg_component_info c
 	}
 }
 
+/*
+ * Reduced-size IDCTs, used to decode an image scaled down by 1/2, 1/4 or
+ * 1/8.	They produce 4x4, 2x2 or 1x1 output samples directly from the
+ * coefficients of a block, ignoring the coefficients that cannot affect
+ * the reduced output.
+ */
+static void inverse_DCT (jpeg_decompress_struct cinfo, jpeg_component_info compptr,
+	short[] coef_block,
+	byte[][] output_buf, int output_buf_offset, int output_col)
+{
+	switch (compptr.DCT_scaled_size) {
+		case 1:
+			jpeg_idct_1x1(cinfo, compptr, coef_block, output_buf, output_buf_offset, output_col);
+			break;
+		case 2:
+			jpeg_idct_2x2(cinfo, compptr, coef_block, output_buf, output_buf_offset, output_col);
+			break;
+		case 4:
+			jpeg_idct_4x4(cinfo, compptr, coef_block, output_buf, output_buf_offset, output_col);
+			break;
+		default:
+			jpeg_idct_islow(cinfo, compptr, coef_block, output_buf, output_buf_offset, output_col);
+			break;
+	}
+}
+
+static void jpeg_idct_4x4 (jpeg_decompress_struct cinfo, jpeg_component_info compptr,
+	short[] coef_block,
+	byte[][] output_buf, int output_buf_offset, int output_col)
+{
+	int tmp0, tmp2, tmp10, tmp12;
+	int z1, z2, z3, z4;
+	short[] inptr;
+	int[] quantptr;
+	int[] wsptr;
+	byte[] outptr;
+	byte[] range_limit = cinfo.sample_range_limit;
+	int range_limit_offset = cinfo.sample_range_limit_offset + CENTERJSAMPLE;
+	int ctr;
+	int[] workspace = cinfo.workspace;	/* buffers data between passes */
+
+	/* Pass 1: process columns from input, store into work array. */
+
+	inptr = coef_block;
+	quantptr = compptr.dct_table;
+	wsptr = workspace;
+	int inptr_offset = 0, quantptr_offset = 0, wsptr_offset = 0;
+	for (ctr = DCTSIZE; ctr > 0; ctr--, inptr_offset++, quantptr_offset++, wsptr_offset++) {
+		/* Don't bother to process column 4, because second pass won't use it */
+		if (ctr == DCTSIZE-4)
+			continue;
+		if (inptr[DCTSIZE*1+inptr_offset] == 0 && inptr[DCTSIZE*2+inptr_offset] == 0 &&
+			inptr[DCTSIZE*3+inptr_offset] == 0 && inptr[DCTSIZE*5+inptr_offset] == 0 &&
+			inptr[DCTSIZE*6+inptr_offset] == 0 && inptr[DCTSIZE*7+inptr_offset] == 0)
+		{
+			/* AC terms all zero; we need not examine term 4 for 4x4 output */
+			int dcval = ((inptr[DCTSIZE*0+inptr_offset]) * quantptr[DCTSIZE*0+quantptr_offset]) << PASS1_BITS;
+
+			wsptr[DCTSIZE*0+wsptr_offset] = dcval;
+			wsptr[DCTSIZE*1+wsptr_offset] = dcval;
+			wsptr[DCTSIZE*2+wsptr_offset] = dcval;
+			wsptr[DCTSIZE*3+wsptr_offset] = dcval;
+			continue;
+		}
+
+		/* Even part */
+
+		tmp0 = ((inptr[DCTSIZE*0+inptr_offset]) * quantptr[DCTSIZE*0+quantptr_offset]);
+		tmp0 <<= (CONST_BITS+1);
+
+		z2 = ((inptr[DCTSIZE*2+inptr_offset]) * quantptr[DCTSIZE*2+quantptr_offset]);
+		z3 = ((inptr[DCTSIZE*6+inptr_offset]) * quantptr[DCTSIZE*6+quantptr_offset]);
+
+		tmp2 = (z2 * 15137/*FIX_1_847759065*/) + (z3 * - 6270/*FIX_0_765366865*/);
+
+		tmp10 = tmp0 + tmp2;
+		tmp12 = tmp0 - tmp2;
+
+		/* Odd part */
+
+		z1 = ((inptr[DCTSIZE*7+inptr_offset]) * quantptr[DCTSIZE*7+quantptr_offset]);
+		z2 = ((inptr[DCTSIZE*5+inptr_offset]) * quantptr[DCTSIZE*5+quantptr_offset]);
+		z3 = ((inptr[DCTSIZE*3+inptr_offset]) * quantptr[DCTSIZE*3+quantptr_offset]);
+		z4 = ((inptr[DCTSIZE*1+inptr_offset]) * quantptr[DCTSIZE*1+quantptr_offset]);
+
+		tmp0 = (z1 * - 1730/*FIX_0_211164243*/) /* sqrt(2) * (c3-c1) */
+			+ (z2 * 11893/*FIX_1_451774981*/) /* sqrt(2) * (c3+c7) */
+			+ (z3 * - 17799/*FIX_2_172734803*/) /* sqrt(2) * (-c1-c5) */
+			+ (z4 * 8697/*FIX_1_061594337*/); /* sqrt(2) * (c5+c7) */
+
+		tmp2 = (z1 * - 4176/*FIX_0_509795579*/) /* sqrt(2) * (c7-c5) */
+			+ (z2 * - 4926/*FIX_0_601344887*/) /* sqrt(2) * (c5-c1) */
+			+ (z3 * 7373/*FIX_0_899976223*/) /* sqrt(2) * (c3-c7) */
+			+ (z4 * 20995/*FIX_2_562915447*/); /* sqrt(2) * (c1+c3) */
+
+		/* Final output stage */
+
+		wsptr[DCTSIZE*0+wsptr_offset] = (((tmp10 + tmp2) + (1 << ((CONST_BITS-PASS1_BITS+1)-1))) >> (CONST_BITS-PASS1_BITS+1));
+		wsptr[DCTSIZE*3+wsptr_offset] = (((tmp10 - tmp2) + (1 << ((CONST_BITS-PASS1_BITS+1)-1))) >> (CONST_BITS-PASS1_BITS+1));
+		wsptr[DCTSIZE*1+wsptr_offset] = (((tmp12 + tmp0) + (1 << ((CONST_BITS-PASS1_BITS+1)-1))) >> (CONST_BITS-PASS1_BITS+1));
+		wsptr[DCTSIZE*2+wsptr_offset] = (((tmp12 - tmp0) + (1 << ((CONST_BITS-PASS1_BITS+1)-1))) >> (CONST_BITS-PASS1_BITS+1));
+	}
+
+	/* Pass 2: process 4 rows from work array, store into output array. */
+
+	int outptr_offset = 0;
+	wsptr = workspace;
+	wsptr_offset = 0;
+	for (ctr = 0; ctr < 4; ctr++) {
+		outptr = output_buf[ctr+output_buf_offset];
+		outptr_offset = output_col;
+		/* It's not clear whether a zero row test is worthwhile here ... */
+
+		if (wsptr[1+wsptr_offset] == 0 && wsptr[2+wsptr_offset] == 0 && wsptr[3+wsptr_offset] == 0 &&
+			wsptr[5+wsptr_offset] == 0 && wsptr[6+wsptr_offset] == 0 && wsptr[7+wsptr_offset] == 0)
+		{
+			/* AC terms all zero */
+			byte dcval = range_limit[range_limit_offset + ((((wsptr[0+wsptr_offset]) + (1 << ((PASS1_BITS+3)-1))) >> PASS1_BITS+3)
+					& RANGE_MASK)];
+
+			outptr[0+outptr_offset] = dcval;
+			outptr[1+outptr_offset] = dcval;
+			outptr[2+outptr_offset] = dcval;
+			outptr[3+outptr_offset] = dcval;
+
+			wsptr_offset += DCTSIZE;		/* advance pointer to next row */
+			continue;
+		}
+
+		/* Even part */
+
+		tmp0 = wsptr[0+wsptr_offset] << (CONST_BITS+1);
+
+		tmp2 = (wsptr[2+wsptr_offset] * 15137/*FIX_1_847759065*/)
+			+ (wsptr[6+wsptr_offset] * - 6270/*FIX_0_765366865*/);
+
+		tmp10 = tmp0 + tmp2;
+		tmp12 = tmp0 - tmp2;
+
+		/* Odd part */
+
+		z1 = wsptr[7+wsptr_offset];
+		z2 = wsptr[5+wsptr_offset];
+		z3 = wsptr[3+wsptr_offset];
+		z4 = wsptr[1+wsptr_offset];
+
+		tmp0 = (z1 * - 1730/*FIX_0_211164243*/) /* sqrt(2) * (c3-c1) */
+			+ (z2 * 11893/*FIX_1_451774981*/) /* sqrt(2) * (c3+c7) */
+			+ (z3 * - 17799/*FIX_2_172734803*/) /* sqrt(2) * (-c1-c5) */
+			+ (z4 * 8697/*FIX_1_061594337*/); /* sqrt(2) * (c5+c7) */
+
+		tmp2 = (z1 * - 4176/*FIX_0_509795579*/) /* sqrt(2) * (c7-c5) */
+			+ (z2 * - 4926/*FIX_0_601344887*/) /* sqrt(2) * (c5-c1) */
+			+ (z3 * 7373/*FIX_0_899976223*/) /* sqrt(2) * (c3-c7) */
+			+ (z4 * 20995/*FIX_2_562915447*/); /* sqrt(2) * (c1+c3) */
+
+		/* Final output stage */
+
+		outptr[0+outptr_offset] = range_limit[range_limit_offset + ((((tmp10 + tmp2) + (1 << ((CONST_BITS+PASS1_BITS+3+1)-1))) >>
+									CONST_BITS+PASS1_BITS+3+1)
+					& RANGE_MASK)];
+		outptr[3+outptr_offset] = range_limit[range_limit_offset + ((((tmp10 - tmp2) + (1 << ((CONST_BITS+PASS1_BITS+3+1)-1))) >>
+									CONST_BITS+PASS1_BITS+3+1)
+					& RANGE_MASK)];
+		outptr[1+outptr_offset] = range_limit[range_limit_offset + ((((tmp12 + tmp0) + (1 << ((CONST_BITS+PASS1_BITS+3+1)-1))) >>
+									CONST_BITS+PASS1_BITS+3+1)
+					& RANGE_MASK)];
+		outptr[2+outptr_offset] = range_limit[range_limit_offset + ((((tmp12 - tmp0) + (1 << ((CONST_BITS+PASS1_BITS+3+1)-1))) >>
+									CONST_BITS+PASS1_BITS+3+1)
+					& RANGE_MASK)];
+
+		wsptr_offset += DCTSIZE;		/* advance pointer to next row */
+	}
+}
+
+static void jpeg_idct_2x2 (jpeg_decompress_struct cinfo, jpeg_component_info compptr,
+	short[] coef_block,
+	byte[][] output_buf, int output_buf_offset, int output_col)
+{
+	int tmp0, tmp10, z1;
+	short[] inptr;
+	int[] quantptr;
+	int[] wsptr;
+	byte[] outptr;
+	byte[] range_limit = cinfo.sample_range_limit;
+	int range_limit_offset = cinfo.sample_range_limit_offset + CENTERJSAMPLE;
+	int ctr;
+	int[] workspace = cinfo.workspace;	/* buffers data between passes */
+
+	/* Pass 1: process columns from input, store into work array. */
+
+	inptr = coef_block;
+	quantptr = compptr.dct_table;
+	wsptr = workspace;
+	int inptr_offset = 0, quantptr_offset = 0, wsptr_offset = 0;
+	for (ctr = DCTSIZE; ctr > 0; ctr--, inptr_offset++, quantptr_offset++, wsptr_offset++) {
+		/* Don't bother to process columns 2,4,6 */
+		if (ctr == DCTSIZE-2 || ctr == DCTSIZE-4 || ctr == DCTSIZE-6)
+			continue;
+		if (inptr[DCTSIZE*1+inptr_offset] == 0 && inptr[DCTSIZE*3+inptr_offset] == 0 &&
+			inptr[DCTSIZE*5+inptr_offset] == 0 && inptr[DCTSIZE*7+inptr_offset] == 0)
+		{
+			/* AC terms all zero; we need not examine terms 2,4,6 for 2x2 output */
+			int dcval = ((inptr[DCTSIZE*0+inptr_offset]) * quantptr[DCTSIZE*0+quantptr_offset]) << PASS1_BITS;
+
+			wsptr[DCTSIZE*0+wsptr_offset] = dcval;
+			wsptr[DCTSIZE*1+wsptr_offset] = dcval;
+			continue;
+		}
+
+		/* Even part */
+
+		z1 = ((inptr[DCTSIZE*0+inptr_offset]) * quantptr[DCTSIZE*0+quantptr_offset]);
+		tmp10 = z1 << (CONST_BITS+2);
+
+		/* Odd part */
+
+		z1 = ((inptr[DCTSIZE*7+inptr_offset]) * quantptr[DCTSIZE*7+quantptr_offset]);
+		tmp0 = (z1 * - 5906/*FIX_0_720959822*/); /* sqrt(2) * (c7-c5+c3-c1) */
+		z1 = ((inptr[DCTSIZE*5+inptr_offset]) * quantptr[DCTSIZE*5+quantptr_offset]);
+		tmp0 += (z1 * 6967/*FIX_0_850430095*/); /* sqrt(2) * (-c1+c3+c5+c7) */
+		z1 = ((inptr[DCTSIZE*3+inptr_offset]) * quantptr[DCTSIZE*3+quantptr_offset]);
+		tmp0 += (z1 * - 10426/*FIX_1_272758580*/); /* sqrt(2) * (-c1+c3-c5-c7) */
+		z1 = ((inptr[DCTSIZE*1+inptr_offset]) * quantptr[DCTSIZE*1+quantptr_offset]);
+		tmp0 += (z1 * 29692/*FIX_3_624509785*/); /* sqrt(2) * (c1+c3+c5+c7) */
+
+		/* Final output stage */
+
+		wsptr[DCTSIZE*0+wsptr_offset] = (((tmp10 + tmp0) + (1 << ((CONST_BITS-PASS1_BITS+2)-1))) >> (CONST_BITS-PASS1_BITS+2));
+		wsptr[DCTSIZE*1+wsptr_offset] = (((tmp10 - tmp0) + (1 << ((CONST_BITS-PASS1_BITS+2)-1))) >> (CONST_BITS-PASS1_BITS+2));
+	}
+
+	/* Pass 2: process 2 rows from work array, store into output array. */
+
+	int outptr_offset = 0;
+	wsptr = workspace;
+	wsptr_offset = 0;
+	for (ctr = 0; ctr < 2; ctr++) {
+		outptr = output_buf[ctr+output_buf_offset];
+		outptr_offset = output_col;
+		/* It's not clear whether a zero row test is worthwhile here ... */
+
+		if (wsptr[1+wsptr_offset] == 0 && wsptr[3+wsptr_offset] == 0 &&
+			wsptr[5+wsptr_offset] == 0 && wsptr[7+wsptr_offset] == 0)
+		{
+			/* AC terms all zero */
+			byte dcval = range_limit[range_limit_offset + ((((wsptr[0+wsptr_offset]) + (1 << ((PASS1_BITS+3)-1))) >> PASS1_BITS+3)
+					& RANGE_MASK)];
+
+			outptr[0+outptr_offset] = dcval;
+			outptr[1+outptr_offset] = dcval;
+
+			wsptr_offset += DCTSIZE;		/* advance pointer to next row */
+			continue;
+		}
+
+		/* Even part */
+
+		tmp10 = wsptr[0+wsptr_offset] << (CONST_BITS+2);
+
+		/* Odd part */
+
+		tmp0 = (wsptr[7+wsptr_offset] * - 5906/*FIX_0_720959822*/) /* sqrt(2) * (c7-c5+c3-c1) */
+			+ (wsptr[5+wsptr_offset] * 6967/*FIX_0_850430095*/) /* sqrt(2) * (-c1+c3+c5+c7) */
+			+ (wsptr[3+wsptr_offset] * - 10426/*FIX_1_272758580*/) /* sqrt(2) * (-c1+c3-c5-c7) */
+			+ (wsptr[1+wsptr_offset] * 29692/*FIX_3_624509785*/); /* sqrt(2) * (c1+c3+c5+c7) */
+
+		/* Final output stage */
+
+		outptr[0+outptr_offset] = range_limit[range_limit_offset + ((((tmp10 + tmp0) + (1 << ((CONST_BITS+PASS1_BITS+3+2)-1))) >>
+									CONST_BITS+PASS1_BITS+3+2)
+					& RANGE_MASK)];
+		outptr[1+outptr_offset] = range_limit[range_limit_offset + ((((tmp10 - tmp0) + (1 << ((CONST_BITS+PASS1_BITS+3+2)-1))) >>
+									CONST_BITS+PASS1_BITS+3+2)
+					& RANGE_MASK)];
+
+		wsptr_offset += DCTSIZE;		/* advance pointer to next row */
+	}
+}
+
+static void jpeg_idct_1x1 (jpeg_decompress_struct cinfo, jpeg_component_info compptr,
+	short[] coef_block,
+	byte[][] output_buf, int output_buf_offset, int output_col)
+{
+	byte[] range_limit = cinfo.sample_range_limit;
+	int range_limit_offset = cinfo.sample_range_limit_offset + CENTERJSAMPLE;
+
+	/* We hardly need an inverse DCT routine for this: just take the
+	 * average pixel value, which is one-eighth of the DC coefficient.
+	 */
+	int dcval = coef_block[0] * compptr.dct_table[0];
+	dcval = (dcval + (1 << (3-1))) >> 3;
+
+	output_buf[output_buf_offset][output_col] = range_limit[range_limit_offset + (dcval & RANGE_MASK)];
+}
+
 static void upsample (jpeg_decompress_struct cinfo,
 	byte[][][] input_buf, int[] input_buf_offset, int[] in_row_group_ctr,
 	int in_row_groups_avail,
@@ -3796,7 +4068,7 @@ static int decompress_onepass (jpeg_decompress_struct cinfo, byte[][][] output_b
 					if (cinfo.input_iMCU_row < last_iMCU_row ||	yoffset+yindex < compptr.last_row_height) {
 						output_col = start_col;
 						for (xindex = 0; xindex < useful_width; xindex++) {
-							jpeg_idct_islow(cinfo, compptr, coef.MCU_buffer[blkn+xindex], output_ptr, output_ptr_offset, output_col);
+							inverse_DCT(cinfo, compptr, coef.MCU_buffer[blkn+xindex], output_ptr, output_ptr_offset, output_col);
 							output_col += compptr.DCT_scaled_size;
 						}
 					}
@@ -4015,7 +4287,7 @@ static int decompress_smooth_data (jpeg_decompress_struct cinfo, byte[][][] outp
 					workspace[2] = (short) pred;
 				}
 				/* OK, do the IDCT */
-				jpeg_idct_islow(cinfo, compptr, workspace, output_ptr, output_ptr_offset, output_col);
+				inverse_DCT(cinfo, compptr, workspace, output_ptr, output_ptr_offset, output_col);
 				/* Advance for next column */
 				DC1 = DC2; DC2 = DC3;
 				DC4 = DC5; DC5 = DC6;
@@ -4079,7 +4351,7 @@ static int decompress_data (jpeg_decompress_struct cinfo, byte[][][] output_buf,
 			int buffer_ptr_offset = 0;
 			output_col = 0;
 			for (block_num = 0; block_num < compptr.width_in_blocks; block_num++) {
-				jpeg_idct_islow(cinfo, compptr, buffer_ptr[buffer_ptr_offset], output_ptr, output_ptr_offset, output_col);
+				inverse_DCT(cinfo, compptr, buffer_ptr[buffer_ptr_offset], output_ptr, output_ptr_offset, output_col);
 
 				buffer_ptr_offset++;
 				output_col += compptr.DCT_scaled_size;
@@ -6273,10 +6545,34 @@ static boolean isFileFormat(LEDataInputStream stream) {
 }
 
 static ImageData[] loadFromByteStream(InputStream inputStream, ImageLoader loader) {
+	return loadFromByteStream(inputStream, loader, 0, 0, null);
+}
+
+/**
+ * Decodes the image scaled down by the largest of 1/2, 1/4 or 1/8 that keeps
+ * it at least as large as the given size, using the reduced IDCTs. A width
+ * or height of 0 decodes the image at full size. When the image is not a
+ * multiple of the scale, the last column and row only partly cover a pixel;
+ * the extent, if not null, receives the width and height of the image in
+ * decoded pixels.
+ */
+static ImageData[] loadFromByteStream(InputStream inputStream, ImageLoader loader, int width, int height, double[] extent) {
 	jpeg_decompress_struct cinfo = new jpeg_decompress_struct();
 	cinfo.inputStream = inputStream;
 	jpeg_create_decompress(cinfo);
 	jpeg_read_header(cinfo, true);
+	if (width > 0 && height > 0) {
+		int denom = 8;
+		while (denom > 1 && (jdiv_round_up(cinfo.image_width, denom) < width || jdiv_round_up(cinfo.image_height, denom) < height)) {
+			denom /= 2;
+		}
+		cinfo.scale_num = 1;
+		cinfo.scale_denom = denom;
+	}
+	if (extent != null) {
+		extent[0] = (double) cinfo.image_width * cinfo.scale_num / cinfo.scale_denom;
+		extent[1] = (double) cinfo.image_height * cinfo.scale_num / cinfo.scale_denom;
+	}
 	cinfo.buffered_image = cinfo.progressive_mode && loader.hasListeners();
 	jpeg_start_decompress(cinfo);
 	PaletteData palette = null;
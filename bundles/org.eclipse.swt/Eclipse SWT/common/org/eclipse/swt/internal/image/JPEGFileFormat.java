@@ -1385,6 +1385,24 @@ boolean isZeroInRow(int[] dataUnit, int rIndex) {
 			&& dataUnit[rIndex + 7] == 0;
 }
 @Override
+ImageData loadFromByteStreamBySize(int width, int height) {
+	if (System.getProperty("org.eclipse.swt.internal.image.JPEGFileFormat_3.2") != null) {
+		return super.loadFromByteStreamBySize(width, height);
+	}
+	if (width <= 0 || height <= 0) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+	/*
+	 * Decode at the nearest reduced size and resample to the exact size,
+	 * from the part of the last column and row that the image covers.
+	 */
+	double[] extent = new double[2];
+	ImageData imageData = JPEGDecoder.loadFromByteStream(inputStream, loader, width, height, extent)[0];
+	if (extent[0] == width && extent[1] == height) return imageData;
+	ImageDataResampler.Filter filter = ImageDataResampler.smoothFilter(imageData.width, imageData.height, width, height);
+	ImageData scaled = ImageDataResampler.resample(imageData, extent[0], extent[1], width, height, filter);
+	scaled.type = SWT.IMAGE_JPEG;
+	return scaled;
+}
+@Override
 ImageData[] loadFromByteStream() {
 	//TEMPORARY CODE
 	if (System.getProperty("org.eclipse.swt.internal.image.JPEGFileFormat_3.2") == null) {
@@ -33,6 +33,13 @@ public final class PNGFileFormat extends StaticImageFileFormat {
 	byte headerByte2;
 	int adler;
 
+	/*
+	* By default, IDAT data is inflated straight from the chunk buffers
+	* and unfiltered in place. Setting this property to false selects the
+	* InputStream based decoders.
+	*/
+	static final boolean STREAMING_DECODER = !"false".equals(System.getProperty("org.eclipse.swt.internal.image.PNGFileFormat.streaming"));
+
 /**
  * Skip over signature data. This has already been
  * verified in isFileFormat().
@@ -312,6 +319,17 @@ void setImageDataValues(byte[] data, ImageData imageData) {
 void readPixelData(PngIdatChunk chunk, PngChunkReader chunkReader) throws IOException {
 	//TEMPORARY CODE
 	boolean use3_2 = System.getProperty("org.eclipse.swt.internal.image.PNGFileFormat_3.2") != null;
+	if (STREAMING_DECODER && !use3_2) {
+		try (PngInflaterInputStream stream = new PngInflaterInputStream(chunk, chunkReader)) {
+			if (headerChunk.getInterlaceMethod() == PngIhdrChunk.INTERLACE_METHOD_NONE) {
+				readNonInterlacedImage(stream);
+			} else {
+				readInterlacedImage(stream);
+			}
+			stream.finish();
+		}
+		return;
+	}
 	try (InputStream pngStream = new PngInputStream(chunk, chunkReader);
 			InputStream stream = use3_2 ? new PngDecodingDataStream(pngStream)
 					: new BufferedInputStream(new InflaterInputStream(pngStream));) {
@@ -490,6 +508,30 @@ void readNonInterlacedImage(InputStream inputStream) throws IOException {
 	}
 	setImageDataValues(data, imageData);
 }
+/**
+ * Read the pixel data for a non-interlaced image from the
+ * inflater stream. Each row is inflated directly into the image
+ * data and unfiltered in place, so no row buffers are needed.
+ */
+void readNonInterlacedImage(PngInflaterInputStream inputStream) throws IOException {
+	int dataOffset = 0;
+	int alignedBytesPerRow = getAlignedBytesPerRow();
+	int bytesPerRow = getBytesPerRow();
+	int height = headerChunk.getHeight();
+	byte[] filterType = new byte[1];
+	byte[] emptyRow = new byte[bytesPerRow];
+	for (int row = 0; row < height; row++) {
+		inputStream.readFully(filterType, 0, 1);
+		inputStream.readFully(data, dataOffset, bytesPerRow);
+		if (row == 0) {
+			filterRow(data, dataOffset, emptyRow, 0, bytesPerRow, filterType[0]);
+		} else {
+			filterRow(data, dataOffset, data, dataOffset - alignedBytesPerRow, bytesPerRow, filterType[0]);
+		}
+		dataOffset += alignedBytesPerRow;
+	}
+	setImageDataValues(data, imageData);
+}
 /**
  * SWT does not support 16-bit depth color formats.
  * Convert the 16-bit data to 8-bit data.
@@ -536,37 +578,44 @@ static int compress16BitDepthTo8BitDepth(int value) {
  * based on the filterType.
  */
 void filterRow(byte[] row, byte[] previousRow, int filterType) {
+	filterRow(row, 0, previousRow, 0, row.length, filterType);
+}
+/**
+ * Unfilter length bytes of the given row, starting at rowOffset,
+ * in place. The previous row starts at previousOffset.
+ */
+void filterRow(byte[] row, int rowOffset, byte[] previousRow, int previousOffset, int length, int filterType) {
 	int byteOffset = headerChunk.getFilterByteOffset();
 	switch (filterType) {
 		case PngIhdrChunk.FILTER_NONE:
 			break;
 		case PngIhdrChunk.FILTER_SUB:
-			for (int i = byteOffset; i < row.length; i++) {
-				int current = row[i] & 0xFF;
-				int left = row[i - byteOffset] & 0xFF;
-				row[i] = (byte)((current + left) & 0xFF);
+			for (int i = byteOffset; i < length; i++) {
+				int current = row[rowOffset + i] & 0xFF;
+				int left = row[rowOffset + i - byteOffset] & 0xFF;
+				row[rowOffset + i] = (byte)((current + left) & 0xFF);
 			}
 			break;
 		case PngIhdrChunk.FILTER_UP:
-			for (int i = 0; i < row.length; i++) {
-				int current = row[i] & 0xFF;
-				int above = previousRow[i] & 0xFF;
-				row[i] = (byte)((current + above) & 0xFF);
+			for (int i = 0; i < length; i++) {
+				int current = row[rowOffset + i] & 0xFF;
+				int above = previousRow[previousOffset + i] & 0xFF;
+				row[rowOffset + i] = (byte)((current + above) & 0xFF);
 			}
 			break;
 		case PngIhdrChunk.FILTER_AVERAGE:
-			for (int i = 0; i < row.length; i++) {
-				int left = (i < byteOffset) ? 0 : row[i - byteOffset] & 0xFF;
-				int above = previousRow[i] & 0xFF;
-				int current = row[i] & 0xFF;
-				row[i] = (byte)((current + ((left + above) / 2)) & 0xFF);
+			for (int i = 0; i < length; i++) {
+				int left = (i < byteOffset) ? 0 : row[rowOffset + i - byteOffset] & 0xFF;
+				int above = previousRow[previousOffset + i] & 0xFF;
+				int current = row[rowOffset + i] & 0xFF;
+				row[rowOffset + i] = (byte)((current + ((left + above) / 2)) & 0xFF);
 			}
 			break;
 		case PngIhdrChunk.FILTER_PAETH:
-			for (int i = 0; i < row.length; i++) {
-				int left = (i < byteOffset) ? 0 : row[i - byteOffset] & 0xFF;
-				int aboveLeft = (i < byteOffset) ? 0 : previousRow[i - byteOffset] & 0xFF;
-				int above = previousRow[i] & 0xFF;
+			for (int i = 0; i < length; i++) {
+				int left = (i < byteOffset) ? 0 : row[rowOffset + i - byteOffset] & 0xFF;
+				int aboveLeft = (i < byteOffset) ? 0 : previousRow[previousOffset + i - byteOffset] & 0xFF;
+				int above = previousRow[previousOffset + i] & 0xFF;
 
 				int a = Math.abs(above - aboveLeft);
 				int b = Math.abs(left - aboveLeft);
@@ -581,8 +630,8 @@ void filterRow(byte[] row, byte[] previousRow, int filterType) {
 					preductor = aboveLeft;
 				}
 
-				int currentValue = row[i] & 0xFF;
-				row[i] = (byte) ((currentValue + preductor) & 0xFF);
+				int currentValue = row[rowOffset + i] & 0xFF;
+				row[rowOffset + i] = (byte) ((currentValue + preductor) & 0xFF);
 			}
 			break;
 	}
@@ -14,6 +14,7 @@
 package org.eclipse.swt.internal.image;
 
 import java.io.*;
+import java.util.stream.*;
 import java.util.zip.*;
 
 import org.eclipse.swt.*;
@@ -33,8 +34,12 @@ final class PngEncoder extends Object {
 	static final int BEST_COMPRESSION = 9;
 	static final int DEFAULT_COMPRESSION = -1;
 
+	/* Choose the filter of each row from all PNG filters */
+	static final int ADAPTIVE_FILTER = -1;
+	/* Number of bytes of image data that are filtered and compressed together */
+	static final int BAND_SIZE = 512 * 1024;
+
 	ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
-	PngChunk chunk;
 
 	ImageLoader loader;
 	ImageData data;
@@ -46,6 +51,8 @@ final class PngEncoder extends Object {
 	int filterMethod = 0;
 	int interlaceMethod = 0;
 
+	int filterType, bytesPerPixel, bytesPerRow, bandRows;
+
 public PngEncoder(ImageLoader loader) {
 
 	this.loader = loader;
@@ -96,19 +103,16 @@ void writeChunk(byte[] tag, byte[] buffer) {
 
 	int bufferLength = (buffer != null) ? buffer.length : 0;
 
-	chunk = new PngChunk(bufferLength);
+	CRC32 crc = new CRC32();
+	crc.update(tag, 0, 4);
 
 	writeInt(bytes, bufferLength);
 	bytes.write(tag, 0, 4);
-	chunk.setType(tag);
 	if (bufferLength != 0) {
 		bytes.write(buffer, 0, bufferLength);
-		chunk.setData(buffer);
-	}
-	else {
-		chunk.setCRC(chunk.computeCRC());
+		crc.update(buffer, 0, bufferLength);
 	}
-	writeInt(bytes, chunk.getCRC());
+	writeInt(bytes, (int) crc.getValue());
 
 }
 
@@ -235,91 +239,279 @@ void writeTransparency() {
 
 void writeImageData() throws IOException {
 
-	ByteArrayOutputStream baos = new ByteArrayOutputStream(1024);
-	OutputStream os = new DeflaterOutputStream(baos, new Deflater(switch (loader.compression) {
-	case 0 -> NO_COMPRESSION;
-	case 1 -> BEST_SPEED;
-	case 3 -> BEST_COMPRESSION;
-	default -> DEFAULT_COMPRESSION;
-	}));
+	int level;
+	switch (loader.compression) {
+		case 0 -> {
+			level = NO_COMPRESSION;
+			filterType = PngIhdrChunk.FILTER_NONE;
+		}
+		case 1 -> {
+			level = BEST_SPEED;
+			filterType = PngIhdrChunk.FILTER_SUB;
+		}
+		case 3 -> {
+			level = BEST_COMPRESSION;
+			filterType = ADAPTIVE_FILTER;
+		}
+		default -> {
+			level = DEFAULT_COMPRESSION;
+			filterType = ADAPTIVE_FILTER;
+		}
+	}
+	/* Filtering rarely helps palette images */
+	if (colorType == 3) filterType = PngIhdrChunk.FILTER_NONE;
+
+	bytesPerPixel = colorType == 6 ? 4 : colorType == 2 ? 3 : 1;
+	bytesPerRow = width * bytesPerPixel;
+	bandRows = Math.max(1, BAND_SIZE / (bytesPerRow + 1));
+	int bandCount = (height + bandRows - 1) / bandRows;
+
+	/*
+	* Every band of rows is filtered and compressed on its own. Bands of
+	* large images are compressed in parallel, each one ending on a byte
+	* boundary, so that the compressed bands can simply be concatenated.
+	*/
+	byte[][] bands = new byte[bandCount][];
+	int[] adlers = new int[bandCount];
+	if (bandCount > 1 && Runtime.getRuntime().availableProcessors() > 1) {
+		IntStream.range(0, bandCount).parallel().forEach(band -> {
+			byte[] filtered = filterBand(band, adlers);
+			Deflater deflater = new Deflater(level, true);
+			try {
+				ByteArrayOutputStream baos = new ByteArrayOutputStream(filtered.length / 4 + 64);
+				boolean last = band == bandCount - 1;
+				deflater.setInput(filtered);
+				if (last) deflater.finish();
+				deflate(deflater, last ? Deflater.NO_FLUSH : Deflater.SYNC_FLUSH, last, baos);
+				bands[band] = baos.toByteArray();
+			} finally {
+				deflater.end();
+			}
+		});
+	} else {
+		Deflater deflater = new Deflater(level, true);
+		try {
+			ByteArrayOutputStream baos = new ByteArrayOutputStream(1024);
+			for (int band = 0; band < bandCount; band++) {
+				boolean last = band == bandCount - 1;
+				deflater.setInput(filterBand(band, adlers));
+				if (last) deflater.finish();
+				deflate(deflater, Deflater.NO_FLUSH, last, baos);
+			}
+			bands[0] = baos.toByteArray();
+			for (int band = 1; band < bandCount; band++) bands[band] = new byte[0];
+		} finally {
+			deflater.end();
+		}
+	}
 
-	if (colorType == 3) {
+	int length = 2 + 4;
+	for (byte[] band : bands) length += band.length;
+	ByteArrayOutputStream baos = new ByteArrayOutputStream(length);
+
+	/* zlib header, see RFC 1950 */
+	int cmf = 0x78;
+	int flevel = switch (level) {
+		case NO_COMPRESSION, BEST_SPEED -> 0;
+		case BEST_COMPRESSION -> 3;
+		default -> 2;
+	};
+	int flg = flevel << 6;
+	flg += 31 - ((cmf << 8) + flg) % 31;
+	baos.write(cmf);
+	baos.write(flg);
+
+	int adler = 1;
+	for (int band = 0; band < bandCount; band++) {
+		baos.write(bands[band]);
+		int bandLength = Math.min(bandRows, height - band * bandRows) * (bytesPerRow + 1);
+		adler = combineAdler(adler, adlers[band], bandLength);
+	}
+	writeInt(baos, adler);
 
-		byte[] lineData = new byte[width];
+	writeChunk(TAG_IDAT, baos.toByteArray());
 
-		for (int y = 0; y < height; y++) {
+}
 
-			int filter = 0;
-			os.write(filter);
+/**
+ * Compress the input of the deflater into the stream until it needs
+ * more input or, once it was told to finish, until it is finished.
+ */
+static void deflate(Deflater deflater, int flush, boolean finish, ByteArrayOutputStream baos) {
+
+	byte[] buffer = new byte[8192];
+	while (true) {
+		int count = deflater.deflate(buffer, 0, buffer.length, flush);
+		baos.write(buffer, 0, count);
+		if (finish ? deflater.finished() : count < buffer.length && deflater.needsInput()) return;
+	}
 
-			data.getPixels(0, y, width, lineData, 0);
+}
 
-			os.write(lineData);
+/**
+ * Answer the Adler-32 checksum of two concatenated byte sequences,
+ * given the checksums of both and the length of the second one.
+ */
+static int combineAdler(int adler1, int adler2, long length2) {
+
+	int base = PNGFileFormat.PRIME;
+	long remainder = length2 % base;
+	long sum1 = adler1 & 0xFFFF;
+	long sum2 = (remainder * sum1) % base;
+	sum1 += (adler2 & 0xFFFF) + base - 1;
+	sum2 += ((adler1 >>> 16) & 0xFFFF) + ((adler2 >>> 16) & 0xFFFF) + base - remainder;
+	if (sum1 >= base) sum1 -= base;
+	if (sum1 >= base) sum1 -= base;
+	if (sum2 >= (base << 1)) sum2 -= (base << 1);
+	if (sum2 >= base) sum2 -= base;
+	return (int) ((sum2 << 16) | sum1);
 
-		}
+}
 
+/**
+ * Answer the filtered rows of the given band, each preceded by its
+ * filter type, and store the Adler-32 checksum of the result.
+ */
+byte[] filterBand(int band, int[] adlers) {
+
+	int startRow = band * bandRows;
+	int endRow = Math.min(height, startRow + bandRows);
+	byte[] filtered = new byte[(endRow - startRow) * (bytesPerRow + 1)];
+
+	byte[] previousRow = new byte[bytesPerRow];
+	byte[] currentRow = new byte[bytesPerRow];
+	byte[][] candidates = null;
+	if (filterType == ADAPTIVE_FILTER) {
+		candidates = new byte[PngIhdrChunk.FILTER_PAETH + 1][bytesPerRow];
 	}
-
-	else {
-
-		int[] lineData = new int[width];
-		byte[] alphaData = null;
-		if (colorType == 6) {
-			alphaData = new byte[width];
+	int[] lineData = colorType == 3 ? null : new int[width];
+	byte[] alphaData = colorType == 6 ? new byte[width] : null;
+
+	if (startRow > 0) getRow(startRow - 1, previousRow, lineData, alphaData);
+	int offset = 0;
+	for (int y = startRow; y < endRow; y++) {
+		getRow(y, currentRow, lineData, alphaData);
+		if (filterType == ADAPTIVE_FILTER) {
+			/* Choose the filter with the smallest sum of absolute differences */
+			int bestFilter = PngIhdrChunk.FILTER_NONE;
+			long bestSum = Long.MAX_VALUE;
+			for (int filter = PngIhdrChunk.FILTER_NONE; filter <= PngIhdrChunk.FILTER_PAETH; filter++) {
+				byte[] candidate = candidates[filter];
+				filterRow(filter, currentRow, previousRow, candidate, 0);
+				long sum = 0;
+				for (int i = 0; i < bytesPerRow && sum < bestSum; i++) {
+					sum += Math.abs(candidate[i]);
+				}
+				if (sum < bestSum) {
+					bestSum = sum;
+					bestFilter = filter;
+				}
+			}
+			filtered[offset] = (byte) bestFilter;
+			System.arraycopy(candidates[bestFilter], 0, filtered, offset + 1, bytesPerRow);
+		} else {
+			filtered[offset] = (byte) filterType;
+			filterRow(filterType, currentRow, previousRow, filtered, offset + 1);
 		}
+		offset += bytesPerRow + 1;
+		byte[] temp = previousRow;
+		previousRow = currentRow;
+		currentRow = temp;
+	}
 
-		int redMask = data.palette.redMask;
-		int redShift = data.palette.redShift;
-		int greenMask = data.palette.greenMask;
-		int greenShift = data.palette.greenShift;
-		int blueShift = data.palette.blueShift;
-		int blueMask = data.palette.blueMask;
+	Adler32 adler = new Adler32();
+	adler.update(filtered);
+	adlers[band] = (int) adler.getValue();
+	return filtered;
 
-		byte[] lineBytes = new byte[width * (colorType == 6 ? 4 : 3)];
+}
 
-		for (int y = 0; y < height; y++) {
+/**
+ * Apply the given PNG filter to the row and store the result
+ * in the destination, starting at the offset.
+ */
+void filterRow(int filter, byte[] row, byte[] previousRow, byte[] destination, int offset) {
 
-			int filter = 0;
-			os.write(filter);
+	int bpp = bytesPerPixel;
+	switch (filter) {
+		case PngIhdrChunk.FILTER_NONE:
+			System.arraycopy(row, 0, destination, offset, bytesPerRow);
+			break;
+		case PngIhdrChunk.FILTER_SUB:
+			System.arraycopy(row, 0, destination, offset, bpp);
+			for (int i = bpp; i < bytesPerRow; i++) {
+				destination[offset + i] = (byte) (row[i] - row[i - bpp]);
+			}
+			break;
+		case PngIhdrChunk.FILTER_UP:
+			for (int i = 0; i < bytesPerRow; i++) {
+				destination[offset + i] = (byte) (row[i] - previousRow[i]);
+			}
+			break;
+		case PngIhdrChunk.FILTER_AVERAGE:
+			for (int i = 0; i < bytesPerRow; i++) {
+				int left = i < bpp ? 0 : row[i - bpp] & 0xFF;
+				destination[offset + i] = (byte) (row[i] - ((left + (previousRow[i] & 0xFF)) >> 1));
+			}
+			break;
+		case PngIhdrChunk.FILTER_PAETH:
+			for (int i = 0; i < bytesPerRow; i++) {
+				int left = i < bpp ? 0 : row[i - bpp] & 0xFF;
+				int above = previousRow[i] & 0xFF;
+				int aboveLeft = i < bpp ? 0 : previousRow[i - bpp] & 0xFF;
+				int p = left + above - aboveLeft;
+				int pa = Math.abs(p - left), pb = Math.abs(p - above), pc = Math.abs(p - aboveLeft);
+				int predictor = (pa <= pb && pa <= pc) ? left : (pb <= pc) ? above : aboveLeft;
+				destination[offset + i] = (byte) (row[i] - predictor);
+			}
+			break;
+	}
 
-			data.getPixels(0, y, width, lineData, 0);
+}
 
-			if (colorType == 6) {
-				data.getAlphas(0, y, width, alphaData, 0);
-			}
+/**
+ * Convert the pixels of the given row to PNG samples.
+ */
+void getRow(int y, byte[] row, int[] lineData, byte[] alphaData) {
 
-			int offset = 0;
-			for (int x = 0; x < lineData.length; x++) {
+	if (colorType == 3) {
+		data.getPixels(0, y, width, row, 0);
+		return;
+	}
 
-				int pixel = lineData[x];
+	int redMask = data.palette.redMask;
+	int redShift = data.palette.redShift;
+	int greenMask = data.palette.greenMask;
+	int greenShift = data.palette.greenShift;
+	int blueShift = data.palette.blueShift;
+	int blueMask = data.palette.blueMask;
 
-				int r = pixel & redMask;
-				lineBytes[offset++] = (byte) ((redShift < 0) ? r >>> -redShift
-						: r << redShift);
-				int g = pixel & greenMask;
-				lineBytes[offset++] = (byte) ((greenShift < 0) ? g >>> -greenShift
-						: g << greenShift);
-				int b = pixel & blueMask;
-				lineBytes[offset++] = (byte) ((blueShift < 0) ? b >>> -blueShift
-						: b << blueShift);
+	data.getPixels(0, y, width, lineData, 0);
+	if (colorType == 6) {
+		data.getAlphas(0, y, width, alphaData, 0);
+	}
 
-				if (colorType == 6) {
-					lineBytes[offset++] = alphaData[x];
-				}
+	int offset = 0;
+	for (int x = 0; x < width; x++) {
 
-			}
+		int pixel = lineData[x];
 
-			os.write(lineBytes);
+		int r = pixel & redMask;
+		row[offset++] = (byte) ((redShift < 0) ? r >>> -redShift
+				: r << redShift);
+		int g = pixel & greenMask;
+		row[offset++] = (byte) ((greenShift < 0) ? g >>> -greenShift
+				: g << greenShift);
+		int b = pixel & blueMask;
+		row[offset++] = (byte) ((blueShift < 0) ? b >>> -blueShift
+				: b << blueShift);
 
+		if (colorType == 6) {
+			row[offset++] = alphaData[x];
 		}
 
 	}
 
-	os.flush();
-	os.close();
-
-	writeChunk(TAG_IDAT, baos.toByteArray());
-
 }
 
 void writeEnd() {
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Platform Contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Platform Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.internal.image;
+
+import java.io.*;
+import java.util.zip.*;
+
+/**
+ * Inflates the compressed data of consecutive IDAT chunks. The chunk
+ * buffers are handed to the inflater directly, so the compressed data
+ * is never copied, and callers can inflate straight into their rows.
+ */
+public class PngInflaterInputStream extends InputStream {
+	PngChunkReader reader;
+	Inflater inflater;
+	byte[] buffer = new byte[1];
+
+PngInflaterInputStream(PngIdatChunk chunk, PngChunkReader reader) {
+	this.reader = reader;
+	inflater = new Inflater();
+	inflater.setInput(chunk.reference, PngChunk.DATA_OFFSET, chunk.getLength());
+}
+
+/**
+ * Hand the data of the next IDAT chunk to the inflater. Answer
+ * false if the IEND chunk was reached instead.
+ */
+private boolean nextChunk() throws IOException {
+	PngChunk chunk = reader.readNextChunk();
+	if (chunk == null) throw new IOException();
+	if (chunk.getChunkType() == PngChunk.CHUNK_IEND) return false;
+	if (chunk.getChunkType() != PngChunk.CHUNK_IDAT) throw new IOException();
+	inflater.setInput(chunk.reference, PngChunk.DATA_OFFSET, chunk.getLength());
+	return true;
+}
+
+@Override
+public int available() throws IOException {
+	if (inflater == null) throw new IOException();
+	return inflater.finished() ? 0 : 1;
+}
+
+@Override
+public void close() throws IOException {
+	if (inflater != null) {
+		inflater.end();
+		inflater = null;
+	}
+}
+
+/**
+ * Inflate the remaining data, so that the checksum of the
+ * compressed data is verified and all IDAT chunks are consumed.
+ */
+void finish() throws IOException {
+	byte[] remaining = new byte[512];
+	while (read(remaining, 0, remaining.length) != -1) {}
+}
+
+@Override
+public int read() throws IOException {
+	return read(buffer, 0, 1) == -1 ? -1 : buffer[0] & 0xFF;
+}
+
+@Override
+public int read(byte[] b, int off, int len) throws IOException {
+	if (inflater == null) throw new IOException();
+	if (len == 0) return 0;
+	try {
+		int count;
+		while ((count = inflater.inflate(b, off, len)) == 0) {
+			if (inflater.finished() || inflater.needsDictionary()) return -1;
+			if (inflater.needsInput() && !nextChunk()) throw new EOFException();
+		}
+		return count;
+	} catch (DataFormatException e) {
+		throw new IOException(e);
+	}
+}
+
+/**
+ * Inflate exactly len bytes into the given buffer.
+ */
+void readFully(byte[] b, int off, int len) throws IOException {
+	while (len > 0) {
+		int count = read(b, off, len);
+		if (count == -1) throw new EOFException();
+		off += count;
+		len -= count;
+	}
+}
+}
@@ -27,121 +27,143 @@ import org.eclipse.swt.internal.*;
  */
 
 class EventTable {
+	/* Distinct event types and, for each type, the listeners in the order they were hooked */
 	int [] types;
-	Listener [] listeners;
+	Listener [][] listeners;
+	int count;
+	/* Listener arrays that are currently being notified, innermost last */
+	int [] sendingTypes;
+	Listener [][] sending;
 	int level;
 	static final int GROW_SIZE = 4;
 
-public Listener [] getListeners (int eventType) {
-	if (types == null) return new Listener [0];
-	int count = 0;
-	for (int type : types) {
-		if (type == eventType) count++;
-	}
-	if (count == 0) return new Listener [0];
-	Listener [] result = new Listener [count];
-	count = 0;
-	for (int i=0; i<types.length; i++) {
-		if (types [i] == eventType) {
-			result [count++] = listeners [i];
-		}
+/*
+ * Hooking or unhooking a listener replaces the listener array of the
+ * event type instead of modifying it. sendEvent() can therefore notify
+ * the listeners of the current array without copying it and without
+ * looking at listeners of other types. Listeners hooked while an event
+ * is being sent are notified starting with the next event. A listener
+ * that is unhooked while an event is being sent is cleared from the
+ * arrays that are being notified, so it is not notified any more.
+ */
+
+int indexOf (int eventType) {
+	for (int i=0; i<count; i++) {
+		if (types [i] == eventType) return i;
 	}
-	return result;
+	return -1;
+}
+
+public Listener [] getListeners (int eventType) {
+	int index = indexOf (eventType);
+	if (index == -1) return new Listener [0];
+	return listeners [index].clone ();
 }
 
 public void hook (int eventType, Listener listener) {
-	if (types == null) types = new int [GROW_SIZE];
-	if (listeners == null) listeners = new Listener [GROW_SIZE];
-	int length = types.length, index = length - 1;
-	while (index >= 0) {
-		if (types [index] != 0) break;
-		--index;
+	int index = indexOf (eventType);
+	if (index != -1) {
+		Listener [] oldListeners = listeners [index];
+		Listener [] newListeners = Arrays.copyOf (oldListeners, oldListeners.length + 1);
+		newListeners [oldListeners.length] = listener;
+		listeners [index] = newListeners;
+		return;
+	}
+	if (types == null) {
+		types = new int [GROW_SIZE];
+		listeners = new Listener [GROW_SIZE][];
 	}
-	index++;
-	if (index == length) {
-		int [] newTypes = new int [length + GROW_SIZE];
-		System.arraycopy (types, 0, newTypes, 0, length);
-		types = newTypes;
-		Listener [] newListeners = new Listener [length + GROW_SIZE];
-		System.arraycopy (listeners, 0, newListeners, 0, length);
-		listeners = newListeners;
+	if (count == types.length) {
+		types = Arrays.copyOf (types, count + GROW_SIZE);
+		listeners = Arrays.copyOf (listeners, count + GROW_SIZE);
 	}
-	types [index] = eventType;
-	listeners [index] = listener;
+	types [count] = eventType;
+	listeners [count] = new Listener [] {listener};
+	count++;
 }
 
 public boolean hooks (int eventType) {
-	if (types == null) return false;
-	for (int type : types) {
-		if (type == eventType) return true;
-	}
-	return false;
+	return indexOf (eventType) != -1;
 }
 
 public void sendEvent (Event event) {
-	if (types == null) return;
-	level += level >= 0 ? 1 : -1;
-	try (ExceptionStash exceptions = new ExceptionStash ()) {
-		for (int i=0; i<types.length; i++) {
-			if (event.type == SWT.None) return;
-			if (types [i] == event.type) {
-				Listener listener = listeners [i];
-				if (listener != null) {
-					try {
-						listener.handleEvent (event);
-					} catch (Error | RuntimeException ex) {
-						exceptions.stash (ex);
-					}
+	int eventType = event.type;
+	int index = indexOf (eventType);
+	if (index == -1) return;
+	Listener [] snapshot = listeners [index];
+	if (sending == null) {
+		sendingTypes = new int [GROW_SIZE];
+		sending = new Listener [GROW_SIZE][];
+	}
+	if (level == sending.length) {
+		sendingTypes = Arrays.copyOf (sendingTypes, level + GROW_SIZE);
+		sending = Arrays.copyOf (sending, level + GROW_SIZE);
+	}
+	sendingTypes [level] = eventType;
+	sending [level++] = snapshot;
+	ExceptionStash exceptions = null;
+	try {
+		for (Listener listener : snapshot) {
+			if (event.type == SWT.None) break;
+			if (listener != null) {
+				try {
+					listener.handleEvent (event);
+				} catch (Error | RuntimeException ex) {
+					if (exceptions == null) exceptions = new ExceptionStash ();
+					exceptions.stash (ex);
 				}
 			}
 		}
 	} finally {
-		boolean compact = level < 0;
-		level -= level >= 0 ? 1 : -1;
-		if (compact && level == 0) {
-			int index = 0;
-			for (int i=0; i<types.length; i++) {
-				if (types [i] != 0) {
-					types [index] = types [i];
-					listeners [index] = listeners [i];
-					index++;
-				}
-			}
-			for (int i=index; i<types.length; i++) {
-				types [i] = 0;
-				listeners [i] = null;
-			}
-		}
+		sending [--level] = null;
 	}
+	if (exceptions != null) exceptions.close ();
 }
 
 public int size () {
-	if (types == null) return 0;
-	int count = 0;
-	for (int type : types) {
-		if (type != 0) count++;
+	int size = 0;
+	for (int i=0; i<count; i++) {
+		size += listeners [i].length;
 	}
-	return count;
+	return size;
 }
 
-void remove (int index) {
-	if (level == 0) {
-		int end = types.length - 1;
-		System.arraycopy (types, index + 1, types, index, end - index);
-		System.arraycopy (listeners, index + 1, listeners, index, end - index);
-		index = end;
+void remove (int index, int position) {
+	int eventType = types [index];
+	Listener [] oldListeners = listeners [index];
+	Listener listener = oldListeners [position];
+	if (oldListeners.length == 1) {
+		System.arraycopy (types, index + 1, types, index, count - index - 1);
+		System.arraycopy (listeners, index + 1, listeners, index, count - index - 1);
+		count--;
+		types [count] = 0;
+		listeners [count] = null;
 	} else {
-		if (level > 0) level = -level;
+		Listener [] newListeners = new Listener [oldListeners.length - 1];
+		System.arraycopy (oldListeners, 0, newListeners, 0, position);
+		System.arraycopy (oldListeners, position + 1, newListeners, position, newListeners.length - position);
+		listeners [index] = newListeners;
+	}
+	for (int i=0; i<level; i++) {
+		if (sendingTypes [i] == eventType) {
+			Listener [] snapshot = sending [i];
+			for (int j=0; j<snapshot.length; j++) {
+				if (snapshot [j] == listener) {
+					snapshot [j] = null;
+					break;
+				}
+			}
+		}
 	}
-	types [index] = 0;
-	listeners [index] = null;
 }
 
 public void unhook (int eventType, Listener listener) {
-	if (types == null) return;
-	for (int i=0; i<types.length; i++) {
-		if (types [i] == eventType && listeners [i] == listener) {
-			remove (i);
+	int index = indexOf (eventType);
+	if (index == -1) return;
+	Listener [] snapshot = listeners [index];
+	for (int i=0; i<snapshot.length; i++) {
+		if (snapshot [i] == listener) {
+			remove (index, i);
 			return;
 		}
 	}
@@ -149,14 +171,14 @@ public void unhook (int eventType, Listener listener) {
 
 @SuppressWarnings("removal")
 public void unhook (int eventType, EventListener listener) {
-	if (types == null) return;
-	for (int i=0; i<types.length; i++) {
-		if (types [i] == eventType) {
-			if (listeners [i] instanceof TypedListener typedListener) {
-				if (typedListener.eventListener == listener) {
-					remove (i);
-					return;
-				}
+	int index = indexOf (eventType);
+	if (index == -1) return;
+	Listener [] snapshot = listeners [index];
+	for (int i=0; i<snapshot.length; i++) {
+		if (snapshot [i] instanceof TypedListener typedListener) {
+			if (typedListener.eventListener == listener) {
+				remove (index, i);
+				return;
 			}
 		}
 	}
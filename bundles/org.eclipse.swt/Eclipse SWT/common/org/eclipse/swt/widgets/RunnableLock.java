@@ -30,6 +30,32 @@ RunnableLock (Runnable runnable) {
 	this.runnable = runnable;
 }
 
+/*
+ * Runs every runnable of the batch before the first exception is passed
+ * to the handlers, since the default handlers rethrow it. Later exceptions
+ * are added to the first one as suppressed exceptions.
+ */
+static void runAll (Display display, Runnable [] batch) {
+	Throwable first = null;
+	for (Runnable runnable : batch) {
+		if (runnable == null) continue;
+		try {
+			runnable.run ();
+		} catch (RuntimeException | Error throwable) {
+			if (first == null) {
+				first = throwable;
+			} else {
+				first.addSuppressed (throwable);
+			}
+		}
+	}
+	if (first instanceof RuntimeException exception) {
+		display.getRuntimeExceptionHandler ().accept (exception);
+	} else if (first instanceof Error error) {
+		display.getErrorHandler ().accept (error);
+	}
+}
+
 boolean done () {
 	return runnable == null || throwable != null;
 }
@@ -15,6 +15,7 @@ package org.eclipse.swt.widgets;
 
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
 
 import org.eclipse.swt.*;
 import org.eclipse.swt.graphics.*;
@@ -40,9 +41,17 @@ import org.eclipse.swt.graphics.*;
 public class Synchronizer {
 	Display display;
 	final ConcurrentLinkedQueue<RunnableLock>  messages= new ConcurrentLinkedQueue<>();
+	final ConcurrentLinkedQueue<RunnableLock>  highMessages= new ConcurrentLinkedQueue<>();
+	final ConcurrentLinkedQueue<RunnableLock>  lowMessages= new ConcurrentLinkedQueue<>();
+	final Map<Object, Runnable> coalescedMessages = new LinkedHashMap<>();
+	final AtomicInteger messageCount = new AtomicInteger ();
+	volatile int lastDrainCount;
+	int lowMessagesSkipped;
 	Thread syncThread;
 	static final int GROW_SIZE = 4;
 	static final int MESSAGE_LIMIT = 64;
+	/* Number of messages run from the other lanes before a pending low priority message is run */
+	static final int LOW_PRIORITY_INTERVAL = 16;
 
 	//TEMPORARY CODE
 	static final boolean IS_COCOA = "cocoa".equals (SWT.getPlatform ());
@@ -64,18 +73,37 @@ public Synchronizer (Display display) {
  * @param toReceiveTheEvents the synchronizer that will receive the events
  */
 void moveAllEventsTo (Synchronizer toReceiveTheEvents) {
+	moveAllEvents(messages, toReceiveTheEvents.messages);
+	moveAllEvents(highMessages, toReceiveTheEvents.highMessages);
+	moveAllEvents(lowMessages, toReceiveTheEvents.lowMessages);
+	messageCount.set(0);
+	toReceiveTheEvents.messageCount.set(toReceiveTheEvents.messages.size()
+		+ toReceiveTheEvents.highMessages.size() + toReceiveTheEvents.lowMessages.size());
+}
+
+static void moveAllEvents (Queue<RunnableLock> from, Queue<RunnableLock> to) {
 	// Drain target queue and add it later again to insert at the beginning of the
 	// queue for backward compatibility:
 	java.util.List<RunnableLock> tail = new ArrayList<>();
-	toReceiveTheEvents.messages.removeIf(tail::add);
-	messages.removeIf(toReceiveTheEvents.messages::add);
-	toReceiveTheEvents.messages.addAll(tail);
+	to.removeIf(tail::add);
+	from.removeIf(to::add);
+	to.addAll(tail);
 }
 
-
 void addLast (RunnableLock lock) {
-	messages.add(lock);
-	if (messages.peek() == lock) display.wakeThread ();
+	addLast (lock, SWT.DEFAULT);
+}
+
+void addLast (RunnableLock lock, int priority) {
+	ConcurrentLinkedQueue<RunnableLock> queue;
+	switch (priority) {
+		case SWT.HIGH: queue = highMessages; break;
+		case SWT.LOW: queue = lowMessages; break;
+		default: queue = messages;
+	}
+	messageCount.incrementAndGet();
+	queue.add(lock);
+	if (queue.peek() == lock) display.wakeThread ();
 }
 
 /**
@@ -100,18 +128,164 @@ protected void asyncExec (Runnable runnable) {
 	addLast (new RunnableLock (runnable));
 }
 
+/**
+ * Causes the <code>run()</code> method of the runnable to
+ * be invoked by the user-interface thread at the next
+ * reasonable opportunity, using the given priority.
+ * <p>
+ * Messages with priority <code>SWT.HIGH</code> are run before
+ * all other pending messages, and messages with priority
+ * <code>SWT.LOW</code> are run after all other pending messages.
+ * To avoid starvation, a pending low priority message is run
+ * after every few messages of higher priority. Any other
+ * priority value is treated as <code>SWT.DEFAULT</code>.
+ * </p>
+ *
+ * @param runnable code to run on the user-interface thread.
+ * @param priority the priority of the runnable, one of <code>SWT.HIGH</code>,
+ *        <code>SWT.DEFAULT</code> or <code>SWT.LOW</code>
+ *
+ * @see #asyncExec(Runnable)
+ *
+ * @since 3.135
+ */
+protected void asyncExec (Runnable runnable, int priority) {
+	if (runnable == null) {
+		//TEMPORARY CODE
+		if (!(IS_GTK || IS_COCOA)) {
+			display.wake ();
+			return;
+		}
+	}
+	addLast (new RunnableLock (runnable), priority);
+}
+
+/**
+ * Causes the <code>run()</code> method of each runnable in the
+ * collection to be invoked by the user-interface thread at the next
+ * reasonable opportunity. The runnables are run in iteration order
+ * as a single message, so that they are bracketed by only one pair
+ * of pre and post events. An exception thrown by one runnable does
+ * not prevent the remaining runnables from running.
+ *
+ * @param runnables the code to run on the user-interface thread
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the collection is null</li>
+ * </ul>
+ *
+ * @see #asyncExec
+ *
+ * @since 3.135
+ */
+protected void asyncExecBatch (Collection<? extends Runnable> runnables) {
+	if (runnables == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	Runnable [] batch = runnables.toArray (new Runnable [0]);
+	if (batch.length == 0) return;
+	addLast (new RunnableLock (() -> RunnableLock.runAll (display, batch)));
+}
+
+/**
+ * Causes the <code>run()</code> method of the runnable to
+ * be invoked by the user-interface thread at the next
+ * reasonable opportunity. If a runnable posted with an equal
+ * key is still waiting to be run, it is replaced by the given
+ * runnable. All pending coalesced runnables are run as a single
+ * message, in the order in which their keys were first posted.
+ *
+ * @param key the key identifying the runnables to coalesce
+ * @param runnable code to run on the user-interface thread
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the key or the runnable is null</li>
+ * </ul>
+ *
+ * @see #asyncExec
+ *
+ * @since 3.135
+ */
+protected void asyncExecCoalesced (Object key, Runnable runnable) {
+	if (key == null || runnable == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	boolean schedule;
+	synchronized (coalescedMessages) {
+		schedule = coalescedMessages.isEmpty ();
+		coalescedMessages.put (key, runnable);
+	}
+	if (schedule) addLast (new RunnableLock (this::runCoalescedMessages));
+}
+
+/**
+ * Returns the number of messages that are waiting to be run
+ * by the user-interface thread.
+ *
+ * @return the number of pending messages
+ *
+ * @see Display#setAsyncBudget(long)
+ *
+ * @since 3.135
+ */
+public int getMessageCount () {
+	return Math.max (0, messageCount.get ());
+}
+
+/**
+ * Returns the number of messages that were run by the most
+ * recent iteration of the user-interface thread that found
+ * pending messages.
+ *
+ * @return the number of messages run in the last non-empty iteration
+ *
+ * @see Display#setAsyncBudget(long)
+ *
+ * @since 3.135
+ */
+public int getLastDrainCount () {
+	return lastDrainCount;
+}
+
 boolean isMessagesEmpty() {
-	return messages.isEmpty();
+	return messages.isEmpty() && highMessages.isEmpty() && lowMessages.isEmpty();
 }
 
 void releaseSynchronizer () {
 	display = null;
 	messages.clear();
+	highMessages.clear();
+	lowMessages.clear();
+	messageCount.set(0);
+	synchronized (coalescedMessages) {
+		coalescedMessages.clear();
+	}
 	syncThread = null;
 }
 
 RunnableLock removeFirst () {
-	return messages.poll();
+	RunnableLock lock = null;
+	if (lowMessagesSkipped >= LOW_PRIORITY_INTERVAL) {
+		lowMessagesSkipped = 0;
+		lock = lowMessages.poll();
+	}
+	if (lock == null) {
+		lock = highMessages.poll();
+		if (lock == null) lock = messages.poll();
+		if (lock == null) {
+			lowMessagesSkipped = 0;
+			lock = lowMessages.poll();
+		} else if (!lowMessages.isEmpty()) {
+			lowMessagesSkipped++;
+		}
+	}
+	if (lock != null) messageCount.decrementAndGet();
+	return lock;
+}
+
+void runCoalescedMessages () {
+	Runnable [] batch;
+	synchronized (coalescedMessages) {
+		batch = coalescedMessages.values ().toArray (new Runnable [0]);
+		coalescedMessages.clear ();
+	}
+	RunnableLock.runAll (display, batch);
 }
 
 boolean runAsyncMessages () {
@@ -119,11 +293,15 @@ boolean runAsyncMessages () {
 }
 
 boolean runAsyncMessages (boolean all) {
+	long budget = all || display == null ? 0 : display.asyncBudget;
+	long start = budget > 0 ? System.nanoTime () : 0;
+	int drained = 0;
 	boolean run = false;
 	do {
 		RunnableLock lock = removeFirst ();
-		if (lock == null) return run;
+		if (lock == null) break;
 		run = true;
+		drained++;
 		synchronized (lock) {
 			syncThread = lock.thread;
 			display.sendPreEvent(SWT.None);
@@ -140,7 +318,8 @@ boolean runAsyncMessages (boolean all) {
 				lock.notifyAll ();
 			}
 		}
-	} while (all);
+	} while (all || (budget > 0 && System.nanoTime () - start < budget));
+	if (drained > 0) lastDrainCount = drained;
 	return run;
 }
 
@@ -132,12 +132,13 @@ public final class Image extends Resource implements Drawable {
 	GC memGC;
 
 	/**
-	 * The width of the image.
+	 * The width of the image in points, or -1 if it is not known. GC reads
+	 * it when drawing, instead of reading back the pixels of the surface.
 	 */
 	int width = -1;
 
 	/**
-	 * The height of the image.
+	 * The height of the image in points, or -1 if it is not known.
 	 */
 	int height = -1;
 
@@ -798,19 +799,42 @@ private void initFromFileNameProvider(int zoom) {
 		initNative(fileForZoom.element());
 	}
 	if (this.surface == 0) {
+		init(loadImageDataFromFile(fileForZoom, zoom));
+	}
+}
+
+private void initFromImageDataProvider(int zoom) {
+	init(loadImageDataFromProvider(zoom));
+}
+
+/**
+ * Returns the image data of the provider scaled to the zoom. The result
+ * is shared through the ImageDataCache and must not be modified.
+ */
+private ImageData loadImageDataFromProvider(int zoom) {
+	Supplier<ImageData> loader = () -> {
+		ElementAtZoom<ImageData> data = DPIUtil.validateAndGetImageDataAtZoom (imageDataProvider, zoom);
+		return DPIUtil.scaleImageData (device, data.element(), zoom, data.zoom());
+	};
+	if (!device.isAutoScalable()) return loader.get();
+	return ImageDataCache.get(imageDataProvider, zoom, loader);
+}
+
+/**
+ * Returns the image data of the file scaled to the zoom. The result is
+ * shared through the ImageDataCache and must not be modified.
+ */
+private ImageData loadImageDataFromFile(ElementAtZoom<String> fileForZoom, int zoom) {
+	Supplier<ImageData> loader = () -> {
 		ElementAtZoom<ImageData> imageDataAtZoom = ImageDataLoader.loadByZoom(fileForZoom.element(), fileForZoom.zoom(), zoom);
 		ImageData imageData = imageDataAtZoom.element();
 		if (imageDataAtZoom.zoom() != zoom) {
 			imageData = DPIUtil.scaleImageData(device, imageDataAtZoom, zoom);
 		}
-		init(imageData);
-	}
-}
-
-private void initFromImageDataProvider(int zoom) {
-	ElementAtZoom<ImageData> data = DPIUtil.validateAndGetImageDataAtZoom (imageDataProvider, zoom);
-	ImageData resizedData = DPIUtil.scaleImageData (device, data.element(), zoom, data.zoom());
-	init(resizedData);
+		return imageData;
+	};
+	if (!device.isAutoScalable()) return loader.get();
+	return ImageDataCache.getForFile(fileForZoom.element(), zoom, loader);
 }
 
 private static ImageDataProvider createImageDataProvider(InputStream stream) throws IOException {
@@ -969,30 +993,17 @@ void destroy() {
 private CachedImageAtSize cachedImageAtSize = new CachedImageAtSize();
 
 private class CachedImageAtSize {
-	private Image image;
+	private final ImageAtSizeCache images = new ImageAtSizeCache();
 
 	public void destroy() {
-		if (image != null) {
-			image.dispose();
-			image = null;
-		}
+		images.destroy();
 	}
 
 	private Optional<Image> refresh(int destWidth, int destHeight) {
-		int scaledWidth = DPIUtil.pointToPixel(destWidth, DPIUtil.getDeviceZoom());
-		int scaledHeight = DPIUtil.pointToPixel(destHeight, DPIUtil.getDeviceZoom());
-		if (isReusable(scaledWidth, scaledHeight)) {
-			return Optional.of(image);
-		} else {
-			destroy();
-			Optional<Image> imageAtSize = loadImageAtSize(scaledWidth, scaledHeight);
-			image = imageAtSize.orElse(null);
-			return imageAtSize;
-		}
-	}
-
-	private boolean isReusable(int width, int height) {
-		return image != null && image.height == height && image.width == width;
+		int zoom = DPIUtil.getDeviceZoom();
+		int scaledWidth = DPIUtil.pointToPixel(destWidth, zoom);
+		int scaledHeight = DPIUtil.pointToPixel(destHeight, zoom);
+		return Optional.ofNullable(images.get(scaledWidth, scaledHeight, zoom, () -> loadImageAtSize(scaledWidth, scaledHeight).orElse(null)));
 	}
 
 	private Optional<Image> loadImageAtSize(int destWidth, int destHeight) {
@@ -1258,11 +1269,10 @@ public ImageData getImageData (int zoom) {
 	if (zoom == currentDeviceZoom) {
 		return getImageDataAtCurrentZoom();
 	} else if (imageDataProvider != null) {
-		ElementAtZoom<ImageData> data = DPIUtil.validateAndGetImageDataAtZoom (imageDataProvider, zoom);
-		return DPIUtil.scaleImageData (device, data.element(), zoom, data.zoom());
+		return (ImageData) loadImageDataFromProvider(zoom).clone();
 	} else if (imageFileNameProvider != null) {
 		ElementAtZoom<String> fileName = DPIUtil.validateAndGetImagePathAtZoom (imageFileNameProvider, zoom);
-		return DPIUtil.scaleImageData (device, new ImageData (fileName.element()), zoom, fileName.zoom());
+		return (ImageData) loadImageDataFromFile(fileName, zoom).clone();
 	} else if (imageGcDrawer != null) {
 		return drawWithImageGcDrawer(width, height, zoom);
 	} else {
@@ -1464,6 +1474,10 @@ private void init(ImageData image, int zoom) {
 				buffer, destDepth, stride, destOrder, redMask, greenMask, blueMask);
 		}
 	}
+	if (hasAlpha && buffer == image.data) {
+		/* The alpha is premultiplied in place, do not modify the image data of the caller */
+		buffer = buffer.clone();
+	}
 	boolean isIcon = image.getTransparencyType() == SWT.TRANSPARENCY_MASK;
 	this.type = isIcon ? SWT.ICON : SWT.BITMAP;
 	if (isIcon || image.transparentPixel != -1) {
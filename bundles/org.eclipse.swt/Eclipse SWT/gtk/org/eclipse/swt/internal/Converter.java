@@ -17,6 +17,7 @@ package org.eclipse.swt.internal;
 import java.io.*;
 import java.nio.*;
 import java.nio.charset.*;
+import java.util.*;
 
 import org.eclipse.swt.internal.gtk.*;
 
@@ -91,6 +92,11 @@ import org.eclipse.swt.internal.gtk.*;
  * - I suggest using Java functions where possible to avoid memory leaks.
  *   (Yes, they happen and are big-pain-in-the-ass to find https://bugs.eclipse.org/bugs/show_bug.cgi?id=533995)
  *
+ * - mbcsToWcs(byte[]) and wcsToMbcs(char[], boolean) convert in Java and do not call into glib.
+ *   They follow the behavior of g_utf8_to_utf16/g_utf16_to_utf8 as called by SWT: conversion stops at the
+ *   first NULL character and invalid input results in an empty array. The glib based implementations are
+ *   still available as mbcsToWcsNative(byte[]) and wcsToMbcsNative(char[], boolean).
+ *
  *
  * Learning about encoding:
  * #########################
@@ -119,6 +125,10 @@ public final class Converter {
 	public static final byte [] EmptyByteArray = new byte [0];
 	public static final char [] EmptyCharArray = new char [0];
 
+	/* Thread confined buffer that receives the characters of a String before it is encoded */
+	static final ThreadLocal<char []> CHAR_BUFFER = ThreadLocal.withInitial (() -> new char [256]);
+	static final int MAX_BUFFER_SIZE = 64 * 1024;
+
 
 /**
  * Convert a "C" multibyte UTF-8 string byte array into a Java UTF-16 Wide character array.
@@ -127,6 +137,76 @@ public final class Converter {
  * @return char array representing the string. Usually used for String construction like: new String(mbcsToWcs(..))
  */
 public static char [] mbcsToWcs (byte [] buffer) {
+	int length = buffer.length;
+	/* ASCII fast path */
+	int ascii = 0;
+	while (ascii < length && buffer [ascii] > 0) ascii++;
+	if (ascii == length || buffer [ascii] == 0) {
+		if (ascii == 0) return EmptyCharArray;
+		char [] chars = new char [ascii];
+		for (int i = 0; i < ascii; i++) chars [i] = (char) buffer [i];
+		return chars;
+	}
+	char [] chars = new char [length];
+	for (int i = 0; i < ascii; i++) chars [i] = (char) buffer [i];
+	int count = ascii;
+	int index = ascii;
+	while (index < length) {
+		int lead = buffer [index] & 0xFF;
+		if (lead == 0) break;
+		if (lead < 0x80) {
+			chars [count++] = (char) lead;
+			index++;
+			continue;
+		}
+		int trail, codePoint, min;
+		if (lead >= 0xC2 && lead <= 0xDF) {
+			trail = 1;
+			codePoint = lead & 0x1F;
+			min = 0x80;
+		} else if (lead >= 0xE0 && lead <= 0xEF) {
+			trail = 2;
+			codePoint = lead & 0x0F;
+			min = 0x800;
+		} else if (lead >= 0xF0 && lead <= 0xF4) {
+			trail = 3;
+			codePoint = lead & 0x07;
+			min = 0x10000;
+		} else {
+			return EmptyCharArray;
+		}
+		/* Truncated sequences are invalid, like in g_utf8_to_utf16() without items_read */
+		if (index + trail >= length) return EmptyCharArray;
+		for (int i = 1; i <= trail; i++) {
+			int next = buffer [index + i] & 0xFF;
+			if ((next & 0xC0) != 0x80) return EmptyCharArray;
+			codePoint = (codePoint << 6) | (next & 0x3F);
+		}
+		if (codePoint < min || codePoint > 0x10FFFF || (codePoint >= 0xD800 && codePoint <= 0xDFFF)) {
+			return EmptyCharArray;
+		}
+		if (codePoint >= 0x10000) {
+			chars [count++] = Character.highSurrogate (codePoint);
+			chars [count++] = Character.lowSurrogate (codePoint);
+		} else {
+			chars [count++] = (char) codePoint;
+		}
+		index += trail + 1;
+	}
+	return count == length ? chars : Arrays.copyOf (chars, count);
+}
+
+/**
+ * Convert a "C" multibyte UTF-8 string byte array into a Java UTF-16 Wide character array
+ * using <code>g_utf8_to_utf16</code>.
+ * <p>
+ * This is the native counterpart of {@link #mbcsToWcs(byte[])} and is kept for comparison.
+ * </p>
+ *
+ * @param buffer - byte buffer with C bytes representing a string.
+ * @return char array representing the string.
+ */
+public static char [] mbcsToWcsNative (byte [] buffer) {
 	long [] items_written = new long [1];
 	long ptr = OS.g_utf8_to_utf16 (buffer, buffer.length, null, items_written, null);
 	if (ptr == 0) return EmptyCharArray;
@@ -150,9 +230,18 @@ public static char [] mbcsToWcs (byte [] buffer) {
  */
 public static byte [] wcsToMbcs (String string, boolean terminate) {
 	int length = string.length ();
-	char [] buffer = new char [length];
+	if (length > MAX_BUFFER_SIZE) {
+		char [] buffer = new char [length];
+		string.getChars (0, length, buffer, 0);
+		return wcsToMbcs (buffer, length, terminate);
+	}
+	char [] buffer = CHAR_BUFFER.get ();
+	if (buffer.length < length) {
+		buffer = new char [Math.max (length, buffer.length * 2)];
+		CHAR_BUFFER.set (buffer);
+	}
 	string.getChars (0, length, buffer, 0);
-	return wcsToMbcs (buffer, terminate);
+	return wcsToMbcs (buffer, length, terminate);
 }
 
 /**
@@ -201,6 +290,77 @@ public static String cCharPtrToJavaString(long cCharPtr, boolean freecCharPtr) {
  * @return byte array that can be passed to a native function.
  */
 public static byte [] wcsToMbcs (char [] chars, boolean terminate) {
+	return wcsToMbcs (chars, chars.length, terminate);
+}
+
+static byte [] wcsToMbcs (char [] chars, int length, boolean terminate) {
+	/* Compute the length of the result, stopping at the first NULL character */
+	int end = 0, size = 0;
+	boolean ascii = true;
+	for (; end < length; end++) {
+		char ch = chars [end];
+		if (ch == 0) break;
+		if (ch < 0x80) {
+			size++;
+		} else if (ch < 0x800) {
+			size += 2;
+			ascii = false;
+		} else if (Character.isHighSurrogate (ch)) {
+			ascii = false;
+			if (end + 1 == length || chars [end + 1] == 0) {
+				/* A trailing partial character is dropped, like in g_utf16_to_utf8() with items_read */
+				break;
+			}
+			if (!Character.isLowSurrogate (chars [end + 1])) return terminate ? NullByteArray : EmptyByteArray;
+			size += 4;
+			end++;
+		} else if (Character.isLowSurrogate (ch)) {
+			return terminate ? NullByteArray : EmptyByteArray;
+		} else {
+			size += 3;
+			ascii = false;
+		}
+	}
+	byte [] bytes = new byte [size + (terminate ? 1 : 0)];
+	if (ascii) {
+		for (int i = 0; i < end; i++) bytes [i] = (byte) chars [i];
+		return bytes;
+	}
+	int index = 0;
+	for (int i = 0; i < end; i++) {
+		char ch = chars [i];
+		if (ch < 0x80) {
+			bytes [index++] = (byte) ch;
+		} else if (ch < 0x800) {
+			bytes [index++] = (byte) (0xC0 | (ch >> 6));
+			bytes [index++] = (byte) (0x80 | (ch & 0x3F));
+		} else if (Character.isHighSurrogate (ch)) {
+			int codePoint = Character.toCodePoint (ch, chars [++i]);
+			bytes [index++] = (byte) (0xF0 | (codePoint >> 18));
+			bytes [index++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+			bytes [index++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+			bytes [index++] = (byte) (0x80 | (codePoint & 0x3F));
+		} else {
+			bytes [index++] = (byte) (0xE0 | (ch >> 12));
+			bytes [index++] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+			bytes [index++] = (byte) (0x80 | (ch & 0x3F));
+		}
+	}
+	return bytes;
+}
+
+/**
+ * Convert a Java UTF-16 Wide character array into a C UTF-8 Multibyte byte array
+ * using <code>g_utf16_to_utf8</code>.
+ * <p>
+ * This is the native counterpart of {@link #wcsToMbcs(char[], boolean)} and is kept for comparison.
+ * </p>
+ *
+ * @param chars - a regular Java String
+ * @param terminate - if <code>true</code> the byte buffer should be terminated with a null character.
+ * @return byte array that can be passed to a native function.
+ */
+public static byte [] wcsToMbcsNative (char [] chars, boolean terminate) {
 	long [] items_read = new long [1], items_written = new long [1];
 	/*
 	* Note that g_utf16_to_utf8()  stops converting
@@ -125,6 +125,7 @@ public class Display extends Device implements Executor {
 	Widget [] gdkEventWidgets;
 	int [] dispatchEvents;
 	Event [] eventQueue;
+	int eventQueueStart, eventQueueCount;
 	long fds;
 	int allocated_nfds;
 	boolean wake;
@@ -162,6 +163,8 @@ public class Display extends Device implements Executor {
 	long lastHandle;
 	Widget lastWidget;
 	Widget [] widgetTable;
+	/* Maps handles to widgets without reading SWT_OBJECT_INDEX from the native object */
+	LongObjectHashMap<Widget> widgetMap;
 	final static int GROW_SIZE = 1024;
 	static final int SWT_OBJECT_INDEX;
 	static final int SWT_OBJECT_INDEX1;
@@ -196,6 +199,7 @@ public class Display extends Device implements Executor {
 
 	/* Sync/Async Widget Communication */
 	Synchronizer synchronizer = new Synchronizer (this);
+	long asyncBudget;
 	Consumer<RuntimeException> runtimeExceptionHandler = DefaultExceptionHandler.RUNTIME_EXCEPTION_HANDLER;
 	Consumer<Error> errorHandler = DefaultExceptionHandler.RUNTIME_ERROR_HANDLER;
 	Thread thread;
@@ -234,8 +238,19 @@ public class Display extends Device implements Executor {
 	TrayItem currentTrayItem;
 
 	/* Timers */
-	int [] timerIds;
+	int [] timerIds, timerNext, timerPrev;
+	long [] timerTicks;
 	Runnable [] timerList;
+	int timerCount, timerFreeIndex = -1;
+	Map<Runnable, Integer> timerIndices = new IdentityHashMap<> ();
+	Map<Long, int []> timerWheel = new HashMap<> ();
+	/*
+	* Granularity of the coalescing timer wheel in milliseconds, read when the
+	* display is created. When positive, timers that are due within the same
+	* tick share a single GLib timeout source and may fire up to one tick late.
+	* Zero gives every timer its own source.
+	*/
+	int timerTick = Math.max (0, Integer.getInteger ("org.eclipse.swt.internal.gtk.timerTick", 0)); //$NON-NLS-1$
 	Callback timerCallback;
 	long timerProc;
 	Callback windowTimerCallback;
@@ -718,6 +733,22 @@ void addGdkEvent (long event) {
 	gdkEventCount++;
 }
 
+/*
+ * Adds the idle proc if it is needed and was removed, so that
+ * the messages of the synchronizer are run.
+ */
+void ensureIdleProc () {
+	synchronized (idleLock) {
+		if (idleNeeded && idleHandle == 0) {
+			if (GTK.GTK4) {
+				idleHandle = OS.g_idle_add (idleProc, 0);
+			} else {
+				idleHandle = GDK.gdk_threads_add_idle (idleProc, 0);
+			}
+		}
+	}
+}
+
 void addIdleProc() {
 	synchronized (idleLock){
 		this.idleNeeded = true;
@@ -895,6 +926,7 @@ void addWidget (long handle, Widget widget) {
 		SWT.error(SWT.ERROR_INVALID_ARGUMENT, null, ". Trying to override non empty slot with " + widget + debugInfoForIndex(oldSlot));
 	}
 	widgetTable [oldSlot] = widget;
+	widgetMap.put (handle, widget);
 }
 
 /**
@@ -922,20 +954,127 @@ void addWidget (long handle, Widget widget) {
 public void asyncExec (Runnable runnable) {
 	synchronized (Device.class) {
 		if (isDisposed ()) error (SWT.ERROR_DEVICE_DISPOSED);
-		synchronized (idleLock) {
-			if (idleNeeded && idleHandle == 0) {
-				if (GTK.GTK4) {
-					idleHandle = OS.g_idle_add (idleProc, 0);
-				} else {
-					idleHandle = GDK.gdk_threads_add_idle (idleProc, 0);
-				}
-
-			}
-		}
+		ensureIdleProc ();
 		synchronizer.asyncExec (runnable);
 	}
 }
 
+/**
+ * Causes the <code>run()</code> method of the runnable to
+ * be invoked by the user-interface thread at the next
+ * reasonable opportunity, using the given priority. The caller
+ * of this method continues to run in parallel, and is not notified
+ * when the runnable has completed.  Specifying <code>null</code> as
+ * the runnable simply wakes the user-interface thread when run.
+ * <p>
+ * Runnables posted with priority <code>SWT.HIGH</code>, such as
+ * user-visible updates, are run before all other pending runnables.
+ * Runnables posted with priority <code>SWT.LOW</code>, such as
+ * background model updates, are run after all other pending
+ * runnables, but are never starved completely. A priority of
+ * <code>SWT.DEFAULT</code> is equivalent to {@link #asyncExec(Runnable)}.
+ * </p>
+ * <p>
+ * Note that at the time the runnable is invoked, widgets
+ * that have the receiver as their display may have been
+ * disposed. Therefore, it is necessary to check for this
+ * case inside the runnable before accessing the widget.
+ * </p>
+ *
+ * @param runnable code to run on the user-interface thread or <code>null</code>
+ * @param priority the priority of the runnable, one of <code>SWT.HIGH</code>,
+ *        <code>SWT.DEFAULT</code> or <code>SWT.LOW</code>
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #asyncExec(Runnable)
+ *
+ * @since 3.135
+ */
+public void asyncExec (Runnable runnable, int priority) {
+	synchronized (Device.class) {
+		if (isDisposed ()) error (SWT.ERROR_DEVICE_DISPOSED);
+		ensureIdleProc ();
+		synchronizer.asyncExec (runnable, priority);
+	}
+}
+
+/**
+ * Causes the <code>run()</code> method of each runnable in the
+ * collection to be invoked by the user-interface thread at the next
+ * reasonable opportunity. The runnables are run in iteration order
+ * as a single message, which is considerably cheaper than calling
+ * {@link #asyncExec(Runnable)} for each of them. The caller of this
+ * method continues to run in parallel, and is not notified when the
+ * runnables have completed.
+ * <p>
+ * Note that at the time the runnables are invoked, widgets
+ * that have the receiver as their display may have been
+ * disposed. Therefore, it is necessary to check for this
+ * case inside the runnables before accessing the widget.
+ * </p>
+ *
+ * @param runnables code to run on the user-interface thread
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the collection is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #asyncExec
+ *
+ * @since 3.135
+ */
+public void asyncExecBatch (Collection<? extends Runnable> runnables) {
+	synchronized (Device.class) {
+		if (isDisposed ()) error (SWT.ERROR_DEVICE_DISPOSED);
+		ensureIdleProc ();
+		synchronizer.asyncExecBatch (runnables);
+	}
+}
+
+/**
+ * Causes the <code>run()</code> method of the runnable to
+ * be invoked by the user-interface thread at the next
+ * reasonable opportunity. If a runnable that was posted with
+ * an equal key has not been run yet, it is replaced by the given
+ * runnable, so that only the most recent runnable for a key is run.
+ * All pending coalesced runnables are run as a single message.
+ * The caller of this method continues to run in parallel, and is
+ * not notified when the runnable has completed.
+ * <p>
+ * Note that at the time the runnable is invoked, widgets
+ * that have the receiver as their display may have been
+ * disposed. Therefore, it is necessary to check for this
+ * case inside the runnable before accessing the widget.
+ * </p>
+ *
+ * @param key the key identifying the runnables to coalesce
+ * @param runnable code to run on the user-interface thread
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the key or the runnable is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #asyncExec
+ *
+ * @since 3.135
+ */
+public void asyncExecCoalesced (Object key, Runnable runnable) {
+	synchronized (Device.class) {
+		if (isDisposed ()) error (SWT.ERROR_DEVICE_DISPOSED);
+		ensureIdleProc ();
+		synchronizer.asyncExecCoalesced (key, runnable);
+	}
+}
+
 /**
  * Executes the given runnable in the user-interface thread of this Display.
  * <ul>
@@ -1789,6 +1928,26 @@ public Shell getActiveShell () {
 	return activeShell;
 }
 
+/**
+ * Returns the time budget, in nanoseconds, that the receiver may
+ * spend running messages posted by <code>asyncExec</code> and
+ * <code>syncExec</code> in a single call to <code>readAndDispatch</code>.
+ *
+ * @return the time budget in nanoseconds, or zero if only one message is run per call
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #setAsyncBudget(long)
+ *
+ * @since 3.135
+ */
+public long getAsyncBudget () {
+	checkDevice ();
+	return asyncBudget;
+}
+
 /**
  * Returns a rectangle describing the receiver's size and location. Note that
  * on multi-monitor systems the origin can be negative.
@@ -3506,12 +3665,12 @@ public boolean getTouchEnabled() {
 Widget getWidget (long handle) {
 	if (handle == 0) return null;
 	if (lastWidget != null && lastHandle == handle) return lastWidget;
-	long index = OS.g_object_get_qdata (handle, SWT_OBJECT_INDEX) - 1;
-	if (0 <= index && index < widgetTable.length) {
+	Widget widget = widgetMap.get (handle);
+	if (widget != null) {
 		lastHandle = handle;
-		return lastWidget = widgetTable [(int)index];
+		lastWidget = widget;
 	}
-	return null;
+	return widget;
 }
 
 long idleProc (long data) {
@@ -3884,6 +4043,7 @@ void initializeWidgetTable () {
 	widgetTable = new Widget [GROW_SIZE];
 	for (int i=0; i<GROW_SIZE-1; i++) indexTable [i] = i + 1;
 	indexTable [GROW_SIZE - 1] = -1;
+	widgetMap = new LongObjectHashMap<> (GROW_SIZE);
 }
 
 void initializeSessionManager() {
@@ -4448,20 +4608,25 @@ void postEvent (Event event) {
 	* This code is always called in the Display's
 	* thread so it must be re-enterant but does not
 	* need to be synchronized.
+	*
+	* The queue is a circular buffer whose length is
+	* always a power of two.
 	*/
-	if (eventQueue == null) eventQueue = new Event [4];
-	int index = 0;
-	int length = eventQueue.length;
-	while (index < length) {
-		if (eventQueue [index] == null) break;
-		index++;
+	if (eventQueue == null) {
+		eventQueue = new Event [4];
+		eventQueueStart = eventQueueCount = 0;
 	}
-	if (index == length) {
-		Event [] newQueue = new Event [length + 4];
-		System.arraycopy (eventQueue, 0, newQueue, 0, length);
+	int length = eventQueue.length;
+	if (eventQueueCount == length) {
+		Event [] newQueue = new Event [length * 2];
+		int head = length - eventQueueStart;
+		System.arraycopy (eventQueue, eventQueueStart, newQueue, 0, head);
+		System.arraycopy (eventQueue, 0, newQueue, head, eventQueueStart);
 		eventQueue = newQueue;
+		eventQueueStart = 0;
+		length = newQueue.length;
 	}
-	eventQueue [index] = event;
+	eventQueue [(eventQueueStart + eventQueueCount++) & (length - 1)] = event;
 }
 
 void putGdkEvents () {
@@ -4764,8 +4929,16 @@ void releaseDisplay () {
 			if (timerIds [i] != 0) OS.g_source_remove (timerIds [i]);
 		}
 	}
-	timerIds = null;
+	for (int [] bucket : timerWheel.values ()) {
+		if (bucket [1] != 0) OS.g_source_remove (bucket [1]);
+	}
+	timerIds = timerNext = timerPrev = null;
+	timerTicks = null;
 	timerList = null;
+	timerIndices.clear ();
+	timerWheel.clear ();
+	timerCount = 0;
+	timerFreeIndex = -1;
 	timerProc = 0;
 	timerCallback.dispose ();
 	timerCallback = null;
@@ -4881,6 +5054,7 @@ void releaseDisplay () {
 	flushData = closures = null;
 	indexTable = signalIds = null;
 	widgetTable = modalShells = null;
+	widgetMap = null;
 	data = null;
 	values = keys = null;
 	eventTable = filterTable = null;
@@ -5026,6 +5200,7 @@ Widget removeWidget (long handle) {
 		indexTable [index] = freeSlot;
 		freeSlot = index;
 		OS.g_object_set_qdata (handle, SWT_OBJECT_INDEX, 0);
+		widgetMap.remove (handle);
 
 		if(widget == null) {
 			SWT.error(SWT.ERROR_INVALID_ARGUMENT, null, ". Widget already released" + debugInfoForIndex(index));
@@ -5057,6 +5232,9 @@ void dpiChanged(int newScaleFactor) {
 String dumpWidgetTableInfo() {
 	StringBuilder sb = new StringBuilder(", table size: ");
 	sb.append(widgetTable.length);
+	sb.append(", map size: ").append(widgetMap.size());
+	sb.append(", map capacity: ").append(widgetMap.capacity());
+	sb.append(", max probe length: ").append(widgetMap.maxProbeLength());
 	IdentityHashMap<Widget, Collection<Integer>> disposed = new IdentityHashMap<>();
 	for (int i = 0; i < widgetTable.length; i++) {
 		Widget w = widgetTable[i];
@@ -5088,11 +5266,11 @@ boolean runDeferredEvents () {
 	while (eventQueue != null) {
 
 		/* Take an event off the queue */
-		Event event = eventQueue [0];
-		if (event == null) break;
-		int length = eventQueue.length;
-		System.arraycopy (eventQueue, 1, eventQueue, 0, --length);
-		eventQueue [length] = null;
+		if (eventQueueCount == 0) break;
+		Event event = eventQueue [eventQueueStart];
+		eventQueue [eventQueueStart] = null;
+		eventQueueStart = (eventQueueStart + 1) & (eventQueue.length - 1);
+		eventQueueCount--;
 
 		/* Run the event */
 		Widget widget = event.widget;
@@ -5113,6 +5291,7 @@ boolean runDeferredEvents () {
 
 	/* Clear the queue */
 	eventQueue = null;
+	eventQueueStart = eventQueueCount = 0;
 	return run;
 }
 
@@ -5250,6 +5429,42 @@ public static void setAppVersion (String version) {
 	APP_VERSION = version;
 }
 
+/**
+ * Sets the time budget, in nanoseconds, that the receiver may
+ * spend running messages posted by <code>asyncExec</code> and
+ * <code>syncExec</code> in a single call to <code>readAndDispatch</code>.
+ * <p>
+ * By default the budget is zero and only one message is run per
+ * call. With a positive budget, messages are run until the queue
+ * is empty or the budget is used up, after which control returns
+ * to the platform event loop so that input events can be handled.
+ * At least one message is always run. The number of pending and
+ * drained messages can be queried from the display's
+ * {@link Synchronizer} to tune the budget.
+ * </p>
+ *
+ * @param nanos the time budget in nanoseconds, or zero to run one message per call
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_INVALID_ARGUMENT - if the budget is negative</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #getAsyncBudget()
+ * @see Synchronizer#getMessageCount()
+ * @see Synchronizer#getLastDrainCount()
+ *
+ * @since 3.135
+ */
+public void setAsyncBudget (long nanos) {
+	checkDevice ();
+	if (nanos < 0) error (SWT.ERROR_INVALID_ARGUMENT);
+	asyncBudget = nanos;
+}
+
 /**
  * Sets the location of the on-screen pointer relative to the top left corner
  * of the screen.  <b>Note: It is typically considered bad practice for a
@@ -5713,33 +5928,13 @@ public boolean sleep () {
 public void timerExec (int milliseconds, Runnable runnable) {
 	checkDevice ();
 	if (runnable == null) error (SWT.ERROR_NULL_ARGUMENT);
-	if (timerList == null) timerList = new Runnable [4];
-	if (timerIds == null) timerIds = new int [4];
-	int index = 0;
-	while (index < timerList.length) {
-		if (timerList [index] == runnable) break;
-		index++;
-	}
-	if (index != timerList.length) {
-		OS.g_source_remove (timerIds [index]);
-		timerList [index] = null;
-		timerIds [index] = 0;
-		if (milliseconds < 0) return;
-	} else {
-		if (milliseconds < 0) return;
-		index = 0;
-		while (index < timerList.length) {
-			if (timerList [index] == null) break;
-			index++;
-		}
-		if (index == timerList.length) {
-			Runnable [] newTimerList = new Runnable [timerList.length + 4];
-			System.arraycopy (timerList, 0, newTimerList, 0, timerList.length);
-			timerList = newTimerList;
-			int [] newTimerIds = new int [timerIds.length + 4];
-			System.arraycopy (timerIds, 0, newTimerIds, 0, timerIds.length);
-			timerIds = newTimerIds;
-		}
+	Integer existing = timerIndices.get (runnable);
+	if (existing != null) removeTimer (existing);
+	if (milliseconds < 0) return;
+	int index = addTimer (runnable);
+	if (timerTick > 0) {
+		addTimerToWheel (index, milliseconds);
+		return;
 	}
 	int timerId;
 	if (GTK.GTK4) {
@@ -5747,26 +5942,154 @@ public void timerExec (int milliseconds, Runnable runnable) {
 	} else {
 		timerId = GDK.gdk_threads_add_timeout (milliseconds, timerProc, index);
 	}
-	if (timerId == 0) SWT.error (SWT.ERROR_NO_HANDLES);
+	if (timerId == 0) {
+		releaseTimer (index);
+		SWT.error (SWT.ERROR_NO_HANDLES);
+	}
 	timerIds [index] = timerId;
+}
+
+int addTimer (Runnable runnable) {
+	int index = timerFreeIndex;
+	if (index != -1) {
+		timerFreeIndex = timerNext [index];
+	} else {
+		if (timerList == null) {
+			timerList = new Runnable [4];
+			timerIds = new int [4];
+			timerNext = new int [4];
+			timerPrev = new int [4];
+			timerTicks = new long [4];
+		}
+		index = timerCount++;
+		if (index == timerList.length) {
+			int length = timerList.length * 2;
+			timerList = Arrays.copyOf (timerList, length);
+			timerIds = Arrays.copyOf (timerIds, length);
+			timerNext = Arrays.copyOf (timerNext, length);
+			timerPrev = Arrays.copyOf (timerPrev, length);
+			timerTicks = Arrays.copyOf (timerTicks, length);
+		}
+	}
 	timerList [index] = runnable;
+	timerIndices.put (runnable, index);
+	return index;
+}
+
+void addTimerToWheel (int index, int milliseconds) {
+	long now = System.nanoTime () / 1000000;
+	long tick = (now + milliseconds + timerTick - 1) / timerTick;
+	timerTicks [index] = tick;
+	int [] bucket = timerWheel.get (tick);
+	if (bucket == null) {
+		int delay = (int) Math.max (0, tick * timerTick - now);
+		int timerId;
+		if (GTK.GTK4) {
+			timerId = OS.g_timeout_add (delay, timerProc, tick);
+		} else {
+			timerId = GDK.gdk_threads_add_timeout (delay, timerProc, tick);
+		}
+		if (timerId == 0) {
+			releaseTimer (index);
+			SWT.error (SWT.ERROR_NO_HANDLES);
+		}
+		timerNext [index] = timerPrev [index] = index;
+		timerWheel.put (tick, new int [] {index, timerId});
+	} else {
+		/* Append to the circular list of the bucket to keep the scheduling order */
+		int head = bucket [0], tail = timerPrev [head];
+		timerNext [tail] = index;
+		timerPrev [index] = tail;
+		timerNext [index] = head;
+		timerPrev [head] = index;
+	}
+}
+
+void releaseTimer (int index) {
+	timerIndices.remove (timerList [index]);
+	timerList [index] = null;
+	timerIds [index] = 0;
+	timerNext [index] = timerFreeIndex;
+	timerFreeIndex = index;
+}
+
+void removeTimer (int index) {
+	if (timerTick > 0) {
+		removeTimerFromWheel (index);
+	} else {
+		OS.g_source_remove (timerIds [index]);
+	}
+	releaseTimer (index);
+}
+
+void removeTimerFromWheel (int index) {
+	long tick = timerTicks [index];
+	int [] bucket = timerWheel.get (tick);
+	if (bucket == null) return;
+	int next = timerNext [index];
+	if (next == index) {
+		if (bucket [1] != 0) OS.g_source_remove (bucket [1]);
+		timerWheel.remove (tick);
+	} else {
+		int prev = timerPrev [index];
+		timerNext [prev] = next;
+		timerPrev [next] = prev;
+		if (bucket [0] == index) bucket [0] = next;
+	}
+}
+
+void runTimer (Runnable runnable) {
+	try {
+		runnable.run ();
+	} catch (RuntimeException exception) {
+		runtimeExceptionHandler.accept (exception);
+	} catch (Error exception) {
+		errorHandler.accept (exception);
+	}
 }
 
 long timerProc (long i) {
 	if (timerList == null) return 0;
+	if (timerTick > 0) {
+		int [] bucket = timerWheel.get (i);
+		if (bucket == null) return 0;
+		/* The source is destroyed when this callback returns */
+		bucket [1] = 0;
+		/*
+		* Run every timer of the bucket before the first exception is passed
+		* to the handlers, since the default handlers rethrow it and no source
+		* is left to run the rest of the bucket. Later exceptions are added to
+		* the first one as suppressed exceptions.
+		*/
+		Throwable first = null;
+		while (timerList != null && timerWheel.get (i) == bucket) {
+			int index = bucket [0];
+			Runnable runnable = timerList [index];
+			removeTimerFromWheel (index);
+			releaseTimer (index);
+			try {
+				runnable.run ();
+			} catch (RuntimeException | Error throwable) {
+				if (first == null) {
+					first = throwable;
+				} else {
+					first.addSuppressed (throwable);
+				}
+			}
+		}
+		if (first instanceof RuntimeException exception) {
+			runtimeExceptionHandler.accept (exception);
+		} else if (first instanceof Error error) {
+			errorHandler.accept (error);
+		}
+		return 0;
+	}
 	int index = (int)i;
 	if (0 <= index && index < timerList.length) {
 		Runnable runnable = timerList [index];
-		timerList [index] = null;
-		timerIds [index] = 0;
 		if (runnable != null) {
-			try {
-				runnable.run ();
-			} catch (RuntimeException exception) {
-				runtimeExceptionHandler.accept (exception);
-			} catch (Error exception) {
-				errorHandler.accept (exception);
-			}
+			releaseTimer (index);
+			runTimer (runnable);
 		}
 	}
 	return 0;
@@ -5980,15 +6303,7 @@ public void syncExec (Runnable runnable) {
 	synchronized (Device.class) {
 		if (isDisposed ()) error (SWT.ERROR_DEVICE_DISPOSED);
 		synchronizer = this.synchronizer;
-		synchronized (idleLock) {
-			if (idleNeeded && idleHandle == 0) {
-				if (GTK.GTK4) {
-					idleHandle = OS.g_idle_add (idleProc, 0);
-				} else {
-					idleHandle = GDK.gdk_threads_add_idle (idleProc, 0);
-				}
-			}
-		}
+		ensureIdleProc ();
 	}
 	synchronizer.syncExec (runnable);
 }
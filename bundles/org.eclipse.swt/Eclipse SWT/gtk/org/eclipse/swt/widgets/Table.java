@@ -76,7 +76,7 @@ import org.eclipse.swt.internal.gtk4.*;
  */
 public class Table extends Composite {
 	long modelHandle, checkRenderer;
-	int itemCount, columnCount, lastIndexOf, sortDirection;
+	int itemCount, columnCount, staleIndex, sortDirection;
 	int selectionCountOnPress,selectionCountOnRelease;
 	long ignoreCell;
 	TableItem [] items;
@@ -98,6 +98,9 @@ public class Table extends Composite {
 	int headerHeight;
 	boolean boundsChangedSinceLastDraw, headerVisible, wasScrolled;
 	boolean rowActivated;
+	TableItem [] paintedItems;
+	int paintedCount, paintedLimit = PAINTED_LIMIT;
+	boolean releasePaintedPending;
 
 	private long headerCSSProvider;
 
@@ -114,6 +117,10 @@ public class Table extends Composite {
 	static final int CELL_FONT = 4;
 	static final int CELL_SURFACE = 5;
 	static final int CELL_TYPES = CELL_SURFACE + 1;
+	/* The number of items created for painting a VIRTUAL table that are kept before releasing some */
+	static final int PAINTED_LIMIT = 1024;
+	/* The number of items that a VIRTUAL table inserts with its view detached from the model */
+	static final int BULK_INSERT_THRESHOLD = 1024;
 
 /**
  * Constructs a new instance of this class given its parent
@@ -170,8 +177,43 @@ void _addListener (int eventType, Listener listener) {
 
 TableItem _getItem (int index) {
 	if ((style & SWT.VIRTUAL) == 0) return items [index];
-	if (items [index] != null) return items [index];
-	return items [index] = new TableItem (this, SWT.NONE, index, false);
+	TableItem item = items [index];
+	if (item == null) return items [index] = new TableItem (this, SWT.NONE, index, false);
+	item.painted = false;
+	return item;
+}
+
+/*
+* Returns the item of a row that is painted or measured. In a VIRTUAL
+* table, the items that are only created to paint their rows are
+* remembered, so that they can be released once they scroll out of
+* view. Items that are handed out in any other way are kept.
+*/
+TableItem _getPaintedItem (int index) {
+	if ((style & SWT.VIRTUAL) == 0) return items [index];
+	TableItem item = items [index];
+	if (item != null) return item;
+	item = items [index] = new TableItem (this, SWT.NONE, index, false);
+	item.painted = true;
+	if (paintedItems == null) paintedItems = new TableItem [PAINTED_LIMIT];
+	if (paintedCount == paintedItems.length) {
+		TableItem [] newPaintedItems = new TableItem [paintedItems.length * 2];
+		System.arraycopy (paintedItems, 0, newPaintedItems, 0, paintedCount);
+		paintedItems = newPaintedItems;
+	}
+	paintedItems [paintedCount++] = item;
+	/*
+	* The items are released after the paint, since the view may still
+	* hold iters of their rows while it paints.
+	*/
+	if (paintedCount > paintedLimit && !releasePaintedPending) {
+		releasePaintedPending = true;
+		display.asyncExec (() -> {
+			releasePaintedPending = false;
+			if (!isDisposed ()) releasePaintedItems ();
+		});
+	}
+	return item;
 }
 
 static int checkStyle (int style) {
@@ -198,7 +240,7 @@ long cellDataProc (long tree_column, long cell, long tree_model, long iter, long
 	long path = GTK.gtk_tree_model_get_path (tree_model, iter);
 	int [] index = new int [1];
 	C.memmove (index, GTK.gtk_tree_path_get_indices (path), 4);
-	TableItem item = _getItem (index[0]);
+	TableItem item = _getPaintedItem (index[0]);
 	GTK.gtk_tree_path_free (path);
 	if (item == null || item.isDisposed()) {
 		return 0;
@@ -226,7 +268,6 @@ long cellDataProc (long tree_column, long cell, long tree_model, long iter, long
 	boolean setData = false;
 	if ((style & SWT.VIRTUAL) != 0) {
 		if (!item.cached) {
-			lastIndexOf = index[0];
 			setData = checkData (item);
 		}
 	}
@@ -548,39 +589,52 @@ void copyModel(long oldModel, int oldStart, long newModel, int newStart, int mod
 	// GValue needs to be initialized with G_VALUE_INIT, which is zeroes
 	C.memset (value, 0, OS.GValue_sizeof ());
 
+	boolean virtual = (style & SWT.VIRTUAL) != 0;
+	if (virtual) OS.swt_virtual_model_insert (newModel, 0, 0, itemCount);
 	for (int i=0; i<itemCount; i++) {
-		long newIterator = OS.g_malloc (GTK.GtkTreeIter_sizeof ());
-		if (newIterator == 0) error (SWT.ERROR_NO_HANDLES);
-		GTK.gtk_list_store_append (newModel, newIterator);
-
 		TableItem item = items [i];
 		if (item == null) {
 			/*
 			 * In `SWT.VIRTUAL` mode, `items[]` is not populated, and
-			 * iterators are not remembered. Instead, SWT will use
-			 * `gtk_tree_model_iter_nth_child()`.
+			 * the rows of the missing items hold no values.
 			 */
-			OS.g_free (newIterator);
 			continue;
 		}
 
+		long newIterator = OS.g_malloc (GTK.GtkTreeIter_sizeof ());
+		if (newIterator == 0) error (SWT.ERROR_NO_HANDLES);
+		if (virtual) {
+			OS.swt_virtual_model_materialize (newModel, newIterator, 0, i);
+		} else {
+			GTK.gtk_list_store_append (newModel, newIterator);
+		}
+
 		long oldIterator = item.handle;
 
 		// Copy header fields
 		for (int iColumn = 0; iColumn < FIRST_COLUMN; iColumn++) {
 			GTK.gtk_tree_model_get_value (oldModel, oldIterator, iColumn, value);
-			GTK.gtk_list_store_set_value (newModel, newIterator, iColumn, value);
+			if (virtual) {
+				OS.swt_tree_model_set_value (newModel, newIterator, iColumn, value);
+			} else {
+				GTK.gtk_list_store_set_value (newModel, newIterator, iColumn, value);
+			}
 			OS.g_value_unset (value);
 		}
 
 		// Copy requested columns
 		for (int iOffset = 0; iOffset < modelLength - FIRST_COLUMN; iOffset++) {
 			GTK.gtk_tree_model_get_value (oldModel, oldIterator, oldStart + iOffset, value);
-			GTK.gtk_list_store_set_value (newModel, newIterator, newStart + iOffset, value);
+			if (virtual) {
+				OS.swt_tree_model_set_value (newModel, newIterator, newStart + iOffset, value);
+			} else {
+				GTK.gtk_list_store_set_value (newModel, newIterator, newStart + iOffset, value);
+			}
 			OS.g_value_unset (value);
 		}
 
-		GTK.gtk_list_store_remove (oldModel, oldIterator);
+		/* The virtual model frees its rows when it is released */
+		if (!virtual) GTK.gtk_list_store_remove (oldModel, oldIterator);
 		OS.g_free (oldIterator);
 		item.handle = newIterator;
 	}
@@ -606,7 +660,7 @@ void createColumn (TableColumn column, int index) {
 		if (modelIndex == modelLength) {
 			long oldModel = modelHandle;
 			long [] types = getColumnTypes (columnCount + 4); // grow by 4 rows at a time
-			long newModel = GTK.gtk_list_store_newv (types.length, types);
+			long newModel = createModel (types);
 			if (newModel == 0) error (SWT.ERROR_NO_HANDLES);
 			/*
 			 * In VIRTUAL Table, GTK may react to `gtk_list_store_remove()` by
@@ -657,6 +711,17 @@ void createColumn (TableColumn column, int index) {
 	}
 }
 
+/*
+* A VIRTUAL table is backed by a model that only keeps the values of
+* the rows whose items were created, so that the model does not allocate
+* anything per row when the item count is set.  Note that GtkTreeView
+* still keeps a node of its own for every row of the model.
+*/
+long createModel (long [] types) {
+	if ((style & SWT.VIRTUAL) != 0) return OS.swt_virtual_model_newv (types.length, types, true);
+	return GTK.gtk_list_store_newv (types.length, types);
+}
+
 @Override
 void createHandle (int index) {
 	state |= HANDLE;
@@ -670,7 +735,7 @@ void createHandle (int index) {
 	}
 	if (scrolledHandle == 0) error (SWT.ERROR_NO_HANDLES);
 	long [] types = getColumnTypes (1);
-	modelHandle = GTK.gtk_list_store_newv (types.length, types);
+	modelHandle = createModel (types);
 	if (modelHandle == 0) error (SWT.ERROR_NO_HANDLES);
 	handle = GTK.gtk_tree_view_new_with_model (modelHandle);
 	if (handle == 0) error (SWT.ERROR_NO_HANDLES);
@@ -823,17 +888,22 @@ void createItem (TableItem item, int index) {
 	}
 	item.handle = OS.g_malloc (GTK.GtkTreeIter_sizeof ());
 	if (item.handle == 0) error (SWT.ERROR_NO_HANDLES);
-	/*
-	* Feature in GTK.  It is much faster to append to a list store
-	* than to insert at the end using gtk_list_store_insert().
-	*/
-	if (index == itemCount) {
+	if ((style & SWT.VIRTUAL) != 0) {
+		OS.swt_virtual_model_insert (modelHandle, 0, index, 1);
+		OS.swt_virtual_model_materialize (modelHandle, item.handle, 0, index);
+	} else if (index == itemCount) {
+		/*
+		* Feature in GTK.  It is much faster to append to a list store
+		* than to insert at the end using gtk_list_store_insert().
+		*/
 		GTK.gtk_list_store_append (modelHandle, item.handle);
 	} else {
 		GTK.gtk_list_store_insert (modelHandle, item.handle, index);
 	}
 	System.arraycopy (items, index, items, index + 1, itemCount++ - index);
 	items [index] = item;
+	item.itemIndex = index;
+	if (staleIndex >= index) staleIndex = index + 1;
 }
 
 void createRenderers (long columnHandle, int modelIndex, boolean check, int columnStyle) {
@@ -1077,7 +1147,7 @@ void destroyItem (TableColumn column) {
 	if (columnCount == 0) {
 		long oldModel = modelHandle;
 		long [] types = getColumnTypes (1);
-		long newModel = GTK.gtk_list_store_newv (types.length, types);
+		long newModel = createModel (types);
 		if (newModel == 0) error (SWT.ERROR_NO_HANDLES);
 		/*
 		 * In VIRTUAL Table, GTK may react to `gtk_list_store_remove()` by
@@ -1098,11 +1168,11 @@ void destroyItem (TableColumn column) {
 			if (item != null) {
 				long iter = item.handle;
 				int modelIndex = column.modelIndex;
-				GTK.gtk_list_store_set (modelHandle, iter, modelIndex + CELL_PIXBUF, (long )0, -1);
-				GTK.gtk_list_store_set (modelHandle, iter, modelIndex + CELL_TEXT, (long )0, -1);
-				GTK.gtk_list_store_set (modelHandle, iter, modelIndex + CELL_FOREGROUND, (long )0, -1);
-				GTK.gtk_list_store_set (modelHandle, iter, modelIndex + CELL_BACKGROUND, (long )0, -1);
-				GTK.gtk_list_store_set (modelHandle, iter, modelIndex + CELL_FONT, (long )0, -1);
+				setModelValue (iter, modelIndex + CELL_PIXBUF, (long )0);
+				setModelValue (iter, modelIndex + CELL_TEXT, (long )0);
+				setModelValue (iter, modelIndex + CELL_FOREGROUND, (long )0);
+				setModelValue (iter, modelIndex + CELL_BACKGROUND, (long )0);
+				setModelValue (iter, modelIndex + CELL_FONT, (long )0);
 
 				Font [] cellFont = item.cellFont;
 				if (cellFont != null) {
@@ -1132,18 +1202,15 @@ void destroyItem (TableColumn column) {
 }
 
 void destroyItem (TableItem item) {
-	int index = 0;
-	while (index < itemCount) {
-		if (items [index] == item) break;
-		index++;
-	}
-	if (index == itemCount) return;
+	int index = _indexOf (item);
+	if (index == -1) return;
 	long selection = GTK.gtk_tree_view_get_selection (handle);
 	OS.g_signal_handlers_block_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
-	GTK.gtk_list_store_remove (modelHandle, item.handle);
+	removeRow (item.handle, index);
 	OS.g_signal_handlers_unblock_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
 	System.arraycopy (items, index + 1, items, index, --itemCount - index);
 	items [itemCount] = null;
+	if (index < staleIndex) staleIndex = index;
 	if (itemCount == 0) resetCustomDraw ();
 }
 
@@ -2459,20 +2526,30 @@ public int indexOf (TableColumn column) {
 public int indexOf (TableItem item) {
 	checkWidget();
 	if (item == null) error (SWT.ERROR_NULL_ARGUMENT);
-	if (1 <= lastIndexOf && lastIndexOf < itemCount - 1) {
-		if (items [lastIndexOf] == item) return lastIndexOf;
-		if (items [lastIndexOf + 1] == item) return ++lastIndexOf;
-		if (items [lastIndexOf - 1] == item) return --lastIndexOf;
-	}
-	if (lastIndexOf < itemCount / 2) {
-		for (int i=0; i<itemCount; i++) {
-			if (items [i] == item) return lastIndexOf = i;
-		}
-	} else {
-		for (int i=itemCount - 1; i>=0; --i) {
-			if (items [i] == item) return lastIndexOf = i;
+	if (item.parent != this) return -1;
+	return _indexOf (item);
+}
+
+/*
+* Every item remembers its index, which is correct for the items
+* before staleIndex.  Inserting or removing an item moves staleIndex
+* back to it, and the items after it are renumbered lazily, up to the
+* item that is searched for.  Looking up an item that did not move is
+* constant time.
+*/
+int _indexOf (TableItem item) {
+	int index = item.itemIndex;
+	if (0 <= index && index < itemCount && items [index] == item) return index;
+	for (int i=staleIndex; i<itemCount; i++) {
+		TableItem current = items [i];
+		if (current == null) continue;
+		current.itemIndex = i;
+		if (current == item) {
+			staleIndex = i + 1;
+			return i;
 		}
 	}
+	staleIndex = itemCount;
 	return -1;
 }
 
@@ -2607,9 +2684,66 @@ void releaseChildren (boolean destroy) {
 	super.releaseChildren (destroy);
 }
 
+void releasePaintedItems () {
+	int itemHeight = Math.max (1, getItemHeight ());
+	int visibleCount = getClientArea ().height / itemHeight + 1;
+	int start = getTopIndex () - visibleCount, end = start + visibleCount * 3;
+	int focusIndex = -1;
+	long [] path = new long [1];
+	GTK.gtk_tree_view_get_cursor (handle, path, null);
+	if (path [0] != 0) {
+		long indices = GTK.gtk_tree_path_get_indices (path [0]);
+		if (indices != 0) {
+			int [] index = new int [1];
+			C.memmove (index, indices, 4);
+			focusIndex = index [0];
+		}
+		GTK.gtk_tree_path_free (path [0]);
+	}
+	long selection = GTK.gtk_tree_view_get_selection (handle);
+	int count = 0;
+	boolean released = false;
+	for (int i=0; i<paintedCount; i++) {
+		TableItem item = paintedItems [i];
+		paintedItems [i] = null;
+		if (item.isDisposed () || !item.painted) continue;
+		int index = OS.swt_virtual_model_iter_get_index (modelHandle, item.handle);
+		boolean keep = start <= index && index < end;
+		keep |= index == focusIndex || item == currentItem || item.settingData;
+		if (!keep) {
+			long itemPath = GTK.gtk_tree_model_get_path (modelHandle, item.handle);
+			keep = GTK.gtk_tree_selection_path_is_selected (selection, itemPath);
+			GTK.gtk_tree_path_free (itemPath);
+		}
+		if (keep) {
+			paintedItems [count++] = item;
+		} else {
+			OS.swt_virtual_model_release (modelHandle, item.handle);
+			items [index] = null;
+			item.release (false);
+			released = true;
+		}
+	}
+	paintedCount = count;
+	paintedLimit = Math.max (PAINTED_LIMIT, count * 2);
+	if (released) {
+		/* The renderers remember the iter of the row they painted last */
+		int columns = Math.max (1, columnCount);
+		for (int i=0; i<columns; i++) {
+			long list = GTK.gtk_cell_layout_get_cells (GTK.gtk_tree_view_get_column (handle, i));
+			for (long cells = list; cells != 0; cells = OS.g_list_next (cells)) {
+				OS.g_object_set_qdata (OS.g_list_data (cells), Display.SWT_OBJECT_INDEX2, 0);
+			}
+			if (list != 0) OS.g_list_free (list);
+		}
+	}
+}
+
 @Override
 void releaseWidget () {
 	super.releaseWidget ();
+	paintedItems = null;
+	paintedCount = 0;
 	if (modelHandle != 0) OS.g_object_unref (modelHandle);
 	modelHandle = 0;
 	if (checkRenderer != 0) OS.g_object_unref (checkRenderer);
@@ -2652,10 +2786,11 @@ public void remove (int index) {
 	if (!disposed) {
 		long selection = GTK.gtk_tree_view_get_selection (handle);
 		OS.g_signal_handlers_block_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
-		GTK.gtk_list_store_remove (modelHandle, iter);
+		removeRow (iter, index);
 		OS.g_signal_handlers_unblock_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
 		System.arraycopy (items, index + 1, items, index, --itemCount - index);
 		items [itemCount] = null;
+		if (index < staleIndex) staleIndex = index;
 	}
 	OS.g_free (iter);
 }
@@ -2696,7 +2831,7 @@ public void remove (int start, int end) {
 		TableItem item = items [index];
 		if (item != null && !item.isDisposed ()) item.release (false);
 		OS.g_signal_handlers_block_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
-		GTK.gtk_list_store_remove (modelHandle, iter);
+		removeRow (iter, start);
 		OS.g_signal_handlers_unblock_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
 	}
 	OS.g_free (iter);
@@ -2704,6 +2839,7 @@ public void remove (int start, int end) {
 	System.arraycopy (items, index, items, start, itemCount - index);
 	for (int i=itemCount-(index-start); i<itemCount; i++) items [i] = null;
 	itemCount = itemCount - (index - start);
+	if (start < staleIndex) staleIndex = start;
 }
 
 /**
@@ -2752,10 +2888,11 @@ public void remove (int [] indices) {
 			}
 			if (!disposed) {
 				OS.g_signal_handlers_block_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
-				GTK.gtk_list_store_remove (modelHandle, iter);
+				removeRow (iter, index);
 				OS.g_signal_handlers_unblock_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
 				System.arraycopy (items, index + 1, items, index, --itemCount - index);
 				items [itemCount] = null;
+				if (index < staleIndex) staleIndex = index;
 			}
 			last = index;
 		}
@@ -2763,6 +2900,14 @@ public void remove (int [] indices) {
 	OS.g_free (iter);
 }
 
+void removeRow (long iter, int index) {
+	if ((style & SWT.VIRTUAL) != 0) {
+		OS.swt_virtual_model_remove (modelHandle, 0, index, 1);
+	} else {
+		GTK.gtk_list_store_remove (modelHandle, iter);
+	}
+}
+
 /**
  * Removes all of the items from the receiver.
  *
@@ -2781,19 +2926,34 @@ public void removeAll () {
 		--index;
 	}
 	items = new TableItem [4];
-	itemCount = 0;
+	itemCount = staleIndex = 0;
+	paintedItems = null;
+	paintedCount = 0;
+	paintedLimit = PAINTED_LIMIT;
 	long selection = GTK.gtk_tree_view_get_selection (handle);
 	OS.g_signal_handlers_block_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
-	/*
-	 * Bug 499850: On GTK3, calling gtk_list_store_clear with GtkSelectionMode GTK_SELECTION_MULTIPLE
-	 * takes exponential time. Temporarily change the mode GTK_SELECTION_BROWSE before
-	 * making the call to avoid performance hang.
-	 */
-	long selectionHandle = GTK.gtk_tree_view_get_selection(handle);
-	boolean changeMode = (style & SWT.MULTI) != 0;
-	if (changeMode) GTK.gtk_tree_selection_set_mode(selectionHandle, GTK.GTK_SELECTION_BROWSE);
-	GTK.gtk_list_store_clear (modelHandle);
-	if (changeMode) GTK.gtk_tree_selection_set_mode(selectionHandle, GTK.GTK_SELECTION_MULTIPLE);
+	if ((style & SWT.VIRTUAL) != 0) {
+		/*
+		* Removing the rows one at a time is slow for large counts.  A
+		* VIRTUAL table replaces the model with an empty one instead.
+		*/
+		int columns = (GTK.gtk_tree_model_get_n_columns (modelHandle) - FIRST_COLUMN) / CELL_TYPES;
+		long newModel = createModel (getColumnTypes (columns));
+		if (newModel == 0) error (SWT.ERROR_NO_HANDLES);
+		GTK.gtk_tree_view_set_model (handle, newModel);
+		setModel (newModel);
+	} else {
+		/*
+		 * Bug 499850: On GTK3, calling gtk_list_store_clear with GtkSelectionMode GTK_SELECTION_MULTIPLE
+		 * takes exponential time. Temporarily change the mode GTK_SELECTION_BROWSE before
+		 * making the call to avoid performance hang.
+		 */
+		long selectionHandle = GTK.gtk_tree_view_get_selection(handle);
+		boolean changeMode = (style & SWT.MULTI) != 0;
+		if (changeMode) GTK.gtk_tree_selection_set_mode(selectionHandle, GTK.GTK_SELECTION_BROWSE);
+		GTK.gtk_list_store_clear (modelHandle);
+		if (changeMode) GTK.gtk_tree_selection_set_mode(selectionHandle, GTK.GTK_SELECTION_MULTIPLE);
+	}
 
 	OS.g_signal_handlers_unblock_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
 
@@ -2842,7 +3002,7 @@ void sendMeasureEvent (long cell, long width, long height) {
 			int [] buffer = new int [1];
 			C.memmove (buffer, GTK.gtk_tree_path_get_indices (path), 4);
 			int index = buffer [0];
-			item = _getItem (index);
+			item = _getPaintedItem (index);
 			long selection = GTK.gtk_tree_view_get_selection (handle);
 			isSelected = GTK.gtk_tree_selection_path_is_selected (selection, path);
 			GTK.gtk_tree_path_free (path);
@@ -2925,7 +3085,7 @@ void rendererRender (long cell, long cr, long snapshot, long widget, long backgr
 		int [] buffer = new int [1];
 		C.memmove (buffer, GTK.gtk_tree_path_get_indices (path), 4);
 		int index = buffer [0];
-		item = _getItem (index);
+		item = _getPaintedItem (index);
 		GTK.gtk_tree_path_free (path);
 	}
 	long columnHandle = OS.g_object_get_qdata (cell, Display.SWT_OBJECT_INDEX1);
@@ -3620,13 +3780,30 @@ public void setItemCount (int count) {
 	System.arraycopy (items, 0, newItems, 0, itemCount);
 	items = newItems;
 	if (isVirtual) {
-		long iter = OS.g_malloc (GTK.GtkTreeIter_sizeof ());
-		if (iter == 0) error (SWT.ERROR_NO_HANDLES);
-		for (int i=itemCount; i<count; i++) {
-			GTK.gtk_list_store_append (modelHandle, iter);
+		int delta = count - itemCount;
+		if (delta > Math.max (itemCount, BULK_INSERT_THRESHOLD)) {
+			/*
+			* Feature in GTK.  The tree view updates itself for every row
+			* that is inserted, which is slow for large counts.  It is much
+			* faster to detach the model while inserting the rows, so that
+			* the view builds all of them at once when it is attached again.
+			* Detaching the model clears the selection, so it is restored.
+			*/
+			int [] selectedIndices = getSelectionIndices ();
+			int oldTopIndex = itemCount > 0 ? getTopIndex () : 0;
+			long selection = GTK.gtk_tree_view_get_selection (handle);
+			OS.g_signal_handlers_block_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
+			GTK.gtk_tree_view_set_model (handle, 0);
+			OS.swt_virtual_model_insert (modelHandle, 0, itemCount, delta);
+			GTK.gtk_tree_view_set_model (handle, modelHandle);
+			OS.g_signal_handlers_unblock_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
+			itemCount = count;
+			select (selectedIndices);
+			if (oldTopIndex > 0) setTopIndex (oldTopIndex);
+		} else {
+			OS.swt_virtual_model_insert (modelHandle, 0, itemCount, delta);
+			itemCount = count;
 		}
-		OS.g_free (iter);
-		itemCount = count;
 	} else {
 		for (int i=itemCount; i<count; i++) {
 			new TableItem (this, SWT.NONE, i, true);
@@ -3665,6 +3842,51 @@ void setModel (long newModel) {
 	display.addWidget (modelHandle, this);
 }
 
+/*
+* Sets a value of a row in the model of the table.  Only the model of a
+* VIRTUAL table is a SwtVirtualModel, the other tables keep using the
+* GtkListStore and its natives.
+*/
+void setModelValue (long iter, int column, byte [] value) {
+	if ((style & SWT.VIRTUAL) != 0) {
+		OS.swt_tree_model_set (modelHandle, iter, column, value, -1);
+	} else {
+		GTK.gtk_list_store_set (modelHandle, iter, column, value, -1);
+	}
+}
+
+void setModelValue (long iter, int column, int value) {
+	if ((style & SWT.VIRTUAL) != 0) {
+		OS.swt_tree_model_set (modelHandle, iter, column, value, -1);
+	} else {
+		GTK.gtk_list_store_set (modelHandle, iter, column, value, -1);
+	}
+}
+
+void setModelValue (long iter, int column, long value) {
+	if ((style & SWT.VIRTUAL) != 0) {
+		OS.swt_tree_model_set (modelHandle, iter, column, value, -1);
+	} else {
+		GTK.gtk_list_store_set (modelHandle, iter, column, value, -1);
+	}
+}
+
+void setModelValue (long iter, int column, GdkRGBA value) {
+	if ((style & SWT.VIRTUAL) != 0) {
+		OS.swt_tree_model_set (modelHandle, iter, column, value, -1);
+	} else {
+		GTK.gtk_list_store_set (modelHandle, iter, column, value, -1);
+	}
+}
+
+void setModelValue (long iter, int column, boolean value) {
+	if ((style & SWT.VIRTUAL) != 0) {
+		OS.swt_tree_model_set (modelHandle, iter, column, value, -1);
+	} else {
+		GTK.gtk_list_store_set (modelHandle, iter, column, value, -1);
+	}
+}
+
 @Override
 void setOrientation (boolean create) {
 	super.setOrientation (create);
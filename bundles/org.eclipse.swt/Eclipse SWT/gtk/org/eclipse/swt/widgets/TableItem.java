@@ -44,7 +44,8 @@ public class TableItem extends Item {
 	Font font;
 	Font[] cellFont;
 	String [] strings;
-	boolean cached, grayed, settingData;
+	boolean cached, grayed, settingData, painted;
+	int itemIndex;
 
 /**
  * Constructs a new instance of this class given its parent
@@ -123,8 +124,13 @@ TableItem (Table parent, int style, int index, boolean create) {
 	if (create) {
 		parent.createItem (this, index);
 	} else {
+		itemIndex = index;
 		handle = OS.g_malloc (GTK.GtkTreeIter_sizeof ());
-		GTK.gtk_tree_model_iter_nth_child (parent.modelHandle, handle, 0, index);
+		if ((parent.style & SWT.VIRTUAL) != 0) {
+			OS.swt_virtual_model_materialize (parent.modelHandle, handle, 0, index);
+		} else {
+			GTK.gtk_tree_model_iter_nth_child (parent.modelHandle, handle, 0, index);
+		}
 	}
 }
 
@@ -227,10 +233,10 @@ void clear () {
 		int columnCount = GTK.gtk_tree_model_get_n_columns (parent.modelHandle);
 		/* the columns before FOREGROUND_COLUMN contain int values, subsequent columns contain pointers */
 		for (int i=Table.CHECKED_COLUMN; i<Table.FOREGROUND_COLUMN; i++) {
-			GTK.gtk_list_store_set (parent.modelHandle, handle, i, 0, -1);
+			parent.setModelValue (handle, i, 0);
 		}
 		for (int i=Table.FOREGROUND_COLUMN; i<columnCount; i++) {
-			GTK.gtk_list_store_set (parent.modelHandle, handle, i, (long )0, -1);
+			parent.setModelValue (handle, i, (long )0);
 		}
 	}
 	cached = false;
@@ -842,7 +848,7 @@ public void setBackground (Color color) {
 	}
 	if (_getBackground ().equals (color)) return;
 	GdkRGBA gdkRGBA = color != null ? color.handle : null;
-	GTK.gtk_list_store_set (parent.modelHandle, handle, Table.BACKGROUND_COLUMN, gdkRGBA, -1);
+	parent.setModelValue (handle, Table.BACKGROUND_COLUMN, gdkRGBA);
 	cached = true;
 }
 
@@ -874,7 +880,7 @@ public void setBackground (int index, Color color) {
 	if (0 > index || index > count - 1) return;
 	int modelIndex = parent.columnCount == 0 ? Table.FIRST_COLUMN : parent.columns [index].modelIndex;
 	GdkRGBA gdkRGBA = color != null ? color.handle : null;
-	GTK.gtk_list_store_set (parent.modelHandle, handle, modelIndex + Table.CELL_BACKGROUND, gdkRGBA, -1);
+	parent.setModelValue (handle, modelIndex + Table.CELL_BACKGROUND, gdkRGBA);
 	cached = true;
 
 	if (color != null) {
@@ -918,13 +924,13 @@ public void setChecked (boolean checked) {
 	checkWidget();
 	if ((parent.style & SWT.CHECK) == 0) return;
 	if (_getChecked () == checked) return;
-	GTK.gtk_list_store_set (parent.modelHandle, handle, Table.CHECKED_COLUMN, checked, -1);
+	parent.setModelValue (handle, Table.CHECKED_COLUMN, checked);
 	/*
 	* GTK+'s "inconsistent" state does not match SWT's concept of grayed.  To
 	* show checked+grayed differently from unchecked+grayed, we must toggle the
 	* grayed state on check and uncheck.
 	*/
-	GTK.gtk_list_store_set (parent.modelHandle, handle, Table.GRAYED_COLUMN, !checked ? false : grayed, -1);
+	parent.setModelValue (handle, Table.GRAYED_COLUMN, !checked ? false : grayed);
 	cached = true;
 }
 
@@ -955,7 +961,7 @@ public void setFont (Font font){
 	this.font = font;
 	if (oldFont != null && oldFont.equals (font)) return;
 	long fontHandle = font != null ? font.handle : 0;
-	GTK.gtk_list_store_set (parent.modelHandle, handle, Table.FONT_COLUMN, fontHandle, -1);
+	parent.setModelValue (handle, Table.FONT_COLUMN, fontHandle);
 	cached = true;
 }
 
@@ -996,7 +1002,7 @@ public void setFont (int index, Font font) {
 
 	int modelIndex = parent.columnCount == 0 ? Table.FIRST_COLUMN : parent.columns [index].modelIndex;
 	long fontHandle  = font != null ? font.handle : 0;
-	GTK.gtk_list_store_set (parent.modelHandle, handle, modelIndex + Table.CELL_FONT, fontHandle, -1);
+	parent.setModelValue (handle, modelIndex + Table.CELL_FONT, fontHandle);
 	cached = true;
 
 	if (font != null) {
@@ -1049,7 +1055,7 @@ public void setForeground (Color color){
 	}
 	if (_getForeground ().equals (color)) return;
 	GdkRGBA gdkRGBA = color != null ? color.handle : null;
-	GTK.gtk_list_store_set (parent.modelHandle, handle, Table.FOREGROUND_COLUMN, gdkRGBA, -1);
+	parent.setModelValue (handle, Table.FOREGROUND_COLUMN, gdkRGBA);
 	cached = true;
 }
 
@@ -1081,7 +1087,7 @@ public void setForeground (int index, Color color){
 	if (0 > index || index > count - 1) return;
 	int modelIndex = parent.columnCount == 0 ? Table.FIRST_COLUMN : parent.columns [index].modelIndex;
 	GdkRGBA gdkRGBA = color != null ? color.handle : null;
-	GTK.gtk_list_store_set (parent.modelHandle, handle, modelIndex + Table.CELL_FOREGROUND, gdkRGBA, -1);
+	parent.setModelValue (handle, modelIndex + Table.CELL_FOREGROUND, gdkRGBA);
 	cached = true;
 
 	if (color != null) {
@@ -1132,7 +1138,7 @@ public void setGrayed (boolean grayed) {
 	*/
 	int [] ptr = new int [1];
 	GTK.gtk_tree_model_get (parent.modelHandle, handle, Table.CHECKED_COLUMN, ptr, -1);
-	GTK.gtk_list_store_set (parent.modelHandle, handle, Table.GRAYED_COLUMN, ptr [0] == 0 ? false : grayed, -1);
+	parent.setModelValue (handle, Table.GRAYED_COLUMN, ptr [0] == 0 ? false : grayed);
 	cached = true;
 }
 
@@ -1206,7 +1212,7 @@ public void setImage(int index, Image image) {
 		}
 	}
 	int modelIndex = parent.columnCount == 0 ? Table.FIRST_COLUMN : parent.columns [index].modelIndex;
-	GTK.gtk_list_store_set (parent.modelHandle, handle, modelIndex + Table.CELL_PIXBUF, pixbuf, -1);
+	parent.setModelValue (handle, modelIndex + Table.CELL_PIXBUF, pixbuf);
 	/*
 	 * Bug 573633: gtk_list_store_set() will reference the handle. So we unref the pixbuf here,
 	 * and leave the destruction of the handle to be done later on by the GTK+ tree.
@@ -1214,7 +1220,7 @@ public void setImage(int index, Image image) {
 	if (pixbuf != 0) {
 		OS.g_object_unref(pixbuf);
 	}
-	GTK.gtk_list_store_set (parent.modelHandle, handle, modelIndex + Table.CELL_SURFACE, surface, -1);
+	parent.setModelValue (handle, modelIndex + Table.CELL_SURFACE, surface);
 	cached = true;
 	/*
 	 * Bug 465056: single column Tables have a very small initial width.
@@ -1312,7 +1318,7 @@ public void setText (int index, String string) {
 	}
 	byte[] buffer = Converter.wcsToMbcs (string, true);
 	int modelIndex = parent.columnCount == 0 ? Table.FIRST_COLUMN : parent.columns [index].modelIndex;
-	GTK.gtk_list_store_set (parent.modelHandle, handle, modelIndex + Table.CELL_TEXT, buffer, -1);
+	parent.setModelValue (handle, modelIndex + Table.CELL_TEXT, buffer);
 	cached = true;
 	/*
 	 * Bug 465056: single column Tables have a very small initial width.
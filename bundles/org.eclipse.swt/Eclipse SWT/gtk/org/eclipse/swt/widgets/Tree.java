@@ -127,6 +127,8 @@ public class Tree extends Composite {
 	static final int CELL_FONT = 4;
 	static final int CELL_SURFACE = 5;
 	static final int CELL_TYPES = CELL_SURFACE + 1;
+	/* The number of root items that an empty VIRTUAL tree inserts with its view detached from the model */
+	static final int BULK_INSERT_THRESHOLD = 1024;
 
 /**
  * Constructs a new instance of this class given its parent
@@ -250,7 +252,7 @@ int getId (long iter, boolean queryModel) {
 	int id = findAvailableId();
 	nextId = id + 1;
 
-	GTK.gtk_tree_store_set (modelHandle, iter, ID_COLUMN, id, -1);
+	setModelValue (iter, ID_COLUMN, id);
 	return id;
 }
 
@@ -702,16 +704,32 @@ void copyModel (long oldModel, int oldStart, long newModel, int newStart, long o
 	// GValue needs to be initialized with G_VALUE_INIT, which is zeroes
 	C.memset (value, 0, OS.GValue_sizeof ());
 
+	boolean virtual = (style & SWT.VIRTUAL) != 0;
 	if (GTK.gtk_tree_model_iter_children (oldModel, iter, oldParent))  {
-		long [] oldItems = new long [GTK.gtk_tree_model_iter_n_children (oldModel, oldParent)];
-		int oldIndex = 0;
+		int count = GTK.gtk_tree_model_iter_n_children (oldModel, oldParent);
+		long [] oldItems = new long [count];
+		int oldIndex = 0, position = 0;
 		int [] intBuffer = new int [1];
+		if (virtual) OS.swt_virtual_model_insert (newModel, newParent, 0, count);
 		do {
-			long newIterator = OS.g_malloc (GTK.GtkTreeIter_sizeof ());
-			if (newIterator == 0) error (SWT.ERROR_NO_HANDLES);
-			GTK.gtk_tree_store_append (newModel, newIterator, newParent);
 			GTK.gtk_tree_model_get (oldModel, iter, ID_COLUMN, intBuffer, -1);
 			int index = intBuffer[0];
+			if (virtual && (index == -1 || items [index] == null)) {
+				/*
+				 * In `SWT.VIRTUAL` mode, the rows of the missing items
+				 * hold no values and have no children.
+				 */
+				position++;
+				continue;
+			}
+			long newIterator = OS.g_malloc (GTK.GtkTreeIter_sizeof ());
+			if (newIterator == 0) error (SWT.ERROR_NO_HANDLES);
+			if (virtual) {
+				OS.swt_virtual_model_materialize (newModel, newIterator, newParent, position);
+			} else {
+				GTK.gtk_tree_store_append (newModel, newIterator, newParent);
+			}
+			position++;
 			TreeItem item = null;
 			if (index != -1) {
 				item = items [index];
@@ -722,14 +740,22 @@ void copyModel (long oldModel, int oldStart, long newModel, int newStart, long o
 					// Copy header fields
 					for (int iColumn = 0; iColumn < FIRST_COLUMN; iColumn++) {
 						GTK.gtk_tree_model_get_value (oldModel, oldIterator, iColumn, value);
-						GTK.gtk_tree_store_set_value (newModel, newIterator, iColumn, value);
+						if (virtual) {
+							OS.swt_tree_model_set_value (newModel, newIterator, iColumn, value);
+						} else {
+							GTK.gtk_tree_store_set_value (newModel, newIterator, iColumn, value);
+						}
 						OS.g_value_unset (value);
 					}
 
 					// Copy requested columns
 					for (int iOffset = 0; iOffset < modelLength - FIRST_COLUMN; iOffset++) {
 						GTK.gtk_tree_model_get_value (oldModel, oldIterator, oldStart + iOffset, value);
-						GTK.gtk_tree_store_set_value (newModel, newIterator, newStart + iOffset, value);
+						if (virtual) {
+							OS.swt_tree_model_set_value (newModel, newIterator, newStart + iOffset, value);
+						} else {
+							GTK.gtk_tree_store_set_value (newModel, newIterator, newStart + iOffset, value);
+						}
 						OS.g_value_unset (value);
 					}
 				}
@@ -748,7 +774,8 @@ void copyModel (long oldModel, int oldStart, long newModel, int newStart, long o
 		for (int i = 0; i < oldItems.length; i++) {
 			long oldItem = oldItems [i];
 			if (oldItem != 0) {
-				GTK.gtk_tree_store_remove (oldModel, oldItem);
+				/* The virtual model frees its rows when it is released */
+				if (!virtual) GTK.gtk_tree_store_remove (oldModel, oldItem);
 				OS.g_free (oldItem);
 			}
 		}
@@ -783,7 +810,7 @@ void createColumn (TreeColumn column, int index) {
 		if (modelIndex == modelLength) {
 			long oldModel = modelHandle;
 			long [] types = getColumnTypes (columnCount + 4); // grow by 4 rows at a time
-			long newModel = GTK.gtk_tree_store_newv (types.length, types);
+			long newModel = createModel (types);
 			if (newModel == 0) error (SWT.ERROR_NO_HANDLES);
 			copyModel (oldModel, FIRST_COLUMN, newModel, FIRST_COLUMN, (long )0, (long )0, modelLength);
 			GTK.gtk_tree_view_set_model (handle, newModel);
@@ -825,6 +852,21 @@ void createColumn (TreeColumn column, int index) {
 	}
 }
 
+/*
+* A VIRTUAL tree is backed by a model that only keeps the number of
+* children of each row and the values of the rows whose items were
+* created, so that the model does not allocate anything per row when
+* the item count is set.  Note that GtkTreeView still keeps a node of
+* its own for every top level row and every row of an expanded item.
+* The rows of the missing items report an id of -1.
+*/
+long createModel (long [] types) {
+	if ((style & SWT.VIRTUAL) == 0) return GTK.gtk_tree_store_newv (types.length, types);
+	long model = OS.swt_virtual_model_newv (types.length, types, false);
+	if (model != 0) OS.swt_tree_model_set (model, 0, ID_COLUMN, -1, -1);
+	return model;
+}
+
 @Override
 void createHandle (int index) {
 	state |= HANDLE;
@@ -838,7 +880,7 @@ void createHandle (int index) {
 	}
 	if (scrolledHandle == 0) error (SWT.ERROR_NO_HANDLES);
 	long [] types = getColumnTypes (1);
-	modelHandle = GTK.gtk_tree_store_newv (types.length, types);
+	modelHandle = createModel (types);
 	if (modelHandle == 0) error (SWT.ERROR_NO_HANDLES);
 	handle = GTK.gtk_tree_view_new_with_model (modelHandle);
 	if (handle == 0) error (SWT.ERROR_NO_HANDLES);
@@ -1025,7 +1067,15 @@ void createItem (TreeItem item, long parentIter, int index) {
 	 * Even a single call to 'gtk_tree_model_iter_n_children' already
 	 * reduces performance 3x, so try to avoid any unneeded API calls.
 	 */
-	if (index == 0) {
+	if ((style & SWT.VIRTUAL) != 0) {
+		int count = GTK.gtk_tree_model_iter_n_children (modelHandle, parentIter);
+		if (index == -1) index = count;
+		if (!(0 <= index && index <= count)) error (SWT.ERROR_INVALID_RANGE);
+		item.handle = OS.g_malloc (GTK.GtkTreeIter_sizeof ());
+		if (item.handle == 0) error(SWT.ERROR_NO_HANDLES);
+		OS.swt_virtual_model_insert (modelHandle, parentIter, index, 1);
+		OS.swt_virtual_model_materialize (modelHandle, item.handle, parentIter, index);
+	} else if (index == 0) {
 		item.handle = OS.g_malloc (GTK.GtkTreeIter_sizeof ());
 		if (item.handle == 0) error(SWT.ERROR_NO_HANDLES);
 		GTK.gtk_tree_store_prepend (modelHandle, item.handle, parentIter);
@@ -1264,7 +1314,7 @@ void destroyItem (TreeColumn column) {
 	if (columnCount == 0) {
 		long oldModel = modelHandle;
 		long [] types = getColumnTypes (1);
-		long newModel = GTK.gtk_tree_store_newv (types.length, types);
+		long newModel = createModel (types);
 		if (newModel == 0) error (SWT.ERROR_NO_HANDLES);
 		copyModel(oldModel, column.modelIndex, newModel, FIRST_COLUMN, (long )0, (long )0, FIRST_COLUMN + CELL_TYPES);
 		GTK.gtk_tree_view_set_model (handle, newModel);
@@ -1276,11 +1326,11 @@ void destroyItem (TreeColumn column) {
 			if (item != null) {
 				long iter = item.handle;
 				int modelIndex = column.modelIndex;
-				GTK.gtk_tree_store_set (modelHandle, iter, modelIndex + CELL_PIXBUF, (long )0, -1);
-				GTK.gtk_tree_store_set (modelHandle, iter, modelIndex + CELL_TEXT, (long )0, -1);
-				GTK.gtk_tree_store_set (modelHandle, iter, modelIndex + CELL_FOREGROUND, (long )0, -1);
-				GTK.gtk_tree_store_set (modelHandle, iter, modelIndex + CELL_BACKGROUND, (long )0, -1);
-				GTK.gtk_tree_store_set (modelHandle, iter, modelIndex + CELL_FONT, (long )0, -1);
+				setModelValue (iter, modelIndex + CELL_PIXBUF, (long )0);
+				setModelValue (iter, modelIndex + CELL_TEXT, (long )0);
+				setModelValue (iter, modelIndex + CELL_FOREGROUND, (long )0);
+				setModelValue (iter, modelIndex + CELL_BACKGROUND, (long )0);
+				setModelValue (iter, modelIndex + CELL_FONT, (long )0);
 
 				Font [] cellFont = item.cellFont;
 				if (cellFont != null) {
@@ -1316,7 +1366,7 @@ void destroyItem (TreeColumn column) {
 void destroyItem (TreeItem item) {
 	long selection = GTK.gtk_tree_view_get_selection (handle);
 	OS.g_signal_handlers_block_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
-	GTK.gtk_tree_store_remove (modelHandle, item.handle);
+	removeRow (item.handle);
 	OS.g_signal_handlers_unblock_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
 	modelChanged = true;
 
@@ -2780,6 +2830,13 @@ public int indexOf (TreeItem item) {
 	checkWidget();
 	if (item == null) error (SWT.ERROR_NULL_ARGUMENT);
 	if (item.isDisposed()) error (SWT.ERROR_INVALID_ARGUMENT);
+	if ((style & SWT.VIRTUAL) != 0) {
+		/* The virtual model knows the index of a row without walking its siblings */
+		long parentIter = OS.g_malloc (GTK.GtkTreeIter_sizeof ());
+		boolean isRoot = !GTK.gtk_tree_model_iter_parent (modelHandle, parentIter, item.handle);
+		OS.g_free (parentIter);
+		return isRoot ? OS.swt_virtual_model_iter_get_index (modelHandle, item.handle) : -1;
+	}
 	int index = -1;
 	long path = GTK.gtk_tree_model_get_path (modelHandle, item.handle);
 	int depth = GTK.gtk_tree_path_get_depth (path);
@@ -2969,7 +3026,7 @@ void remove (long parentIter, int start, int end) {
 				item.dispose ();
 			} else {
 				OS.g_signal_handlers_block_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
-				GTK.gtk_tree_store_remove (modelHandle, iter);
+				removeRow (iter);
 				OS.g_signal_handlers_unblock_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
 			}
 		}
@@ -2978,6 +3035,19 @@ void remove (long parentIter, int start, int end) {
 	}
 }
 
+void removeRow (long iter) {
+	if ((style & SWT.VIRTUAL) != 0) {
+		int index = OS.swt_virtual_model_iter_get_index (modelHandle, iter);
+		long parentIter = OS.g_malloc (GTK.GtkTreeIter_sizeof ());
+		if (parentIter == 0) error (SWT.ERROR_NO_HANDLES);
+		boolean hasParent = GTK.gtk_tree_model_iter_parent (modelHandle, parentIter, iter);
+		OS.swt_virtual_model_remove (modelHandle, hasParent ? parentIter : 0, index, 1);
+		OS.g_free (parentIter);
+	} else {
+		GTK.gtk_tree_store_remove (modelHandle, iter);
+	}
+}
+
 /**
  * Removes all of the items from the receiver.
  *
@@ -2999,9 +3069,18 @@ public void removeAll () {
     // -> getParentItem -> gtk_tree_model_get_path) with iterators that are
     // already being freed, causing a SIGSEGV. With no model attached the view
     // has nothing to render, so no callbacks are fired during the clear.
-    GTK.gtk_tree_view_set_model (handle, 0);
-    GTK.gtk_tree_store_clear (modelHandle);
-    GTK.gtk_tree_view_set_model (handle, modelHandle);
+    if ((style & SWT.VIRTUAL) != 0) {
+        // A VIRTUAL tree replaces the model with an empty one instead.
+        int columns = (GTK.gtk_tree_model_get_n_columns (modelHandle) - FIRST_COLUMN) / CELL_TYPES;
+        long newModel = createModel (getColumnTypes (columns));
+        if (newModel == 0) error (SWT.ERROR_NO_HANDLES);
+        GTK.gtk_tree_view_set_model (handle, newModel);
+        setModel (newModel);
+    } else {
+        GTK.gtk_tree_view_set_model (handle, 0);
+        GTK.gtk_tree_store_clear (modelHandle);
+        GTK.gtk_tree_view_set_model (handle, modelHandle);
+    }
 
 	OS.g_signal_handlers_unblock_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
 
@@ -3496,24 +3575,29 @@ void setItemCount (long parentIter, int count) {
 		remove (parentIter, count, itemCount - 1);
 	}
 	if (isVirtual) {
-		long iters = OS.g_malloc (2 * GTK.GtkTreeIter_sizeof ());
-		if (iters == 0) error (SWT.ERROR_NO_HANDLES);
-
-		long iterResult = iters;
-		long iterInsertAfter;
-		if (itemCount != 0) {
-			iterInsertAfter = iters + GTK.GtkTreeIter_sizeof ();
-			GTK.gtk_tree_model_iter_nth_child(modelHandle, iterInsertAfter, parentIter, itemCount - 1);
-		} else {
-			iterInsertAfter = 0;
-		}
-
-		for (int i=itemCount; i<count; i++) {
-			GTK.gtk_tree_store_insert_after (modelHandle, iterResult, parentIter, iterInsertAfter);
-			GTK.gtk_tree_store_set (modelHandle, iterResult, ID_COLUMN, -1, -1);
+		if (count > itemCount) {
+			if (parentIter == 0 && itemCount == 0 && count > BULK_INSERT_THRESHOLD) {
+				/*
+				* Feature in GTK.  The tree view updates itself for every row
+				* that is inserted, which is slow for large counts.  It is much
+				* faster to detach the model while inserting the rows, so that
+				* the view builds all of them at once when it is attached again.
+				* The tree is empty, so there is no selection or expansion to lose.
+				*/
+				GTK.gtk_tree_view_set_model (handle, 0);
+				OS.swt_virtual_model_insert (modelHandle, 0, 0, count);
+				GTK.gtk_tree_view_set_model (handle, modelHandle);
+				if (!searchEnabled ()) {
+					GTK.gtk_tree_view_set_search_column (handle, -1);
+				} else {
+					/* Set the search column whenever the model changes */
+					int firstColumn = columnCount == 0 ? FIRST_COLUMN : columns [0].modelIndex;
+					GTK.gtk_tree_view_set_search_column (handle, firstColumn + CELL_TEXT);
+				}
+			} else {
+				OS.swt_virtual_model_insert (modelHandle, parentIter, itemCount, count - itemCount);
+			}
 		}
-
-		OS.g_free (iters);
 	} else {
 		for (int i=itemCount; i<count; i++) {
 			new TreeItem (this, parentIter, SWT.NONE, itemCount, 0);
@@ -3862,6 +3946,51 @@ void setModel (long newModel) {
 	display.addWidget (modelHandle, this);
 }
 
+/*
+* Sets a value of a row in the model of the tree.  Only the model of a
+* VIRTUAL tree is a SwtVirtualModel, the other trees keep using the
+* GtkTreeStore and its natives.
+*/
+void setModelValue (long iter, int column, byte [] value) {
+	if ((style & SWT.VIRTUAL) != 0) {
+		OS.swt_tree_model_set (modelHandle, iter, column, value, -1);
+	} else {
+		GTK.gtk_tree_store_set (modelHandle, iter, column, value, -1);
+	}
+}
+
+void setModelValue (long iter, int column, int value) {
+	if ((style & SWT.VIRTUAL) != 0) {
+		OS.swt_tree_model_set (modelHandle, iter, column, value, -1);
+	} else {
+		GTK.gtk_tree_store_set (modelHandle, iter, column, value, -1);
+	}
+}
+
+void setModelValue (long iter, int column, long value) {
+	if ((style & SWT.VIRTUAL) != 0) {
+		OS.swt_tree_model_set (modelHandle, iter, column, value, -1);
+	} else {
+		GTK.gtk_tree_store_set (modelHandle, iter, column, value, -1);
+	}
+}
+
+void setModelValue (long iter, int column, GdkRGBA value) {
+	if ((style & SWT.VIRTUAL) != 0) {
+		OS.swt_tree_model_set (modelHandle, iter, column, value, -1);
+	} else {
+		GTK.gtk_tree_store_set (modelHandle, iter, column, value, -1);
+	}
+}
+
+void setModelValue (long iter, int column, boolean value) {
+	if ((style & SWT.VIRTUAL) != 0) {
+		OS.swt_tree_model_set (modelHandle, iter, column, value, -1);
+	} else {
+		GTK.gtk_tree_store_set (modelHandle, iter, column, value, -1);
+	}
+}
+
 @Override
 void setOrientation (boolean create) {
 	super.setOrientation (create);
@@ -283,10 +283,10 @@ void clear () {
 		int columnCount = GTK.gtk_tree_model_get_n_columns (parent.modelHandle);
 		/* the columns before FOREGROUND_COLUMN contain int values, subsequent columns contain pointers */
 		for (int i=Tree.CHECKED_COLUMN; i<Tree.FOREGROUND_COLUMN; i++) {
-			GTK.gtk_tree_store_set (parent.modelHandle, handle, i, 0, -1);
+			parent.setModelValue (handle, i, 0);
 		}
 		for (int i=Tree.FOREGROUND_COLUMN; i<columnCount; i++) {
-			GTK.gtk_tree_store_set (parent.modelHandle, handle, i, (long )0, -1);
+			parent.setModelValue (handle, i, (long )0);
 		}
 	}
 	cached = false;
@@ -1002,6 +1002,17 @@ public int indexOf (TreeItem item) {
 	checkWidget();
 	if (item == null) error (SWT.ERROR_NULL_ARGUMENT);
 	if (item.isDisposed()) error (SWT.ERROR_INVALID_ARGUMENT);
+	if ((parent.style & SWT.VIRTUAL) != 0) {
+		/* The virtual model knows the parent and the index of a row without walking its siblings */
+		long parentIter = OS.g_malloc (GTK.GtkTreeIter_sizeof ());
+		int [] value = new int [] {-1};
+		if (GTK.gtk_tree_model_iter_parent (parent.modelHandle, parentIter, item.handle)) {
+			GTK.gtk_tree_model_get (parent.modelHandle, parentIter, Tree.ID_COLUMN, value, -1);
+		}
+		OS.g_free (parentIter);
+		if (value [0] == -1 || parent.items [value [0]] != this) return -1;
+		return OS.swt_virtual_model_iter_get_index (parent.modelHandle, item.handle);
+	}
 	int index = -1;
 	boolean isParent = false;
 	long currentPath = GTK.gtk_tree_model_get_path (parent.modelHandle, handle);
@@ -1087,7 +1098,7 @@ public void removeAll () {
 			item.dispose ();
 		} else {
 			OS.g_signal_handlers_block_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
-			GTK.gtk_tree_store_remove (modelHandle, iter);
+			parent.removeRow (iter);
 			OS.g_signal_handlers_unblock_matched (selection, OS.G_SIGNAL_MATCH_DATA, 0, 0, 0, 0, CHANGED);
 		}
 	}
@@ -1118,7 +1129,7 @@ public void setBackground (Color color) {
 	}
 	if (_getBackground ().equals (color)) return;
 	GdkRGBA gdkRGBA = color != null ? color.handle : null;
-	GTK.gtk_tree_store_set (parent.modelHandle, handle, Tree.BACKGROUND_COLUMN, gdkRGBA, -1);
+	parent.setModelValue (handle, Tree.BACKGROUND_COLUMN, gdkRGBA);
 	cached = true;
 }
 
@@ -1150,7 +1161,7 @@ public void setBackground (int index, Color color) {
 	if (0 > index || index > count - 1) return;
 	int modelIndex = parent.columnCount == 0 ? Tree.FIRST_COLUMN : parent.columns [index].modelIndex;
 	GdkRGBA gdkRGBA = color != null ? color.handle : null;
-	GTK.gtk_tree_store_set (parent.modelHandle, handle, modelIndex + Tree.CELL_BACKGROUND, gdkRGBA, -1);
+	parent.setModelValue (handle, modelIndex + Tree.CELL_BACKGROUND, gdkRGBA);
 	cached = true;
 	updated = true;
 
@@ -1194,13 +1205,13 @@ public void setChecked (boolean checked) {
 	checkWidget();
 	if ((parent.style & SWT.CHECK) == 0) return;
 	if (_getChecked () == checked) return;
-	GTK.gtk_tree_store_set (parent.modelHandle, handle, Tree.CHECKED_COLUMN, checked, -1);
+	parent.setModelValue (handle, Tree.CHECKED_COLUMN, checked);
 	/*
 	* GTK+'s "inconsistent" state does not match SWT's concept of grayed.  To
 	* show checked+grayed differently from unchecked+grayed, we must toggle the
 	* grayed state on check and uncheck.
 	*/
-	GTK.gtk_tree_store_set (parent.modelHandle, handle, Tree.GRAYED_COLUMN, !checked ? false : grayed, -1);
+	parent.setModelValue (handle, Tree.GRAYED_COLUMN, !checked ? false : grayed);
 	cached = true;
 }
 
@@ -1265,7 +1276,7 @@ public void setFont (Font font){
 	this.font = font;
 	if (oldFont != null && oldFont.equals (font)) return;
 	long fontHandle = font != null ? font.handle : 0;
-	GTK.gtk_tree_store_set (parent.modelHandle, handle, Tree.FONT_COLUMN, fontHandle, -1);
+	parent.setModelValue (handle, Tree.FONT_COLUMN, fontHandle);
 	cached = true;
 }
 
@@ -1306,7 +1317,7 @@ public void setFont (int index, Font font) {
 
 	int modelIndex = parent.columnCount == 0 ? Tree.FIRST_COLUMN : parent.columns [index].modelIndex;
 	long fontHandle  = font != null ? font.handle : 0;
-	GTK.gtk_tree_store_set (parent.modelHandle, handle, modelIndex + Tree.CELL_FONT, fontHandle, -1);
+	parent.setModelValue (handle, modelIndex + Tree.CELL_FONT, fontHandle);
 	cached = true;
 
 	if (font != null) {
@@ -1359,7 +1370,7 @@ public void setForeground (Color color){
 	}
 	if (_getForeground ().equals (color)) return;
 	GdkRGBA gdkRGBA = color != null ? color.handle : null;
-	GTK.gtk_tree_store_set (parent.modelHandle, handle, Tree.FOREGROUND_COLUMN, gdkRGBA, -1);
+	parent.setModelValue (handle, Tree.FOREGROUND_COLUMN, gdkRGBA);
 	cached = true;
 }
 
@@ -1391,7 +1402,7 @@ public void setForeground (int index, Color color){
 	if (0 > index || index > count - 1) return;
 	int modelIndex = parent.columnCount == 0 ? Tree.FIRST_COLUMN : parent.columns [index].modelIndex;
 	GdkRGBA gdkRGBA = color != null ? color.handle : null;
-	GTK.gtk_tree_store_set (parent.modelHandle, handle, modelIndex + Tree.CELL_FOREGROUND, gdkRGBA, -1);
+	parent.setModelValue (handle, modelIndex + Tree.CELL_FOREGROUND, gdkRGBA);
 	cached = true;
 	updated = true;
 
@@ -1443,7 +1454,7 @@ public void setGrayed (boolean grayed) {
 	*/
 	int [] ptr = new int [1];
 	GTK.gtk_tree_model_get (parent.modelHandle, handle, Tree.CHECKED_COLUMN, ptr, -1);
-	GTK.gtk_tree_store_set (parent.modelHandle, handle, Tree.GRAYED_COLUMN, ptr [0] == 0 ? false : grayed, -1);
+	parent.setModelValue (handle, Tree.GRAYED_COLUMN, ptr [0] == 0 ? false : grayed);
 	cached = true;
 }
 
@@ -1537,7 +1548,7 @@ public void setImage(int index, Image image) {
 		}
 	}
 
-	GTK.gtk_tree_store_set(parent.modelHandle, handle, modelIndex + Tree.CELL_PIXBUF, pixbuf, -1);
+	parent.setModelValue (handle, modelIndex + Tree.CELL_PIXBUF, pixbuf);
 	/*
 	 * Bug 573633: gtk_tree_store_set() will reference the handle. So we unref the pixbuf here,
 	 * and leave the destruction of the handle to be done later on by the GTK+ tree.
@@ -1545,7 +1556,7 @@ public void setImage(int index, Image image) {
 	if (pixbuf != 0) {
 		OS.g_object_unref(pixbuf);
 	}
-	GTK.gtk_tree_store_set(parent.modelHandle, handle, modelIndex + Tree.CELL_SURFACE, surface, -1);
+	parent.setModelValue (handle, modelIndex + Tree.CELL_SURFACE, surface);
 	cached = true;
 	updated = true;
 }
@@ -1643,7 +1654,7 @@ public void setText (int index, String string) {
 	}
 	byte[] buffer = Converter.wcsToMbcs (string, true);
 	int modelIndex = parent.columnCount == 0 ? Tree.FIRST_COLUMN : parent.columns [index].modelIndex;
-	GTK.gtk_tree_store_set (parent.modelHandle, handle, modelIndex + Tree.CELL_TEXT, buffer, -1);
+	parent.setModelValue (handle, modelIndex + Tree.CELL_TEXT, buffer);
 	cached = true;
 	updated = true;
 }
@@ -14,6 +14,8 @@
  */
 package org.eclipse.swt.tests.gtk;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.nio.charset.StandardCharsets;
@@ -151,6 +153,49 @@ public class Test_GtkConverter {
 		helper_testHeuristic(testBytes, "Ё");
 	}
 
+	@Test
+	public void test_wcsToMbcs_matchesNative() {
+		String[] values = { emptyStr, asciiLetters, codePoint174, unicodeCharactersLowCodePoints,
+				unicodeCharactersHighCodePoints, "\uD83D\uDE00 smile", "ab\u0000cd", "trailing \uD800",
+				"lone \uDC00 low", "high \uD800 unpaired" };
+		for (String value : values) {
+			char[] chars = value.toCharArray();
+			assertArrayEquals(Converter.wcsToMbcsNative(chars, false), Converter.wcsToMbcs(chars, false), value);
+			assertArrayEquals(Converter.wcsToMbcsNative(chars, true), Converter.wcsToMbcs(chars, true), value);
+			assertArrayEquals(Converter.wcsToMbcsNative(chars, true), Converter.wcsToMbcs(value, true), value);
+		}
+	}
+
+	@Test
+	public void test_mbcsToWcs_matchesNative() {
+		byte[][] values = { {}, {0}, asciiLetters.getBytes(StandardCharsets.UTF_8),
+				unicodeCharactersLowCodePoints.getBytes(StandardCharsets.UTF_8),
+				unicodeCharactersHighCodePoints.getBytes(StandardCharsets.UTF_8),
+				"\uD83D\uDE00 smile".getBytes(StandardCharsets.UTF_8),
+				{ 'a', 'b', 0, 'c' },
+				{ 'a', (byte) 0xC3, (byte) 0xA9, 0, (byte) 0xFF },
+				{ 'a', (byte) 0xC0, (byte) 0x80 }, // overlong
+				{ 'a', (byte) 0xED, (byte) 0xA0, (byte) 0x80 }, // surrogate
+				{ 'a', (byte) 0xE2, (byte) 0x82 }, // truncated
+				{ 'a', (byte) 0xF4, (byte) 0x90, (byte) 0x80, (byte) 0x80 } }; // above U+10FFFF
+		for (byte[] value : values) {
+			assertArrayEquals(Converter.mbcsToWcsNative(value), Converter.mbcsToWcs(value));
+		}
+	}
+
+	@Test
+	public void test_wcsToMbcs_roundTrip() {
+		StringBuilder builder = new StringBuilder();
+		for (int codePoint = 1; codePoint < 0x11000; codePoint += 7) {
+			if (codePoint >= 0xD800 && codePoint <= 0xDFFF) continue;
+			builder.appendCodePoint(codePoint);
+		}
+		String value = builder.toString();
+		byte[] bytes = Converter.wcsToMbcs(value, true);
+		assertArrayEquals(value.getBytes(StandardCharsets.UTF_8), java.util.Arrays.copyOf(bytes, bytes.length - 1));
+		assertEquals(value, new String(Converter.mbcsToWcs(bytes)));
+	}
+
 	private void helper_testHeuristic(byte[] testBytes, String expected) {
 		String result = Converter.byteToStringViaHeuristic(testBytes);
 		if (!expected.equals(result)) {
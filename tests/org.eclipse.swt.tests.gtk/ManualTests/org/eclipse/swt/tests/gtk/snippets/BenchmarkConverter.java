@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Platform Contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Platform Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.gtk.snippets;
+
+import java.util.function.Function;
+
+import org.eclipse.swt.internal.Converter;
+import org.eclipse.swt.widgets.Display;
+
+/**
+ * Manual benchmark that compares the Java UTF-8/UTF-16 conversion of the GTK
+ * <code>Converter</code> with the glib based conversion it replaces.
+ * <p>
+ * Strings of several lengths are converted with ASCII, Latin/Cyrillic (two byte)
+ * and CJK/emoji (three and four byte) content, in both directions.
+ * </p>
+ */
+@SuppressWarnings("restriction")
+public class BenchmarkConverter {
+	private static final int[] LENGTHS = { 8, 64, 1_024, 65_536 };
+	private static final int RUNS = 10;
+	private static final long CHARACTERS_PER_RUN = 4_000_000;
+
+	public static void main(String[] args) {
+		/* Make sure the GTK library is loaded */
+		Display display = new Display();
+		try {
+			run("ascii", "The quick brown fox jumps over the lazy dog. ");
+			run("2-byte", "Ärger über Жизнь ");
+			run("3/4-byte", "漢字かな😀☃ ");
+		} finally {
+			display.dispose();
+		}
+	}
+
+	private static void run(String name, String pattern) {
+		for (int length : LENGTHS) {
+			StringBuilder builder = new StringBuilder(length);
+			while (builder.length() < length) builder.append(pattern);
+			builder.setLength(length);
+			if (Character.isHighSurrogate(builder.charAt(length - 1))) builder.setCharAt(length - 1, ' ');
+			char[] chars = builder.toString().toCharArray();
+			byte[] bytes = Converter.wcsToMbcs(chars, true);
+			int iterations = (int) Math.max(1, CHARACTERS_PER_RUN / length);
+
+			long encodeNative = measure(iterations, chars, c -> Converter.wcsToMbcsNative(c, true));
+			long encodeJava = measure(iterations, chars, c -> Converter.wcsToMbcs(c, true));
+			long decodeNative = measure(iterations, bytes, Converter::mbcsToWcsNative);
+			long decodeJava = measure(iterations, bytes, Converter::mbcsToWcs);
+			System.out.println(String.format("%-8s %,7d chars  encode native %,8.1f ns  java %,8.1f ns  decode native %,8.1f ns  java %,8.1f ns",
+					name, length, (double) encodeNative / iterations, (double) encodeJava / iterations,
+					(double) decodeNative / iterations, (double) decodeJava / iterations));
+		}
+	}
+
+	private static <T> long measure(int iterations, T input, Function<T, Object> conversion) {
+		long best = Long.MAX_VALUE;
+		Object sink = null;
+		for (int run = 0; run < RUNS; run++) {
+			long start = System.nanoTime();
+			for (int i = 0; i < iterations; i++) {
+				sink = conversion.apply(input);
+			}
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		if (sink == null) throw new IllegalStateException();
+		return best;
+	}
+}
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Platform Contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Platform Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.gtk.snippets;
+
+import java.lang.reflect.Method;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Shell;
+
+/**
+ * Manual benchmark for the deferred event queue of the GTK Display.
+ * <p>
+ * Posts N deferred events through <code>Display.postEvent(Event)</code> and
+ * then drains them through <code>Display.runDeferredEvents()</code>. Both
+ * methods are internal, so they are invoked reflectively.
+ * </p>
+ */
+public class BenchmarkDeferredEvents {
+	private static final int[] SIZES = { 1_000, 10_000, 100_000 };
+	private static final int RUNS = 20;
+
+	public static void main(String[] args) throws Exception {
+		Display display = new Display();
+		Shell shell = new Shell(display);
+		int[] received = new int[1];
+		shell.addListener(SWT.Selection, e -> received[0]++);
+
+		Method postEvent = Display.class.getDeclaredMethod("postEvent", Event.class);
+		Method runDeferredEvents = Display.class.getDeclaredMethod("runDeferredEvents");
+		postEvent.setAccessible(true);
+		runDeferredEvents.setAccessible(true);
+
+		try {
+			for (int size : SIZES) {
+				long best = Long.MAX_VALUE;
+				for (int run = 0; run < RUNS; run++) {
+					received[0] = 0;
+					long start = System.nanoTime();
+					for (int i = 0; i < size; i++) {
+						Event event = new Event();
+						event.type = SWT.Selection;
+						event.display = display;
+						event.widget = shell;
+						postEvent.invoke(display, event);
+					}
+					runDeferredEvents.invoke(display);
+					best = Math.min(best, System.nanoTime() - start);
+					if (received[0] != size) {
+						throw new IllegalStateException("Expected " + size + " events but received " + received[0]);
+					}
+				}
+				System.out.println("Post and drain " + String.format("%,9d", size) + " events: "
+						+ String.format("%,15d", best) + " ns");
+			}
+		} finally {
+			display.dispose();
+		}
+	}
+}
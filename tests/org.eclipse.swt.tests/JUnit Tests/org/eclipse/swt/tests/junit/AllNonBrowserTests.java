@@ -48,6 +48,7 @@ public class AllNonBrowserTests {
 			AllWidgetTests.class, //
 			// Rest of tests alphabetically
 			DPIUtilTests.class, //
+			LongObjectHashMapTests.class, //
 			Test_org_eclipse_swt_accessibility_Accessible.class, //
 			Test_org_eclipse_swt_accessibility_AccessibleControlEvent.class, //
 			Test_org_eclipse_swt_accessibility_AccessibleEvent.class, //
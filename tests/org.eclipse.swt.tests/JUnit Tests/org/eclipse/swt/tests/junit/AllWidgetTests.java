@@ -32,6 +32,8 @@ import org.junit.platform.suite.api.Suite;
 		Test_org_eclipse_swt_custom_ExtendedModifyListener.class, //
 		Test_org_eclipse_swt_custom_LineBackgroundListener.class, //
 		Test_org_eclipse_swt_custom_LineStyleListener.class, //
+		Test_org_eclipse_swt_custom_MappedFileContent.class, //
+		Test_org_eclipse_swt_custom_PieceTableContent.class, //
 		Test_org_eclipse_swt_custom_StyleRange.class, //
 		Test_org_eclipse_swt_custom_StyledText.class, //
 		Test_org_eclipse_swt_custom_StyledTextContent.class, //
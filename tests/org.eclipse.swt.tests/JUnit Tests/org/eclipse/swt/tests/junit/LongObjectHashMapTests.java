@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Platform Contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Platform Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.swt.internal.LongObjectHashMap;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Automated Test Suite for class org.eclipse.swt.internal.LongObjectHashMap
+ *
+ * @see org.eclipse.swt.internal.LongObjectHashMap
+ */
+@SuppressWarnings("restriction")
+public class LongObjectHashMapTests {
+
+	@Test
+	public void putGetRemove() {
+		LongObjectHashMap<String> map = new LongObjectHashMap<>();
+		assertNull(map.put(1, "a"));
+		assertNull(map.put(17, "b"));
+		assertEquals("a", map.put(1, "c"));
+		assertEquals(2, map.size());
+		assertEquals("c", map.get(1));
+		assertEquals("b", map.get(17));
+		assertNull(map.get(2));
+		assertNull(map.get(0));
+		assertEquals("c", map.remove(1));
+		assertNull(map.remove(1));
+		assertNull(map.get(1));
+		assertEquals("b", map.get(17));
+		assertEquals(1, map.size());
+		assertThrows(IllegalArgumentException.class, () -> map.put(0, "zero"));
+		assertThrows(IllegalArgumentException.class, () -> map.put(2, null));
+	}
+
+	@Test
+	public void randomOperationsMatchHashMap() {
+		LongObjectHashMap<Long> map = new LongObjectHashMap<>();
+		Map<Long, Long> expected = new HashMap<>();
+		Random random = new Random(4711);
+		for (int i = 0; i < 200_000; i++) {
+			// aligned, pointer-like keys
+			long key = (random.nextInt(20_000) + 1) * 16L;
+			if (random.nextInt(3) == 0) {
+				assertEquals(expected.remove(key), map.remove(key));
+			} else {
+				Long value = Long.valueOf(i);
+				assertEquals(expected.put(key, value), map.put(key, value));
+			}
+		}
+		assertEquals(expected.size(), map.size());
+		for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+			assertEquals(entry.getValue(), map.get(entry.getKey()));
+		}
+	}
+
+	@Test
+	public void metrics() {
+		LongObjectHashMap<Object> map = new LongObjectHashMap<>(1000);
+		for (long handle = 0x7f0000001000L; map.size() < 50_000; handle += 64) {
+			map.put(handle, Boolean.TRUE);
+		}
+		assertTrue(map.capacity() >= 2 * map.size());
+		assertTrue(map.averageProbeLength() >= 1 && map.averageProbeLength() < 4, "average probe length: " + map.averageProbeLength());
+		assertTrue(map.maxProbeLength() >= 1);
+		assertTrue(map.probeLength(0x7f0000001000L + 64 * 100) >= 1);
+		map.clear();
+		assertEquals(0, map.size());
+		assertEquals(0, map.maxProbeLength());
+	}
+}
@@ -0,0 +1,253 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Platform Contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Platform Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.eclipse.swt.SWTError;
+import org.eclipse.swt.SWTException;
+import org.eclipse.swt.custom.MappedFileContent;
+import org.eclipse.swt.custom.TextChangeListener;
+import org.eclipse.swt.custom.TextChangedEvent;
+import org.eclipse.swt.custom.TextChangingEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Automated Test Suite for class org.eclipse.swt.custom.MappedFileContent
+ *
+ * @see org.eclipse.swt.custom.MappedFileContent
+ */
+public class Test_org_eclipse_swt_custom_MappedFileContent {
+	@TempDir
+	Path tempDir;
+
+	MappedFileContent content;
+
+@AfterEach
+public void tearDown() {
+	if (content != null) content.dispose();
+}
+
+MappedFileContent open(String text) throws IOException {
+	Path file = tempDir.resolve("content.txt");
+	Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+	content = new MappedFileContent(null, file.toString(), StandardCharsets.UTF_8);
+	waitForIndex();
+	return content;
+}
+
+void waitForIndex() {
+	waitForIndex(10000);
+}
+
+void waitForIndex(long timeout) {
+	long end = System.currentTimeMillis() + timeout;
+	while (content.isIndexing() && System.currentTimeMillis() < end) {
+		Thread.yield();
+		content.refresh();
+	}
+	assertFalse(content.isIndexing());
+}
+
+void assertLines(String... lines) {
+	assertEquals(lines.length, content.getLineCount());
+	for (int i = 0; i < lines.length; i++) {
+		assertEquals(lines[i], content.getLine(i), "line " + i);
+	}
+}
+
+@Test
+public void test_Constructor() throws IOException {
+	open("");
+	assertEquals(0, content.getCharCount());
+	assertLines("");
+	assertEquals(0, content.getLineAtOffset(0));
+	assertThrows(IllegalArgumentException.class, () -> new MappedFileContent(null, null, StandardCharsets.UTF_8));
+	assertThrows(IllegalArgumentException.class, () -> new MappedFileContent(null, "file", StandardCharsets.UTF_16));
+	assertThrows(SWTException.class, () -> new MappedFileContent(null, tempDir.resolve("missing").toString(), StandardCharsets.UTF_8));
+}
+
+@Test
+public void test_lines() throws IOException {
+	open("Line0\r\nLine1\rLine2\nLine3");
+	assertLines("Line0", "Line1", "Line2", "Line3");
+	assertEquals(24, content.getCharCount());
+	assertEquals(0, content.getOffsetAtLine(0));
+	assertEquals(7, content.getOffsetAtLine(1));
+	assertEquals(13, content.getOffsetAtLine(2));
+	assertEquals(19, content.getOffsetAtLine(3));
+	assertEquals(0, content.getLineAtOffset(6));
+	assertEquals(1, content.getLineAtOffset(7));
+	assertEquals(3, content.getLineAtOffset(24));
+	assertEquals("1\rLine2", content.getTextRange(11, 7));
+	assertThrows(IllegalArgumentException.class, () -> content.getLine(4));
+	assertThrows(IllegalArgumentException.class, () -> content.getLineAtOffset(25));
+	assertThrows(IllegalArgumentException.class, () -> content.getTextRange(20, 5));
+}
+
+@Test
+public void test_largeFile() throws IOException {
+	StringBuilder text = new StringBuilder();
+	for (int i = 0; i < 100000; i++) {
+		text.append("Line ").append(i).append('\n');
+	}
+	open(text.toString());
+	assertEquals(100001, content.getLineCount());
+	assertEquals(text.length(), content.getCharCount());
+	for (int i = 0; i < 100000; i += 997) {
+		int offset = text.indexOf("Line " + i + "\n");
+		assertEquals("Line " + i, content.getLine(i));
+		assertEquals(offset, content.getOffsetAtLine(i));
+		assertEquals(i, content.getLineAtOffset(offset + 2));
+	}
+}
+
+@Test
+public void test_readOnly() throws IOException {
+	open("text");
+	assertThrows(SWTError.class, () -> content.setText("other"));
+	assertThrows(SWTError.class, () -> content.replaceTextRange(0, 1, ""));
+	assertLines("text");
+}
+
+@Test
+public void test_tailing() throws IOException {
+	open("first\nsec");
+	assertFalse(content.isTruncated());
+	int[] newLineCount = new int[1];
+	content.addTextChangeListener(new TextChangeListener() {
+		@Override
+		public void textChanging(TextChangingEvent event) {
+			newLineCount[0] += event.newLineCount;
+		}
+		@Override
+		public void textChanged(TextChangedEvent event) {
+		}
+		@Override
+		public void textSet(TextChangedEvent event) {
+		}
+	});
+	content.setTailing(true);
+	assertTrue(content.getTailing());
+	Path file = tempDir.resolve("content.txt");
+	Files.write(file, "ond\r".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+	content.refresh();
+	waitForIndex();
+	// a CR at the end of the file may still be followed by a LF
+	assertLines("first", "second\r");
+	Files.write(file, "\nthird\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+	content.refresh();
+	waitForIndex();
+	assertLines("first", "second", "third", "");
+	assertEquals(2, newLineCount[0]);
+}
+
+@Test
+public void test_truncateWhileTailing() throws IOException {
+	Path file = tempDir.resolve("content.txt");
+	StringBuilder text = new StringBuilder();
+	for (int i = 0; i < 1000000; i++) {
+		text.append("Line ").append(i).append('\n');
+	}
+	byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+	Files.write(file, bytes);
+	content = new MappedFileContent(null, file.toString(), StandardCharsets.UTF_8);
+	int[] textSetCount = new int[1];
+	content.addTextChangeListener(new TextChangeListener() {
+		@Override
+		public void textChanging(TextChangingEvent event) {
+		}
+		@Override
+		public void textChanged(TextChangedEvent event) {
+		}
+		@Override
+		public void textSet(TextChangedEvent event) {
+			textSetCount[0]++;
+		}
+	});
+	content.setTailing(true);
+	waitForIndex();
+	try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+		channel.truncate(0);
+	}
+	// the text beyond the end of the file is empty, the lines do not change while they are read
+	assertEquals("", content.getLine(500000));
+	assertEquals(3, content.getTextRange(content.getOffsetAtLine(500000), 3).length());
+	assertEquals(1000001, content.getLineCount());
+	assertEquals(0, textSetCount[0]);
+	// the content starts over afterwards
+	content.refresh();
+	assertEquals(1, textSetCount[0]);
+	assertEquals(1, content.getLineCount());
+	assertEquals("", content.getLine(0));
+
+	// the same while the file is still being indexed
+	Files.write(file, bytes);
+	content.refresh();
+	try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+		channel.truncate(0);
+	}
+	assertEquals("", content.getLine(0));
+	waitForIndex();
+	assertLines("");
+	assertEquals(0, content.getCharCount());
+}
+
+@Test
+public void test_truncatedAtMaxCharCount() throws Exception {
+	// lower the number of characters the content can have, instead of using a file with more than Integer.MAX_VALUE
+	Field field = MappedFileContent.class.getDeclaredField("maxCharCount");
+	field.setAccessible(true);
+	field.setInt(null, 100);
+	try {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < 20; i++) {
+			text.append("Line ").append(i < 10 ? "0" : "").append(i).append("\r\n");
+		}
+		open(text.toString());
+	} finally {
+		field.setInt(null, Integer.MAX_VALUE);
+	}
+	assertTrue(content.isTruncated());
+	// the content ends after the last line that fits
+	assertEquals(12, content.getLineCount());
+	assertEquals(99, content.getCharCount());
+	assertEquals("Line 10", content.getLine(10));
+	assertEquals("", content.getLine(11));
+}
+
+@Test
+public void test_utf8() throws IOException {
+	open("\u00e9t\u00e9\n\u20ac \ud83d\ude00!\n");
+	assertLines("\u00e9t\u00e9", "\u20ac \ud83d\ude00!", "");
+	assertEquals(10, content.getCharCount());
+	assertEquals(4, content.getOffsetAtLine(1));
+	assertEquals("\ude00!", content.getTextRange(7, 2));
+	assertEquals(1, content.getLineAtOffset(9));
+}
+
+}
@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Platform Contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Platform Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.PieceTableContent;
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.custom.TextChangeListener;
+import org.eclipse.swt.custom.TextChangedEvent;
+import org.eclipse.swt.custom.TextChangingEvent;
+import org.eclipse.swt.widgets.Shell;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Automated Test Suite for class org.eclipse.swt.custom.PieceTableContent
+ *
+ * @see org.eclipse.swt.custom.PieceTableContent
+ */
+public class Test_org_eclipse_swt_custom_PieceTableContent {
+	PieceTableContent content;
+	int replaceLineCount, newLineCount, textSetCount;
+
+@BeforeEach
+public void setUp() {
+	content = new PieceTableContent();
+	content.addTextChangeListener(new TextChangeListener() {
+		@Override
+		public void textChanging(TextChangingEvent event) {
+			replaceLineCount = event.replaceLineCount;
+			newLineCount = event.newLineCount;
+		}
+		@Override
+		public void textChanged(TextChangedEvent event) {
+		}
+		@Override
+		public void textSet(TextChangedEvent event) {
+			textSetCount++;
+		}
+	});
+}
+
+void assertLines(String... lines) {
+	assertEquals(lines.length, content.getLineCount());
+	for (int i = 0; i < lines.length; i++) {
+		assertEquals(lines[i], content.getLine(i), "line " + i);
+	}
+}
+
+@Test
+public void test_Constructor() {
+	assertEquals(0, content.getCharCount());
+	assertEquals(1, content.getLineCount());
+	assertEquals("", content.getLine(0));
+	assertEquals(0, content.getOffsetAtLine(0));
+	assertEquals(0, content.getLineAtOffset(0));
+}
+
+@Test
+public void test_getLineAtOffsetI() {
+	content.setText("Line0\r\nLine1\rLine2\n");
+	assertEquals(0, content.getLineAtOffset(0));
+	assertEquals(0, content.getLineAtOffset(6));
+	assertEquals(1, content.getLineAtOffset(7));
+	assertEquals(1, content.getLineAtOffset(12));
+	assertEquals(2, content.getLineAtOffset(13));
+	assertEquals(3, content.getLineAtOffset(19));
+	assertThrows(IllegalArgumentException.class, () -> content.getLineAtOffset(-1));
+	assertThrows(IllegalArgumentException.class, () -> content.getLineAtOffset(20));
+}
+
+@Test
+public void test_getOffsetAtLineI() {
+	content.setText("Line0\r\nLine1\rLine2\n");
+	assertEquals(0, content.getOffsetAtLine(0));
+	assertEquals(7, content.getOffsetAtLine(1));
+	assertEquals(13, content.getOffsetAtLine(2));
+	assertEquals(19, content.getOffsetAtLine(3));
+	assertThrows(IllegalArgumentException.class, () -> content.getOffsetAtLine(4));
+}
+
+@Test
+public void test_replaceTextRangeIILjava_lang_String() {
+	content.setText("This\nis a test\r");
+	content.replaceTextRange(0, 0, "test\n ");
+	assertEquals("test\n This\nis a test\r", content.getTextRange(0, content.getCharCount()));
+	assertLines("test", " This", "is a test", "");
+	assertEquals(0, replaceLineCount);
+	assertEquals(1, newLineCount);
+
+	content.replaceTextRange(5, 6, "");
+	assertEquals("test\nis a test\r", content.getTextRange(0, content.getCharCount()));
+	assertLines("test", "is a test", "");
+	assertEquals(1, replaceLineCount);
+	assertEquals(0, newLineCount);
+
+	content.replaceTextRange(7, 2, "\n\n");
+	assertLines("test", "is", "", " test", "");
+	assertEquals("s", content.getTextRange(6, 1));
+	assertThrows(IllegalArgumentException.class, () -> content.getTextRange(10, 10));
+}
+
+@Test
+public void test_replaceTextRange_delimiters() {
+	// a CR/LF line delimiter may not be split
+	content.setText("L1\r\nL2\r\n");
+	assertThrows(IllegalArgumentException.class, () -> content.replaceTextRange(3, 0, "test"));
+	assertThrows(IllegalArgumentException.class, () -> content.replaceTextRange(3, 1, ""));
+	assertThrows(IllegalArgumentException.class, () -> content.replaceTextRange(1, 2, ""));
+	assertEquals("L1\r\nL2\r\n", content.getTextRange(0, content.getCharCount()));
+
+	// a CR and a LF that are inserted separately remain separate line delimiters
+	content.setText("L1\r");
+	content.replaceTextRange(3, 0, "\ntest\r\n");
+	assertEquals(0, replaceLineCount);
+	assertEquals(2, newLineCount);
+	assertLines("L1", "", "test", "");
+	content.replaceTextRange(3, 0, "x");
+	assertLines("L1", "x", "test", "");
+	content.replaceTextRange(3, 1, "");
+	assertLines("L1", "", "test", "");
+}
+
+@Test
+public void test_snapshots() {
+	content.setText("first\nsecond\n");
+	PieceTableContent.Snapshot initial = content.createSnapshot();
+	content.replaceTextRange(6, 0, "inserted\n");
+	PieceTableContent.Snapshot inserted = content.createSnapshot();
+	content.replaceTextRange(0, 6, "");
+	assertLines("inserted", "second", "");
+
+	int textSets = textSetCount;
+	content.restoreSnapshot(initial);
+	assertEquals(textSets + 1, textSetCount);
+	assertLines("first", "second", "");
+	assertEquals(13, initial.getCharCount());
+	content.restoreSnapshot(inserted);
+	assertLines("first", "inserted", "second", "");
+
+	assertThrows(IllegalArgumentException.class, () -> content.restoreSnapshot(null));
+	assertThrows(IllegalArgumentException.class, () -> new PieceTableContent().restoreSnapshot(initial));
+}
+
+@Test
+public void test_randomEdits() {
+	Random random = new Random(1);
+	StringBuilder expected = new StringBuilder();
+	List<PieceTableContent.Snapshot> snapshots = new ArrayList<>();
+	List<String> texts = new ArrayList<>();
+	for (int i = 0; i < 500; i++) {
+		int start = random.nextInt(expected.length() + 1);
+		int length = random.nextInt(Math.min(10, expected.length() - start) + 1);
+		StringBuilder text = new StringBuilder();
+		for (int j = random.nextInt(8); j > 0; j--) {
+			text.append(random.nextInt(4) == 0 ? '\n' : (char) ('a' + random.nextInt(26)));
+		}
+		content.replaceTextRange(start, length, text.toString());
+		expected.replace(start, start + length, text.toString());
+		if (i % 50 == 0) {
+			snapshots.add(content.createSnapshot());
+			texts.add(expected.toString());
+		}
+	}
+	String text = expected.toString();
+	assertEquals(text, content.getTextRange(0, content.getCharCount()));
+	String[] lines = text.split("\n", -1);
+	assertLines(lines);
+	int offset = 0;
+	for (int i = 0; i < lines.length; i++) {
+		assertEquals(offset, content.getOffsetAtLine(i));
+		assertEquals(i, content.getLineAtOffset(offset));
+		offset += lines[i].length() + 1;
+	}
+	for (int i = 0; i < snapshots.size(); i++) {
+		content.restoreSnapshot(snapshots.get(i));
+		assertEquals(texts.get(i), content.getTextRange(0, content.getCharCount()));
+	}
+}
+
+@Test
+public void test_StyledText() {
+	Shell shell = new Shell();
+	try {
+		StyledText styledText = new StyledText(shell, SWT.MULTI);
+		styledText.setContent(content);
+		styledText.setText("Line0\nLine1");
+		styledText.replaceTextRange(5, 0, "\ninserted");
+		assertEquals(3, styledText.getLineCount());
+		assertEquals("inserted", styledText.getLine(1));
+		assertEquals(15, styledText.getOffsetAtLine(2));
+		assertEquals("Line0\ninserted\nLine1", styledText.getText());
+	} finally {
+		shell.dispose();
+	}
+}
+
+}
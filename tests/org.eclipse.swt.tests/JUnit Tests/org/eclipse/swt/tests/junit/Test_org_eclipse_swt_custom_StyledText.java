@@ -1177,6 +1177,164 @@ public void test_getLineIndex () {
 	text2.dispose();
 }
 
+@Test
+public void test_getLineIndex_getLinePixel_variableLineHeight() {
+	StyledText text = new StyledText(shell, SWT.WRAP | SWT.V_SCROLL);
+	StringBuilder builder = new StringBuilder();
+	for (int i = 0; i < 300; i++) {
+		if (i > 0) builder.append('\n');
+		builder.append("line ").append(i);
+		for (int j = 0; j < i % 7; j++) builder.append(" some more words to wrap");
+	}
+	text.setText(builder.toString());
+	text.setSize(150, 200);
+	text.setTopIndex(100);
+	assertLinePixelsConsistent(text);
+
+	// insert and remove lines, so that the line heights move
+	text.replaceTextRange(text.getOffsetAtLine(50), 0, "new line\nand another one to wrap around\n");
+	assertLinePixelsConsistent(text);
+	text.replaceTextRange(text.getOffsetAtLine(10), text.getOffsetAtLine(40) - text.getOffsetAtLine(10), "");
+	text.setTopIndex(20);
+	assertLinePixelsConsistent(text);
+	text.dispose();
+}
+
+@Test
+public void test_lineMeasurement() throws InterruptedException {
+	StyledText text = new StyledText(shell, SWT.WRAP | SWT.V_SCROLL);
+	text.setSize(150, 200);
+	StringBuilder builder = new StringBuilder();
+	for (int i = 0; i < 2000; i++) {
+		if (i > 0) builder.append('\n');
+		builder.append("line ").append(i);
+		for (int j = 0; j < i % 5; j++) builder.append(" some more words to wrap");
+	}
+	text.setText(builder.toString());
+	int lineCount = text.getLineCount();
+	SwtTestUtil.processEvents(10000, () -> !text.isMeasuringLines());
+	assertFalse(text.isMeasuringLines());
+	assertEquals(lineCount, text.getMeasuredLineCount());
+
+	// resizing rewraps all lines, the measurement stops when canceled
+	text.setSize(170, 200);
+	assertTrue(text.isMeasuringLines());
+	text.cancelLineMeasurement();
+	assertFalse(text.isMeasuringLines());
+	SwtTestUtil.processEvents();
+	assertFalse(text.isMeasuringLines());
+	assertTrue(text.getMeasuredLineCount() < lineCount);
+
+	text.setTopIndex(1500);
+	text.setSize(150, 200);
+	SwtTestUtil.processEvents(10000, () -> !text.isMeasuringLines());
+	assertFalse(text.isMeasuringLines());
+	assertEquals(lineCount, text.getMeasuredLineCount());
+	assertLinePixelsConsistent(text);
+	text.dispose();
+}
+
+@Test
+public void test_textLayoutCache() {
+	StyledText text = new StyledText(shell, SWT.V_SCROLL);
+	text.setSize(150, 200);
+	StringBuilder builder = new StringBuilder();
+	for (int i = 0; i < 1000; i++) {
+		builder.append("line ").append(i).append('\n');
+	}
+	text.setText(builder.toString());
+	assertEquals(300, text.getTextLayoutCacheSize());
+	assertThrows(IllegalArgumentException.class, () -> text.setTextLayoutCacheSize(0));
+	text.setTextLayoutCacheSize(50);
+	assertEquals(50, text.getTextLayoutCacheSize());
+
+	// the layout of a line far from the visible lines is kept
+	int offset = text.getOffsetAtLine(900);
+	Point location = text.getLocationAtOffset(offset);
+	int hits = text.getTextLayoutCacheHits();
+	int misses = text.getTextLayoutCacheMisses();
+	assertEquals(location, text.getLocationAtOffset(offset));
+	assertTrue(text.getTextLayoutCacheHits() > hits);
+	assertEquals(misses, text.getTextLayoutCacheMisses());
+
+	// changing the line invalidates its layout
+	text.replaceTextRange(offset, 0, "changed ");
+	text.getLocationAtOffset(offset + 8);
+	assertTrue(text.getTextLayoutCacheMisses() > misses);
+	text.dispose();
+}
+
+@Test
+public void test_textLayoutCacheKeepsLayoutsInUse() {
+	StyledText text = new StyledText(shell, SWT.V_SCROLL);
+	text.setSize(150, 200);
+	StringBuilder builder = new StringBuilder();
+	for (int i = 0; i < 1000; i++) {
+		builder.append("line ").append(i).append('\n');
+	}
+	text.setText(builder.toString());
+	text.setTextLayoutCacheSize(1);
+	int[] depth = new int[1];
+	text.addLineStyleListener(event -> {
+		// measure another line while the layout of this one is being created
+		if (depth[0]++ == 0) text.getLocationAtOffset(text.getOffsetAtLine(800));
+		depth[0]--;
+	});
+	Point location = text.getLocationAtOffset(text.getOffsetAtLine(900) + 2);
+	assertTrue(location.x > 0);
+	Rectangle bounds = text.getTextBounds(text.getOffsetAtLine(700), text.getOffsetAtLine(701) + 3);
+	assertTrue(bounds.height > 0);
+	text.dispose();
+}
+
+@Test
+public void test_lineHeightEstimation() throws InterruptedException {
+	StyledText text = new StyledText(shell, SWT.WRAP | SWT.V_SCROLL);
+	text.setSize(150, 200);
+	assertFalse(text.getLineHeightEstimation());
+	text.setLineHeightEstimation(true);
+	assertTrue(text.getLineHeightEstimation());
+	StringBuilder builder = new StringBuilder();
+	for (int i = 0; i < 5000; i++) {
+		if (i > 0) builder.append('\n');
+		builder.append("line ").append(i);
+		for (int j = 0; j < i % 5; j++) builder.append(" some more words to wrap");
+	}
+	text.setText(builder.toString());
+	int lineCount = text.getLineCount();
+	SwtTestUtil.processEvents(10000, () -> !text.isMeasuringLines());
+	assertFalse(text.isMeasuringLines());
+	assertEquals(lineCount, text.getMeasuredLineCount());
+	assertLinePixelsConsistent(text);
+
+	// typing while the lines are estimated keeps the lines consistent
+	text.setSize(170, 200);
+	assertTrue(text.isMeasuringLines());
+	text.replaceTextRange(text.getOffsetAtLine(10), 0, "new line\n");
+	text.replaceTextRange(text.getOffsetAtLine(4000), text.getLine(4000).length() + 1, "");
+	SwtTestUtil.processEvents(10000, () -> !text.isMeasuringLines());
+	assertFalse(text.isMeasuringLines());
+	assertEquals(lineCount, text.getMeasuredLineCount());
+	assertLinePixelsConsistent(text);
+
+	text.setLineHeightEstimation(false);
+	assertFalse(text.getLineHeightEstimation());
+	text.dispose();
+}
+
+void assertLinePixelsConsistent(StyledText text) {
+	int lineCount = text.getLineCount();
+	for (int i = 0; i < lineCount; i++) {
+		int top = text.getLinePixel(i);
+		int bottom = text.getLinePixel(i + 1);
+		assertTrue(bottom > top, "line " + i);
+		assertEquals(i, text.getLineIndex(top), "line " + i);
+		assertEquals(i, text.getLineIndex(bottom - 1), "line " + i);
+	}
+	assertEquals(0, text.getLineIndex(text.getLinePixel(0) - 1));
+	assertEquals(lineCount - 1, text.getLineIndex(text.getLinePixel(lineCount)));
+}
+
 void test_getLineIndex (StyledText text) {
 	int lineHeight = text.getLineHeight();
 
@@ -4596,6 +4754,135 @@ public void test_setStyleRanges$Lorg_eclipse_swt_custom_StyleRange() {
 	assertEquals(0, text.getStyleRanges().length);
 }
 
+/**
+ * Applies random edits and restyles and compares the style of every
+ * character with a model that stores one style per character.
+ */
+@Test
+public void test_styleRangesMatchCharacterModel() {
+	StyleRange[] palette = {getStyle(0,0,RED,null), getStyle(0,0,BLUE,null), getStyle(0,0,GREEN,YELLOW)};
+	ArrayList<StyleRange> model = new ArrayList<>();
+	text.setText("0123456789".repeat(10));
+	for (int i = 0; i < text.getCharCount(); i++) model.add(null);
+
+	// a range that joins two similar ranges
+	setStyleRange(model, getStyle(10,5,RED,null));
+	setStyleRange(model, getStyle(20,5,RED,null));
+	setStyleRange(model, getStyle(15,5,RED,null));
+	assertStyleRanges(model);
+	// zero length ranges between the replaced ones
+	replaceStyleRanges(model, 12, 10, new int[] {12,0, 13,2, 15,0, 17,3}, new StyleRange[] {palette[1], palette[2], palette[0], palette[1]}, true);
+	assertStyleRanges(model);
+	// an edit that removes whole ranges and ends inside the last one
+	replaceTextRange(model, 11, 7, "ab");
+	assertStyleRanges(model);
+	// an insertion inside a range splits it
+	replaceTextRange(model, 16, 0, "cd");
+	assertStyleRanges(model);
+	// clearing the middle of a range
+	setStyleRange(model, getStyle(30,20,BLUE,null));
+	setStyleRange(model, new StyleRange(35, 5, null, null));
+	assertStyleRanges(model);
+
+	Random random = new Random(16);
+	for (int i = 0; i < 3000; i++) {
+		int charCount = model.size();
+		int start = random.nextInt(charCount + 1);
+		int length = random.nextInt(Math.min(12, charCount - start) + 1);
+		switch (random.nextInt(4)) {
+			case 0:
+				replaceTextRange(model, start, Math.min(length, 4), "x".repeat(random.nextInt(4)));
+				break;
+			case 1:
+				StyleRange style = (StyleRange) palette[random.nextInt(palette.length)].clone();
+				style.start = start;
+				style.length = length;
+				setStyleRange(model, style);
+				break;
+			case 2:
+				setStyleRange(model, new StyleRange(start, length, null, null));
+				break;
+			default:
+				ArrayList<Integer> ranges = new ArrayList<>();
+				ArrayList<StyleRange> styles = new ArrayList<>();
+				int offset = start;
+				while (random.nextInt(4) != 0) {
+					int rangeStart = offset + random.nextInt(2);
+					int rangeLength = random.nextInt(4);
+					if (rangeStart + rangeLength > start + length) break;
+					ranges.add(rangeStart);
+					ranges.add(rangeLength);
+					styles.add(palette[random.nextInt(palette.length)]);
+					offset = rangeStart + rangeLength;
+				}
+				replaceStyleRanges(model, start, length, ranges.stream().mapToInt(Integer::intValue).toArray(), styles.toArray(new StyleRange[0]), random.nextBoolean());
+		}
+		assertStyleRanges(model);
+		if (model.size() < 20) replaceTextRange(model, model.size(), 0, "0123456789".repeat(5));
+	}
+}
+
+void replaceTextRange(ArrayList<StyleRange> model, int start, int length, String newText) {
+	text.replaceTextRange(start, length, newText);
+	model.subList(start, start + length).clear();
+	for (int i = 0; i < newText.length(); i++) model.add(start, null);
+}
+
+void setStyleRange(ArrayList<StyleRange> model, StyleRange style) {
+	text.setStyleRange(style);
+	for (int i = style.start; i < style.start + style.length; i++) {
+		model.set(i, style.isUnstyled() ? null : style);
+	}
+}
+
+void replaceStyleRanges(ArrayList<StyleRange> model, int start, int length, int[] ranges, StyleRange[] styles, boolean withRanges) {
+	if (withRanges) {
+		text.setStyleRanges(start, length, ranges, styles);
+	} else {
+		StyleRange[] newStyles = new StyleRange[styles.length];
+		for (int i = 0; i < styles.length; i++) {
+			newStyles[i] = (StyleRange) styles[i].clone();
+			newStyles[i].start = ranges[i * 2];
+			newStyles[i].length = ranges[i * 2 + 1];
+		}
+		text.replaceStyleRanges(start, length, newStyles);
+	}
+	for (int i = start; i < start + length; i++) model.set(i, null);
+	for (int i = 0; i < styles.length; i++) {
+		for (int j = ranges[i * 2]; j < ranges[i * 2] + ranges[i * 2 + 1]; j++) model.set(j, styles[i]);
+	}
+}
+
+void assertStyleRanges(ArrayList<StyleRange> model) {
+	assertEquals(model.size(), text.getCharCount());
+	assertStyleRanges(model, 0, model.size());
+	assertStyleRanges(model, model.size() / 3, model.size() / 3);
+}
+
+void assertStyleRanges(ArrayList<StyleRange> model, int start, int length) {
+	StyleRange[] styles = text.getStyleRanges(start, length);
+	int[] ranges = text.getRanges(start, length);
+	assertEquals(styles.length * 2, ranges.length);
+	StyleRange[] actual = new StyleRange[start + length];
+	int end = start;
+	for (int i = 0; i < styles.length; i++) {
+		StyleRange style = styles[i];
+		assertEquals(style.start, ranges[i * 2]);
+		assertEquals(style.length, ranges[i * 2 + 1]);
+		assertTrue(end <= style.start && style.start + style.length <= start + length, "ranges must be ordered and inside the query");
+		end = style.start + style.length;
+		for (int j = style.start; j < end; j++) actual[j] = style;
+	}
+	for (int i = start; i < start + length; i++) {
+		StyleRange expected = model.get(i);
+		if (expected == null) {
+			assertNull(actual[i], "style at " + i);
+		} else {
+			assertTrue(actual[i] != null && expected.similarTo(actual[i]), "style at " + i);
+		}
+	}
+}
+
 @Test
 public void test_setTabsI(){
 	text.setTabs(1);
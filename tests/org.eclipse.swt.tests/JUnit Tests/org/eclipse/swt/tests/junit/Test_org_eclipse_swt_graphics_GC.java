@@ -26,9 +26,11 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.management.ManagementFactory;
 import java.lang.ref.WeakReference;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
@@ -62,6 +64,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import com.sun.management.ThreadMXBean;
+
 /**
  * Automated Test Suite for class org.eclipse.swt.graphics.GC
  *
@@ -372,6 +376,32 @@ public void test_drawImageLorg_eclipse_swt_graphics_ImageII() {
 	images.dispose();
 }
 
+@Test
+public void test_drawImage_allocatesNoPixels() {
+	assumeTrue(SwtTestUtil.isGTK, "GC on GTK paints the surface of the image without copying its pixels");
+	ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+	assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+	int size = 64, count = 1000;
+	Image icon = new Image(display, size, size);
+	try {
+		// warm up, so that class loading is not counted
+		for (int i = 0; i < 10; i++) {
+			gc.drawImage(icon, i, i);
+			gc.drawImage(icon, 0, 0, size, size, i, i, size, size);
+		}
+		long before = threads.getCurrentThreadAllocatedBytes();
+		for (int i = 0; i < count; i++) {
+			gc.drawImage(icon, i % IMAGE_SIZE, 0);
+			gc.drawImage(icon, 0, 0, size, size, i % IMAGE_SIZE, size, size, size);
+		}
+		long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+		// reading back the pixels of a single draw would allocate more than this
+		assertTrue(allocated < size * size * 4, "Drawing " + 2 * count + " images allocated " + allocated + " bytes");
+	} finally {
+		icon.dispose();
+	}
+}
+
 @Test
 public void test_drawImageLorg_eclipse_swt_graphics_ImageIIIIIIII() {
 	TestImages images = createTestImages(display);
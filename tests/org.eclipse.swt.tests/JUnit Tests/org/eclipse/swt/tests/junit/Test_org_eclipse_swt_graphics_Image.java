@@ -51,6 +51,8 @@ import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.RGB;
 import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.internal.DPIUtil;
+import org.eclipse.swt.internal.image.ImageAtSizeCache;
+import org.eclipse.swt.internal.image.ImageDataCache;
 import org.eclipse.swt.widgets.Display;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -421,6 +423,80 @@ public void test_ConstructorLorg_eclipse_swt_graphics_Device_ImageFileNameProvid
 	image.dispose();
 }
 
+@Test
+public void test_imageDataCache() {
+	assumeTrue(SwtTestUtil.isGTK, "The image data cache is only used on GTK");
+	AtomicInteger calls = new AtomicInteger();
+	ImageDataProvider provider = zoom -> {
+		calls.incrementAndGet();
+		return imageDataProvider1xOnly.getImageData(zoom);
+	};
+	long hits = ImageDataCache.getHits();
+	Image image1 = new Image(display, provider);
+	Image image2 = new Image(display, provider);
+	try {
+		int otherZoom = DPIUtil.getDeviceZoom() == 100 ? 200 : 100;
+		assertTrue(ImageDataCache.getHits() > hits);
+		assertTrue(ImageDataCache.getByteUsage() > 0);
+
+		// the image data handed out is a copy of the cached one
+		ImageData data = image1.getImageData(otherZoom);
+		int calls1 = calls.get();
+		data.setPixel(0, 0, data.getPixel(0, 0) ^ 0xFFFFFF);
+		ImageData again = image2.getImageData(otherZoom);
+		assertNotEquals(data.getPixel(0, 0), again.getPixel(0, 0));
+		assertEquals(calls1, calls.get());
+	} finally {
+		image1.dispose();
+		image2.dispose();
+	}
+}
+
+@Test
+public void test_imageAtSizeCache() {
+	assumeTrue(SwtTestUtil.isGTK, "The image at size cache is only used on GTK");
+	AtomicInteger calls = new AtomicInteger();
+	ImageDataAtSizeProvider provider = new ImageDataAtSizeProvider() {
+		@Override
+		public Point getDefaultSize() {
+			return new Point(10, 10);
+		}
+		@Override
+		public ImageData getImageData(int width, int height) {
+			calls.incrementAndGet();
+			return new ImageData(width, height, 32, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		}
+	};
+	Image image = new Image(display, provider);
+	Image target = new Image(display, 100, 100);
+	GC gc = new GC(target);
+	long pixelLimit = ImageAtSizeCache.getPixelLimit();
+	try {
+		// drawing at alternating sizes rasterizes each size once
+		int calls1 = calls.get();
+		for (int i = 0; i < 10; i++) {
+			gc.drawImage(image, 0, 0, 16, 16);
+			gc.drawImage(image, 0, 0, 32, 32);
+		}
+		assertEquals(calls1 + 2, calls.get());
+
+		// the pixel limit evicts the least recently used sizes
+		long evictions = ImageAtSizeCache.getEvictions();
+		ImageAtSizeCache.setPixelLimit(1);
+		assertTrue(ImageAtSizeCache.getEvictions() > evictions);
+		assertEquals(1, ImageAtSizeCache.getEntryCount());
+		gc.drawImage(image, 0, 0, 32, 32);
+		assertEquals(calls1 + 2, calls.get());
+		gc.drawImage(image, 0, 0, 16, 16);
+		assertEquals(calls1 + 3, calls.get());
+	} finally {
+		ImageAtSizeCache.setPixelLimit(pixelLimit);
+		gc.dispose();
+		target.dispose();
+		image.dispose();
+	}
+}
+
 @Test
 public void test_ConstructorLorg_eclipse_swt_graphics_Device_ImageDataProvider() {
 	Exception e;
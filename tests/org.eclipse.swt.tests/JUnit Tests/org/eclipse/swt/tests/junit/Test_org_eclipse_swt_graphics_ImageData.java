@@ -36,6 +36,8 @@ import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.ImageData;
 import org.eclipse.swt.graphics.PaletteData;
 import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.internal.image.ImageDataResampler;
+import org.eclipse.swt.internal.image.ImageDataResampler.Filter;
 import org.eclipse.swt.tests.graphics.ImageDataTestHelper;
 import org.eclipse.swt.tests.graphics.ImageDataTestHelper.BlitTestInfo;
 import org.eclipse.swt.widgets.Display;
@@ -688,6 +690,44 @@ public void test_scaledToII() {
 	assertArrayEquals(expectedPixelData, scaledPixelData);
 }
 
+@Test
+@SuppressWarnings("restriction")
+public void test_resample() {
+	// left half opaque red, right half transparent blue
+	imageData = new ImageData(4, 4, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+	for (int y = 0; y < 4; y++) {
+		for (int x = 0; x < 4; x++) {
+			imageData.setPixel(x, y, x < 2 ? 0xFF0000 : 0x0000FF);
+			imageData.setAlpha(x, y, x < 2 ? 255 : 0);
+		}
+	}
+	for (Filter filter : Filter.values()) {
+		ImageData scaled = ImageDataResampler.resample(imageData, 8, 2, filter);
+		assertEquals(8, scaled.width);
+		assertEquals(2, scaled.height);
+		for (int y = 0; y < scaled.height; y++) {
+			for (int x = 0; x < scaled.width; x++) {
+				// the transparent color must not bleed into the visible pixels
+				if (scaled.getAlpha(x, y) != 0) {
+					assertEquals(new RGB(255, 0, 0), scaled.palette.getRGB(scaled.getPixel(x, y)), filter.toString());
+				}
+			}
+		}
+	}
+	ImageData box = ImageDataResampler.resample(imageData, 2, 2, Filter.BOX);
+	assertEquals(255, box.getAlpha(0, 0));
+	assertEquals(0, box.getAlpha(1, 1));
+
+	// opaque images stay opaque
+	ImageData opaque = new ImageData(3, 3, 8, new PaletteData(new RGB(0, 0, 0), new RGB(255, 255, 255)));
+	opaque.setPixel(1, 1, 1);
+	ImageData scaled = ImageDataResampler.resample(opaque, 6, 6, Filter.BILINEAR);
+	assertNull(scaled.alphaData);
+	assertEquals(SWT.TRANSPARENCY_NONE, scaled.getTransparencyType());
+
+	assertThrows(IllegalArgumentException.class, () -> ImageDataResampler.resample(opaque, 0, 6, Filter.BOX));
+}
+
 @Test
 public void test_setAlphaIII() {
 	int value;
@@ -36,8 +36,10 @@ import org.eclipse.swt.graphics.ImageLoader;
 import org.eclipse.swt.graphics.ImageLoaderEvent;
 import org.eclipse.swt.graphics.ImageLoaderListener;
 import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
 import org.eclipse.swt.internal.DPIUtil.ElementAtZoom;
 import org.eclipse.swt.internal.NativeImageLoader;
+import org.eclipse.swt.internal.image.ImageDataResampler;
 import org.eclipse.swt.widgets.Display;
 import org.junit.jupiter.api.Test;
 
@@ -215,6 +217,132 @@ public void test_bug547529() {
 	}
 }
 
+/**
+ * Ensure that PNG images survive saving and loading with every compression
+ * level, including images large enough to be compressed in several bands.
+ */
+@Test
+public void test_saveLjava_io_OutputStreamI_pngCompression() {
+	Display display = Display.getDefault();
+	try {
+		int width = 700, height = 500;
+		ImageData imageData = new ImageData(width, height, 24, new PaletteData(0xFF0000, 0x00FF00, 0x0000FF));
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				imageData.setPixel(x, y, ((x * 3) & 0xFF) << 16 | ((y * 5) & 0xFF) << 8 | ((x ^ y) & 0xFF));
+				imageData.setAlpha(x, y, (x + y) & 0xFF);
+			}
+		}
+		for (int compression = -1; compression <= 3; compression++) {
+			ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+			ImageLoader saver = new ImageLoader();
+			saver.data = new ImageData[] { imageData };
+			saver.compression = compression;
+			saver.save(outputStream, SWT.IMAGE_PNG);
+			ImageLoader loader = new ImageLoader();
+			loader.load(new ByteArrayInputStream(outputStream.toByteArray()));
+			ImageData loadedData = loader.data[0];
+			assertEquals(width, loadedData.width);
+			assertEquals(height, loadedData.height);
+			for (int y = 0; y < height; y++) {
+				for (int x = 0; x < width; x++) {
+					assertEquals(imageData.palette.getRGB(imageData.getPixel(x, y)),
+							loadedData.palette.getRGB(loadedData.getPixel(x, y)), "compression " + compression);
+					assertEquals(imageData.getAlpha(x, y), loadedData.getAlpha(x, y), "compression " + compression);
+				}
+			}
+		}
+	} finally {
+		display.dispose();
+	}
+}
+
+/**
+ * Ensure that JPEG images loaded by size are decoded at a reduced size and
+ * scaled to exactly the requested size, with the colors of the full image.
+ */
+@Test
+public void test_loadBySize_jpeg() {
+	Display display = Display.getDefault();
+	try {
+		int width = 640, height = 480;
+		ImageData imageData = new ImageData(width, height, 24, new PaletteData(0xFF0000, 0x00FF00, 0x0000FF));
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				imageData.setPixel(x, y, x < width / 2 ? 0xC03020 : 0x2060C0);
+			}
+		}
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		ImageLoader saver = new ImageLoader();
+		saver.data = new ImageData[] { imageData };
+		saver.save(outputStream, SWT.IMAGE_JPEG);
+		byte[] bytes = outputStream.toByteArray();
+		for (int[] size : new int[][] { { 320, 240 }, { 160, 120 }, { 80, 60 }, { 64, 48 }, { 100, 30 } }) {
+			@SuppressWarnings("restriction")
+			ImageData scaled = NativeImageLoader.load(new ByteArrayInputStream(bytes), new ImageLoader(), size[0], size[1]);
+			assertEquals(size[0], scaled.width);
+			assertEquals(size[1], scaled.height);
+			assertEquals(SWT.IMAGE_JPEG, scaled.type);
+			RGB left = scaled.palette.getRGB(scaled.getPixel(scaled.width / 4, scaled.height / 2));
+			RGB right = scaled.palette.getRGB(scaled.getPixel(scaled.width * 3 / 4, scaled.height / 2));
+			assertColorNear(new RGB(0xC0, 0x30, 0x20), left);
+			assertColorNear(new RGB(0x20, 0x60, 0xC0), right);
+		}
+	} finally {
+		display.dispose();
+	}
+}
+
+/**
+ * Ensure that JPEG images whose size is not a multiple of the reduced scale
+ * are not stretched by the partial blocks in their last column and row.
+ */
+@Test
+@SuppressWarnings("restriction")
+public void test_loadBySize_jpegPartialBlocks() {
+	Display display = Display.getDefault();
+	try {
+		for (int[] size : new int[][] { { 641, 479, 160, 119 }, { 333, 211, 83, 52 }, { 333, 211, 41, 26 } }) {
+			int width = size[0], height = size[1];
+			ImageData imageData = new ImageData(width, height, 24, new PaletteData(0xFF0000, 0x00FF00, 0x0000FF));
+			for (int y = 0; y < height; y++) {
+				for (int x = 0; x < width; x++) {
+					int red = (int) (127 + 120 * Math.sin(x * 0.05) * Math.cos(y * 0.03));
+					imageData.setPixel(x, y, red << 16 | (x * 255 / width) << 8 | y * 255 / height);
+				}
+			}
+			ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+			ImageLoader saver = new ImageLoader();
+			saver.data = new ImageData[] { imageData };
+			saver.save(outputStream, SWT.IMAGE_JPEG);
+			byte[] bytes = outputStream.toByteArray();
+			ImageData full = new ImageLoader().load(new ByteArrayInputStream(bytes))[0];
+			ImageData expected = ImageDataResampler.resample(full, size[2], size[3], ImageDataResampler.Filter.BOX);
+			ImageData scaled = NativeImageLoader.load(new ByteArrayInputStream(bytes), new ImageLoader(), size[2], size[3]);
+			assertEquals(size[2], scaled.width);
+			assertEquals(size[3], scaled.height);
+			long difference = 0;
+			for (int y = 0; y < scaled.height; y++) {
+				for (int x = 0; x < scaled.width; x++) {
+					RGB a = expected.palette.getRGB(expected.getPixel(x, y));
+					RGB b = scaled.palette.getRGB(scaled.getPixel(x, y));
+					difference += Math.max(Math.abs(a.red - b.red), Math.max(Math.abs(a.green - b.green), Math.abs(a.blue - b.blue)));
+				}
+			}
+			double mean = (double) difference / (scaled.width * scaled.height);
+			assertTrue(mean < 2, "mean difference " + mean + " for " + width + "x" + height);
+		}
+	} finally {
+		display.dispose();
+	}
+}
+
+void assertColorNear(RGB expected, RGB actual) {
+	assertTrue(Math.abs(expected.red - actual.red) <= 8
+			&& Math.abs(expected.green - actual.green) <= 8
+			&& Math.abs(expected.blue - actual.blue) <= 8, "expected " + expected + " but was " + actual);
+}
+
 /**
  * Regression test for https://github.com/eclipse-platform/eclipse.platform.swt/issues/3404
  *
@@ -27,6 +27,9 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -203,6 +206,35 @@ public void test_Executor() throws InterruptedException {
 	}
 }
 
+@Test
+public void test_asyncExecLjava_lang_RunnableI() {
+	final Display display = new Display();
+	try {
+		List<String> ran = new ArrayList<>();
+		display.asyncExec(() -> ran.add("low"), SWT.LOW);
+		display.asyncExec(() -> ran.add("default"), SWT.DEFAULT);
+		display.asyncExec(() -> ran.add("high"), SWT.HIGH);
+		while (display.readAndDispatch()) {
+			// dispatch
+		}
+		assertEquals(List.of("high", "default", "low"), ran);
+
+		// low priority messages must not starve
+		ran.clear();
+		display.asyncExec(() -> ran.add("low"), SWT.LOW);
+		for (int i = 0; i < 100; i++) {
+			display.asyncExec(() -> ran.add("high"), SWT.HIGH);
+		}
+		while (display.readAndDispatch()) {
+			// dispatch
+		}
+		assertEquals(101, ran.size());
+		assertTrue(ran.indexOf("low") < 100, "low priority message was starved");
+	} finally {
+		display.dispose();
+	}
+}
+
 @Test
 public void test_asyncExecLjava_lang_Runnable_dispose() {
 	final Display display = new Display();
@@ -219,6 +251,111 @@ public void test_asyncExecLjava_lang_Runnable_dispose() {
 	}
 }
 
+@Test
+public void test_asyncExecBatchLjava_util_Collection() {
+	final Display display = new Display();
+	try {
+		List<Integer> expected = new ArrayList<>();
+		List<Integer> order = new ArrayList<>();
+		List<Runnable> runnables = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			Integer value = i;
+			expected.add(value);
+			runnables.add(() -> order.add(value));
+		}
+		display.asyncExecBatch(runnables);
+		display.asyncExecBatch(Collections.emptyList());
+		while (display.readAndDispatch()) {
+			// dispatch
+		}
+		assertEquals(expected, order);
+		assertThrows(IllegalArgumentException.class, () -> display.asyncExecBatch(null));
+	} finally {
+		display.dispose();
+	}
+}
+
+@Test
+public void test_asyncExecBatch_exceptionDoesNotStopBatch() {
+	final Display display = new Display();
+	try {
+		List<RuntimeException> handled = new ArrayList<>();
+		display.setRuntimeExceptionHandler(handled::add);
+		List<String> ran = new ArrayList<>();
+		RuntimeException first = new RuntimeException("first");
+		RuntimeException second = new RuntimeException("second");
+		display.asyncExecBatch(List.of(() -> ran.add("a"), () -> {
+			throw first;
+		}, () -> ran.add("b"), () -> {
+			throw second;
+		}, () -> ran.add("c")));
+		display.asyncExecCoalesced("a", () -> ran.add("d"));
+		display.asyncExecCoalesced("b", () -> {
+			throw first;
+		});
+		display.asyncExecCoalesced("c", () -> ran.add("e"));
+		while (display.readAndDispatch()) {
+			// dispatch
+		}
+		assertEquals(List.of("a", "b", "c", "d", "e"), ran);
+		assertEquals(List.of(first, first), handled);
+		assertEquals(List.of(second), List.of(first.getSuppressed()));
+	} finally {
+		display.dispose();
+	}
+}
+
+@Test
+public void test_asyncExecCoalescedLjava_lang_ObjectLjava_lang_Runnable() {
+	final Display display = new Display();
+	try {
+		List<String> ran = new ArrayList<>();
+		display.asyncExecCoalesced("a", () -> ran.add("a1"));
+		display.asyncExecCoalesced("b", () -> ran.add("b1"));
+		display.asyncExecCoalesced("a", () -> ran.add("a2"));
+		while (display.readAndDispatch()) {
+			// dispatch
+		}
+		assertEquals(List.of("a2", "b1"), ran);
+
+		ran.clear();
+		display.asyncExecCoalesced("a", () -> ran.add("a3"));
+		while (display.readAndDispatch()) {
+			// dispatch
+		}
+		assertEquals(List.of("a3"), ran);
+		assertThrows(IllegalArgumentException.class, () -> display.asyncExecCoalesced(null, () -> {}));
+		assertThrows(IllegalArgumentException.class, () -> display.asyncExecCoalesced("a", null));
+	} finally {
+		display.dispose();
+	}
+}
+
+@Test
+public void test_setAsyncBudgetJ() {
+	final Display display = new Display();
+	try {
+		assertEquals(0, display.getAsyncBudget());
+		assertThrows(IllegalArgumentException.class, () -> display.setAsyncBudget(-1));
+		display.setAsyncBudget(TimeUnit.MINUTES.toNanos(1));
+		assertEquals(TimeUnit.MINUTES.toNanos(1), display.getAsyncBudget());
+
+		Synchronizer synchronizer = display.getSynchronizer();
+		AtomicInteger count = new AtomicInteger();
+		for (int i = 0; i < 10; i++) {
+			display.asyncExec(count::incrementAndGet);
+		}
+		assertEquals(10, synchronizer.getMessageCount());
+		while (synchronizer.getMessageCount() > 0) {
+			display.readAndDispatch();
+		}
+		assertEquals(10, count.get());
+		assertEquals(10, synchronizer.getLastDrainCount());
+	} finally {
+		display.dispose();
+	}
+}
+
 @Test
 public void test_beep() {
 	Display display = new Display();
@@ -1534,6 +1671,89 @@ public void test_timerExecILjava_lang_Runnable() {
 	}
 }
 
+@Test
+public void test_timerExecILjava_lang_Runnable_manyTimers() {
+	final Display display = new Display();
+	try {
+		int count = 200;
+		AtomicInteger ran = new AtomicInteger();
+		AtomicBoolean cancelledRan = new AtomicBoolean();
+		List<Runnable> timers = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			if (i % 10 == 0) {
+				timers.add(() -> cancelledRan.set(true));
+			} else {
+				timers.add(ran::incrementAndGet);
+			}
+			display.timerExec(1000, timers.get(i));
+		}
+		for (int i = 0; i < count; i++) {
+			// reschedule every timer and cancel every tenth one
+			display.timerExec(i % 10 == 0 ? -1 : 10, timers.get(i));
+		}
+		long end = System.currentTimeMillis() + 10000;
+		while (ran.get() < count - count / 10 && System.currentTimeMillis() < end) {
+			if (!display.readAndDispatch()) display.sleep();
+		}
+		assertEquals(count - count / 10, ran.get());
+		assertFalse(cancelledRan.get(), "cancelled timer did execute");
+	} finally {
+		display.dispose();
+	}
+}
+
+@Test
+public void test_timerExecILjava_lang_Runnable_exceptionDoesNotStopTimers() {
+	// On GTK, timers due within the same tick share one source in this mode
+	String property = "org.eclipse.swt.internal.gtk.timerTick";
+	String oldValue = System.setProperty(property, "1000");
+	final Display display;
+	try {
+		display = new Display();
+	} finally {
+		if (oldValue == null) {
+			System.clearProperty(property);
+		} else {
+			System.setProperty(property, oldValue);
+		}
+	}
+	try {
+		List<RuntimeException> handled = new ArrayList<>();
+		display.setRuntimeExceptionHandler(exception -> {
+			handled.add(exception);
+			throw exception;
+		});
+		List<String> ran = new ArrayList<>();
+		RuntimeException first = new RuntimeException("first");
+		RuntimeException second = new RuntimeException("second");
+		display.timerExec(10, () -> ran.add("a"));
+		display.timerExec(10, () -> {
+			ran.add("b");
+			throw first;
+		});
+		display.timerExec(10, () -> ran.add("c"));
+		display.timerExec(10, () -> {
+			ran.add("d");
+			throw second;
+		});
+		display.timerExec(10, () -> ran.add("e"));
+		long end = System.currentTimeMillis() + 10000;
+		while (ran.size() < 5 && System.currentTimeMillis() < end) {
+			try {
+				if (!display.readAndDispatch()) display.sleep();
+			} catch (RuntimeException e) {
+				// rethrown by the handler
+			}
+		}
+		assertEquals(List.of("a", "b", "c", "d", "e"), ran);
+		assertEquals(first, handled.get(0));
+		assertTrue(handled.contains(second) || List.of(first.getSuppressed()).contains(second),
+				"second exception was lost");
+	} finally {
+		display.dispose();
+	}
+}
+
 @Test
 public void test_update() {
 	Display display = new Display();
@@ -711,6 +711,37 @@ public void test_indexOfLorg_eclipse_swt_widgets_TableItem() {
 	}
 }
 
+@Test
+public void test_indexOfAfterInsertAndRemove() {
+	List<TableItem> items = new ArrayList<>();
+	for (int i = 0; i < 100; i++) {
+		items.add(new TableItem(table, SWT.NONE));
+	}
+	for (int i = 0; i < 100; i += 10) {
+		items.add(i, new TableItem(table, SWT.NONE, i));
+	}
+	for (int i = items.size() - 1; i >= 0; i -= 7) {
+		table.remove(i);
+		items.remove(i);
+	}
+	items.remove(3).dispose();
+	table.remove(new int[] {0, 20, 40});
+	items.remove(40);
+	items.remove(20);
+	items.remove(0);
+	/* Look the items up from the end, so that the indices are renumbered in one pass */
+	for (int i = items.size() - 1; i >= 0; i--) {
+		assertEquals(i, table.indexOf(items.get(i)));
+	}
+	for (int i = 0; i < items.size(); i++) {
+		assertEquals(i, table.indexOf(items.get(i)));
+	}
+	TableItem removed = table.getItem(5);
+	table.remove(5);
+	assertEquals(-1, table.indexOf(removed));
+	assertEquals(5, table.indexOf(items.get(6)));
+}
+
 @Test
 public void test_isSelectedI() {
 	int number = 15;
@@ -1896,6 +1927,48 @@ public void test_Virtual() {
 	assertTrue(dataCounter[0] > visibleCount / 2 && dataCounter[0] <= visibleCount * 3);
 }
 
+@Test
+public void test_VirtualLargeItemCount() {
+	table.dispose();
+	table = new Table(shell, SWT.VIRTUAL | SWT.MULTI | SWT.BORDER);
+	setWidget(table);
+
+	int count = 10_000_000;
+	int visibleCount = 10;
+
+	shell.setLayout(new FillLayout());
+	table.addListener(SWT.SetData, event -> {
+		TableItem item = (TableItem) event.item;
+		item.setText("Item " + table.indexOf(item));
+	});
+
+	shell.setSize (200, table.getItemHeight() * visibleCount);
+	shell.open ();
+	table.setItemCount(100);
+	table.select(new int[] {2, 5});
+	table.setItemCount(count);
+	assertEquals(count, table.getItemCount());
+	assertArrayEquals(new int[] {2, 5}, table.getSelectionIndices());
+
+	// scroll far enough that the items painted on the way scroll out of view
+	for (int index = 0; index < 100_000; index += 5_000) {
+		table.setTopIndex(index);
+		SwtTestUtil.processEvents();
+	}
+	table.setTopIndex(0);
+	SwtTestUtil.processEvents();
+	assertEquals("Item 0", table.getItem(0).getText());
+	assertEquals("Item 50000", table.getItem(50_000).getText());
+	assertEquals("Item " + (count - 1), table.getItem(count - 1).getText());
+	assertArrayEquals(new int[] {2, 5}, table.getSelectionIndices());
+
+	table.removeAll();
+	assertEquals(0, table.getItemCount());
+	table.setItemCount(count);
+	assertEquals(count, table.getItemCount());
+	assertEquals("Item 1", table.getItem(1).getText());
+}
+
 @Test
 public void test_setTopIndex() {
 	for (int i = 0; i < 10; i++) {
@@ -153,6 +153,32 @@ public void test_notifyListenersILorg_eclipse_swt_widgets_Event() {
 	if (gc != null) gc.dispose();
 }
 @Test
+public void test_notifyListenersILorg_eclipse_swt_widgets_Event_modifyDuringNotification() {
+	int eventType = 10_000;
+	StringBuilder calls = new StringBuilder();
+	Listener second = e -> calls.append('b');
+	Listener third = e -> calls.append('c');
+	Listener added = e -> calls.append('d');
+	Listener first = e -> {
+		calls.append('a');
+		widget.removeListener(eventType, second);
+		widget.addListener(eventType, added);
+	};
+	widget.addListener(eventType, first);
+	widget.addListener(eventType, second);
+	widget.addListener(eventType, third);
+	widget.addListener(eventType + 1, e -> calls.append('x'));
+
+	widget.notifyListeners(eventType, new Event());
+	assertEquals("ac", calls.toString());
+	assertEquals(3, widget.getListeners(eventType).length);
+
+	calls.setLength(0);
+	widget.removeListener(eventType, first);
+	widget.notifyListeners(eventType, new Event());
+	assertEquals("cd", calls.toString());
+}
+@Test
 public void test_removeListenerILorg_eclipse_swt_widgets_Listener() {
 	// this method is further tested by all of the removeTypedListener tests
 	assertThrows(IllegalArgumentException.class, () -> widget.removeListener(SWT.Paint, null),
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Platform Contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Platform Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit.performance;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.internal.DPIUtil.ElementAtZoom;
+import org.eclipse.swt.internal.image.FileFormat;
+import org.eclipse.swt.tests.junit.SwtTestUtil;
+
+/**
+ * Manual benchmark for the Java PNG decoder.
+ * <p>
+ * Decodes the PNG icons of the test suite and a few large generated images.
+ * The images are decoded and encoded through <code>FileFormat</code> directly,
+ * since <code>ImageLoader</code> uses the native loader on some platforms. To compare
+ * the decoders, run the benchmark once more with
+ * <code>-Dorg.eclipse.swt.internal.image.PNGFileFormat.streaming=false</code>.
+ * </p>
+ */
+@SuppressWarnings("restriction")
+public class BenchmarkPngDecoding {
+	private static final String[] ICONS = { "folder.png", "folderOpen.png", "target.png", "interlaced_target.png",
+			"transparent.png", "collapseall.png", "collapseall@2x.png" };
+	private static final int RUNS = 20;
+	private static final long BYTES_PER_RUN = 20_000_000;
+
+	public static void main(String[] args) throws IOException {
+		Map<String, byte[]> corpus = new LinkedHashMap<>();
+		for (String icon : ICONS) {
+			try (InputStream stream = SwtTestUtil.class.getResourceAsStream(icon)) {
+				if (stream != null) corpus.put(icon, stream.readAllBytes());
+			}
+		}
+		corpus.put("screenshot 1920x1080", encode(createImage(1920, 1080, false)));
+		corpus.put("sprite sheet 2048x512 alpha", encode(createImage(2048, 512, true)));
+
+		for (Map.Entry<String, byte[]> entry : corpus.entrySet()) {
+			byte[] bytes = entry.getValue();
+			int iterations = (int) Math.max(1, BYTES_PER_RUN / (bytes.length * 20L));
+			long best = Long.MAX_VALUE;
+			for (int run = 0; run < RUNS; run++) {
+				long start = System.nanoTime();
+				for (int i = 0; i < iterations; i++) {
+					decode(bytes);
+				}
+				best = Math.min(best, System.nanoTime() - start);
+			}
+			System.out.println(String.format("%-30s %,10d bytes: %,15d ns per image", entry.getKey(), bytes.length,
+					best / iterations));
+		}
+	}
+
+	private static ImageData decode(byte[] bytes) {
+		ImageLoader loader = new ImageLoader();
+		return FileFormat.load(new ElementAtZoom<>(new ByteArrayInputStream(bytes), 100), loader, 100).get(0).element();
+	}
+
+	private static byte[] encode(ImageData data) {
+		ImageLoader loader = new ImageLoader();
+		loader.data = new ImageData[] { data };
+		ByteArrayOutputStream stream = new ByteArrayOutputStream();
+		FileFormat.save(stream, SWT.IMAGE_PNG, loader);
+		return stream.toByteArray();
+	}
+
+	/**
+	 * Create an image with smooth gradients and some noise, which compresses
+	 * about as well as a typical screenshot.
+	 */
+	private static ImageData createImage(int width, int height, boolean alpha) {
+		ImageData data = new ImageData(width, height, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		int seed = 17;
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				seed = seed * 1103515245 + 12345;
+				int noise = (seed >>> 28) & 0x7;
+				int pixel = (((x + noise) & 0xFF) << 16) | (((y + noise) & 0xFF) << 8) | ((x ^ y) & 0xFF);
+				data.setPixel(x, y, pixel);
+				if (alpha) data.setAlpha(x, y, (x / 16 + y / 16) % 2 == 0 ? 255 : (x & 0xFF));
+			}
+		}
+		return data;
+	}
+}
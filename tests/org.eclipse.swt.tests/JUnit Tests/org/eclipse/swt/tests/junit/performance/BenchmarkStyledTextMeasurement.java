@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Platform Contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Platform Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit.performance;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.ScrollBar;
+import org.eclipse.swt.widgets.Shell;
+
+/**
+ * Manual benchmark for the background line measurement of <code>StyledText</code>.
+ * <p>
+ * Opens a large document in a wrapping <code>StyledText</code> and reports the
+ * time until all lines are measured and the vertical scroll bar is stable.
+ * The number of lines can be passed as the first argument.
+ * </p>
+ */
+public class BenchmarkStyledTextMeasurement {
+	private static final int DEFAULT_LINES = 500_000;
+	private static final long TIMEOUT = 10 * 60 * 1000;
+
+	public static void main(String[] args) {
+		int lineCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_LINES;
+		String text = createText(lineCount);
+
+		Display display = new Display();
+		Shell shell = new Shell(display);
+		shell.setLayout(new FillLayout());
+		shell.setSize(800, 600);
+		StyledText styledText = new StyledText(shell, SWT.MULTI | SWT.WRAP | SWT.V_SCROLL);
+		shell.open();
+		try {
+			long start = System.nanoTime();
+			styledText.setText(text);
+			long firstPaint = 0;
+			long lastReport = start;
+			while (styledText.isMeasuringLines()) {
+				if (!display.readAndDispatch()) {
+					if (firstPaint == 0) firstPaint = System.nanoTime() - start;
+				}
+				long now = System.nanoTime();
+				if (now - lastReport > 1_000_000_000L) {
+					System.out.println(String.format("%,12d of %,d lines measured", styledText.getMeasuredLineCount(),
+							lineCount));
+					lastReport = now;
+				}
+				if ((now - start) / 1_000_000 > TIMEOUT) {
+					styledText.cancelLineMeasurement();
+					System.out.println("Timed out");
+				}
+			}
+			long measured = System.nanoTime() - start;
+			ScrollBar bar = styledText.getVerticalBar();
+			while (display.readAndDispatch()) {
+				/* Let the scroll bar update and the widget repaint */
+			}
+			long stable = System.nanoTime() - start;
+
+			System.out.println(String.format("Lines:                  %,15d", lineCount));
+			System.out.println(String.format("Idle after setText:     %,15d ms", firstPaint / 1_000_000));
+			System.out.println(String.format("All lines measured:     %,15d ms", measured / 1_000_000));
+			System.out.println(String.format("Scroll bar stable:      %,15d ms", stable / 1_000_000));
+			System.out.println(String.format("Scroll bar maximum:     %,15d", bar.getMaximum()));
+		} finally {
+			display.dispose();
+		}
+	}
+
+	private static String createText(int lineCount) {
+		StringBuilder builder = new StringBuilder(lineCount * 80);
+		for (int i = 0; i < lineCount; i++) {
+			builder.append("Line ").append(i);
+			/* Every few lines is long enough to wrap */
+			int words = i % 7 == 0 ? 60 : i % 3;
+			for (int j = 0; j < words; j++) {
+				builder.append(" lorem ipsum");
+			}
+			builder.append('\n');
+		}
+		return builder.toString();
+	}
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Platform Contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Platform Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit.performance;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.StyleRange;
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+
+/**
+ * Manual benchmark for the style ranges of <code>StyledText</code>.
+ * <p>
+ * Styles every word of a large document and then simulates typing in the
+ * middle of it: each keystroke inserts a character and restyles the word
+ * at the caret, as a syntax highlighter would. Reports the average time per
+ * keystroke. The number of style ranges can be passed as the first argument.
+ * </p>
+ */
+public class BenchmarkStyledTextStyles {
+	private static final int DEFAULT_RANGES = 1_000_000;
+	private static final int KEYSTROKES = 2_000;
+	private static final int WORDS_PER_LINE = 10;
+	private static final String WORD = "word ";
+
+	public static void main(String[] args) {
+		int rangeCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RANGES;
+		StringBuilder builder = new StringBuilder(rangeCount * WORD.length() + rangeCount / WORDS_PER_LINE);
+		int[] ranges = new int[rangeCount * 2];
+		StyleRange[] styles = new StyleRange[rangeCount];
+		StyleRange keyword = new StyleRange();
+		keyword.fontStyle = SWT.BOLD;
+		StyleRange comment = new StyleRange();
+		comment.fontStyle = SWT.ITALIC;
+		for (int i = 0; i < rangeCount; i++) {
+			ranges[i * 2] = builder.length();
+			ranges[i * 2 + 1] = WORD.length() - 1;
+			styles[i] = i % 2 == 0 ? keyword : comment;
+			builder.append(WORD);
+			if (i % WORDS_PER_LINE == WORDS_PER_LINE - 1) builder.append('\n');
+		}
+
+		Display display = new Display();
+		Shell shell = new Shell(display);
+		shell.setLayout(new FillLayout());
+		shell.setSize(800, 600);
+		StyledText styledText = new StyledText(shell, SWT.MULTI | SWT.V_SCROLL | SWT.H_SCROLL);
+		shell.open();
+		try {
+			long start = System.nanoTime();
+			styledText.setText(builder.toString());
+			styledText.setStyleRanges(ranges, styles);
+			long setup = System.nanoTime() - start;
+
+			/* Type at the start of the word in the middle of the document */
+			int caret = ranges[rangeCount / 2 * 2];
+			styledText.setCaretOffset(caret);
+			styledText.setTopIndex(styledText.getLineAtOffset(caret));
+			while (display.readAndDispatch()) {
+				/* Paint the initial state */
+			}
+			int wordStart = caret;
+			start = System.nanoTime();
+			for (int i = 0; i < KEYSTROKES; i++) {
+				styledText.replaceTextRange(caret, 0, "x");
+				caret++;
+				styledText.replaceStyleRanges(wordStart, caret - wordStart,
+						new StyleRange[] { new StyleRange(wordStart, caret - wordStart, null, null, SWT.BOLD) });
+				if (i % 16 == 15) {
+					/* Start a new word every few keystrokes */
+					styledText.replaceTextRange(caret, 0, " ");
+					caret++;
+					wordStart = caret;
+				}
+				while (display.readAndDispatch()) {
+					/* Let the widget repaint */
+				}
+			}
+			long typing = System.nanoTime() - start;
+
+			System.out.println(String.format("Style ranges:           %,15d", rangeCount));
+			System.out.println(String.format("Set text and styles:    %,15d ms", setup / 1_000_000));
+			System.out.println(String.format("Keystrokes:             %,15d", KEYSTROKES));
+			System.out.println(String.format("Time per keystroke:     %,15d us", typing / 1_000 / KEYSTROKES));
+			System.out.println(String.format("Style ranges after:     %,15d", styledText.getStyleRanges(false).length));
+		} finally {
+			display.dispose();
+		}
+	}
+}
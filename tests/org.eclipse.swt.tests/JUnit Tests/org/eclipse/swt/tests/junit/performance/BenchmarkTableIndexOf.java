@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Platform Contributors and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Platform Contributors - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit.performance;
+
+import java.util.Random;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableItem;
+
+/**
+ * Manual benchmark for looking up the index of the items of a large
+ * <code>Table</code>.
+ * <p>
+ * Reports the time of random <code>indexOf</code> calls, of the same calls
+ * after an item was inserted at the top, and of selecting and reading back a
+ * large selection by items. The number of items can be passed as the first
+ * argument.
+ * </p>
+ */
+public class BenchmarkTableIndexOf {
+	private static final int DEFAULT_ITEMS = 1_000_000;
+	private static final int LOOKUPS = 100_000;
+	private static final int SELECTED = 10_000;
+
+	public static void main(String[] args) {
+		int itemCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ITEMS;
+
+		Display display = new Display();
+		Shell shell = new Shell(display);
+		shell.setLayout(new FillLayout());
+		shell.setSize(800, 600);
+		Table table = new Table(shell, SWT.VIRTUAL | SWT.MULTI);
+		table.addListener(SWT.SetData, event -> {
+			TableItem item = (TableItem) event.item;
+			item.setText("Item " + event.index);
+		});
+		shell.open();
+		try {
+			table.setItemCount(itemCount);
+			Random random = new Random(0);
+			TableItem[] items = new TableItem[LOOKUPS];
+			int[] indices = new int[LOOKUPS];
+			for (int i = 0; i < LOOKUPS; i++) {
+				indices[i] = random.nextInt(itemCount);
+				items[i] = table.getItem(indices[i]);
+			}
+
+			long start = System.nanoTime();
+			lookUp(table, items, indices, 0);
+			long lookups = System.nanoTime() - start;
+
+			new TableItem(table, SWT.NONE, 0);
+			start = System.nanoTime();
+			lookUp(table, items, indices, 1);
+			long lookupsAfterInsert = System.nanoTime() - start;
+
+			TableItem[] selection = new TableItem[SELECTED];
+			System.arraycopy(items, 0, selection, 0, SELECTED);
+			start = System.nanoTime();
+			table.setSelection(selection);
+			int selected = table.getSelection().length;
+			long select = System.nanoTime() - start;
+
+			System.out.println(String.format("Items:                  %,15d", itemCount));
+			System.out.println(String.format("Random indexOf:         %,15d ns/call", lookups / LOOKUPS));
+			System.out.println(String.format("After insert at top:    %,15d ns/call", lookupsAfterInsert / LOOKUPS));
+			System.out.println(String.format("Select %,d items:    %,15d ms (%,d selected)", SELECTED, select / 1_000_000, selected));
+		} finally {
+			display.dispose();
+		}
+	}
+
+	private static void lookUp(Table table, TableItem[] items, int[] indices, int offset) {
+		for (int i = 0; i < items.length; i++) {
+			int index = table.indexOf(items[i]);
+			if (index != indices[i] + offset) {
+				throw new IllegalStateException("Wrong index " + index + " for item " + indices[i]);
+			}
+		}
+	}
+}
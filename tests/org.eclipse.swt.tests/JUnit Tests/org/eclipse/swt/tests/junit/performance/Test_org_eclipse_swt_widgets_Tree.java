@@ -251,6 +251,43 @@ public abstract class Test_org_eclipse_swt_widgets_Tree {
 		});
 	}
 
+	@Test
+	public void setItemCount() {
+		assertMaximumDegree(1.1, n -> {
+			Tree tree = new Tree(shell, virtual ? SWT.VIRTUAL : SWT.NONE);
+			shell.layout();
+			return measureNanos(() -> {
+				tree.setItemCount(n);
+				tree.getItem(n - 1).setItemCount(n);
+				assertEquals(n, tree.getItemCount());
+				assertEquals(n, tree.getItem(n - 1).getItemCount());
+			});
+		});
+	}
+
+	@Test
+	public void indexOf() {
+		// Without a virtual model, the index of an item is found by walking its siblings
+		assertMaximumDegree(virtual ? 1.2 : 2.1, n -> {
+			Tree tree = buildSubject(n, this::initializeItem);
+			breadthFirstTraverse(tree, item -> {
+				item.setExpanded(true);
+			});
+			return measureNanos(() -> {
+				TreeItem[] roots = tree.getItems();
+				for (int i = 0; i < roots.length; i++) {
+					assertEquals(i, tree.indexOf(roots[i]));
+				}
+				breadthFirstTraverse(tree, item -> {
+					TreeItem[] children = item.getItems();
+					for (int i = 0; i < children.length; i++) {
+						assertEquals(i, item.indexOf(children[i]));
+					}
+				});
+			});
+		});
+	}
+
 	@Test
 	public void showItem() {
 		assertMaximumDegree(virtual ? 1.2 : 1.9, n -> {